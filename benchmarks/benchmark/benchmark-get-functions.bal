@@ -1,6 +1,7 @@
 import benchmarksprintf;
 import benchmarktypes;
 import benchmarkio;
+import benchmarkstreams;
 import ballerina/io;
 
 map<function()> functions;
@@ -17,6 +18,7 @@ function addFunctions() {
     addSprintfFunctions();
     addIoFunctions();
     addStringFunctions();
+    addStreamFunctions();
 }
 
 function addJSONFunctions() {
@@ -48,6 +50,7 @@ function addJSONFunctions() {
     functions["benchmarkConstrainedJsonWithFunctions"] = benchmarktypes:benchmarkConstrainedJsonWithFunctions;
     functions["benchmarkConstrainedJsonWithFunctionGetKeys"] = benchmarktypes:
     benchmarkConstrainedJsonWithFunctionGetKeys;
+    functions["benchmarkJsonRequestHandling"] = benchmarktypes:benchmarkJsonRequestHandling;
 }
 
 function addIntFunctions() {
@@ -140,3 +143,9 @@ function addStringFunctions() {
     functions["benchmarkStringSplit"] = benchmarktypes:benchmarkStringSplit;
     functions["benchmarkStringUnescape"] = benchmarktypes:benchmarkStringUnescape;
 }
+
+function addStreamFunctions() {
+    functions["benchmarkStreamPublishSubscribe"] = benchmarkstreams:benchmarkStreamPublishSubscribe;
+    functions["benchmarkStreamWindowAggregation"] = benchmarkstreams:benchmarkStreamWindowAggregation;
+    functions["benchmarkStreamForeverQuery"] = benchmarkstreams:benchmarkStreamForeverQuery;
+}
@@ -0,0 +1,98 @@
+import ballerina/streams;
+
+type Event record {
+    int id,
+    string name,
+    float value,
+};
+
+stream<Event> eventStream;
+
+boolean subscribed = false;
+
+int receivedEvents = 0;
+
+function onEvent(Event event) {
+    receivedEvents = receivedEvents + 1;
+}
+
+public function benchmarkStreamPublishSubscribe() {
+    if (!subscribed) {
+        eventStream.subscribe(onEvent);
+        subscribed = true;
+    }
+    Event event = { id: 1, name: "temperature", value: 27.5 };
+    eventStream.publish(event);
+}
+
+int windowEvents = 0;
+
+int nextValue = 0;
+
+function onWindowEvents(streams:StreamEvent[] events) {
+    windowEvents = windowEvents + lengthof events;
+}
+
+streams:LengthWindow lengthWindow = new(onWindowEvents, 100, "ALL");
+
+streams:Max maxAggregator = new();
+
+streams:Sum sumAggregator = new();
+
+public function benchmarkStreamWindowAggregation() {
+    int value = nextValue % 1000;
+    nextValue = nextValue + 1;
+    match lengthWindow.getEventToBeExpired() {
+        streams:StreamEvent expiredEvent => {
+            _ = maxAggregator.process(expiredEvent.eventObject, "EXPIRED");
+            _ = sumAggregator.process(expiredEvent.eventObject, "EXPIRED");
+        }
+        () => {
+        }
+    }
+    streams:StreamEvent event = { eventType: "CURRENT", eventObject: value, timestamp: nextValue };
+    lengthWindow.add(event);
+    _ = maxAggregator.process(value, "CURRENT");
+    _ = sumAggregator.process(value, "CURRENT");
+}
+
+type Reading record {
+    int id,
+    string sensor,
+    float temperature,
+};
+
+stream<Reading> readingStream;
+
+stream<Reading> highReadingStream;
+
+boolean readingQueryStarted = false;
+
+int highReadings = 0;
+
+function onHighReading(Reading reading) {
+    highReadings = highReadings + 1;
+}
+
+function startReadingQuery() {
+    forever {
+        from readingStream
+        where temperature > 25.0
+        select id, sensor, temperature
+        => (Reading[] readings) {
+            foreach reading in readings {
+                highReadingStream.publish(reading);
+            }
+        }
+    }
+}
+
+public function benchmarkStreamForeverQuery() {
+    if (!readingQueryStarted) {
+        highReadingStream.subscribe(onHighReading);
+        startReadingQuery();
+        readingQueryStarted = true;
+    }
+    Reading reading = { id: 1, sensor: "temperature", temperature: 27.5 };
+    readingStream.publish(reading);
+}
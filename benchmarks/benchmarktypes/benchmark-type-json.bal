@@ -0,0 +1,30 @@
+import ballerina/internal;
+import ballerina/mime;
+
+string orderText = "{\"id\":101, \"customer\":{\"name\":\"John\", \"email\":\"john@example.com\"}, \"items\":["
+    + "{\"sku\":\"A-1\", \"quantity\":3, \"price\":12.5}, {\"sku\":\"B-2\", \"quantity\":1, \"price\":7.25}], "
+    + "\"express\":true, \"total\":44.75}";
+
+byte[] orderBytes = orderText.toByteArray("UTF-8");
+
+public function benchmarkJsonRequestHandling() {
+    json request = { id: 101, quantity: 3, price: 12.5, express: true, codes: [1, 2, 3, 4] };
+    json response = { id: request.id, accepted: true, codes: [] };
+    int i = 0;
+    while (i < 4) {
+        response.codes[i] = i;
+        i = i + 1;
+    }
+    response.total = 37.5;
+    var parsed = internal:parseJson(response.toString());
+}
+
+public function benchmarkJsonParseFromString() {
+    var parsed = internal:parseJson(orderText);
+}
+
+public function benchmarkJsonParseFromBytes() {
+    mime:Entity entity = new;
+    entity.setByteArray(orderBytes, contentType = "application/json");
+    var parsed = entity.getJson();
+}
@@ -18,6 +18,7 @@
 package org.ballerinalang.bre;
 
 import org.ballerinalang.bre.bvm.WorkerData;
+import org.ballerinalang.bre.bvm.WorkerDataPool;
 import org.ballerinalang.bre.bvm.WorkerExecutionContext;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BValue;
@@ -55,6 +56,10 @@ public class NativeCallContext implements Context {
 
     @Override
     public WorkerExecutionContext getParentWorkerExecutionContext() {
+        /* the caller may keep the context, and read its registers after it returns */
+        if (parentCtx.workerLocal != null) {
+            parentCtx.workerLocal.markEscaped();
+        }
         return parentCtx;
     }
     
@@ -64,6 +69,31 @@ public class NativeCallContext implements Context {
     }
 
     public WorkerData getLocalWorkerData() {
+        if (workerLocal != null) {
+            workerLocal.markEscaped();
+        }
+        return workerLocal;
+    }
+
+    /**
+     * Gives back the registers of the call to the {@link WorkerDataPool} once the call has returned. Arguments can
+     * not be read through this context afterwards, unless pooling is disabled, in which case the registers are
+     * kept as they are.
+     */
+    public void releaseLocalWorkerData() {
+        if (!WorkerDataPool.isEnabled()) {
+            return;
+        }
+        WorkerData released = workerLocal;
+        workerLocal = null;
+        WorkerDataPool.release(released);
+    }
+
+    private WorkerData argumentData() {
+        if (workerLocal == null) {
+            throw new BallerinaException("arguments of '" + callableUnitInfo.getName()
+                    + "' are read after the call has returned");
+        }
         return workerLocal;
     }
 
@@ -130,7 +160,7 @@ public class NativeCallContext implements Context {
             throw new ArgumentOutOfRangeException(index);
         }
 
-        return workerLocal.longRegs[index];
+        return argumentData().longRegs[index];
     }
 
     @Override
@@ -139,7 +169,7 @@ public class NativeCallContext implements Context {
             throw new ArgumentOutOfRangeException(index);
         }
 
-        String str = workerLocal.stringRegs[index];
+        String str = argumentData().stringRegs[index];
         if (str == null) {
             throw new BLangNullReferenceException();
         }
@@ -153,7 +183,7 @@ public class NativeCallContext implements Context {
             throw new ArgumentOutOfRangeException(index);
         }
 
-        return workerLocal.stringRegs[index];
+        return argumentData().stringRegs[index];
     }
 
     @Override
@@ -162,7 +192,7 @@ public class NativeCallContext implements Context {
             throw new ArgumentOutOfRangeException(index);
         }
 
-        return workerLocal.doubleRegs[index];
+        return argumentData().doubleRegs[index];
     }
 
     @Override
@@ -171,7 +201,7 @@ public class NativeCallContext implements Context {
             throw new ArgumentOutOfRangeException(index);
         }
 
-        return (workerLocal.intRegs[index] == 1);
+        return (argumentData().intRegs[index] == 1);
     }
 
     @Override
@@ -180,7 +210,7 @@ public class NativeCallContext implements Context {
             throw new ArgumentOutOfRangeException(index);
         }
 
-        BValue result = workerLocal.refRegs[index];
+        BValue result = argumentData().refRegs[index];
         if (result == null) {
             throw new BallerinaException("argument " + index + " is null");
         }
@@ -194,7 +224,7 @@ public class NativeCallContext implements Context {
             throw new ArgumentOutOfRangeException(index);
         }
 
-        return workerLocal.refRegs[index];
+        return argumentData().refRegs[index];
     }
 
     @Override
@@ -35,7 +35,6 @@ import org.ballerinalang.util.program.BLangVMUtils;
 
 import java.io.PrintStream;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.LongAdder;
@@ -49,6 +48,8 @@ public class BLangScheduler {
     
     private static final String SCHEDULER_STATS_CONFIG_PROP = "b7a.runtime.scheduler.statistics";
 
+    private static final String BLOCKING_OFFLOAD_CONFIG_PROP = "b7a.runtime.scheduler.blocking.offload";
+
     private static AtomicInteger workerCount = new AtomicInteger(0);
     
     private static Semaphore workersDoneSemaphore = new Semaphore(1);
@@ -56,12 +57,22 @@ public class BLangScheduler {
     private static SchedulerStats schedulerStats = new SchedulerStats();
     
     private static boolean schedulerStatsEnabled;
+
+    private static boolean blockingOffloadEnabled;
     
     static {
         String statsConfigProp = ConfigRegistry.getInstance().getAsString(SCHEDULER_STATS_CONFIG_PROP);
         if (statsConfigProp != null) {
             schedulerStatsEnabled = Boolean.parseBoolean(statsConfigProp);
         }
+        String blockingOffloadConfigProp = ConfigRegistry.getInstance().getAsString(BLOCKING_OFFLOAD_CONFIG_PROP);
+        if (blockingOffloadConfigProp != null) {
+            blockingOffloadEnabled = Boolean.parseBoolean(blockingOffloadConfigProp);
+        }
+    }
+
+    public static boolean isBlockingOffloadEnabled() {
+        return blockingOffloadEnabled;
     }
     
     public static WorkerExecutionContext schedule(WorkerExecutionContext ctx) {
@@ -103,8 +114,7 @@ public class BLangScheduler {
         if (runInCaller) {
             return ctx;
         } else {
-            ExecutorService executor = ThreadPoolFactory.getInstance().getWorkerExecutor();
-            executor.submit(new WorkerExecutor(ctx));
+            ThreadPoolFactory.getInstance().executeWorkerTask(new WorkerExecutor(ctx));
             return null;
         }
     }
@@ -121,7 +131,7 @@ public class BLangScheduler {
         if (runInCaller) {
             return ctx;
         } else {
-            ThreadPoolFactory.getInstance().getWorkerExecutor().submit(new WorkerExecutor(ctx));
+            ThreadPoolFactory.getInstance().executeWorkerTask(new WorkerExecutor(ctx));
             return null;
         }
     }
@@ -208,10 +218,26 @@ public class BLangScheduler {
         AsyncInvocableWorkerResponseContext respCtx = new AsyncInvocableWorkerResponseContext(callableUnitInfo);
         checkAndObserveNativeAsync(nativeCtx, respCtx, callableUnitInfo, flags);
         NativeCallExecutor exec = new NativeCallExecutor(nativeCallable, nativeCtx, respCtx);
-        ThreadPoolFactory.getInstance().getWorkerExecutor().submit(exec);
+        ThreadPoolFactory.getInstance().executeWorkerTask(exec);
         return respCtx;
     }
     
+    /**
+     * This method runs a blocking native call in the blocking thread pool, instead of the calling worker thread.
+     * The caller should be suspended in the WAITING_FOR_RESPONSE state, and it will be resumed through the given
+     * callback when the native call completes.
+     *
+     * @param nativeCallable the blocking native callable
+     * @param nativeCtx the native call context
+     * @param callback the callback to be notified with the result of the call
+     */
+    public static void executeBlockingNativeOffloaded(NativeCallableUnit nativeCallable, Context nativeCtx,
+            CallableUnitCallback callback) {
+        schedulerStats.blockingCallStarted();
+        ThreadPoolFactory.getInstance().getBlockingExecutor().submit(
+                new BlockingNativeCallExecutor(nativeCallable, nativeCtx, callback));
+    }
+
     public static AsyncInvocableWorkerResponseContext executeNonBlockingNativeAsync(NativeCallableUnit nativeCallable,
             Context nativeCtx, int flags) {
         CallableUnitInfo callableUnitInfo = nativeCtx.getCallableUnitInfo();
@@ -306,6 +332,47 @@ public class BLangScheduler {
         
     }
     
+    /**
+     * This represents the thread used to run a blocking native call offloaded from a worker thread.
+     */
+    private static class BlockingNativeCallExecutor implements Runnable {
+
+        private NativeCallableUnit nativeCallable;
+
+        private Context nativeCtx;
+
+        private CallableUnitCallback callback;
+
+        public BlockingNativeCallExecutor(NativeCallableUnit nativeCallable, Context nativeCtx,
+                CallableUnitCallback callback) {
+            this.nativeCallable = nativeCallable;
+            this.nativeCtx = nativeCtx;
+            this.callback = callback;
+        }
+
+        @Override
+        public void run() {
+            BMap<String, BValue> error = null;
+            try {
+                this.nativeCallable.execute(this.nativeCtx, null);
+            } catch (BLangNullReferenceException e) {
+                error = BLangVMErrors.createNullRefException(this.nativeCtx);
+            } catch (Throwable e) {
+                error = BLangVMErrors.createError(this.nativeCtx, e.getMessage());
+            } finally {
+                schedulerStats.blockingCallCompleted();
+            }
+            /* the registers of the call are not pooled here, since this thread is not the one which runs the
+             * workers, and its pool would never be drawn from */
+            if (error == null) {
+                this.callback.notifySuccess();
+            } else {
+                this.callback.notifyFailure(error);
+            }
+        }
+
+    }
+
     /**
      * This class represents the callback functionality for async non-blocking native calls.
      */
@@ -352,12 +419,27 @@ public class BLangScheduler {
     public static class SchedulerStats {
         
         private LongAdder[] stateCounts;
+
+        private LongAdder blockingCallCount;
         
         public SchedulerStats() {
             this.stateCounts = new LongAdder[6];
             for (int i = 0; i < this.stateCounts.length; i++) {
                 this.stateCounts[i] = new LongAdder();
             }
+            this.blockingCallCount = new LongAdder();
+        }
+
+        public void blockingCallStarted() {
+            if (schedulerStatsEnabled) {
+                this.blockingCallCount.increment();
+            }
+        }
+
+        public void blockingCallCompleted() {
+            if (schedulerStatsEnabled) {
+                this.blockingCallCount.decrement();
+            }
         }
 
         public long getReadyWorkerCount() {
@@ -383,6 +465,15 @@ public class BLangScheduler {
         public long getWaitingForLockWorkerCount() {
             return this.stateCounts[5].longValue();
         }
+
+        /**
+         * Returns the number of blocking native calls currently running in the blocking thread pool.
+         *
+         * @return the in-flight offloaded blocking call count
+         */
+        public long getOffloadedBlockingCallCount() {
+            return this.blockingCallCount.longValue();
+        }
         
         public void stateTransition(WorkerExecutionContext currentCtx, WorkerState newState) {
             if (!schedulerStatsEnabled || currentCtx.isRootContext()) {
@@ -409,6 +500,7 @@ public class BLangScheduler {
             builder.append("\tWAITING FOR RESPONSE: " + this.getWaitingForResponseWorkerCount() + "\n");
             builder.append("\tPAUSED: " + this.getPausedWorkerCount() + "\n");
             builder.append("\tWAITING FOR LOCK: " + this.getWaitingForLockWorkerCount() + "\n");
+            builder.append("Offloaded Blocking Calls: " + this.getOffloadedBlockingCallCount() + "\n");
             return builder.toString();
         }
         
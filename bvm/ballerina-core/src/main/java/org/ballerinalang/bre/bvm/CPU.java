@@ -66,6 +66,7 @@ import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.model.values.BXMLAttributes;
 import org.ballerinalang.model.values.BXMLQName;
 import org.ballerinalang.model.values.BXMLSequence;
+import org.ballerinalang.model.values.MapShape;
 import org.ballerinalang.runtime.Constants;
 import org.ballerinalang.util.TransactionStatus;
 import org.ballerinalang.util.codegen.AttachedFunctionInfo;
@@ -73,10 +74,18 @@ import org.ballerinalang.util.codegen.ErrorTableEntry;
 import org.ballerinalang.util.codegen.ForkjoinInfo;
 import org.ballerinalang.util.codegen.FunctionInfo;
 import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.Instruction.FieldSlot;
 import org.ballerinalang.util.codegen.Instruction.InstructionCALL;
+import org.ballerinalang.util.codegen.Instruction.InstructionFCONST;
 import org.ballerinalang.util.codegen.Instruction.InstructionFORKJOIN;
+import org.ballerinalang.util.codegen.Instruction.InstructionFieldLoad;
+import org.ballerinalang.util.codegen.Instruction.InstructionICONST;
+import org.ballerinalang.util.codegen.Instruction.InstructionICmpBranch;
+import org.ballerinalang.util.codegen.Instruction.InstructionIConstBinary;
 import org.ballerinalang.util.codegen.Instruction.InstructionIteratorNext;
 import org.ballerinalang.util.codegen.Instruction.InstructionLock;
+import org.ballerinalang.util.codegen.Instruction.InstructionSCONST;
+import org.ballerinalang.util.codegen.Instruction.InstructionSConstToAny;
 import org.ballerinalang.util.codegen.Instruction.InstructionVCALL;
 import org.ballerinalang.util.codegen.Instruction.InstructionWRKSendReceive;
 import org.ballerinalang.util.codegen.InstructionCodes;
@@ -271,6 +280,39 @@ public class CPU {
                         i = operands[1];
                         sf.refRegs[i] = new BByteArray(((BlobCPEntry) ctx.constPool[cpIndex]).getValue());
                         break;
+
+                    case InstructionCodes.ICONST_DECODED:
+                        InstructionICONST iconstIns = (InstructionICONST) instruction;
+                        sf.longRegs[iconstIns.retReg] = iconstIns.value;
+                        break;
+                    case InstructionCodes.FCONST_DECODED:
+                        InstructionFCONST fconstIns = (InstructionFCONST) instruction;
+                        sf.doubleRegs[fconstIns.retReg] = fconstIns.value;
+                        break;
+                    case InstructionCodes.SCONST_DECODED:
+                        InstructionSCONST sconstIns = (InstructionSCONST) instruction;
+                        sf.stringRegs[sconstIns.retReg] = sconstIns.value;
+                        break;
+                    case InstructionCodes.ICONST_IADD:
+                    case InstructionCodes.ICONST_ISUB:
+                        execIConstBinaryOpcodes(ctx, sf, opcode, (InstructionIConstBinary) instruction);
+                        break;
+                    case InstructionCodes.IGT_BR_FALSE:
+                    case InstructionCodes.IGE_BR_FALSE:
+                    case InstructionCodes.ILT_BR_FALSE:
+                    case InstructionCodes.ILE_BR_FALSE:
+                        execICmpBranchOpcodes(ctx, sf, opcode, (InstructionICmpBranch) instruction);
+                        break;
+                    case InstructionCodes.SCONST_MAPLOAD:
+                        execFieldLoadOpcode(ctx, sf, (InstructionFieldLoad) instruction);
+                        break;
+                    case InstructionCodes.SCONST_S2ANY:
+                        InstructionSConstToAny sconstToAnyIns = (InstructionSConstToAny) instruction;
+                        sf.stringRegs[sconstToAnyIns.constReg] = sconstToAnyIns.value;
+                        sf.refRegs[sconstToAnyIns.retReg] = sconstToAnyIns.bValue;
+                        // Skip the fused conversion instruction
+                        ctx.ip++;
+                        break;
     
                     case InstructionCodes.IMOVE:
                     case InstructionCodes.FMOVE:
@@ -958,7 +1000,7 @@ public class CPU {
             int index = operands[++operandIndex];
             switch (type) {
                 case TypeTags.INT_TAG: {
-                    fp.addClosureVar(new BClosure(new BInteger(ctx.workerLocal.longRegs[index])), TypeTags.INT_TAG);
+                    fp.addClosureVar(new BClosure(BInteger.valueOf(ctx.workerLocal.longRegs[index])), TypeTags.INT_TAG);
                     break;
                 }
                 case TypeTags.BYTE_TAG: {
@@ -966,16 +1008,18 @@ public class CPU {
                     break;
                 }
                 case TypeTags.FLOAT_TAG: {
-                    fp.addClosureVar(new BClosure(new BFloat(ctx.workerLocal.doubleRegs[index])), TypeTags.FLOAT_TAG);
+                    fp.addClosureVar(new BClosure(BFloat.valueOf(ctx.workerLocal.doubleRegs[index])),
+                            TypeTags.FLOAT_TAG);
                     break;
                 }
                 case TypeTags.BOOLEAN_TAG: {
-                    fp.addClosureVar(new BClosure(new BBoolean(ctx.workerLocal.intRegs[index] == 1)),
+                    fp.addClosureVar(new BClosure(BBoolean.valueOf(ctx.workerLocal.intRegs[index] == 1)),
                             TypeTags.BOOLEAN_TAG);
                     break;
                 }
                 case TypeTags.STRING_TAG: {
-                    fp.addClosureVar(new BClosure(new BString(ctx.workerLocal.stringRegs[index])), TypeTags.STRING_TAG);
+                    fp.addClosureVar(new BClosure(BString.valueOf(ctx.workerLocal.stringRegs[index])),
+                            TypeTags.STRING_TAG);
                     break;
                 }
                 default:
@@ -1102,6 +1146,81 @@ public class CPU {
         }
     }
 
+    private static void execIConstBinaryOpcodes(WorkerExecutionContext ctx, WorkerData sf, int opcode,
+                                                InstructionIConstBinary instruction) {
+        sf.longRegs[instruction.constReg] = instruction.value;
+        switch (opcode) {
+            case InstructionCodes.ICONST_IADD:
+                sf.longRegs[instruction.retReg] = sf.longRegs[instruction.lhsReg] + sf.longRegs[instruction.rhsReg];
+                break;
+            case InstructionCodes.ICONST_ISUB:
+                sf.longRegs[instruction.retReg] = sf.longRegs[instruction.lhsReg] - sf.longRegs[instruction.rhsReg];
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+        // Skip the fused binary instruction
+        ctx.ip++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void execFieldLoadOpcode(WorkerExecutionContext ctx, WorkerData sf,
+                                            InstructionFieldLoad instruction) {
+        sf.stringRegs[instruction.keyReg] = instruction.fieldName;
+        // Move to the fused map load instruction, so that errors are reported against it
+        ctx.ip++;
+        BMap<String, BRefType> bMap = (BMap<String, BRefType>) sf.refRegs[instruction.mapReg];
+        if (bMap == null) {
+            handleNullRefError(ctx);
+            return;
+        }
+        FieldSlot fieldSlot = instruction.cachedSlot;
+        MapShape shape = bMap.getShape();
+        if (shape != null && (fieldSlot == null || fieldSlot.shape != shape)) {
+            int slot = shape.slotOf(instruction.fieldName);
+            if (slot >= 0) {
+                fieldSlot = new FieldSlot(shape, slot);
+                instruction.cachedSlot = fieldSlot;
+            }
+        }
+        if (fieldSlot != null) {
+            sf.refRegs[instruction.retReg] = bMap.getField(instruction.fieldName, fieldSlot.shape, fieldSlot.slot,
+                    instruction.except);
+        } else {
+            sf.refRegs[instruction.retReg] = bMap.get(instruction.fieldName, instruction.except);
+        }
+    }
+
+    private static void execICmpBranchOpcodes(WorkerExecutionContext ctx, WorkerData sf, int opcode,
+                                              InstructionICmpBranch instruction) {
+        long lhs = sf.longRegs[instruction.lhsReg];
+        long rhs = sf.longRegs[instruction.rhsReg];
+        boolean result;
+        switch (opcode) {
+            case InstructionCodes.IGT_BR_FALSE:
+                result = lhs > rhs;
+                break;
+            case InstructionCodes.IGE_BR_FALSE:
+                result = lhs >= rhs;
+                break;
+            case InstructionCodes.ILT_BR_FALSE:
+                result = lhs < rhs;
+                break;
+            case InstructionCodes.ILE_BR_FALSE:
+                result = lhs <= rhs;
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+        sf.intRegs[instruction.retReg] = result ? 1 : 0;
+        if (result) {
+            // Skip the fused BR_FALSE instruction
+            ctx.ip++;
+        } else {
+            ctx.ip = instruction.falseJumpAddr;
+        }
+    }
+
     private static void execIntegerRangeOpcodes(WorkerData sf, int[] operands) {
         int i = operands[0];
         int j = operands[1];
@@ -1958,7 +2077,7 @@ public class CPU {
             case InstructionCodes.I2ANY:
                 i = operands[0];
                 j = operands[1];
-                sf.refRegs[j] = new BInteger(sf.longRegs[i]);
+                sf.refRegs[j] = BInteger.valueOf(sf.longRegs[i]);
                 break;
             case InstructionCodes.BI2ANY:
                 i = operands[0];
@@ -1968,17 +2087,17 @@ public class CPU {
             case InstructionCodes.F2ANY:
                 i = operands[0];
                 j = operands[1];
-                sf.refRegs[j] = new BFloat(sf.doubleRegs[i]);
+                sf.refRegs[j] = BFloat.valueOf(sf.doubleRegs[i]);
                 break;
             case InstructionCodes.S2ANY:
                 i = operands[0];
                 j = operands[1];
-                sf.refRegs[j] = new BString(sf.stringRegs[i]);
+                sf.refRegs[j] = BString.valueOf(sf.stringRegs[i]);
                 break;
             case InstructionCodes.B2ANY:
                 i = operands[0];
                 j = operands[1];
-                sf.refRegs[j] = new BBoolean(sf.intRegs[i] == 1);
+                sf.refRegs[j] = BBoolean.valueOf(sf.intRegs[i] == 1);
                 break;
             case InstructionCodes.ANY2I:
                 i = operands[0];
@@ -2148,7 +2267,7 @@ public class CPU {
                 }
 
                 try {
-                    sf.refRegs[j] = new BInteger(Long.parseLong(str));
+                    sf.refRegs[j] = BInteger.valueOf(Long.parseLong(str));
                 } catch (NumberFormatException e) {
                     handleTypeConversionError(ctx, sf, j, TypeConstants.STRING_TNAME, TypeConstants.INT_TNAME);
                 }
@@ -2164,7 +2283,7 @@ public class CPU {
                 }
 
                 try {
-                    sf.refRegs[j] = new BFloat(Double.parseDouble(str));
+                    sf.refRegs[j] = BFloat.valueOf(Double.parseDouble(str));
                 } catch (NumberFormatException e) {
                     handleTypeConversionError(ctx, sf, j, TypeConstants.STRING_TNAME, TypeConstants.FLOAT_TNAME);
                 }
@@ -2806,19 +2925,19 @@ public class CPU {
         BRefType result;
         switch (type.getTag()) {
             case TypeTags.INT_TAG:
-                result = new BInteger(data.longRegs[reg]);
+                result = BInteger.valueOf(data.longRegs[reg]);
                 break;
             case TypeTags.BYTE_TAG:
                 result = new BByte((byte) data.intRegs[reg]);
                 break;
             case TypeTags.FLOAT_TAG:
-                result = new BFloat(data.doubleRegs[reg]);
+                result = BFloat.valueOf(data.doubleRegs[reg]);
                 break;
             case TypeTags.STRING_TAG:
-                result = new BString(data.stringRegs[reg]);
+                result = BString.valueOf(data.stringRegs[reg]);
                 break;
             case TypeTags.BOOLEAN_TAG:
-                result = new BBoolean(data.intRegs[reg] > 0);
+                result = BBoolean.valueOf(data.intRegs[reg] > 0);
                 break;
             default:
                 result = data.refRegs[reg];
@@ -2909,7 +3028,14 @@ public class CPU {
 
     private static WorkerExecutionContext handleReturn(WorkerExecutionContext ctx) {
         BLangScheduler.workerDone(ctx);
-        return ctx.respCtx.signal(new WorkerSignal(ctx, SignalType.RETURN, ctx.workerResult));
+        WorkerExecutionContext nextCtx = ctx.respCtx.signal(new WorkerSignal(ctx, SignalType.RETURN,
+                ctx.workerResult));
+        /* the local data of the init worker is merged into the other workers after it returns */
+        if (WorkerDataPool.isEnabled() && !(ctx.respCtx instanceof InitWorkerResponseContext)) {
+            WorkerDataPool.release(ctx.workerLocal);
+            ctx.workerLocal = null;
+        }
+        return nextCtx;
     }
 
     private static boolean checkFiniteTypeAssignable(BValue bRefTypeValue, BType lhsType) {
@@ -3591,7 +3717,7 @@ public class CPU {
                         if (containsField) {
                             bStruct.put(key, mapVal);
                         } else if (defaultValAttrInfo != null) {
-                            bStruct.put(key, new BInteger(defaultValAttrInfo.getDefaultValue().getIntValue()));
+                            bStruct.put(key, BInteger.valueOf(defaultValAttrInfo.getDefaultValue().getIntValue()));
                         }
                         break;
                     case TypeTags.BYTE_TAG:
@@ -3605,21 +3731,21 @@ public class CPU {
                         if (containsField) {
                             bStruct.put(key, mapVal);
                         } else if (defaultValAttrInfo != null) {
-                            bStruct.put(key, new BFloat(defaultValAttrInfo.getDefaultValue().getFloatValue()));
+                            bStruct.put(key, BFloat.valueOf(defaultValAttrInfo.getDefaultValue().getFloatValue()));
                         }
                         break;
                     case TypeTags.STRING_TAG:
                         if (containsField) {
                             bStruct.put(key, mapVal);
                         } else if (defaultValAttrInfo != null) {
-                            bStruct.put(key, new BString(defaultValAttrInfo.getDefaultValue().getStringValue()));
+                            bStruct.put(key, defaultValAttrInfo.getDefaultValue().getBStringValue());
                         }
                         break;
                     case TypeTags.BOOLEAN_TAG:
                         if (containsField) {
                             bStruct.put(key, mapVal);
                         } else if (defaultValAttrInfo != null) {
-                            bStruct.put(key, new BBoolean(defaultValAttrInfo.getDefaultValue().getBooleanValue()));
+                            bStruct.put(key, BBoolean.valueOf(defaultValAttrInfo.getDefaultValue().getBooleanValue()));
                         }
                         break;
                     default:
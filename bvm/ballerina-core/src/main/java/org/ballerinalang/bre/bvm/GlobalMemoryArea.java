@@ -130,7 +130,7 @@ public class GlobalMemoryArea {
             VarTypeCountAttributeInfo varTypeCountAttribInfo = (VarTypeCountAttributeInfo) attributeInfo;
             int[] globalVarCount = varTypeCountAttribInfo.getVarTypeCount();
             // We are using the struct value to hold package-level variable values for the moment.
-            BStructureType dummyType = new BRecordType(null, "", "", 0);
+            BStructureType dummyType = new BRecordType(null, "", packageInfo.getPkgPath(), 0);
             dummyType.setFieldTypeCount(globalVarCount);
             globalMemBlock[packageInfo.pkgIndex] = new GlobalMemoryBlock(dummyType);
         }
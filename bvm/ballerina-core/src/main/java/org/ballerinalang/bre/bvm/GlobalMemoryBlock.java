@@ -25,6 +25,9 @@ import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.LockableStructureType;
 import org.ballerinalang.util.BLangConstants;
+import org.ballerinalang.util.metrics.DefaultMetricRegistry;
+import org.ballerinalang.util.metrics.MetricRegistry;
+import org.ballerinalang.util.metrics.PolledGauge;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -37,6 +40,8 @@ import java.util.StringJoiner;
  */
 
 public final class GlobalMemoryBlock implements BRefType, LockableStructureType {
+    private static final String LOCK_METRIC_PREFIX = "ballerina_global_variable_lock_";
+
     private HashMap<String, Object> nativeData = new HashMap<>();
 
     private long[] longFields;
@@ -189,7 +194,7 @@ public final class GlobalMemoryBlock implements BRefType, LockableStructureType
             //locking the whole field array
             synchronized (longFields) {
                 if (longLocks[index] == null) {
-                    longLocks[index] = new VarLock();
+                    longLocks[index] = newVarLock("int", index);
                 }
             }
         }
@@ -220,7 +225,7 @@ public final class GlobalMemoryBlock implements BRefType, LockableStructureType
             //locking the whole field array
             synchronized (doubleFields) {
                 if (doubleLocks[index] == null) {
-                    doubleLocks[index] = new VarLock();
+                    doubleLocks[index] = newVarLock("float", index);
                 }
             }
         }
@@ -250,7 +255,7 @@ public final class GlobalMemoryBlock implements BRefType, LockableStructureType
         if (stringLocks[index] == null) {
             synchronized (stringFields) {
                 if (stringLocks[index] == null) {
-                    stringLocks[index] = new VarLock();
+                    stringLocks[index] = newVarLock("string", index);
                 }
             }
         }
@@ -280,7 +285,7 @@ public final class GlobalMemoryBlock implements BRefType, LockableStructureType
         if (intLocks[index] == null) {
             synchronized (intFields) {
                 if (intLocks[index] == null) {
-                    intLocks[index] = new VarLock();
+                    intLocks[index] = newVarLock("boolean", index);
                 }
             }
         }
@@ -310,7 +315,7 @@ public final class GlobalMemoryBlock implements BRefType, LockableStructureType
         if (refLocks[index] == null) {
             synchronized (refFields) {
                 if (refLocks[index] == null) {
-                    refLocks[index] = new VarLock();
+                    refLocks[index] = newVarLock("ref", index);
                 }
             }
         }
@@ -322,6 +327,23 @@ public final class GlobalMemoryBlock implements BRefType, LockableStructureType
         refLocks[index].unlock();
     }
 
+    private VarLock newVarLock(String varType, int index) {
+        VarLock varLock = new VarLock();
+        MetricRegistry metricRegistry = DefaultMetricRegistry.getInstance();
+        if (metricRegistry == null) {
+            return varLock;
+        }
+        String[] tags = {"package", String.valueOf(structType.getPackagePath()), "type", varType,
+                "index", String.valueOf(index)};
+        PolledGauge.builder(LOCK_METRIC_PREFIX + "acquired_count", varLock, VarLock::getAcquiredCount)
+                .description("Number of times the global variable lock was acquired")
+                .tags(tags).register(metricRegistry);
+        PolledGauge.builder(LOCK_METRIC_PREFIX + "contended_count", varLock, VarLock::getContendedCount)
+                .description("Number of times a worker had to wait for the global variable lock")
+                .tags(tags).register(metricRegistry);
+        return varLock;
+    }
+
     @Override
     public BValue copy() {
         GlobalMemoryBlock bStruct = new GlobalMemoryBlock(structType);
@@ -18,24 +18,25 @@
 
 package org.ballerinalang.bre.bvm;
 
+import org.ballerinalang.bre.bvm.streams.SiddhiEventConverter;
+import org.ballerinalang.bre.bvm.streams.TimerWheelService;
+import org.ballerinalang.config.ConfigRegistry;
 import org.ballerinalang.model.types.BArrayType;
-import org.ballerinalang.model.types.BField;
 import org.ballerinalang.model.types.BStructureType;
 import org.ballerinalang.model.types.BType;
-import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BClosure;
-import org.ballerinalang.model.values.BFloat;
 import org.ballerinalang.model.values.BFunctionPointer;
-import org.ballerinalang.model.values.BInteger;
-import org.ballerinalang.model.values.BMap;
-import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.siddhi.core.SiddhiAppRuntime;
 import org.ballerinalang.siddhi.core.SiddhiManager;
 import org.ballerinalang.siddhi.core.event.Event;
 import org.ballerinalang.siddhi.core.stream.output.StreamCallback;
+import org.ballerinalang.util.codegen.FunctionInfo;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.program.BLangFunctions;
+import org.ballerinalang.util.timer.TimerWheel;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -47,12 +48,16 @@ import java.util.List;
  */
 public class StreamingRuntimeManager {
 
+    private static final String DELIVERY_CONFIG_PROP = "b7a.runtime.stream.callback.delivery";
+
+    private static final String CHUNK_DELIVERY = "chunk";
+
     private static StreamingRuntimeManager streamingRuntimeManager;
     private SiddhiManager siddhiManager = new SiddhiManager();
     private List<SiddhiAppRuntime> siddhiAppRuntimeList = new ArrayList<>();
 
     private StreamingRuntimeManager() {
-
+        siddhiManager.setTimerService(new TimerWheelService(TimerWheel.getInstance()));
     }
 
     public static StreamingRuntimeManager getInstance() {
@@ -75,50 +80,77 @@ public class StreamingRuntimeManager {
     }
 
 
+    /**
+     * Delivers the output events of a Siddhi stream to a streaming action. By default the action is invoked once per
+     * event, with the record of the event. With the {@code b7a.runtime.stream.callback.delivery} configuration set to
+     * {@code chunk}, it is invoked once per chunk of events emitted by Siddhi, with an array of the records of the
+     * chunk. Such an action has to publish the records of the array one by one, as a stream does not take an array.
+     *
+     * @param streamId         id of the Siddhi stream
+     * @param functionPointer  the streaming action, accepting an array of records as its last parameter
+     * @param siddhiAppRuntime the Siddhi app runtime of the stream
+     */
     public void addCallback(String streamId, BFunctionPointer functionPointer, SiddhiAppRuntime siddhiAppRuntime) {
 
         BType[] parameters = functionPointer.value().getFunctionInfo().getParamTypes();
-
-        // Create an array list with closure var values
-        List<BValue> closureArgs = new ArrayList<>();
-        for (BClosure closure : functionPointer.getClosureVars()) {
-            closureArgs.add(closure.value());
-        }
-
-        BStructureType structType = (BStructureType) ((BArrayType) parameters[parameters.length - 1]).getElementType();
         if (!(parameters[parameters.length - 1] instanceof BArrayType)) {
             throw new BallerinaException("incompatible function: inline function needs to be a function accepting"
                     + " an object array");
         }
+        boolean batched = CHUNK_DELIVERY.equalsIgnoreCase(
+                ConfigRegistry.getInstance().getAsString(DELIVERY_CONFIG_PROP));
+        siddhiAppRuntime.addCallback(streamId, new StreamActionCallback(functionPointer,
+                (BArrayType) parameters[parameters.length - 1], batched));
+    }
+
+    /**
+     * Invokes a streaming action with the records of the events of a Siddhi stream. The argument array of the action
+     * is reused across the invocations of a thread, as the arguments are copied to the frame of the action.
+     */
+    private static class StreamActionCallback extends StreamCallback {
+
+        private final FunctionInfo functionInfo;
+        private final BArrayType recordArrayType;
+        private final SiddhiEventConverter converter;
+        private final boolean batched;
+        private final ThreadLocal<BValue[]> args;
+
+        StreamActionCallback(BFunctionPointer functionPointer, BArrayType recordArrayType, boolean batched) {
+            this.functionInfo = functionPointer.value().getFunctionInfo();
+            this.recordArrayType = recordArrayType;
+            this.converter = new SiddhiEventConverter((BStructureType) recordArrayType.getElementType());
+            this.batched = batched;
+            // closure var values, followed by the slot of the events
+            List<BValue> closureArgs = new ArrayList<>();
+            for (BClosure closure : functionPointer.getClosureVars()) {
+                closureArgs.add(closure.value());
+            }
+            this.args = ThreadLocal.withInitial(() -> closureArgs.toArray(new BValue[closureArgs.size() + 1]));
+        }
 
-        siddhiAppRuntime.addCallback(streamId, new StreamCallback() {
-            @Override
-            public void receive(Event[] events) {
+        @Override
+        public void receive(Event[] events) {
+            BValue[] args = this.args.get();
+            int eventIndex = args.length - 1;
+            try {
+                if (batched) {
+                    BRefType<?>[] records = new BRefType<?>[events.length];
+                    for (int i = 0; i < events.length; i++) {
+                        records[i] = converter.toRecord(events[i].getData());
+                    }
+                    args[eventIndex] = new BRefValueArray(records, recordArrayType);
+                    BLangFunctions.invokeCallable(functionInfo, args);
+                    return;
+                }
                 for (Event event : events) {
                     // Here it is assumed that an event data will contain all the fields
                     // of the record. Otherwise, some fields will be missing from the record value.
-                    BMap<String, BValue> output = new BMap<String, BValue>(structType);
-                    BField[] fields = structType.getFields();
-                    int i = 0;
-                    for (Object field : event.getData()) {
-                        if (field instanceof Long || field instanceof Integer) {
-                            output.put(fields[i].fieldName, new BInteger(((Number) field).longValue()));
-                        } else if (field instanceof Double || field instanceof Float) {
-                            output.put(fields[i].fieldName, new BFloat(((Number) field).doubleValue()));
-                        } else if (field instanceof Boolean) {
-                            output.put(fields[i].fieldName, new BBoolean(((Boolean) field)));
-                        } else if (field instanceof String) {
-                            output.put(fields[i].fieldName, new BString((String) field));
-                        }
-                        i++;
-                    }
-                    List<BValue> argsList = new ArrayList<>();
-                    argsList.addAll(closureArgs);
-                    argsList.add(output);
-                    BLangFunctions.invokeCallable(functionPointer.value().getFunctionInfo(),
-                            argsList.toArray(new BValue[argsList.size()]));
+                    args[eventIndex] = converter.toRecord(event.getData());
+                    BLangFunctions.invokeCallable(functionInfo, args);
                 }
+            } finally {
+                args[eventIndex] = null;
             }
-        });
+        }
     }
 }
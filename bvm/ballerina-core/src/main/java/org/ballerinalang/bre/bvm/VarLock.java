@@ -17,55 +17,126 @@
 */
 package org.ballerinalang.bre.bvm;
 
-import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * {@code VarLock} represents lock object for variables.
+ * <p>
+ * The owner of the lock and its hold count are kept in an immutable {@link State}, which every acquisition and
+ * release replaces with a single compare-and-set, hence an uncontended lock is taken and released without a monitor.
+ * Re-entrant acquisitions by the owner only raise the hold count, and a child context, such as a worker started by
+ * the owner, takes the lock over until it releases it back, with the state of its owner kept as its outer state.
+ * <p>
+ * Contexts waiting for the lock are kept in a non-blocking queue and do not hold a thread. A release resumes the
+ * first of them, which then tries again, and a context which got into the queue after the release takes itself out
+ * of the queue and tries again on its own.
  *
  * @since 0.961.0
  */
 public class VarLock {
 
-    private ArrayDeque<WorkerExecutionContext> current;
+    /* the current state, null while the lock is not held */
+    private final AtomicReference<State> state = new AtomicReference<>();
 
-    private ArrayDeque<WorkerExecutionContext> waitingForLock;
+    private final ConcurrentLinkedQueue<WorkerExecutionContext> waitingForLock = new ConcurrentLinkedQueue<>();
 
-    public VarLock() {
-        this.current = new ArrayDeque<>();
-        this.waitingForLock = new ArrayDeque<>();
-    }
+    private final LongAdder acquiredCount = new LongAdder();
+
+    private final LongAdder contendedCount = new LongAdder();
 
-    public synchronized boolean lock(WorkerExecutionContext ctx) {
-        if (isLockFree() || lockedBySameContext(ctx) || lockedByParentContext(ctx)) {
-            current.offerLast(ctx);
-            return true;
+    public boolean lock(WorkerExecutionContext ctx) {
+        while (true) {
+            State current = state.get();
+            if (current != null && !canAcquire(current, ctx)) {
+                contendedCount.increment();
+                BLangScheduler.workerWaitForLock(ctx);
+                waitingForLock.offer(ctx);
+                /* the lock may have been released after its state was read and before this context got into the
+                queue, in which case nobody is going to resume it. So take it back from the queue and try again,
+                unless a release has already taken it, which resumes it */
+                State latest = state.get();
+                if ((latest != null && !canAcquire(latest, ctx)) || !waitingForLock.remove(ctx)) {
+                    return false;
+                }
+                BLangScheduler.workerRunning(ctx);
+                continue;
+            }
+            State next;
+            if (current == null) {
+                next = new State(ctx, 1, null);
+            } else if (current.owner == ctx) {
+                next = new State(ctx, current.holdCount + 1, current.outer);
+            } else {
+                next = new State(ctx, 1, current);
+            }
+            if (state.compareAndSet(current, next)) {
+                acquiredCount.increment();
+                return true;
+            }
         }
-        waitingForLock.offerLast(ctx);
-        BLangScheduler.workerWaitForLock(ctx);
-        return false;
     }
 
-    public synchronized void unlock() {
-        //current cannot be empty as unlock cannot be called without lock being called first.
-        current.removeLast();
-        if (!waitingForLock.isEmpty()) {
-            WorkerExecutionContext ctx = waitingForLock.removeFirst();
+    public void unlock() {
+        //unlock cannot be called without lock being called first, hence the lock has an owner.
+        while (true) {
+            State current = state.get();
+            if (current.holdCount > 1) {
+                if (state.compareAndSet(current, new State(current.owner, current.holdCount - 1, current.outer))) {
+                    return;
+                }
+                continue;
+            }
+            /* the lock is handed back to the outer owner, or released if there is none */
+            if (state.compareAndSet(current, current.outer)) {
+                break;
+            }
+        }
+        /* the waiting context tries again, and waits again if the lock is still held by someone else */
+        WorkerExecutionContext ctx = waitingForLock.poll();
+        if (ctx != null) {
             BLangScheduler.resume(ctx, ctx.ip - 1, false);
         }
     }
 
-    private boolean isLockFree() {
-        return current.isEmpty();
+    public long getAcquiredCount() {
+        return acquiredCount.sum();
+    }
+
+    public long getContendedCount() {
+        return contendedCount.sum();
+    }
+
+    private static boolean canAcquire(State current, WorkerExecutionContext ctx) {
+        return current.owner == ctx || isParentContext(current.owner, ctx);
     }
 
-    private boolean lockedByParentContext(WorkerExecutionContext ctx) {
-        if (ctx.parent == null) {
-            return false;
+    private static boolean isParentContext(WorkerExecutionContext current, WorkerExecutionContext ctx) {
+        for (WorkerExecutionContext parent = ctx.parent; parent != null; parent = parent.parent) {
+            if (parent == current) {
+                return true;
+            }
         }
-        return current.getLast() == ctx.parent || lockedByParentContext(ctx.parent);
+        return false;
     }
 
-    private boolean lockedBySameContext(WorkerExecutionContext ctx) {
-        return current.getLast() == ctx;
+    /**
+     * The owner of the lock and the number of times it holds the lock. The outer state is the state of the owner
+     * which handed the lock over to this one, and becomes the state of the lock again once this owner releases it.
+     */
+    private static class State {
+
+        private final WorkerExecutionContext owner;
+
+        private final int holdCount;
+
+        private final State outer;
+
+        private State(WorkerExecutionContext owner, int holdCount, State outer) {
+            this.owner = owner;
+            this.holdCount = holdCount;
+            this.outer = outer;
+        }
     }
 }
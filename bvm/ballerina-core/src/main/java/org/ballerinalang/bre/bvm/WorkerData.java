@@ -21,6 +21,8 @@ import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.util.codegen.attributes.CodeAttributeInfo;
 import org.ballerinalang.util.program.WorkerDataIndex;
 
+import java.util.Arrays;
+
 /**
  * This represents the local variables that are available to a worker. 
  * 
@@ -37,8 +39,15 @@ public class WorkerData {
     public int[] intRegs;
 
     public BRefType<?>[] refRegs;
+
+    /* the code attribute which defines the shape of the registers, used when pooling them */
+    final CodeAttributeInfo codeAttributeInfo;
+
+    /* set once the registers are handed to code outside the VM, which may keep them, so they are never pooled */
+    volatile boolean escaped;
     
     public WorkerData(CodeAttributeInfo ci) {
+        this.codeAttributeInfo = ci;
         if (ci.maxLongRegs > 0) {
             this.longRegs = new long[ci.maxLongRegs];
         }
@@ -57,6 +66,7 @@ public class WorkerData {
     }
     
     public WorkerData(WorkerDataIndex wdi) {
+        this.codeAttributeInfo = null;
         if (wdi.longRegCount > 0) {
             this.longRegs = new long[wdi.longRegCount];
         }
@@ -75,6 +85,7 @@ public class WorkerData {
     }
     
     public WorkerData(WorkerDataIndex wdi1, WorkerDataIndex wdi2) {
+        this.codeAttributeInfo = null;
         int count = wdi1.longRegCount + wdi2.longRegCount;
         if (count > 0) {
             this.longRegs = new long[count];
@@ -96,5 +107,30 @@ public class WorkerData {
             this.refRegs = new BRefType[count];
         }
     }
+
+    /**
+     * Marks the registers as reachable from outside the VM, so that they are not reused for another call.
+     */
+    public void markEscaped() {
+        this.escaped = true;
+    }
+
+    void clear() {
+        if (longRegs != null) {
+            Arrays.fill(longRegs, 0);
+        }
+        if (doubleRegs != null) {
+            Arrays.fill(doubleRegs, 0);
+        }
+        if (stringRegs != null) {
+            Arrays.fill(stringRegs, null);
+        }
+        if (intRegs != null) {
+            Arrays.fill(intRegs, 0);
+        }
+        if (refRegs != null) {
+            Arrays.fill(refRegs, null);
+        }
+    }
         
 }
@@ -0,0 +1,93 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.util.codegen.attributes.CodeAttributeInfo;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * {@code WorkerDataPool} keeps the register files of returned workers, so that later invocations of the same
+ * callable unit on the same thread can reuse them instead of allocating new register arrays for each call.
+ * <p>
+ * Register files are pooled per thread and keyed by the {@link CodeAttributeInfo} which defines their shape.
+ *
+ * @since 0.981.1
+ */
+public class WorkerDataPool {
+
+    private static final String WORKER_DATA_POOL_CONFIG_PROP = "b7a.runtime.vm.workerdata.pool";
+
+    /* the maximum number of register files kept for a single shape in a thread */
+    private static final int MAX_POOLED_WORKER_DATA_PER_SHAPE = 16;
+
+    private static final boolean ENABLED = isPoolEnabled();
+
+    private static final ThreadLocal<WorkerDataPool> THREAD_POOL = ThreadLocal.withInitial(WorkerDataPool::new);
+
+    private final Map<CodeAttributeInfo, ArrayDeque<WorkerData>> pooledWorkerData = new IdentityHashMap<>();
+
+    private static boolean isPoolEnabled() {
+        String poolConfigProp = ConfigRegistry.getInstance().getAsString(WORKER_DATA_POOL_CONFIG_PROP);
+        return poolConfigProp != null && Boolean.parseBoolean(poolConfigProp);
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Returns a cleared register file with the shape of the given code attribute, reusing a pooled one if
+     * there is any.
+     *
+     * @param ci the code attribute of the worker
+     * @return the register file for the worker
+     */
+    public static WorkerData acquire(CodeAttributeInfo ci) {
+        if (!ENABLED) {
+            return new WorkerData(ci);
+        }
+        ArrayDeque<WorkerData> pooled = THREAD_POOL.get().pooledWorkerData.get(ci);
+        if (pooled == null || pooled.isEmpty()) {
+            return new WorkerData(ci);
+        }
+        return pooled.pollLast();
+    }
+
+    /**
+     * Gives back a register file which is not used anymore. Register files which were not acquired from
+     * this pool, and register files which have escaped to code outside the VM, are ignored.
+     *
+     * @param workerData the register file to be reused
+     */
+    public static void release(WorkerData workerData) {
+        if (!ENABLED || workerData == null || workerData.codeAttributeInfo == null
+                || workerData.escaped) {
+            return;
+        }
+        ArrayDeque<WorkerData> pooled = THREAD_POOL.get().pooledWorkerData
+                .computeIfAbsent(workerData.codeAttributeInfo, ci -> new ArrayDeque<>());
+        if (pooled.size() < MAX_POOLED_WORKER_DATA_PER_SHAPE) {
+            workerData.clear();
+            pooled.offerLast(workerData);
+        }
+    }
+}
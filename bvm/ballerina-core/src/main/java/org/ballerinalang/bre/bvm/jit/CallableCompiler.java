@@ -0,0 +1,833 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm.jit;
+
+import org.ballerinalang.bre.bvm.WorkerData;
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.util.StringUtils;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.CallableUnitInfo.WorkerSet;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.Instruction.InstructionFCONST;
+import org.ballerinalang.util.codegen.Instruction.InstructionICONST;
+import org.ballerinalang.util.codegen.Instruction.InstructionICmpBranch;
+import org.ballerinalang.util.codegen.Instruction.InstructionIConstBinary;
+import org.ballerinalang.util.codegen.Instruction.InstructionSCONST;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.attributes.CodeAttributeInfo;
+import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
+import org.ballerinalang.util.codegen.cpentries.FloatCPEntry;
+import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
+import org.ballerinalang.util.codegen.cpentries.StringCPEntry;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code CallableCompiler} compiles the body of hot callable units to JVM bytecode, so that HotSpot can optimize
+ * them instead of running each instruction through the {@code CPU} interpreter.
+ * <p>
+ * Only callable units with a single worker, which take and return values of simple types, and which use
+ * nothing but constant loads, moves, arithmetic, comparisons, branches and returns are compiled. The registers
+ * of the callee live in JVM local variables, hence the compiled body has no side effects until it writes the
+ * return values to the registers of the caller. Any other opcode, including calls, worker interactions, locks
+ * and transactions, keeps the callable unit in the interpreter. An integer or float division by zero makes
+ * the compiled body bail out, so that the interpreter runs the callable unit again and raises the error.
+ *
+ * @since 0.981.1
+ */
+public class CallableCompiler {
+
+    private static final String COMPILE_THRESHOLD_CONFIG_PROP = "b7a.runtime.vm.jit.threshold";
+
+    private static final String COMPILED_CLASS_PREFIX = "org/ballerinalang/bre/bvm/jit/CompiledCallable$";
+
+    private static final String WORKER_DATA = Type.getInternalName(WorkerData.class);
+
+    private static final String STRING = Type.getInternalName(String.class);
+
+    private static final String STRING_BUILDER = Type.getInternalName(StringBuilder.class);
+
+    /* marks callable units which can not be compiled, so that they are not tried again */
+    private static final CompiledCallable NOT_COMPILABLE = (caller, argRegs, retRegs) -> false;
+
+    private static final AtomicInteger COMPILED_CLASS_COUNT = new AtomicInteger();
+
+    /* the first local variable slots of the compiled method hold this, the caller registers, argRegs and retRegs */
+    private static final int CALLER_SLOT = 1;
+    private static final int ARG_REGS_SLOT = 2;
+    private static final int RET_REGS_SLOT = 3;
+    private static final int FIRST_REG_SLOT = 4;
+
+    private final CallableUnitInfo callableUnitInfo;
+    private final Instruction[] code;
+    private final ConstantPoolEntry[] constPool;
+    private final int startAddr;
+    private final int endAddr;
+    private final int maxLongRegs;
+    private final int maxDoubleRegs;
+    private final int maxStringRegs;
+    private final int maxIntRegs;
+    private final int longRegBase;
+    private final int doubleRegBase;
+    private final int stringRegBase;
+    private final int intRegBase;
+    private final int[] retSlots;
+
+    private MethodVisitor mv;
+    private Label[] labels;
+    private Label bailout;
+
+    /**
+     * Returns the number of invocations after which a callable unit is compiled, or zero if compiling is
+     * disabled.
+     *
+     * @return the compile threshold
+     */
+    public static int getCompileThreshold() {
+        String thresholdConfigProp = ConfigRegistry.getInstance().getAsString(COMPILE_THRESHOLD_CONFIG_PROP);
+        if (thresholdConfigProp == null) {
+            return 0;
+        }
+        try {
+            return Math.max(Integer.parseInt(thresholdConfigProp.trim()), 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Counts an invocation of the given callable unit, and compiles it once it has been invoked as many times as
+     * the threshold.
+     *
+     * @param callableUnitInfo the invoked callable unit
+     * @param threshold        the compile threshold
+     * @return the compiled body of the callable unit, or null if it is not compiled
+     */
+    public static CompiledCallable countInvocation(CallableUnitInfo callableUnitInfo, int threshold) {
+        CompiledCallable compiledCallable = callableUnitInfo.getCompiledCallable();
+        if (compiledCallable == null) {
+            // The count is not synchronized, a lost update only delays the compilation
+            if (callableUnitInfo.incrementInvocationCount() < threshold) {
+                return null;
+            }
+            synchronized (callableUnitInfo) {
+                compiledCallable = callableUnitInfo.getCompiledCallable();
+                if (compiledCallable == null) {
+                    compiledCallable = compile(callableUnitInfo);
+                    callableUnitInfo.setCompiledCallable(compiledCallable);
+                }
+            }
+        }
+        return compiledCallable == NOT_COMPILABLE ? null : compiledCallable;
+    }
+
+    /**
+     * Returns whether the given callable unit runs as JVM bytecode.
+     *
+     * @param callableUnitInfo the callable unit
+     * @return true if the callable unit has been compiled
+     */
+    public static boolean isCompiled(CallableUnitInfo callableUnitInfo) {
+        CompiledCallable compiledCallable = callableUnitInfo.getCompiledCallable();
+        return compiledCallable != null && compiledCallable != NOT_COMPILABLE;
+    }
+
+    private static CompiledCallable compile(CallableUnitInfo callableUnitInfo) {
+        WorkerSet workerSet = callableUnitInfo.getWorkerSet();
+        if (callableUnitInfo.isNative() || workerSet.initWorker != null || workerSet.generalWorkers.length != 1
+                || !isSupported(callableUnitInfo.getParamTypes())
+                || !isSupported(callableUnitInfo.getRetParamTypes())) {
+            return NOT_COMPILABLE;
+        }
+        try {
+            String className = COMPILED_CLASS_PREFIX + COMPILED_CLASS_COUNT.incrementAndGet();
+            byte[] classBytes = new CallableCompiler(callableUnitInfo).generate(className);
+            Class<?> compiledClass = new CompiledCallableLoader(CallableCompiler.class.getClassLoader())
+                    .define(className.replace('/', '.'), classBytes);
+            return (CompiledCallable) compiledClass.getConstructor().newInstance();
+        } catch (NotCompilableException e) {
+            return NOT_COMPILABLE;
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            // The generated code was rejected, e.g. the method is too large, hence keep interpreting it
+            return NOT_COMPILABLE;
+        }
+    }
+
+    private static boolean isSupported(BType[] types) {
+        for (BType type : types) {
+            switch (type.getTag()) {
+                case TypeTags.INT_TAG:
+                case TypeTags.FLOAT_TAG:
+                case TypeTags.STRING_TAG:
+                case TypeTags.BOOLEAN_TAG:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private CallableCompiler(CallableUnitInfo callableUnitInfo) {
+        this.callableUnitInfo = callableUnitInfo;
+        PackageInfo packageInfo = callableUnitInfo.getPackageInfo();
+        CodeAttributeInfo codeAttributeInfo = callableUnitInfo.getWorkerSet().generalWorkers[0]
+                .getCodeAttributeInfo();
+        this.code = packageInfo.getInstructions();
+        this.constPool = packageInfo.getConstPoolEntries();
+        this.startAddr = codeAttributeInfo.getCodeAddrs();
+        this.endAddr = packageInfo.getWorkerCodeEndAddrs(startAddr);
+        this.maxLongRegs = codeAttributeInfo.maxLongRegs;
+        this.maxDoubleRegs = codeAttributeInfo.maxDoubleRegs;
+        this.maxStringRegs = codeAttributeInfo.maxStringRegs;
+        this.maxIntRegs = codeAttributeInfo.maxIntRegs;
+        this.longRegBase = FIRST_REG_SLOT;
+        this.doubleRegBase = longRegBase + 2 * maxLongRegs;
+        this.stringRegBase = doubleRegBase + 2 * maxDoubleRegs;
+        this.intRegBase = stringRegBase + maxStringRegs;
+
+        BType[] retTypes = callableUnitInfo.getRetParamTypes();
+        this.retSlots = new int[retTypes.length];
+        int nextSlot = intRegBase + maxIntRegs;
+        for (int i = 0; i < retTypes.length; i++) {
+            retSlots[i] = nextSlot;
+            nextSlot += isWide(retTypes[i]) ? 2 : 1;
+        }
+    }
+
+    private byte[] generate(String className) {
+        if (startAddr < 0 || startAddr >= endAddr || endAddr > code.length) {
+            throw new NotCompilableException();
+        }
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, className, null,
+                "java/lang/Object", new String[] { Type.getInternalName(CompiledCallable.class) });
+
+        MethodVisitor init = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "execute", "(L" + WORKER_DATA + ";[I[I)Z", null, null);
+        mv.visitCode();
+        generatePrologue();
+        labels = new Label[endAddr - startAddr];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = new Label();
+        }
+        bailout = new Label();
+        for (int ip = startAddr; ip < endAddr; ip++) {
+            mv.visitLabel(labels[ip - startAddr]);
+            generateInstruction(code[ip]);
+        }
+        // Falling off the end of the code is not expected, let the interpreter deal with it
+        mv.visitLabel(bailout);
+        mv.visitInsn(Opcodes.ICONST_0);
+        mv.visitInsn(Opcodes.IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private void generatePrologue() {
+        // Every register starts with its default value, as in a new WorkerData
+        for (int i = 0; i < maxLongRegs; i++) {
+            mv.visitInsn(Opcodes.LCONST_0);
+            mv.visitVarInsn(Opcodes.LSTORE, longRegBase + 2 * i);
+        }
+        for (int i = 0; i < maxDoubleRegs; i++) {
+            mv.visitInsn(Opcodes.DCONST_0);
+            mv.visitVarInsn(Opcodes.DSTORE, doubleRegBase + 2 * i);
+        }
+        for (int i = 0; i < maxStringRegs; i++) {
+            mv.visitInsn(Opcodes.ACONST_NULL);
+            mv.visitVarInsn(Opcodes.ASTORE, stringRegBase + i);
+        }
+        for (int i = 0; i < maxIntRegs; i++) {
+            mv.visitInsn(Opcodes.ICONST_0);
+            mv.visitVarInsn(Opcodes.ISTORE, intRegBase + i);
+        }
+        BType[] retTypes = callableUnitInfo.getRetParamTypes();
+        for (int i = 0; i < retTypes.length; i++) {
+            switch (retTypes[i].getTag()) {
+                case TypeTags.INT_TAG:
+                    mv.visitInsn(Opcodes.LCONST_0);
+                    mv.visitVarInsn(Opcodes.LSTORE, retSlots[i]);
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    mv.visitInsn(Opcodes.DCONST_0);
+                    mv.visitVarInsn(Opcodes.DSTORE, retSlots[i]);
+                    break;
+                case TypeTags.STRING_TAG:
+                    mv.visitInsn(Opcodes.ACONST_NULL);
+                    mv.visitVarInsn(Opcodes.ASTORE, retSlots[i]);
+                    break;
+                default:
+                    mv.visitInsn(Opcodes.ICONST_0);
+                    mv.visitVarInsn(Opcodes.ISTORE, retSlots[i]);
+                    break;
+            }
+        }
+
+        // Copy the arguments from the caller registers, the same way BLangVMUtils.copyArgValues does
+        BType[] paramTypes = callableUnitInfo.getParamTypes();
+        int longRegIndex = -1;
+        int doubleRegIndex = -1;
+        int stringRegIndex = -1;
+        int booleanRegIndex = -1;
+        for (int i = 0; i < paramTypes.length; i++) {
+            switch (paramTypes[i].getTag()) {
+                case TypeTags.INT_TAG:
+                    loadCallerReg(i, "longRegs", "[J", Opcodes.LALOAD);
+                    mv.visitVarInsn(Opcodes.LSTORE, longReg(++longRegIndex));
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    loadCallerReg(i, "doubleRegs", "[D", Opcodes.DALOAD);
+                    mv.visitVarInsn(Opcodes.DSTORE, doubleReg(++doubleRegIndex));
+                    break;
+                case TypeTags.STRING_TAG:
+                    loadCallerReg(i, "stringRegs", "[L" + STRING + ";", Opcodes.AALOAD);
+                    mv.visitVarInsn(Opcodes.ASTORE, stringReg(++stringRegIndex));
+                    break;
+                default:
+                    loadCallerReg(i, "intRegs", "[I", Opcodes.IALOAD);
+                    mv.visitVarInsn(Opcodes.ISTORE, intReg(++booleanRegIndex));
+                    break;
+            }
+        }
+    }
+
+    private void loadCallerReg(int argIndex, String regsField, String regsDesc, int loadOpcode) {
+        mv.visitVarInsn(Opcodes.ALOAD, CALLER_SLOT);
+        mv.visitFieldInsn(Opcodes.GETFIELD, WORKER_DATA, regsField, regsDesc);
+        mv.visitVarInsn(Opcodes.ALOAD, ARG_REGS_SLOT);
+        pushInt(argIndex);
+        mv.visitInsn(Opcodes.IALOAD);
+        mv.visitInsn(loadOpcode);
+    }
+
+    private void generateReturn() {
+        // Write the return values to the caller registers, the same way BLangVMUtils.mergeResultData does
+        BType[] retTypes = callableUnitInfo.getRetParamTypes();
+        for (int i = 0; i < retTypes.length; i++) {
+            switch (retTypes[i].getTag()) {
+                case TypeTags.INT_TAG:
+                    storeCallerReg(i, "longRegs", "[J", Opcodes.LLOAD, Opcodes.LASTORE);
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    storeCallerReg(i, "doubleRegs", "[D", Opcodes.DLOAD, Opcodes.DASTORE);
+                    break;
+                case TypeTags.STRING_TAG:
+                    storeCallerReg(i, "stringRegs", "[L" + STRING + ";", Opcodes.ALOAD, Opcodes.AASTORE);
+                    break;
+                default:
+                    storeCallerReg(i, "intRegs", "[I", Opcodes.ILOAD, Opcodes.IASTORE);
+                    break;
+            }
+        }
+        mv.visitInsn(Opcodes.ICONST_1);
+        mv.visitInsn(Opcodes.IRETURN);
+    }
+
+    private void storeCallerReg(int retIndex, String regsField, String regsDesc, int loadOpcode, int storeOpcode) {
+        mv.visitVarInsn(Opcodes.ALOAD, CALLER_SLOT);
+        mv.visitFieldInsn(Opcodes.GETFIELD, WORKER_DATA, regsField, regsDesc);
+        mv.visitVarInsn(Opcodes.ALOAD, RET_REGS_SLOT);
+        pushInt(retIndex);
+        mv.visitInsn(Opcodes.IALOAD);
+        mv.visitVarInsn(loadOpcode, retSlots[retIndex]);
+        mv.visitInsn(storeOpcode);
+    }
+
+    private void generateInstruction(Instruction instruction) {
+        int opcode = instruction.getOpcode();
+        int[] operands = instruction.getOperands();
+        switch (opcode) {
+            case InstructionCodes.ICONST:
+                pushLong(((IntegerCPEntry) constPool[operands[0]]).getValue());
+                mv.visitVarInsn(Opcodes.LSTORE, longReg(operands[1]));
+                break;
+            case InstructionCodes.FCONST:
+                pushDouble(((FloatCPEntry) constPool[operands[0]]).getValue());
+                mv.visitVarInsn(Opcodes.DSTORE, doubleReg(operands[1]));
+                break;
+            case InstructionCodes.SCONST:
+                pushString(((StringCPEntry) constPool[operands[0]]).getValue());
+                mv.visitVarInsn(Opcodes.ASTORE, stringReg(operands[1]));
+                break;
+            case InstructionCodes.ICONST_0:
+            case InstructionCodes.ICONST_1:
+            case InstructionCodes.ICONST_2:
+            case InstructionCodes.ICONST_3:
+            case InstructionCodes.ICONST_4:
+            case InstructionCodes.ICONST_5:
+                pushLong(opcode - InstructionCodes.ICONST_0);
+                mv.visitVarInsn(Opcodes.LSTORE, longReg(operands[0]));
+                break;
+            case InstructionCodes.FCONST_0:
+            case InstructionCodes.FCONST_1:
+            case InstructionCodes.FCONST_2:
+            case InstructionCodes.FCONST_3:
+            case InstructionCodes.FCONST_4:
+            case InstructionCodes.FCONST_5:
+                pushDouble(opcode - InstructionCodes.FCONST_0);
+                mv.visitVarInsn(Opcodes.DSTORE, doubleReg(operands[0]));
+                break;
+            case InstructionCodes.BCONST_0:
+            case InstructionCodes.BCONST_1:
+                pushInt(opcode - InstructionCodes.BCONST_0);
+                mv.visitVarInsn(Opcodes.ISTORE, intReg(operands[0]));
+                break;
+            case InstructionCodes.ICONST_DECODED:
+                InstructionICONST iconstIns = (InstructionICONST) instruction;
+                pushLong(iconstIns.value);
+                mv.visitVarInsn(Opcodes.LSTORE, longReg(iconstIns.retReg));
+                break;
+            case InstructionCodes.FCONST_DECODED:
+                InstructionFCONST fconstIns = (InstructionFCONST) instruction;
+                pushDouble(fconstIns.value);
+                mv.visitVarInsn(Opcodes.DSTORE, doubleReg(fconstIns.retReg));
+                break;
+            case InstructionCodes.SCONST_DECODED:
+                InstructionSCONST sconstIns = (InstructionSCONST) instruction;
+                pushString(sconstIns.value);
+                mv.visitVarInsn(Opcodes.ASTORE, stringReg(sconstIns.retReg));
+                break;
+            case InstructionCodes.ICONST_IADD:
+            case InstructionCodes.ICONST_ISUB:
+                // Only the constant load is generated here, the fused binary instruction follows as it is
+                InstructionIConstBinary iconstBinaryIns = (InstructionIConstBinary) instruction;
+                pushLong(iconstBinaryIns.value);
+                mv.visitVarInsn(Opcodes.LSTORE, longReg(iconstBinaryIns.constReg));
+                break;
+            case InstructionCodes.IGT_BR_FALSE:
+            case InstructionCodes.IGE_BR_FALSE:
+            case InstructionCodes.ILT_BR_FALSE:
+            case InstructionCodes.ILE_BR_FALSE:
+                // Only the comparison is generated here, the fused branch instruction follows as it is
+                InstructionICmpBranch icmpBranchIns = (InstructionICmpBranch) instruction;
+                generateLongCompare(icmpBranchIns.lhsReg, icmpBranchIns.rhsReg, icmpBranchIns.retReg,
+                        getCompareBranchOpcode(opcode));
+                break;
+            case InstructionCodes.IMOVE:
+                mv.visitVarInsn(Opcodes.LLOAD, longReg(operands[0]));
+                mv.visitVarInsn(Opcodes.LSTORE, longReg(operands[1]));
+                break;
+            case InstructionCodes.FMOVE:
+                mv.visitVarInsn(Opcodes.DLOAD, doubleReg(operands[0]));
+                mv.visitVarInsn(Opcodes.DSTORE, doubleReg(operands[1]));
+                break;
+            case InstructionCodes.SMOVE:
+                mv.visitVarInsn(Opcodes.ALOAD, stringReg(operands[0]));
+                mv.visitVarInsn(Opcodes.ASTORE, stringReg(operands[1]));
+                break;
+            case InstructionCodes.BMOVE:
+                mv.visitVarInsn(Opcodes.ILOAD, intReg(operands[0]));
+                mv.visitVarInsn(Opcodes.ISTORE, intReg(operands[1]));
+                break;
+            case InstructionCodes.IADD:
+                generateLongBinary(operands, Opcodes.LADD);
+                break;
+            case InstructionCodes.ISUB:
+                generateLongBinary(operands, Opcodes.LSUB);
+                break;
+            case InstructionCodes.IMUL:
+                generateLongBinary(operands, Opcodes.LMUL);
+                break;
+            case InstructionCodes.IDIV:
+                generateLongZeroCheck(operands[1]);
+                generateLongBinary(operands, Opcodes.LDIV);
+                break;
+            case InstructionCodes.IMOD:
+                generateLongZeroCheck(operands[1]);
+                generateLongBinary(operands, Opcodes.LREM);
+                break;
+            case InstructionCodes.IAND:
+                generateLongBinary(operands, Opcodes.LAND);
+                break;
+            case InstructionCodes.IOR:
+                generateLongBinary(operands, Opcodes.LOR);
+                break;
+            case InstructionCodes.IXOR:
+                generateLongBinary(operands, Opcodes.LXOR);
+                break;
+            case InstructionCodes.ILSHIFT:
+                generateLongShift(operands, Opcodes.LSHL);
+                break;
+            case InstructionCodes.IRSHIFT:
+                generateLongShift(operands, Opcodes.LSHR);
+                break;
+            case InstructionCodes.IURSHIFT:
+                generateLongShift(operands, Opcodes.LUSHR);
+                break;
+            case InstructionCodes.FADD:
+                generateDoubleBinary(operands, Opcodes.DADD);
+                break;
+            case InstructionCodes.FSUB:
+                generateDoubleBinary(operands, Opcodes.DSUB);
+                break;
+            case InstructionCodes.FMUL:
+                generateDoubleBinary(operands, Opcodes.DMUL);
+                break;
+            case InstructionCodes.FDIV:
+                generateDoubleZeroCheck(operands[1]);
+                generateDoubleBinary(operands, Opcodes.DDIV);
+                break;
+            case InstructionCodes.FMOD:
+                generateDoubleZeroCheck(operands[1]);
+                generateDoubleBinary(operands, Opcodes.DREM);
+                break;
+            case InstructionCodes.BIAND:
+                generateIntBinary(operands, Opcodes.IAND);
+                break;
+            case InstructionCodes.BIOR:
+                generateIntBinary(operands, Opcodes.IOR);
+                break;
+            case InstructionCodes.BIXOR:
+                generateIntBinary(operands, Opcodes.IXOR);
+                break;
+            case InstructionCodes.SADD:
+                mv.visitTypeInsn(Opcodes.NEW, STRING_BUILDER);
+                mv.visitInsn(Opcodes.DUP);
+                mv.visitMethodInsn(Opcodes.INVOKESPECIAL, STRING_BUILDER, "<init>", "()V", false);
+                mv.visitVarInsn(Opcodes.ALOAD, stringReg(operands[0]));
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING_BUILDER, "append",
+                        "(L" + STRING + ";)L" + STRING_BUILDER + ";", false);
+                mv.visitVarInsn(Opcodes.ALOAD, stringReg(operands[1]));
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING_BUILDER, "append",
+                        "(L" + STRING + ";)L" + STRING_BUILDER + ";", false);
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING_BUILDER, "toString", "()L" + STRING + ";",
+                        false);
+                mv.visitVarInsn(Opcodes.ASTORE, stringReg(operands[2]));
+                break;
+            case InstructionCodes.INEG:
+                mv.visitVarInsn(Opcodes.LLOAD, longReg(operands[0]));
+                mv.visitInsn(Opcodes.LNEG);
+                mv.visitVarInsn(Opcodes.LSTORE, longReg(operands[1]));
+                break;
+            case InstructionCodes.FNEG:
+                mv.visitVarInsn(Opcodes.DLOAD, doubleReg(operands[0]));
+                mv.visitInsn(Opcodes.DNEG);
+                mv.visitVarInsn(Opcodes.DSTORE, doubleReg(operands[1]));
+                break;
+            case InstructionCodes.BNOT:
+                mv.visitVarInsn(Opcodes.ILOAD, intReg(operands[0]));
+                generateBoolean(Opcodes.IFEQ, operands[1]);
+                break;
+            case InstructionCodes.I2F:
+                mv.visitVarInsn(Opcodes.LLOAD, longReg(operands[0]));
+                mv.visitInsn(Opcodes.L2D);
+                mv.visitVarInsn(Opcodes.DSTORE, doubleReg(operands[1]));
+                break;
+            case InstructionCodes.F2I:
+                mv.visitVarInsn(Opcodes.DLOAD, doubleReg(operands[0]));
+                mv.visitInsn(Opcodes.D2L);
+                mv.visitVarInsn(Opcodes.LSTORE, longReg(operands[1]));
+                break;
+            case InstructionCodes.IEQ:
+            case InstructionCodes.INE:
+            case InstructionCodes.IGT:
+            case InstructionCodes.IGE:
+            case InstructionCodes.ILT:
+            case InstructionCodes.ILE:
+                generateLongCompare(operands[0], operands[1], operands[2], getCompareBranchOpcode(opcode));
+                break;
+            case InstructionCodes.FEQ:
+            case InstructionCodes.FNE:
+            case InstructionCodes.FGT:
+            case InstructionCodes.FGE:
+                // A NaN operand makes the comparison false, except for FNE
+                generateDoubleCompare(operands, Opcodes.DCMPL, getCompareBranchOpcode(opcode));
+                break;
+            case InstructionCodes.FLT:
+            case InstructionCodes.FLE:
+                generateDoubleCompare(operands, Opcodes.DCMPG, getCompareBranchOpcode(opcode));
+                break;
+            case InstructionCodes.BEQ:
+                mv.visitVarInsn(Opcodes.ILOAD, intReg(operands[0]));
+                mv.visitVarInsn(Opcodes.ILOAD, intReg(operands[1]));
+                generateBoolean(Opcodes.IF_ICMPEQ, operands[2]);
+                break;
+            case InstructionCodes.BNE:
+                mv.visitVarInsn(Opcodes.ILOAD, intReg(operands[0]));
+                mv.visitVarInsn(Opcodes.ILOAD, intReg(operands[1]));
+                generateBoolean(Opcodes.IF_ICMPNE, operands[2]);
+                break;
+            case InstructionCodes.SEQ:
+            case InstructionCodes.SNE:
+                mv.visitVarInsn(Opcodes.ALOAD, stringReg(operands[0]));
+                mv.visitVarInsn(Opcodes.ALOAD, stringReg(operands[1]));
+                mv.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(StringUtils.class), "isEqual",
+                        "(L" + STRING + ";L" + STRING + ";)Z", false);
+                generateBoolean(opcode == InstructionCodes.SEQ ? Opcodes.IFNE : Opcodes.IFEQ, operands[2]);
+                break;
+            case InstructionCodes.BR_TRUE:
+                mv.visitVarInsn(Opcodes.ILOAD, intReg(operands[0]));
+                mv.visitInsn(Opcodes.ICONST_1);
+                mv.visitJumpInsn(Opcodes.IF_ICMPEQ, label(operands[1]));
+                break;
+            case InstructionCodes.BR_FALSE:
+                mv.visitVarInsn(Opcodes.ILOAD, intReg(operands[0]));
+                mv.visitJumpInsn(Opcodes.IFEQ, label(operands[1]));
+                break;
+            case InstructionCodes.GOTO:
+                mv.visitJumpInsn(Opcodes.GOTO, label(operands[0]));
+                break;
+            case InstructionCodes.IRET:
+                mv.visitVarInsn(Opcodes.LLOAD, longReg(operands[1]));
+                mv.visitVarInsn(Opcodes.LSTORE, retSlot(operands[0], TypeTags.INT_TAG));
+                break;
+            case InstructionCodes.FRET:
+                mv.visitVarInsn(Opcodes.DLOAD, doubleReg(operands[1]));
+                mv.visitVarInsn(Opcodes.DSTORE, retSlot(operands[0], TypeTags.FLOAT_TAG));
+                break;
+            case InstructionCodes.SRET:
+                mv.visitVarInsn(Opcodes.ALOAD, stringReg(operands[1]));
+                mv.visitVarInsn(Opcodes.ASTORE, retSlot(operands[0], TypeTags.STRING_TAG));
+                break;
+            case InstructionCodes.BRET:
+                mv.visitVarInsn(Opcodes.ILOAD, intReg(operands[1]));
+                mv.visitVarInsn(Opcodes.ISTORE, retSlot(operands[0], TypeTags.BOOLEAN_TAG));
+                break;
+            case InstructionCodes.RET:
+                generateReturn();
+                break;
+            case InstructionCodes.HALT:
+                // The code of each worker ends with a HALT, which is left to the interpreter to signal
+                mv.visitJumpInsn(Opcodes.GOTO, bailout);
+                break;
+            default:
+                throw new NotCompilableException();
+        }
+    }
+
+    private void generateLongBinary(int[] operands, int opcode) {
+        mv.visitVarInsn(Opcodes.LLOAD, longReg(operands[0]));
+        mv.visitVarInsn(Opcodes.LLOAD, longReg(operands[1]));
+        mv.visitInsn(opcode);
+        mv.visitVarInsn(Opcodes.LSTORE, longReg(operands[2]));
+    }
+
+    private void generateLongShift(int[] operands, int opcode) {
+        mv.visitVarInsn(Opcodes.LLOAD, longReg(operands[0]));
+        mv.visitVarInsn(Opcodes.LLOAD, longReg(operands[1]));
+        mv.visitInsn(Opcodes.L2I);
+        mv.visitInsn(opcode);
+        mv.visitVarInsn(Opcodes.LSTORE, longReg(operands[2]));
+    }
+
+    private void generateDoubleBinary(int[] operands, int opcode) {
+        mv.visitVarInsn(Opcodes.DLOAD, doubleReg(operands[0]));
+        mv.visitVarInsn(Opcodes.DLOAD, doubleReg(operands[1]));
+        mv.visitInsn(opcode);
+        mv.visitVarInsn(Opcodes.DSTORE, doubleReg(operands[2]));
+    }
+
+    private void generateIntBinary(int[] operands, int opcode) {
+        mv.visitVarInsn(Opcodes.ILOAD, intReg(operands[0]));
+        mv.visitVarInsn(Opcodes.ILOAD, intReg(operands[1]));
+        mv.visitInsn(opcode);
+        mv.visitVarInsn(Opcodes.ISTORE, intReg(operands[2]));
+    }
+
+    private void generateLongZeroCheck(int reg) {
+        mv.visitVarInsn(Opcodes.LLOAD, longReg(reg));
+        mv.visitInsn(Opcodes.LCONST_0);
+        mv.visitInsn(Opcodes.LCMP);
+        mv.visitJumpInsn(Opcodes.IFEQ, bailout);
+    }
+
+    private void generateDoubleZeroCheck(int reg) {
+        mv.visitVarInsn(Opcodes.DLOAD, doubleReg(reg));
+        mv.visitInsn(Opcodes.DCONST_0);
+        mv.visitInsn(Opcodes.DCMPL);
+        mv.visitJumpInsn(Opcodes.IFEQ, bailout);
+    }
+
+    private void generateLongCompare(int lhsReg, int rhsReg, int retReg, int branchOpcode) {
+        mv.visitVarInsn(Opcodes.LLOAD, longReg(lhsReg));
+        mv.visitVarInsn(Opcodes.LLOAD, longReg(rhsReg));
+        mv.visitInsn(Opcodes.LCMP);
+        generateBoolean(branchOpcode, retReg);
+    }
+
+    private void generateDoubleCompare(int[] operands, int compareOpcode, int branchOpcode) {
+        mv.visitVarInsn(Opcodes.DLOAD, doubleReg(operands[0]));
+        mv.visitVarInsn(Opcodes.DLOAD, doubleReg(operands[1]));
+        mv.visitInsn(compareOpcode);
+        generateBoolean(branchOpcode, operands[2]);
+    }
+
+    /* stores 1 to the given boolean register if the branch is taken, and 0 otherwise */
+    private void generateBoolean(int branchOpcode, int retReg) {
+        Label isTrue = new Label();
+        Label done = new Label();
+        mv.visitJumpInsn(branchOpcode, isTrue);
+        mv.visitInsn(Opcodes.ICONST_0);
+        mv.visitJumpInsn(Opcodes.GOTO, done);
+        mv.visitLabel(isTrue);
+        mv.visitInsn(Opcodes.ICONST_1);
+        mv.visitLabel(done);
+        mv.visitVarInsn(Opcodes.ISTORE, intReg(retReg));
+    }
+
+    private static int getCompareBranchOpcode(int opcode) {
+        switch (opcode) {
+            case InstructionCodes.IEQ:
+            case InstructionCodes.FEQ:
+                return Opcodes.IFEQ;
+            case InstructionCodes.INE:
+            case InstructionCodes.FNE:
+                return Opcodes.IFNE;
+            case InstructionCodes.IGT:
+            case InstructionCodes.FGT:
+            case InstructionCodes.IGT_BR_FALSE:
+                return Opcodes.IFGT;
+            case InstructionCodes.IGE:
+            case InstructionCodes.FGE:
+            case InstructionCodes.IGE_BR_FALSE:
+                return Opcodes.IFGE;
+            case InstructionCodes.ILT:
+            case InstructionCodes.FLT:
+            case InstructionCodes.ILT_BR_FALSE:
+                return Opcodes.IFLT;
+            case InstructionCodes.ILE:
+            case InstructionCodes.FLE:
+            case InstructionCodes.ILE_BR_FALSE:
+                return Opcodes.IFLE;
+            default:
+                throw new NotCompilableException();
+        }
+    }
+
+    private void pushInt(int value) {
+        if (value >= -1 && value <= 5) {
+            mv.visitInsn(Opcodes.ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.BIPUSH, value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.SIPUSH, value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+
+    private void pushLong(long value) {
+        if (value == 0 || value == 1) {
+            mv.visitInsn(Opcodes.LCONST_0 + (int) value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+
+    private void pushDouble(double value) {
+        if (Double.doubleToRawLongBits(value) == 0L || value == 1) {
+            mv.visitInsn(Opcodes.DCONST_0 + (int) value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+
+    private void pushString(String value) {
+        if (value == null) {
+            mv.visitInsn(Opcodes.ACONST_NULL);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+
+    private Label label(int addr) {
+        if (addr < startAddr || addr >= endAddr) {
+            throw new NotCompilableException();
+        }
+        return labels[addr - startAddr];
+    }
+
+    private int longReg(int reg) {
+        return longRegBase + 2 * checkReg(reg, maxLongRegs);
+    }
+
+    private int doubleReg(int reg) {
+        return doubleRegBase + 2 * checkReg(reg, maxDoubleRegs);
+    }
+
+    private int stringReg(int reg) {
+        return stringRegBase + checkReg(reg, maxStringRegs);
+    }
+
+    private int intReg(int reg) {
+        return intRegBase + checkReg(reg, maxIntRegs);
+    }
+
+    private int retSlot(int retIndex, int typeTag) {
+        BType[] retTypes = callableUnitInfo.getRetParamTypes();
+        if (retIndex < 0 || retIndex >= retTypes.length || retTypes[retIndex].getTag() != typeTag) {
+            throw new NotCompilableException();
+        }
+        return retSlots[retIndex];
+    }
+
+    private static int checkReg(int reg, int maxRegs) {
+        if (reg < 0 || reg >= maxRegs) {
+            throw new NotCompilableException();
+        }
+        return reg;
+    }
+
+    private static boolean isWide(BType type) {
+        return type.getTag() == TypeTags.INT_TAG || type.getTag() == TypeTags.FLOAT_TAG;
+    }
+
+    /**
+     * Thrown while generating the code of a callable unit which uses an opcode that is not compiled.
+     */
+    private static class NotCompilableException extends RuntimeException {
+
+        NotCompilableException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Defines the class generated for a single callable unit, so that the class can be unloaded together
+     * with its program.
+     */
+    private static class CompiledCallableLoader extends ClassLoader {
+
+        CompiledCallableLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] classBytes) {
+            return defineClass(name, classBytes, 0, classBytes.length);
+        }
+    }
+}
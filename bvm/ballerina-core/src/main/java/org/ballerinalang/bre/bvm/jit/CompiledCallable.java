@@ -0,0 +1,41 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm.jit;
+
+import org.ballerinalang.bre.bvm.WorkerData;
+
+/**
+ * {@code CompiledCallable} represents the body of a callable unit which has been compiled to JVM bytecode by
+ * the {@link CallableCompiler}.
+ *
+ * @since 0.981.1
+ */
+public interface CompiledCallable {
+
+    /**
+     * Executes the compiled body. The arguments are read from the registers of the caller, and the return
+     * values are written back to the registers of the caller only when the body completes.
+     *
+     * @param caller   the registers of the calling worker
+     * @param argRegs  the caller registers which hold the arguments
+     * @param retRegs  the caller registers which receive the return values
+     * @return true if the body completed, false if it bailed out without touching the caller registers, in
+     * which case the callable unit has to be run by the interpreter instead
+     */
+    boolean execute(WorkerData caller, int[] argRegs, int[] retRegs);
+}
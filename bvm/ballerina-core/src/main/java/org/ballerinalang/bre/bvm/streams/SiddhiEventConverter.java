@@ -0,0 +1,214 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.bre.bvm.streams;
+
+import org.ballerinalang.model.types.BField;
+import org.ballerinalang.model.types.BStructureType;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.MapShape;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * Converts between the records of a stream and the data of the Siddhi events of the stream, the i-th attribute of an
+ * event being the i-th field of the record type. The conversion of each field is chosen once from the type of the
+ * field, instead of from the value of each event.
+ *
+ * @since 0.981.1
+ */
+public class SiddhiEventConverter {
+
+    private final BStructureType recordType;
+
+    private final String[] fieldNames;
+
+    private final FieldConverter[] converters;
+
+    /* the slots of the fields in the shape of the last converted record */
+    private volatile FieldSlots fieldSlots;
+
+    public SiddhiEventConverter(BStructureType recordType) {
+        BField[] fields = recordType.getFields();
+        this.recordType = recordType;
+        this.fieldNames = new String[fields.length];
+        this.converters = new FieldConverter[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            this.fieldNames[i] = fields[i].fieldName;
+            this.converters[i] = FieldConverter.of(fields[i].getFieldType().getTag());
+        }
+    }
+
+    public int getFieldCount() {
+        return fieldNames.length;
+    }
+
+    /**
+     * Creates the record of an event. Attributes of types not matching their fields are converted by their value,
+     * and null attributes are left out of the record.
+     *
+     * @param data the attributes of the event
+     * @return the record
+     */
+    public BMap<String, BValue> toRecord(Object[] data) {
+        BMap<String, BValue> record = new BMap<>(recordType);
+        int length = Math.min(data.length, fieldNames.length);
+        for (int i = 0; i < length; i++) {
+            BValue value = converters[i].toBValue(data[i]);
+            if (value != null) {
+                record.put(fieldNames[i], value);
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Writes the fields of a record to the given attribute array, which is reused across the events of a stream.
+     *
+     * @param record the record
+     * @param data   the attribute array, with at least as many elements as the fields of the record type
+     * @return the attribute array
+     */
+    public Object[] toData(BMap<String, BValue> record, Object[] data) {
+        MapShape shape = record.getShape();
+        FieldSlots slots = this.fieldSlots;
+        if (slots == null || slots.shape != shape) {
+            slots = new FieldSlots(shape, fieldNames);
+            this.fieldSlots = slots;
+        }
+        for (int i = 0; i < fieldNames.length; i++) {
+            BValue value = slots.slots[i] < 0 ? record.get(fieldNames[i])
+                    : record.getField(fieldNames[i], shape, slots.slots[i], false);
+            data[i] = converters[i].toObject(value);
+        }
+        return data;
+    }
+
+    /**
+     * The slots of the fields of the record type in a shape of its values.
+     */
+    private static class FieldSlots {
+
+        private final MapShape shape;
+
+        private final int[] slots;
+
+        FieldSlots(MapShape shape, String[] fieldNames) {
+            this.shape = shape;
+            this.slots = new int[fieldNames.length];
+            for (int i = 0; i < fieldNames.length; i++) {
+                this.slots[i] = shape == null ? -1 : shape.slotOf(fieldNames[i]);
+            }
+        }
+    }
+
+    /**
+     * Conversion of a field of a given type.
+     */
+    private enum FieldConverter {
+
+        INT {
+            @Override
+            BValue toBValue(Object value) {
+                return value instanceof Number ? BInteger.valueOf(((Number) value).longValue()) : ANY.toBValue(value);
+            }
+
+            @Override
+            Object toObject(BValue value) {
+                return ((BInteger) value).intValue();
+            }
+        },
+        FLOAT {
+            @Override
+            BValue toBValue(Object value) {
+                return value instanceof Number ? BFloat.valueOf(((Number) value).doubleValue()) : ANY.toBValue(value);
+            }
+
+            @Override
+            Object toObject(BValue value) {
+                return ((BFloat) value).floatValue();
+            }
+        },
+        BOOLEAN {
+            @Override
+            BValue toBValue(Object value) {
+                return value instanceof Boolean ? BBoolean.valueOf((Boolean) value) : ANY.toBValue(value);
+            }
+
+            @Override
+            Object toObject(BValue value) {
+                return ((BBoolean) value).booleanValue();
+            }
+        },
+        STRING {
+            @Override
+            BValue toBValue(Object value) {
+                return value instanceof String ? new BString((String) value) : ANY.toBValue(value);
+            }
+
+            @Override
+            Object toObject(BValue value) {
+                return value.stringValue();
+            }
+        },
+        ANY {
+            @Override
+            BValue toBValue(Object value) {
+                if (value instanceof Long || value instanceof Integer) {
+                    return BInteger.valueOf(((Number) value).longValue());
+                } else if (value instanceof Double || value instanceof Float) {
+                    return BFloat.valueOf(((Number) value).doubleValue());
+                } else if (value instanceof Boolean) {
+                    return BBoolean.valueOf((Boolean) value);
+                } else if (value instanceof String) {
+                    return new BString((String) value);
+                }
+                return null;
+            }
+
+            @Override
+            Object toObject(BValue value) {
+                throw new BallerinaException("Fields in streams do not support data types other than int, "
+                        + "float, boolean and string");
+            }
+        };
+
+        abstract BValue toBValue(Object value);
+
+        abstract Object toObject(BValue value);
+
+        static FieldConverter of(int typeTag) {
+            switch (typeTag) {
+                case TypeTags.INT_TAG:
+                    return INT;
+                case TypeTags.FLOAT_TAG:
+                    return FLOAT;
+                case TypeTags.BOOLEAN_TAG:
+                    return BOOLEAN;
+                case TypeTags.STRING_TAG:
+                    return STRING;
+                default:
+                    return ANY;
+            }
+        }
+    }
+}
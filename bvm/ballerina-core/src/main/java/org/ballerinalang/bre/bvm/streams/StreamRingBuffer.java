@@ -0,0 +1,432 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.bre.bvm.streams;
+
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.threadpool.ManagedBlocking;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded ring buffer which delivers the events published to a stream to all its subscribers, in the order in which
+ * they were published. Each subscriber reads the events from the buffer at its own pace, on a task of the worker
+ * thread pool which is only scheduled while the subscriber has events to read, so a subscriber does not hold a
+ * thread. A slot of the buffer is reused once every subscriber has read its event, hence the slowest subscriber
+ * decides when the buffer is full, and the {@link Backpressure} of the buffer then decides what happens to the
+ * published event. A publisher which waits for room delivers the events of a subscriber whose task has not started
+ * yet by itself, so publishers blocking the threads of the pool do not wait for tasks which can not run.
+ * <p>
+ * As with a broker topic, an event is only delivered to the subscribers which were registered when it was published.
+ * A subscriber is removed once its {@link Subscription} is cancelled or the buffer is closed.
+ *
+ * @since 0.981.1
+ */
+public class StreamRingBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamRingBuffer.class);
+
+    private final String name;
+
+    private final BValue[] slots;
+
+    private final int mask;
+
+    private final Backpressure backpressure;
+
+    private final Executor executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notFull = lock.newCondition();
+
+    private final List<Subscription> subscriptions = new ArrayList<>();
+
+    private final StreamSpillFile spillFile;
+
+    // sequence of the next published event
+    private long head;
+
+    // sequence of the first slot which still holds a reference to its event
+    private long tail;
+
+    private long droppedCount;
+
+    private boolean closed;
+
+    public StreamRingBuffer(String name, int capacity, Backpressure backpressure) {
+        this(name, capacity, backpressure, ThreadPoolFactory.getInstance()::executeWorkerTask);
+    }
+
+    public StreamRingBuffer(String name, int capacity, Backpressure backpressure, Executor executor) {
+        if (capacity < 1) {
+            throw new BallerinaException("invalid stream buffer size: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.name = name;
+        this.slots = new BValue[size];
+        this.mask = size - 1;
+        this.backpressure = backpressure;
+        this.executor = executor;
+        this.spillFile = backpressure == Backpressure.SPILL ? new StreamSpillFile(name) : null;
+    }
+
+    /**
+     * Publishes an event to all the current subscribers. If the buffer is full, the event is handled as per the
+     * backpressure of the buffer.
+     *
+     * @param event the event to publish
+     */
+    public void publish(BValue event) {
+        lock.lock();
+        try {
+            while (!this.subscriptions.isEmpty()) {
+                boolean spilling = this.spillFile != null && this.spillFile.size() > 0;
+                if (!spilling && this.head - this.minSequence() < this.slots.length) {
+                    this.put(event);
+                    return;
+                }
+                if (this.backpressure == Backpressure.DROP) {
+                    this.drop();
+                    return;
+                }
+                if (this.backpressure == Backpressure.SPILL && StreamSpillFile.isSpillable(event)) {
+                    this.spill(event);
+                    return;
+                }
+                this.awaitRoom();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registers a subscriber, which receives the events published after this call.
+     *
+     * @param handler the handler to which the events are delivered
+     * @return the subscription, which stops the delivery when it is cancelled
+     */
+    public Subscription subscribe(EventHandler handler) {
+        lock.lock();
+        try {
+            if (this.closed) {
+                throw new BallerinaException("can not subscribe to stream '" + this.name + "', it is closed");
+            }
+            Subscription subscription = new Subscription(handler, this.head);
+            this.subscriptions.add(subscription);
+            return subscription;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancels all the subscriptions, and discards the events which are not delivered yet. Events published after
+     * this call are dropped, as no subscriber can be registered anymore.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            this.closed = true;
+            for (Subscription subscription : new ArrayList<>(this.subscriptions)) {
+                subscription.cancel();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of subscribers which have not been removed yet.
+     *
+     * @return the number of subscribers
+     */
+    public int getSubscriberCount() {
+        lock.lock();
+        try {
+            return this.subscriptions.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(BValue event) {
+        this.slots[(int) this.head & this.mask] = event;
+        this.head++;
+        for (Subscription subscription : this.subscriptions) {
+            this.schedule(subscription);
+        }
+    }
+
+    /**
+     * Submits the delivery task of a subscriber which has events to read, unless its events are being delivered
+     * already. Called with the lock held.
+     */
+    private void schedule(Subscription subscription) {
+        if (!subscription.scheduled && subscription.deliveringThread == null && !subscription.cancelled
+                && subscription.sequence < this.head) {
+            subscription.scheduled = true;
+            this.executor.execute(subscription);
+        }
+    }
+
+    /**
+     * Removes a cancelled subscriber, whose events are not being delivered. Called with the lock held.
+     */
+    private void remove(Subscription subscription) {
+        this.subscriptions.remove(subscription);
+        this.release();
+    }
+
+    private void drop() {
+        this.droppedCount++;
+        // log the first drop and then every time the count doubles, to avoid a log entry per event
+        if (Long.bitCount(this.droppedCount) == 1) {
+            log.warn("buffer of stream '" + this.name + "' is full, " + this.droppedCount + " event(s) dropped");
+        }
+    }
+
+    private void spill(BValue event) {
+        try {
+            this.spillFile.write(event);
+        } catch (IOException e) {
+            throw new BallerinaException("error while spilling an event of stream '" + this.name + "' to disk: "
+                    + e.getMessage(), e);
+        }
+    }
+
+    private void awaitRoom() {
+        long min = this.minSequence();
+        for (Subscription subscription : this.subscriptions) {
+            if (subscription.sequence != min) {
+                continue;
+            }
+            if (subscription.deliveringThread == Thread.currentThread()) {
+                // the subscriber would wait for itself to read an event
+                throw new BallerinaException("buffer of stream '" + this.name + "' is full, a subscriber of the "
+                        + "stream can not publish to it");
+            }
+            if (subscription.deliveringThread == null && subscription.sequence < this.head) {
+                // the task of the subscriber may be queued behind the publishers holding the threads of the pool
+                subscription.scheduled = false;
+                subscription.deliveringThread = Thread.currentThread();
+                lock.unlock();
+                try {
+                    subscription.deliver();
+                } finally {
+                    lock.lock();
+                }
+                return;
+            }
+        }
+        try {
+            ManagedBlocking.await(this.notFull);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BallerinaException("interrupted while publishing to stream '" + this.name + "'", e);
+        }
+    }
+
+    private long minSequence() {
+        long min = this.head;
+        for (Subscription subscription : this.subscriptions) {
+            min = Math.min(min, subscription.sequence);
+        }
+        return min;
+    }
+
+    /**
+     * Clears the slots which every subscriber has read and refills the buffer from the spill file. Called with the
+     * lock held, after a subscriber moved ahead or was removed.
+     */
+    private void release() {
+        long min = this.minSequence();
+        for (; this.tail < min; this.tail++) {
+            this.slots[(int) this.tail & this.mask] = null;
+        }
+        if (this.subscriptions.isEmpty() && this.spillFile != null) {
+            // the spilled events were published to the subscribers which are gone
+            this.closeSpillFile();
+        }
+        while (this.spillFile != null && this.spillFile.size() > 0 && this.head - min < this.slots.length) {
+            try {
+                this.put(this.spillFile.read());
+            } catch (IOException e) {
+                log.error("error while reading the spilled events of stream '" + this.name + "'", e);
+                this.closeSpillFile();
+                break;
+            }
+        }
+        this.notFull.signalAll();
+    }
+
+    private void closeSpillFile() {
+        try {
+            this.spillFile.close();
+        } catch (IOException e) {
+            log.error("error while closing the spill file of stream '" + this.name + "'", e);
+        }
+    }
+
+    /**
+     * What happens to an event published to a full buffer.
+     */
+    public enum Backpressure {
+        /**
+         * The publisher waits until every subscriber has read the oldest event.
+         */
+        BLOCK,
+        /**
+         * The event is dropped.
+         */
+        DROP,
+        /**
+         * The event, and every later one, is written to a file on disk until the buffer has room again. Events which
+         * can not be spilled are handled as with {@link #BLOCK}. Spilled events are delivered as copies.
+         */
+        SPILL;
+
+        public static Backpressure fromString(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                throw new BallerinaException("invalid stream backpressure: " + value + ", expected one of block, "
+                        + "drop or spill");
+            }
+        }
+    }
+
+    /**
+     * Receives the events of a stream.
+     */
+    @FunctionalInterface
+    public interface EventHandler {
+
+        void onEvent(BValue event);
+    }
+
+    /**
+     * A subscriber of the stream, and the task which delivers its events.
+     */
+    public class Subscription implements Runnable {
+
+        private final EventHandler handler;
+
+        // sequence of the next event to deliver, guarded by the lock
+        private long sequence;
+
+        // whether the task is submitted and not started yet, guarded by the lock
+        private boolean scheduled;
+
+        // the thread which delivers the events, if any, guarded by the lock
+        private Thread deliveringThread;
+
+        private volatile boolean cancelled;
+
+        Subscription(EventHandler handler, long sequence) {
+            this.handler = handler;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Stops the delivery to this subscriber. An event which is being delivered is completed and the rest are not
+         * delivered. The subscriber then no longer holds back the publishers.
+         */
+        public void cancel() {
+            lock.lock();
+            try {
+                this.cancelled = true;
+                // otherwise the thread delivering the events removes the subscriber once it is done
+                if (this.deliveringThread == null) {
+                    remove(this);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            lock.lock();
+            try {
+                // the events may have been delivered by a publisher meanwhile, or the subscriber may be removed
+                if (!this.scheduled || this.cancelled) {
+                    return;
+                }
+                this.scheduled = false;
+                this.deliveringThread = Thread.currentThread();
+            } finally {
+                lock.unlock();
+            }
+            deliver();
+        }
+
+        /**
+         * Delivers the events available at this point on the current thread, which has been set as the delivering
+         * thread, and schedules the task again if more events were published meanwhile. Called without the lock.
+         */
+        private void deliver() {
+            long next;
+            long available;
+            lock.lock();
+            try {
+                next = this.sequence;
+                available = head;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                // the slots up to the available sequence are not reused until this subscriber moves ahead
+                for (; next < available && !this.cancelled; next++) {
+                    try {
+                        this.handler.onEvent(slots[(int) next & mask]);
+                    } catch (RuntimeException e) {
+                        log.error("error delivering event to subscriber of stream '" + name + "'", e);
+                    }
+                }
+            } finally {
+                lock.lock();
+                try {
+                    this.sequence = next;
+                    this.deliveringThread = null;
+                    if (this.cancelled) {
+                        remove(this);
+                    } else {
+                        release();
+                        schedule(this);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
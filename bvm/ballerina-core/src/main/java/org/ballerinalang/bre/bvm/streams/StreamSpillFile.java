@@ -0,0 +1,233 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.bre.bvm.streams;
+
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A first in first out file of the events which did not fit into the ring buffer of a stream. Only nil, int, float,
+ * boolean and string values, and records and maps of them can be spilled. The types of the records are kept in
+ * memory, as the file is never read by another process. The file is deleted once all its events are read back.
+ *
+ * @since 0.981.1
+ */
+class StreamSpillFile {
+
+    private static final byte NIL = 0;
+    private static final byte INT = 1;
+    private static final byte FLOAT = 2;
+    private static final byte BOOLEAN = 3;
+    private static final byte STRING = 4;
+    private static final byte MAP = 5;
+
+    private final String streamName;
+
+    private final List<BType> types = new ArrayList<>();
+
+    private Path path;
+
+    private DataOutputStream out;
+
+    private DataInputStream in;
+
+    private long size;
+
+    StreamSpillFile(String streamName) {
+        this.streamName = streamName;
+    }
+
+    static boolean isSpillable(BValue value) {
+        if (value == null) {
+            return true;
+        }
+        switch (value.getType().getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.BOOLEAN_TAG:
+            case TypeTags.STRING_TAG:
+                return true;
+            case TypeTags.RECORD_TYPE_TAG:
+            case TypeTags.MAP_TAG:
+            case TypeTags.JSON_TAG:
+                if (!(value instanceof BMap)) {
+                    return false;
+                }
+                for (Object field : ((BMap<?, ?>) value).values()) {
+                    if (!isSpillable((BValue) field)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the number of events in the file which are not read yet.
+     *
+     * @return the number of events
+     */
+    long size() {
+        return this.size;
+    }
+
+    void write(BValue event) throws IOException {
+        if (this.out == null) {
+            this.path = Files.createTempFile("b7a-stream-" + this.streamName.replaceAll("\\W", "_") + "-", ".spill");
+            this.path.toFile().deleteOnExit();
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.path)));
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.path)));
+        }
+        this.writeValue(event);
+        this.size++;
+    }
+
+    BValue read() throws IOException {
+        // the reader only ever reads whole events, hence it never runs ahead of the flushed content
+        this.out.flush();
+        BValue event = this.readValue();
+        this.size--;
+        if (this.size == 0) {
+            this.close();
+        }
+        return event;
+    }
+
+    void close() throws IOException {
+        if (this.path == null) {
+            return;
+        }
+        try {
+            this.out.close();
+            this.in.close();
+        } finally {
+            Files.deleteIfExists(this.path);
+            this.path = null;
+            this.out = null;
+            this.in = null;
+            this.size = 0;
+            this.types.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeValue(BValue value) throws IOException {
+        if (value == null) {
+            this.out.writeByte(NIL);
+            return;
+        }
+        switch (value.getType().getTag()) {
+            case TypeTags.INT_TAG:
+                this.out.writeByte(INT);
+                this.out.writeLong(((BInteger) value).intValue());
+                break;
+            case TypeTags.FLOAT_TAG:
+                this.out.writeByte(FLOAT);
+                this.out.writeDouble(((BFloat) value).floatValue());
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                this.out.writeByte(BOOLEAN);
+                this.out.writeBoolean(((BBoolean) value).booleanValue());
+                break;
+            case TypeTags.STRING_TAG:
+                this.out.writeByte(STRING);
+                this.writeString(value.stringValue());
+                break;
+            default:
+                Map<String, BValue> fields = ((BMap<String, BValue>) value).getMap();
+                this.out.writeByte(MAP);
+                this.out.writeInt(this.typeIndex(value.getType()));
+                this.out.writeInt(fields.size());
+                for (Map.Entry<String, BValue> field : fields.entrySet()) {
+                    this.writeString(field.getKey());
+                    this.writeValue(field.getValue());
+                }
+                break;
+        }
+    }
+
+    private BValue readValue() throws IOException {
+        byte tag = this.in.readByte();
+        switch (tag) {
+            case NIL:
+                return null;
+            case INT:
+                return BInteger.valueOf(this.in.readLong());
+            case FLOAT:
+                return BFloat.valueOf(this.in.readDouble());
+            case BOOLEAN:
+                return BBoolean.valueOf(this.in.readBoolean());
+            case STRING:
+                return BString.valueOf(this.readString());
+            case MAP:
+                BMap<String, BValue> map = new BMap<>(this.types.get(this.in.readInt()));
+                int count = this.in.readInt();
+                for (int i = 0; i < count; i++) {
+                    String key = this.readString();
+                    map.put(key, this.readValue());
+                }
+                return map;
+            default:
+                throw new IOException("corrupted spill file of stream: " + this.streamName);
+        }
+    }
+
+    private int typeIndex(BType type) {
+        for (int i = 0; i < this.types.size(); i++) {
+            if (this.types.get(i) == type) {
+                return i;
+            }
+        }
+        this.types.add(type);
+        return this.types.size() - 1;
+    }
+
+    // DataOutputStream#writeUTF is limited to 64K, hence strings are written as their char count and chars
+    private void writeString(String value) throws IOException {
+        this.out.writeInt(value.length());
+        this.out.writeChars(value);
+    }
+
+    private String readString() throws IOException {
+        int length = this.in.readInt();
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = this.in.readChar();
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.bre.bvm.streams;
+
+import org.ballerinalang.siddhi.core.util.timer.TimerService;
+import org.ballerinalang.util.timer.ExpiryListener;
+import org.ballerinalang.util.timer.TimerWheel;
+
+/**
+ * {@link TimerService} which tracks the times to notify of the Siddhi schedulers on the {@link TimerWheel} of the
+ * runtime, so the windows of all the streaming queries share the timer of the caches.
+ *
+ * @since 0.981.1
+ */
+public class TimerWheelService implements TimerService {
+
+    private final TimerWheel timerWheel;
+
+    public TimerWheelService(TimerWheel timerWheel) {
+        this.timerWheel = timerWheel;
+    }
+
+    @Override
+    public Timer createTimer(Runnable task) {
+        return new WheelTimer(task);
+    }
+
+    private class WheelTimer implements Timer {
+
+        // The wheel cancels by listener identity, so each timer holds its own listener
+        private final ExpiryListener listener;
+
+        private WheelTimer(Runnable task) {
+            this.listener = expiryTime -> task.run();
+        }
+
+        @Override
+        public long expiryTimeOf(long time) {
+            return timerWheel.expiryTimeOf(time);
+        }
+
+        @Override
+        public void schedule(long time) {
+            timerWheel.schedule(time, listener);
+        }
+
+        @Override
+        public void cancel() {
+            timerWheel.cancel(listener);
+        }
+    }
+}
@@ -18,6 +18,7 @@
 package org.ballerinalang.model;
 
 import org.ballerinalang.model.util.JsonGenerator;
+import org.ballerinalang.model.values.BRefType;
 
 import java.io.IOException;
 
@@ -37,4 +38,24 @@ public interface JSONDataSource {
      */
     void serialize(JsonGenerator gen) throws IOException;
 
+    /**
+     * Returns whether there are more elements to be read from the JSON data source with {@link #next()}.
+     *
+     * @return true if there are more elements
+     */
+    boolean hasNext();
+
+    /**
+     * Reads the next element of the JSON data source.
+     *
+     * @return the next element
+     */
+    BRefType<?> next();
+
+    /**
+     * Releases the resources held for reading the elements, once no more elements are to be read.
+     */
+    default void close() {
+    }
+
 }
@@ -44,6 +44,11 @@ import java.sql.Struct;
 
 /**
  * {@link JSONDataSource} implementation for table.
+ * <p>
+ * Rows read by {@link #next()} come from an iterator of their own, which is closed as soon as the last row is read
+ * or the data source is closed. The iterator of a data source dropped before either happens, such as when only the
+ * first elements of a streaming JSON are accessed, is closed with the table, or released by the in-memory table once
+ * it is garbage collected.
  *
  * @since 0.8.0
  */
@@ -55,6 +60,17 @@ public class TableJSONDataSource implements JSONDataSource {
 
     private boolean isInTransaction;
 
+    /* rows read by next(), independent of the iteration done through the table */
+    private DataIterator rows;
+
+    private boolean sharedIteration;
+
+    private boolean nextPrefetched;
+
+    private boolean hasNextRow;
+
+    private boolean closed;
+
     public TableJSONDataSource(BTable df, boolean isInTransaction) {
         this(df, new DefaultJSONObjectGenerator(), isInTransaction);
     }
@@ -75,6 +91,50 @@ public class TableJSONDataSource implements JSONDataSource {
         gen.writeEndArray();
     }
 
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (rows == null && !sharedIteration) {
+            rows = this.df.createIndependentIterator();
+            sharedIteration = rows == null;
+        }
+        if (sharedIteration) {
+            return this.df.hasNext(this.isInTransaction);
+        }
+        if (!nextPrefetched) {
+            hasNextRow = rows.next();
+            nextPrefetched = true;
+            if (!hasNextRow) {
+                close();
+            }
+        }
+        return hasNextRow;
+    }
+
+    @Override
+    public BRefType<?> next() {
+        if (!hasNext()) {
+            throw new BallerinaException("no more rows to be read from the table");
+        }
+        if (sharedIteration) {
+            this.df.moveToNext();
+            return transform(this.df.getDataIterator());
+        }
+        nextPrefetched = false;
+        return transform(rows);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (rows != null) {
+            this.df.closeIndependentIterator(rows, this.isInTransaction);
+            rows = null;
+        }
+    }
+
     /**
      * Default {@link TableJSONDataSource.JSONObjectGenerator} implementation based
      * on the table's in-built column definition.
@@ -83,43 +143,47 @@ public class TableJSONDataSource implements JSONDataSource {
 
         @Override
         public BRefType<?> transform(BTable df) throws IOException {
-            BMap<String, BRefType<?>> objNode = new BMap<>(BTypes.typeJSON);
-            BStructureType structType = df.getStructType();
-            BField[] structFields = null;
-            if (structType != null) {
-                structFields = structType.getFields();
-            }
-            int index = 0;
-            for (ColumnDefinition col : df.getColumnDefs()) {
-                String name;
-                if (structFields != null) {
-                    name = structFields[index].getFieldName();
-                } else {
-                    name = col.getName();
-                }
-                constructJsonData(df, objNode, name, col.getType(), index + 1, structFields);
-                ++index;
-            }
+            return TableJSONDataSource.transform(df.getDataIterator());
+        }
+
+    }
 
-            return objNode;
+    private static BRefType<?> transform(DataIterator df) {
+        BMap<String, BRefType<?>> objNode = new BMap<>(BTypes.typeJSON);
+        BStructureType structType = df.getStructType();
+        BField[] structFields = null;
+        if (structType != null) {
+            structFields = structType.getFields();
+        }
+        int index = 0;
+        for (ColumnDefinition col : df.getColumnDefinitions()) {
+            String name;
+            if (structFields != null) {
+                name = structFields[index].getFieldName();
+            } else {
+                name = col.getName();
+            }
+            constructJsonData(df, objNode, name, col.getType(), index + 1, structFields);
+            ++index;
         }
 
+        return objNode;
     }
 
-    private static void constructJsonData(BTable df, BMap<String, BRefType<?>> jsonObject, String name, TypeKind type,
-                                          int index, BField[] structFields) {
+    private static void constructJsonData(DataIterator df, BMap<String, BRefType<?>> jsonObject, String name,
+                                          TypeKind type, int index, BField[] structFields) {
         switch (type) {
             case STRING:
                 jsonObject.put(name, getBString(df.getString(index)));
                 break;
             case INT:
-                jsonObject.put(name, new BInteger(df.getInt(index)));
+                jsonObject.put(name, BInteger.valueOf(df.getInt(index)));
                 break;
             case FLOAT:
-                jsonObject.put(name, new BFloat(df.getFloat(index)));
+                jsonObject.put(name, BFloat.valueOf(df.getFloat(index)));
                 break;
             case BOOLEAN:
-                jsonObject.put(name, new BBoolean(df.getBoolean(index)));
+                jsonObject.put(name, BBoolean.valueOf(df.getBoolean(index)));
                 break;
             case BLOB:
                 jsonObject.put(name, getBString(df.getBlob(index)));
@@ -150,19 +214,19 @@ public class TableJSONDataSource implements JSONDataSource {
                 if (data != null) {
                     for (Object value : data) {
                         if (value instanceof String) {
-                            jsonArray.append(new BString((String) value));
+                            jsonArray.append(BString.valueOf((String) value));
                         } else if (value instanceof Boolean) {
-                            jsonArray.append(new BBoolean((Boolean) value));
+                            jsonArray.append(BBoolean.valueOf((Boolean) value));
                         } else if (value instanceof Long) {
-                            jsonArray.append(new BInteger((long) value));
+                            jsonArray.append(BInteger.valueOf((long) value));
                         } else if (value instanceof Double) {
-                            jsonArray.append(new BFloat((double) value));
+                            jsonArray.append(BFloat.valueOf((double) value));
                         } else if (value instanceof Integer) {
-                            jsonArray.append(new BInteger((int) value));
+                            jsonArray.append(BInteger.valueOf((int) value));
                         } else if (value instanceof Float) {
-                            jsonArray.append(new BFloat((float) value));
+                            jsonArray.append(BFloat.valueOf((float) value));
                         } else if (value instanceof BigDecimal) {
-                            jsonArray.append(new BFloat(((BigDecimal) value).doubleValue()));
+                            jsonArray.append(BFloat.valueOf(((BigDecimal) value).doubleValue()));
                         }
                     }
                 }
@@ -179,20 +243,20 @@ public class TableJSONDataSource implements JSONDataSource {
                             BField[] interanlStructFields = ((BStructureType) internaltType).getFields();
                             if (interanlStructFields != null) {
                                 if (value instanceof String) {
-                                    jsonData.put(interanlStructFields[i].fieldName, new BString((String) value));
+                                    jsonData.put(interanlStructFields[i].fieldName, BString.valueOf((String) value));
                                 } else if (value instanceof Boolean) {
-                                    jsonData.put(interanlStructFields[i].fieldName, new BBoolean((Boolean) value));
+                                    jsonData.put(interanlStructFields[i].fieldName, BBoolean.valueOf((Boolean) value));
                                 } else if (value instanceof Long) {
-                                    jsonData.put(interanlStructFields[i].fieldName, new BInteger((long) value));
+                                    jsonData.put(interanlStructFields[i].fieldName, BInteger.valueOf((long) value));
                                 } else if (value instanceof Double) {
-                                    jsonData.put(interanlStructFields[i].fieldName, new BFloat((double) value));
+                                    jsonData.put(interanlStructFields[i].fieldName, BFloat.valueOf((double) value));
                                 } else if (value instanceof Integer) {
-                                    jsonData.put(interanlStructFields[i].fieldName, new BInteger((int) value));
+                                    jsonData.put(interanlStructFields[i].fieldName, BInteger.valueOf((int) value));
                                 } else if (value instanceof Float) {
-                                    jsonData.put(interanlStructFields[i].fieldName, new BFloat((float) value));
+                                    jsonData.put(interanlStructFields[i].fieldName, BFloat.valueOf((float) value));
                                 } else if (value instanceof BigDecimal) {
                                     jsonData.put(interanlStructFields[i].fieldName,
-                                            new BFloat(((BigDecimal) value).doubleValue()));
+                                            BFloat.valueOf(((BigDecimal) value).doubleValue()));
                                 } else if (value instanceof Struct) {
                                     jsonData.put(interanlStructFields[i].fieldName,
                                             getStructData(((Struct) value).getAttributes(), interanlStructFields,
@@ -216,7 +280,7 @@ public class TableJSONDataSource implements JSONDataSource {
         }
     }
 
-    private static BRefType<?> getDataArray(BTable df, int columnIndex) {
+    private static BRefType<?> getDataArray(DataIterator df, int columnIndex) {
         Object[] dataArray = df.getArray(columnIndex);
         int length = dataArray.length;
         BRefValueArray jsonArray = new BRefValueArray(new BArrayType(BTypes.typeJSON));
@@ -224,32 +288,32 @@ public class TableJSONDataSource implements JSONDataSource {
             Object obj = dataArray[0];
             if (obj instanceof String) {
                 for (Object value : dataArray) {
-                    jsonArray.append(new BString((String) value));
+                    jsonArray.append(BString.valueOf((String) value));
                 }
             } else if (obj instanceof Boolean) {
                 for (Object value : dataArray) {
-                    jsonArray.append(new BBoolean((boolean) value));
+                    jsonArray.append(BBoolean.valueOf((boolean) value));
                 }
             } else if (obj instanceof Integer) {
                 for (Object value : dataArray) {
-                    jsonArray.append(new BInteger((int) value));
+                    jsonArray.append(BInteger.valueOf((int) value));
                 }
             } else if (obj instanceof Long) {
                 for (Object value : dataArray) {
-                    jsonArray.append(new BInteger((long) value));
+                    jsonArray.append(BInteger.valueOf((long) value));
                 }
             } else if (obj instanceof Float) {
                 for (Object value : dataArray) {
-                    jsonArray.append(new BFloat((float) value));
+                    jsonArray.append(BFloat.valueOf((float) value));
                 }
             } else if (obj instanceof Double) {
                 for (Object value : dataArray) {
-                    jsonArray.append(new BFloat((double) value));
+                    jsonArray.append(BFloat.valueOf((double) value));
                 }
             } else if (obj instanceof BigDecimal) {
                 for (Object value : dataArray) {
                     if (value != null) {
-                        jsonArray.append(new BFloat(((BigDecimal) value).doubleValue()));
+                        jsonArray.append(BFloat.valueOf(((BigDecimal) value).doubleValue()));
                     } else {
                         jsonArray.append(null);
                     }
@@ -260,7 +324,7 @@ public class TableJSONDataSource implements JSONDataSource {
     }
 
     private static BString getBString(String str) {
-        return str != null ? new BString(str) : null;
+        return str != null ? BString.valueOf(str) : null;
     }
 
     /**
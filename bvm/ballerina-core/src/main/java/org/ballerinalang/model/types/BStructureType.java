@@ -18,6 +18,7 @@
 package org.ballerinalang.model.types;
 
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.MapShape;
 import org.ballerinalang.util.codegen.TypeInfo;
 
 /**
@@ -33,6 +34,7 @@ public abstract class BStructureType extends BType {
     public BAttachedFunction initializer;
     public BAttachedFunction defaultsValuesInitFunc;
     public int flags;
+    private volatile MapShape shape;
 
     /**
      * Create a {@code BStructType} which represents the user defined struct type.
@@ -53,6 +55,7 @@ public abstract class BStructureType extends BType {
 
     public void setFields(BField[] fields) {
         this.fields = fields;
+        this.shape = null;
     }
 
     public int[] getFieldTypeCount() {
@@ -71,6 +74,21 @@ public abstract class BStructureType extends BType {
         this.attachedFunctions = attachedFunctions;
     }
 
+    /**
+     * Returns the shape of an empty value of this type, which is the root of the shapes its values go through
+     * as fields get added to them.
+     *
+     * @return the root shape, or null if the fields of this type are not known yet
+     */
+    public MapShape getShape() {
+        MapShape rootShape = this.shape;
+        if (rootShape == null) {
+            rootShape = MapShape.createRootShape(this);
+            this.shape = rootShape;
+        }
+        return rootShape;
+    }
+
     public abstract TypeInfo getTypeInfo();
 }
 
@@ -0,0 +1,217 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.model.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * An {@link OutputStream} which writes into pooled {@link ByteBuf}s of a fixed size, handing each of them over to a
+ * {@link ChunkConsumer} once it is full. Flushing has no effect, the partially filled last buffer is handed over
+ * when the stream is closed, or released if the stream is aborted. Characters written through {@link #getWriter()}
+ * are encoded as UTF-8 straight into the current buffer, so that a serialized value never exists as an intermediate
+ * {@link String} or byte array.
+ *
+ * @since 0.981.1
+ */
+public class ChunkedByteBufOutputStream extends OutputStream {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    // A surrogate pair takes 4 bytes and any other char at most 3, hence 6 bytes always fit a whole code point
+    private static final int MAX_BYTES_PER_CHAR = 3;
+
+    private static final int MIN_WRITABLE_BYTES = 2 * MAX_BYTES_PER_CHAR;
+
+    private final ChunkConsumer consumer;
+
+    private final ByteBufAllocator allocator;
+
+    private final int chunkSize;
+
+    private ByteBuf chunk;
+
+    private Writer writer;
+
+    private boolean closed;
+
+    public ChunkedByteBufOutputStream(ChunkConsumer consumer) {
+        this(consumer, PooledByteBufAllocator.DEFAULT, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChunkedByteBufOutputStream(ChunkConsumer consumer, ByteBufAllocator allocator, int chunkSize) {
+        if (chunkSize < MIN_WRITABLE_BYTES) {
+            throw new IllegalArgumentException("chunk size should be at least " + MIN_WRITABLE_BYTES);
+        }
+        this.consumer = consumer;
+        this.allocator = allocator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns a writer which encodes the characters written to it as UTF-8 into this stream. The writer does not
+     * buffer, hence flushing it has no effect.
+     *
+     * @return the UTF-8 writer of this stream
+     */
+    public Writer getWriter() {
+        if (this.writer == null) {
+            this.writer = new Utf8Writer();
+        }
+        return this.writer;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.current(1).writeByte(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ByteBuf buf = this.current(1);
+            int count = Math.min(len, buf.writableBytes());
+            buf.writeBytes(b, off, count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    /**
+     * Hands over the current chunk as the last one. The last chunk is handed over even if it is empty, so that the
+     * consumer is always notified of the end of the content.
+     *
+     * @throws IOException if the consumer fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        if (this.chunk == null) {
+            this.chunk = this.allocator.buffer(0);
+        }
+        this.emit(true);
+    }
+
+    /**
+     * Closes the stream without handing over the current chunk, which is released instead. This is used when the
+     * content could not be written in full, so that the consumer does not take a partial content as complete.
+     */
+    public void abort() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        if (this.chunk != null) {
+            this.chunk.release();
+            this.chunk = null;
+        }
+    }
+
+    private ByteBuf current(int minWritable) throws IOException {
+        if (this.closed) {
+            throw new IOException("stream is closed");
+        }
+        if (this.chunk != null && this.chunk.writableBytes() < minWritable) {
+            this.emit(false);
+        }
+        if (this.chunk == null) {
+            this.chunk = this.allocator.buffer(this.chunkSize);
+        }
+        return this.chunk;
+    }
+
+    private void emit(boolean last) throws IOException {
+        ByteBuf buf = this.chunk;
+        this.chunk = null;
+        this.consumer.accept(buf, last);
+    }
+
+    private void writeUtf8(CharSequence chars, int start, int end) throws IOException {
+        while (start < end) {
+            ByteBuf buf = this.current(MIN_WRITABLE_BYTES);
+            int count = Math.min(end - start, buf.writableBytes() / MAX_BYTES_PER_CHAR);
+            if (start + count < end && Character.isHighSurrogate(chars.charAt(start + count - 1))) {
+                // keep the pair together, so that it is not encoded as two malformed chars
+                count--;
+            }
+            ByteBufUtil.writeUtf8(buf, CharBuffer.wrap(chars, start, start + count));
+            start += count;
+        }
+    }
+
+    /**
+     * Receives the chunks written to a {@link ChunkedByteBufOutputStream}. The consumer takes over the ownership of
+     * each chunk and is responsible for releasing it.
+     */
+    @FunctionalInterface
+    public interface ChunkConsumer {
+
+        void accept(ByteBuf chunk, boolean last) throws IOException;
+    }
+
+    /**
+     * The UTF-8 writer of the stream.
+     */
+    private class Utf8Writer extends Writer {
+
+        @Override
+        public void write(int c) throws IOException {
+            if (c < 0x80) {
+                current(1).writeByte(c);
+            } else {
+                writeUtf8(String.valueOf((char) c), 0, 1);
+            }
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            writeUtf8(CharBuffer.wrap(cbuf), off, off + len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            writeUtf8(str, off, off + len);
+        }
+
+        @Override
+        public Writer append(CharSequence csq) throws IOException {
+            CharSequence chars = csq == null ? "null" : csq;
+            writeUtf8(chars, 0, chars.length());
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() throws IOException {
+            ChunkedByteBufOutputStream.this.close();
+        }
+    }
+}
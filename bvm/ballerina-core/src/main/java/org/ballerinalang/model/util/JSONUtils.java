@@ -60,8 +60,8 @@ import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.exceptions.RuntimeErrors;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
 
@@ -104,7 +104,7 @@ public class JSONUtils {
         BRefValueArray json = new BRefValueArray(new BArrayType(BTypes.typeJSON));
         for (int i = 0; i < intArray.size(); i++) {
             long value = intArray.get(i);
-            json.append(new BInteger(value));
+            json.append(BInteger.valueOf(value));
         }
         return json;
     }
@@ -119,7 +119,7 @@ public class JSONUtils {
         BRefValueArray json = new BRefValueArray(new BArrayType(BTypes.typeJSON));
         for (int i = 0; i < floatArray.size(); i++) {
             double value = floatArray.get(i);
-            json.append(new BFloat(value));
+            json.append(BFloat.valueOf(value));
         }
         return json;
     }
@@ -134,7 +134,7 @@ public class JSONUtils {
         BRefValueArray json = new BRefValueArray(new BArrayType(BTypes.typeJSON));
         for (int i = 0; i < stringArray.size(); i++) {
             String value = stringArray.get(i);
-            json.append(new BString(value));
+            json.append(BString.valueOf(value));
         }
         return json;
     }
@@ -149,7 +149,7 @@ public class JSONUtils {
         BRefValueArray json = new BRefValueArray(new BArrayType(BTypes.typeJSON));
         for (int i = 0; i < booleanArray.size(); i++) {
             int value = booleanArray.get(i);
-            json.append(new BBoolean(value == 1));
+            json.append(BBoolean.valueOf(value == 1));
         }
         return json;
     }
@@ -490,7 +490,7 @@ public class JSONUtils {
         } else {
             switch (json.getType().getTag()) {
                 case TypeTags.JSON_TAG:
-                    LinkedHashMap<String, BValue> map = ((BMap) json).getMap();
+                    Map<String, BValue> map = ((BMap) json).getMap();
                     for (Entry<String, BValue> entry : map.entrySet()) {
                         currentRoot = traverseJsonNode(entry.getValue(), entry.getKey(), currentRoot,
                                 omElementArrayList, attributePrefix, arrayEntryTag);
@@ -564,7 +564,7 @@ public class JSONUtils {
         }
 
         if (json.getType().getTag() == TypeTags.INT_TAG) {
-            return new BFloat(((BInteger) json).intValue());
+            return BFloat.valueOf(((BInteger) json).intValue());
         }
 
         return (BFloat) json;
@@ -661,7 +661,7 @@ public class JSONUtils {
             case TypeTags.FLOAT_TAG:
                 return jsonNodeToFloat(jsonValue);
             case TypeTags.STRING_TAG:
-                return new BString(jsonValue.stringValue());
+                return BString.valueOf(jsonValue.stringValue());
             case TypeTags.BOOLEAN_TAG:
                 return jsonNodeToBool(jsonValue);
             case TypeTags.JSON_TAG:
@@ -0,0 +1,820 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.model.util;
+
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BIterator;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A JSON parser which reads UTF-8 encoded bytes directly, without decoding them into characters first.
+ * <p>
+ * Field names are interned in a per thread cache, so that the same names in consecutive documents share their
+ * strings, and numbers are read from the bytes without creating intermediate strings. The accepted syntax is the
+ * same as the one of {@link JsonParser}.
+ * <p>
+ * In the lazy mode, objects are only indexed when they are parsed: the field names and the locations of the
+ * field values are recorded, and a value is decoded when its field is accessed for the first time. Any other
+ * operation on the object decodes all of its fields. Syntax errors in a field value are reported when the value
+ * is decoded.
+ *
+ * @since 0.981.1
+ */
+final class JsonByteParser {
+
+    private static final int KEY_CACHE_SIZE = 512;
+    private static final int REPLACEMENT_CHAR = 0xFFFD;
+    private static final int MAX_CACHED_KEY_LENGTH = 64;
+
+    /* significant digits and powers of ten with which a decimal number converts to the exact nearest double */
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final ThreadLocal<JsonByteParser> tlParser = ThreadLocal.withInitial(JsonByteParser::new);
+
+    private final byte[][] cachedKeyBytes = new byte[KEY_CACHE_SIZE][];
+    private final String[] cachedKeys = new String[KEY_CACHE_SIZE];
+    private char[] charBuff = new char[256];
+    private boolean inUse;
+
+    private byte[] buf;
+    private int start;
+    private int pos;
+    private int end;
+    private boolean lazy;
+
+    private JsonByteParser() {
+    }
+
+    /**
+     * Parses the JSON document in the given bytes.
+     *
+     * @param buf the bytes which contain the document
+     * @param offset the location of the document in the bytes
+     * @param length the length of the document
+     * @param lazy whether the objects are to be decoded lazily, in which case the bytes must not be modified
+     *             afterwards
+     * @return JSON structure as a {@link BValue} object
+     * @throws BallerinaException for any parsing error
+     */
+    static BRefType<?> parse(byte[] buf, int offset, int length, boolean lazy) throws BallerinaException {
+        JsonByteParser parser = acquire();
+        try {
+            return parser.parseDocument(buf, offset, offset + length, lazy);
+        } finally {
+            parser.release();
+        }
+    }
+
+    private static JsonByteParser acquire() {
+        JsonByteParser parser = tlParser.get();
+        if (parser.inUse) {
+            // decoding a lazy field value while parsing, e.g. from a nested call
+            return new JsonByteParser();
+        }
+        parser.inUse = true;
+        return parser;
+    }
+
+    private void release() {
+        // Drop the document, so that it can be collected while the parser stays with the thread.
+        this.buf = null;
+        this.inUse = false;
+    }
+
+    private BRefType<?> parseDocument(byte[] buf, int start, int end, boolean lazy) {
+        this.buf = buf;
+        this.start = start;
+        this.pos = start;
+        this.end = end;
+        this.lazy = lazy;
+        try {
+            skipByteOrderMark();
+            skipWhitespace();
+            if (pos == end) {
+                throw new JsonParserException("empty JSON document");
+            }
+            BRefType<?> value = parseValue();
+            skipWhitespace();
+            if (pos != end) {
+                pos++;
+                throw new JsonParserException("JSON document has already ended");
+            }
+            return value;
+        } catch (JsonParserException e) {
+            throw locate(e);
+        }
+    }
+
+    private BRefType<?> parseLazyValue(byte[] buf, int start, int end, int valueStart) {
+        this.buf = buf;
+        this.start = start;
+        this.pos = valueStart;
+        this.end = end;
+        this.lazy = true;
+        try {
+            return parseValue();
+        } catch (JsonParserException e) {
+            throw locate(e);
+        }
+    }
+
+    private BallerinaException locate(JsonParserException e) {
+        // the location is the one of the last character read
+        int line = 1;
+        int column = 0;
+        int limit = Math.min(pos, end);
+        for (int i = start; i < limit; i++) {
+            byte b = buf[i];
+            if (b == '\n') {
+                line++;
+                column = 0;
+            } else if ((b & 0xC0) != 0x80) {
+                // count characters rather than the continuation bytes of their encoding
+                column++;
+            }
+        }
+        return new BallerinaException(e.getMessage() + " at line: " + line + " column: " + column);
+    }
+
+    private BRefType<?> parseValue() throws JsonParserException {
+        byte b = peek();
+        switch (b) {
+            case '{':
+                pos++;
+                return lazy ? indexObject() : parseObject();
+            case '[':
+                pos++;
+                return parseArray();
+            case '"':
+            case '\'':
+                pos++;
+                return BString.valueOf(parseString(b));
+            default:
+                return parseNonString();
+        }
+    }
+
+    private BMap<String, BRefType<?>> parseObject() throws JsonParserException {
+        BMap<String, BRefType<?>> object = new BMap<>(BTypes.typeJSON);
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return object;
+        }
+        while (true) {
+            String key = parseKey();
+            skipWhitespace();
+            if (next() != ':') {
+                throwExpected(":");
+            }
+            skipWhitespace();
+            object.put(key, parseValue());
+            skipWhitespace();
+            byte b = next();
+            if (b == '}') {
+                return object;
+            } else if (b != ',') {
+                throwExpected(",", "}");
+            }
+            skipWhitespace();
+        }
+    }
+
+    private BMap<String, BRefType<?>> indexObject() throws JsonParserException {
+        LazyObject object = new LazyObject(buf, start, end);
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return object;
+        }
+        while (true) {
+            String key = parseKey();
+            skipWhitespace();
+            if (next() != ':') {
+                throwExpected(":");
+            }
+            skipWhitespace();
+            object.addField(key, pos);
+            skipValue();
+            skipWhitespace();
+            byte b = next();
+            if (b == '}') {
+                return object;
+            } else if (b != ',') {
+                throwExpected(",", "}");
+            }
+            skipWhitespace();
+        }
+    }
+
+    private BRefValueArray parseArray() throws JsonParserException {
+        BRefValueArray array = new BRefValueArray(new BArrayType(BTypes.typeJSON));
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return array;
+        }
+        while (true) {
+            array.append(parseValue());
+            skipWhitespace();
+            byte b = next();
+            if (b == ']') {
+                return array;
+            } else if (b != ',') {
+                throwExpected(",", "]");
+            }
+            skipWhitespace();
+        }
+    }
+
+    private String parseKey() throws JsonParserException {
+        byte quote = next();
+        if (quote != '"' && quote != '\'') {
+            throwExpected("\"");
+        }
+        int keyStart = pos;
+        int hash = 0;
+        while (pos < end) {
+            byte b = buf[pos];
+            if (b == quote) {
+                int length = pos - keyStart;
+                pos++;
+                return length <= MAX_CACHED_KEY_LENGTH ? internKey(keyStart, length, hash) :
+                        new String(buf, keyStart, length, StandardCharsets.ISO_8859_1);
+            } else if (b == '\\' || b < 0) {
+                // escaped or non ASCII names are not cached
+                pos = keyStart;
+                return parseString(quote);
+            }
+            hash = 31 * hash + b;
+            pos++;
+        }
+        throw new JsonParserException("unexpected end of JSON document");
+    }
+
+    private String internKey(int keyStart, int length, int hash) {
+        int slot = (hash ^ (hash >>> 16)) & (KEY_CACHE_SIZE - 1);
+        byte[] cached = cachedKeyBytes[slot];
+        if (cached != null && cached.length == length && regionEquals(cached, keyStart)) {
+            return cachedKeys[slot];
+        }
+        String key = new String(buf, keyStart, length, StandardCharsets.ISO_8859_1);
+        cachedKeyBytes[slot] = Arrays.copyOfRange(buf, keyStart, keyStart + length);
+        cachedKeys[slot] = key;
+        return key;
+    }
+
+    private boolean regionEquals(byte[] cached, int offset) {
+        for (int i = 0; i < cached.length; i++) {
+            if (cached[i] != buf[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String parseString(byte quote) throws JsonParserException {
+        int stringStart = pos;
+        while (pos < end) {
+            byte b = buf[pos];
+            if (b == quote) {
+                pos++;
+                return new String(buf, stringStart, pos - 1 - stringStart, StandardCharsets.ISO_8859_1);
+            } else if (b == '\\' || b < 0) {
+                return decodeString(stringStart, quote);
+            }
+            pos++;
+        }
+        throw new JsonParserException("unexpected end of JSON document");
+    }
+
+    /**
+     * Decodes a string which has escaped or non ASCII characters, from the start of the string.
+     */
+    private String decodeString(int stringStart, byte quote) throws JsonParserException {
+        int length = 0;
+        pos = stringStart;
+        while (pos < end) {
+            if (length + 2 > charBuff.length) {
+                charBuff = Arrays.copyOf(charBuff, charBuff.length * 2);
+            }
+            int b = buf[pos++];
+            if (b == quote) {
+                return new String(charBuff, 0, length);
+            } else if (b == '\\') {
+                charBuff[length++] = parseEscapedChar();
+            } else if (b >= 0) {
+                charBuff[length++] = (char) b;
+            } else {
+                int codePoint = decodeMultiByteChar(b & 0xFF);
+                if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                    charBuff[length++] = Character.highSurrogate(codePoint);
+                    charBuff[length++] = Character.lowSurrogate(codePoint);
+                } else {
+                    charBuff[length++] = (char) codePoint;
+                }
+            }
+        }
+        throw new JsonParserException("unexpected end of JSON document");
+    }
+
+    private char parseEscapedChar() throws JsonParserException {
+        switch (next()) {
+            case '"':
+                return '"';
+            case '\\':
+                return '\\';
+            case '/':
+                return '/';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int ch = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(next(), 16);
+                    if (digit < 0) {
+                        throwExpected("hexadecimal value of an unicode character");
+                    }
+                    ch = (ch << 4) | digit;
+                }
+                return (char) ch;
+            default:
+                throwExpected("escaped characters");
+                return 0;
+        }
+    }
+
+    /**
+     * Decodes a character encoded in more than one byte, given its first byte. Malformed sequences are replaced
+     * with the replacement character, as the character decoders do.
+     */
+    private int decodeMultiByteChar(int first) {
+        int continuations;
+        int codePoint;
+        if ((first & 0xE0) == 0xC0) {
+            continuations = 1;
+            codePoint = first & 0x1F;
+        } else if ((first & 0xF0) == 0xE0) {
+            continuations = 2;
+            codePoint = first & 0x0F;
+        } else if ((first & 0xF8) == 0xF0) {
+            continuations = 3;
+            codePoint = first & 0x07;
+        } else {
+            return REPLACEMENT_CHAR;
+        }
+        for (int i = 0; i < continuations; i++) {
+            if (pos == end || (buf[pos] & 0xC0) != 0x80) {
+                return REPLACEMENT_CHAR;
+            }
+            codePoint = (codePoint << 6) | (buf[pos++] & 0x3F);
+        }
+        if (codePoint > Character.MAX_CODE_POINT || (codePoint >= Character.MIN_SURROGATE
+                && codePoint <= Character.MAX_SURROGATE)) {
+            return REPLACEMENT_CHAR;
+        }
+        return codePoint;
+    }
+
+    private BRefType<?> parseNonString() throws JsonParserException {
+        int tokenStart = pos;
+        skipNonString();
+        int length = pos - tokenStart;
+        byte first = buf[tokenStart];
+        if (first == 't' && length == 4 && buf[tokenStart + 1] == 'r' && buf[tokenStart + 2] == 'u'
+                && buf[tokenStart + 3] == 'e') {
+            return BBoolean.TRUE;
+        } else if (first == 'f' && length == 5 && buf[tokenStart + 1] == 'a' && buf[tokenStart + 2] == 'l'
+                && buf[tokenStart + 3] == 's' && buf[tokenStart + 4] == 'e') {
+            return BBoolean.FALSE;
+        } else if (first == 'n' && length == 4 && buf[tokenStart + 1] == 'u' && buf[tokenStart + 2] == 'l'
+                && buf[tokenStart + 3] == 'l') {
+            return null;
+        }
+        BRefType<?> number = parseNumber(tokenStart, pos);
+        return number != null ? number : parseToken(new String(buf, tokenStart, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a number in the plain decimal notation. Returns null for any other token, and for the numbers which
+     * can not be read exactly without the number parsers of the JDK.
+     */
+    private BRefType<?> parseNumber(int i, int tokenEnd) {
+        boolean negative = false;
+        if (buf[i] == '-' || buf[i] == '+') {
+            negative = buf[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        for (; i < tokenEnd; i++) {
+            byte b = buf[i];
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (fraction) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+        if (!fraction) {
+            // 18 digits always fit in a long
+            if (i != tokenEnd || digits > 18) {
+                return null;
+            }
+            return BInteger.valueOf(negative ? -mantissa : mantissa);
+        }
+
+        int exponent = 0;
+        if (i < tokenEnd && (buf[i] == 'e' || buf[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < tokenEnd && (buf[i] == '-' || buf[i] == '+')) {
+                negativeExponent = buf[i] == '-';
+                i++;
+            }
+            int exponentDigits = 0;
+            for (; i < tokenEnd && buf[i] >= '0' && buf[i] <= '9' && exponentDigits < 4; i++, exponentDigits++) {
+                exponent = exponent * 10 + (buf[i] - '0');
+            }
+            if (exponentDigits == 0) {
+                return null;
+            }
+            exponent = negativeExponent ? -exponent : exponent;
+        }
+        if (i != tokenEnd || digits > MAX_EXACT_DIGITS) {
+            return null;
+        }
+        exponent -= fractionDigits;
+        double value;
+        if (exponent >= 0 && exponent < EXACT_POWERS_OF_TEN.length) {
+            value = mantissa * EXACT_POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < EXACT_POWERS_OF_TEN.length) {
+            value = mantissa / EXACT_POWERS_OF_TEN[-exponent];
+        } else {
+            return null;
+        }
+        return BFloat.valueOf(negative ? -value : value);
+    }
+
+    /**
+     * Converts a non string token the same way as {@link JsonParser} does.
+     */
+    private static BRefType<?> parseToken(String token) throws JsonParserException {
+        try {
+            if (token.indexOf('.') >= 0) {
+                return BFloat.valueOf(Double.parseDouble(token));
+            }
+            return BInteger.valueOf(Long.parseLong(token));
+        } catch (NumberFormatException ignore) {
+            throw new JsonParserException("unrecognized token '" + token + "'");
+        }
+    }
+
+    private void skipValue() throws JsonParserException {
+        byte b = peek();
+        if (b == '"' || b == '\'') {
+            pos++;
+            skipString(b);
+        } else if (b == '{' || b == '[') {
+            pos++;
+            int depth = 1;
+            while (depth > 0) {
+                b = next();
+                if (b == '"' || b == '\'') {
+                    skipString(b);
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    depth--;
+                }
+            }
+        } else {
+            skipNonString();
+        }
+    }
+
+    private void skipString(byte quote) throws JsonParserException {
+        while (pos < end) {
+            byte b = buf[pos++];
+            if (b == quote) {
+                return;
+            } else if (b == '\\') {
+                pos++;
+            }
+        }
+        throw new JsonParserException("unexpected end of JSON document");
+    }
+
+    private void skipNonString() throws JsonParserException {
+        int tokenStart = pos;
+        while (pos < end) {
+            byte b = buf[pos];
+            if (b == ',' || b == '}' || b == ']' || isWhitespace(b)) {
+                break;
+            }
+            pos++;
+            if (b == '{' || b == '[' || b == '"' || b == '\'') {
+                throw new JsonParserException("unrecognized token '"
+                        + new String(buf, tokenStart, pos - tokenStart, StandardCharsets.UTF_8) + "'");
+            }
+        }
+        if (pos == tokenStart) {
+            pos++;
+            throw new JsonParserException("unexpected character '" + (char) buf[tokenStart] + "'");
+        }
+    }
+
+    private void skipByteOrderMark() {
+        if (end - pos >= 3 && buf[pos] == (byte) 0xEF && buf[pos + 1] == (byte) 0xBB && buf[pos + 2] == (byte) 0xBF) {
+            pos += 3;
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < end && isWhitespace(buf[pos])) {
+            pos++;
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private byte peek() throws JsonParserException {
+        if (pos == end) {
+            throw new JsonParserException("unexpected end of JSON document");
+        }
+        return buf[pos];
+    }
+
+    private byte next() throws JsonParserException {
+        if (pos == end) {
+            throw new JsonParserException("unexpected end of JSON document");
+        }
+        return buf[pos++];
+    }
+
+    private static void throwExpected(String... chars) throws JsonParserException {
+        throw new JsonParserException("expected " + String.join(" or ", chars));
+    }
+
+    /**
+     * Represents a JSON parser related exception.
+     */
+    private static class JsonParserException extends Exception {
+
+        private static final long serialVersionUID = 4214286627349473457L;
+
+        JsonParserException(String msg) {
+            super(msg);
+        }
+    }
+
+    /**
+     * A JSON object whose field values are decoded from the document when they are accessed.
+     * <p>
+     * Until the object is inflated, the fields are kept in the index of this object, and lookups by name decode
+     * only the value of the field looked up. All the other operations inflate the object first, i.e. decode all
+     * the remaining fields and move them into the map in their document order.
+     */
+    private static final class LazyObject extends BMap<String, BRefType<?>> {
+
+        private static final int INDEXED_LOOKUP_THRESHOLD = 8;
+
+        private byte[] buf;
+        private final int start;
+        private final int end;
+        private String[] names = new String[4];
+        /* the location of the value of each field, or -1 once the value is decoded */
+        private int[] valueStarts = new int[4];
+        private BRefType<?>[] fieldValues = new BRefType<?>[4];
+        private int count;
+        private Map<String, Integer> slots;
+        private volatile boolean inflated;
+
+        LazyObject(byte[] buf, int start, int end) {
+            super(BTypes.typeJSON);
+            this.buf = buf;
+            this.start = start;
+            this.end = end;
+        }
+
+        void addField(String name, int valueStart) {
+            if (count == names.length) {
+                names = Arrays.copyOf(names, count * 2);
+                valueStarts = Arrays.copyOf(valueStarts, count * 2);
+                fieldValues = Arrays.copyOf(fieldValues, count * 2);
+            }
+            names[count] = name;
+            valueStarts[count] = valueStart;
+            count++;
+        }
+
+        @Override
+        public BRefType<?> get(String key) {
+            if (!inflated) {
+                synchronized (this) {
+                    if (!inflated) {
+                        int slot = slotOf(key);
+                        return slot < 0 ? null : fieldValue(slot);
+                    }
+                }
+            }
+            return super.get(key);
+        }
+
+        @Override
+        public BRefType<?> get(String key, boolean except) {
+            if (!inflated) {
+                synchronized (this) {
+                    if (!inflated) {
+                        int slot = slotOf(key);
+                        if (slot >= 0) {
+                            return fieldValue(slot);
+                        } else if (except) {
+                            throw new BallerinaException("cannot find key '" + key + "'");
+                        }
+                        return null;
+                    }
+                }
+            }
+            return super.get(key, except);
+        }
+
+        @Override
+        public boolean hasKey(String key) {
+            if (!inflated) {
+                synchronized (this) {
+                    if (!inflated) {
+                        return slotOf(key) >= 0;
+                    }
+                }
+            }
+            return super.hasKey(key);
+        }
+
+        @Override
+        public void put(String key, BRefType<?> value) {
+            inflate();
+            super.put(key, value);
+        }
+
+        @Override
+        public void clear() {
+            inflate();
+            super.clear();
+        }
+
+        @Override
+        public Map<String, BRefType<?>> getMap() {
+            inflate();
+            return super.getMap();
+        }
+
+        @Override
+        public int size() {
+            inflate();
+            return super.size();
+        }
+
+        @Override
+        public boolean remove(String key) {
+            inflate();
+            return super.remove(key);
+        }
+
+        @Override
+        public String[] keys() {
+            inflate();
+            return super.keys();
+        }
+
+        @Override
+        public BRefType<?>[] values() {
+            inflate();
+            return super.values();
+        }
+
+        @Override
+        public String stringValue() {
+            inflate();
+            return super.stringValue();
+        }
+
+        @Override
+        public BValue copy() {
+            inflate();
+            return super.copy();
+        }
+
+        @Override
+        public BIterator newIterator() {
+            inflate();
+            return super.newIterator();
+        }
+
+        private int slotOf(String key) {
+            if (count > INDEXED_LOOKUP_THRESHOLD) {
+                if (slots == null) {
+                    slots = new HashMap<>();
+                    for (int i = 0; i < count; i++) {
+                        slots.put(names[i], i);
+                    }
+                }
+                Integer slot = slots.get(key);
+                return slot == null ? -1 : slot;
+            }
+            // the last one of duplicate fields wins, as it does when the fields are put into a map
+            for (int i = count - 1; i >= 0; i--) {
+                if (names[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private BRefType<?> fieldValue(int slot) {
+            if (valueStarts[slot] >= 0) {
+                JsonByteParser parser = acquire();
+                try {
+                    fieldValues[slot] = parser.parseLazyValue(buf, start, end, valueStarts[slot]);
+                } finally {
+                    parser.release();
+                }
+                valueStarts[slot] = -1;
+            }
+            return fieldValues[slot];
+        }
+
+        private void inflate() {
+            if (inflated) {
+                return;
+            }
+            synchronized (this) {
+                if (inflated) {
+                    return;
+                }
+                for (int i = 0; i < count; i++) {
+                    super.put(names[i], fieldValue(i));
+                }
+                this.buf = null;
+                this.names = null;
+                this.valueStarts = null;
+                this.fieldValues = null;
+                this.slots = null;
+                this.inflated = true;
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.ballerinalang.model.values.BFloat;
 import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BStreamingJSON;
 import org.ballerinalang.model.values.BValue;
 
 import java.io.BufferedWriter;
@@ -31,6 +32,7 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Map.Entry;
 
 /**
@@ -67,7 +69,9 @@ public class JsonGenerator {
     }
     
     public JsonGenerator(OutputStream out, Charset charset) {
-        this(new BufferedWriter(new OutputStreamWriter(out, charset)));
+        this(out instanceof ChunkedByteBufOutputStream && StandardCharsets.UTF_8.equals(charset) ?
+                ((ChunkedByteBufOutputStream) out).getWriter() :
+                new BufferedWriter(new OutputStreamWriter(out, charset)));
     }
 
     public JsonGenerator(Writer writer) {
@@ -274,6 +278,10 @@ public class JsonGenerator {
 
         switch (json.getType().getTag()) {
             case TypeTags.ARRAY_TAG:
+                if (json instanceof BStreamingJSON) {
+                    ((BStreamingJSON) json).serialize(this);
+                    break;
+                }
                 this.writeStartArray();
                 BRefValueArray jsonArray = (BRefValueArray) json;
                 for (int i = 0; i < jsonArray.size(); i++) {
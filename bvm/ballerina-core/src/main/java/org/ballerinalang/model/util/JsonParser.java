@@ -17,7 +17,9 @@
  */
 package org.ballerinalang.model.util;
 
+import io.netty.buffer.ByteBuf;
 import org.apache.commons.lang3.StringEscapeUtils;
+import org.ballerinalang.config.ConfigRegistry;
 import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.types.TypeTags;
@@ -37,18 +39,27 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Deque;
 
 /**
  * This class represents a JSON parser.
+ * <p>
+ * UTF-8 encoded content is parsed directly from its bytes by a {@link JsonByteParser}, which decodes the objects
+ * lazily if {@code b7a.runtime.json.parser.lazy} is enabled. Content in any other encoding is parsed from its
+ * characters.
  * 
  * @since 0.95.5
  */
 @SuppressWarnings("unchecked")
 public class JsonParser {
 
+    private static final String LAZY_PARSING_CONFIG_PROP = "b7a.runtime.json.parser.lazy";
+
     private static ThreadLocal<StateMachine> tlStateMachine = new ThreadLocal<StateMachine>() {
         @Override public StateMachine initialValue() {
             return new StateMachine();
@@ -76,11 +87,75 @@ public class JsonParser {
      */
     public static BRefType<?> parse(InputStream in, String charsetName) throws BallerinaException {
         try {
+            if (isUTF8(charsetName)) {
+                byte[] bytes = new byte[Math.max(in.available(), 1024)];
+                int length = 0;
+                int count;
+                while ((count = in.read(bytes, length, bytes.length - length)) > 0) {
+                    length += count;
+                    if (length == bytes.length) {
+                        bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                    }
+                }
+                return JsonByteParser.parse(bytes, 0, length, isLazyParsingEnabled());
+            }
             return parse(new InputStreamReader(new BufferedInputStream(in), charsetName));
         } catch (IOException e) {
             throw new BallerinaException("Error in parsing JSON data: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Parses the UTF-8 encoded contents in the given bytes and returns a {@link BValue}.
+     *
+     * @param bytes the bytes which contain the JSON content
+     * @return JSON structure as a {@link BValue} object
+     * @throws BallerinaException for any parsing error
+     */
+    public static BRefType<?> parse(byte[] bytes) throws BallerinaException {
+        boolean lazy = isLazyParsingEnabled();
+        // the lazily decoded values refer to the bytes, which belong to the caller
+        return JsonByteParser.parse(lazy ? bytes.clone() : bytes, 0, bytes.length, lazy);
+    }
+
+    /**
+     * Parses the UTF-8 encoded contents in the remaining bytes of the given buffer and returns a {@link BValue}.
+     * The position of the buffer is not changed.
+     *
+     * @param buffer the buffer which contains the JSON content
+     * @return JSON structure as a {@link BValue} object
+     * @throws BallerinaException for any parsing error
+     */
+    public static BRefType<?> parse(ByteBuffer buffer) throws BallerinaException {
+        boolean lazy = isLazyParsingEnabled();
+        if (buffer.hasArray() && !lazy) {
+            return JsonByteParser.parse(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                    buffer.remaining(), false);
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return JsonByteParser.parse(bytes, 0, bytes.length, lazy);
+    }
+
+    /**
+     * Parses the UTF-8 encoded contents in the readable bytes of the given buffer and returns a {@link BValue}.
+     * The reader index of the buffer is not changed.
+     *
+     * @param buffer the buffer which contains the JSON content
+     * @return JSON structure as a {@link BValue} object
+     * @throws BallerinaException for any parsing error
+     */
+    public static BRefType<?> parse(ByteBuf buffer) throws BallerinaException {
+        boolean lazy = isLazyParsingEnabled();
+        if (buffer.hasArray() && !lazy) {
+            return JsonByteParser.parse(buffer.array(), buffer.arrayOffset() + buffer.readerIndex(),
+                    buffer.readableBytes(), false);
+        }
+        // pooled buffers are reused once released, so lazily decoded values can not refer to them
+        byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.getBytes(buffer.readerIndex(), bytes);
+        return JsonByteParser.parse(bytes, 0, bytes.length, lazy);
+    }
     
     /**
      * Parses the contents in the given string and returns a {@link BValue}.
@@ -111,6 +186,19 @@ public class JsonParser {
         }
     }
     
+    private static boolean isUTF8(String charsetName) {
+        try {
+            return Charset.forName(charsetName).equals(StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            // unknown charsets are reported by the reader
+            return false;
+        }
+    }
+
+    private static boolean isLazyParsingEnabled() {
+        return Boolean.parseBoolean(ConfigRegistry.getInstance().getAsString(LAZY_PARSING_CONFIG_PROP));
+    }
+
     /**
      * Represents a JSON parser related exception.
      */
@@ -629,7 +717,8 @@ public class JsonParser {
                     ch = buff[i];
                     sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
-                        ((BMap<String, BValue>) sm.currentJsonNode).put(sm.fieldNames.pop(), new BString(sm.value()));
+                        ((BMap<String, BValue>) sm.currentJsonNode).put(sm.fieldNames.pop(),
+                                BString.valueOf(sm.value()));
                         state = FIELD_END_STATE;
                     } else if (ch == REV_SOL) { 
                         state = STRING_FIELD_ESC_CHAR_PROCESSING_STATE;
@@ -661,7 +750,7 @@ public class JsonParser {
                     ch = buff[i];
                     sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
-                        ((BRefValueArray) sm.currentJsonNode).append(new BString(sm.value()));
+                        ((BRefValueArray) sm.currentJsonNode).append(BString.valueOf(sm.value()));
                         state = ARRAY_ELEMENT_END_STATE;
                     } else if (ch == REV_SOL) { 
                         state = STRING_AE_ESC_CHAR_PROCESSING_STATE;
@@ -773,7 +862,7 @@ public class JsonParser {
                     ch = buff[i];
                     sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
-                        sm.currentJsonNode = new BString(sm.value());
+                        sm.currentJsonNode = BString.valueOf(sm.value());
                         state = DOC_END_STATE;
                     } else if (ch == REV_SOL) { 
                         state = STRING_VAL_ESC_CHAR_PROCESSING_STATE;
@@ -805,14 +894,14 @@ public class JsonParser {
                     double doubleValue = Double.parseDouble(str);
                     switch (type) {
                     case ARRAY_ELEMENT:
-                        ((BRefValueArray) this.currentJsonNode).append(new BFloat(doubleValue));
+                        ((BRefValueArray) this.currentJsonNode).append(BFloat.valueOf(doubleValue));
                         break;
                     case FIELD:
                             ((BMap<String, BValue>) this.currentJsonNode).put(this.fieldNames.pop(),
-                                    new BFloat(doubleValue));
+                                    BFloat.valueOf(doubleValue));
                             break;
                     case VALUE:
-                        currentJsonNode = new BFloat(doubleValue);
+                        currentJsonNode = BFloat.valueOf(doubleValue);
                         break;
                     default:
                         break;
@@ -825,13 +914,13 @@ public class JsonParser {
                 if (ch == 't' && TRUE.equals(str)) {
                     switch (type) {
                     case ARRAY_ELEMENT:
-                        ((BRefValueArray) this.currentJsonNode).append(new BBoolean(true));
+                        ((BRefValueArray) this.currentJsonNode).append(BBoolean.TRUE);
                         break;
                     case FIELD:
-                        ((BMap<String, BValue>) this.currentJsonNode).put(this.fieldNames.pop(), new BBoolean(true));
+                        ((BMap<String, BValue>) this.currentJsonNode).put(this.fieldNames.pop(), BBoolean.TRUE);
                         break;
                     case VALUE:
-                        currentJsonNode = new BBoolean(true);
+                        currentJsonNode = BBoolean.TRUE;
                         break;
                     default:
                         break;
@@ -839,13 +928,13 @@ public class JsonParser {
                 } else if (ch == 'f' && FALSE.equals(str)) {
                     switch (type) {
                     case ARRAY_ELEMENT:
-                        ((BRefValueArray) this.currentJsonNode).append(new BBoolean(false));
+                        ((BRefValueArray) this.currentJsonNode).append(BBoolean.FALSE);
                         break;
                     case FIELD:
-                        ((BMap<String, BValue>) this.currentJsonNode).put(this.fieldNames.pop(), new BBoolean(false));
+                        ((BMap<String, BValue>) this.currentJsonNode).put(this.fieldNames.pop(), BBoolean.FALSE);
                         break;
                     case VALUE:
-                        currentJsonNode = new BBoolean(false);
+                        currentJsonNode = BBoolean.FALSE;
                         break;
                     default:
                         break;
@@ -869,14 +958,14 @@ public class JsonParser {
                         long longValue = Long.parseLong(str);
                         switch (type) {
                         case ARRAY_ELEMENT:
-                            ((BRefValueArray) this.currentJsonNode).append(new BInteger(longValue));
+                            ((BRefValueArray) this.currentJsonNode).append(BInteger.valueOf(longValue));
                             break;
                         case FIELD:
                                 ((BMap<String, BValue>) this.currentJsonNode).put(this.fieldNames.pop(),
-                                        new BInteger(longValue));
+                                        BInteger.valueOf(longValue));
                                 break;
                         case VALUE:
-                            currentJsonNode = new BInteger(longValue);
+                            currentJsonNode = BInteger.valueOf(longValue);
                             break;
                         default:
                             break;                
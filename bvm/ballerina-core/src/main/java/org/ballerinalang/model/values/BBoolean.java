@@ -39,12 +39,22 @@ public final class BBoolean extends BValueType implements BRefType<Boolean> {
      */
     public static final BBoolean FALSE = new BBoolean(false);
 
-    private boolean value;
+    private final boolean value;
 
     public BBoolean(boolean value) {
         this.value = value;
     }
 
+    /**
+     * Returns the shared {@code BBoolean} of the given value.
+     *
+     * @param value boolean value
+     * @return {@link #TRUE} or {@link #FALSE}
+     */
+    public static BBoolean valueOf(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
     @Override
     public long intValue() {
         return 0;
@@ -101,6 +111,6 @@ public final class BBoolean extends BValueType implements BRefType<Boolean> {
     }
 
     public BValue copy() {
-        return new BBoolean(value);
+        return this;
     }
 }
@@ -38,7 +38,7 @@ public class BBooleanArray extends BNewArray {
     }
 
     public BBooleanArray() {
-        values = (int[]) newArrayInstance(Integer.TYPE);
+        values = new int[initialCapacity()];
         super.arrayType = new BArrayType(BTypes.typeBoolean);
     }
 
@@ -46,7 +46,7 @@ public class BBooleanArray extends BNewArray {
         if (size != -1) {
             this.size = maxArraySize = size;
         }
-        values = (int[]) newArrayInstance(Integer.TYPE);
+        values = new int[initialCapacity()];
         super.arrayType = new BArrayType(BTypes.typeBoolean, size);
     }
 
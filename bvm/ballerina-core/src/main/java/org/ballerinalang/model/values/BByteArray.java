@@ -44,7 +44,7 @@ public class BByteArray extends BNewArray {
     }
 
     public BByteArray() {
-        values = (byte[]) newArrayInstance(Byte.TYPE);
+        values = new byte[initialCapacity()];
         super.arrayType = new BArrayType(BTypes.typeByte, size);
     }
 
@@ -52,7 +52,7 @@ public class BByteArray extends BNewArray {
         if (size != -1) {
             this.size = maxArraySize = size;
         }
-        values = (byte[]) newArrayInstance(Byte.TYPE);
+        values = new byte[initialCapacity()];
         super.arrayType = new BArrayType(BTypes.typeByte, size);
     }
 
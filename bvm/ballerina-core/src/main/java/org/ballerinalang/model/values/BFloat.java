@@ -27,12 +27,40 @@ import org.ballerinalang.model.types.BTypes;
  */
 public final class BFloat extends BValueType implements BRefType<Double> {
 
-    private double value;
+    private static final int CACHE_LOW = -128;
+
+    private static final int CACHE_HIGH = 1024;
+
+    private static final BFloat[] CACHE = new BFloat[CACHE_HIGH - CACHE_LOW + 1];
+
+    private static final long NEGATIVE_ZERO_BITS = Double.doubleToRawLongBits(-0.0);
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new BFloat(i + CACHE_LOW);
+        }
+    }
+
+    private final double value;
 
     public BFloat(double value) {
         this.value = value;
     }
 
+    /**
+     * Returns a {@code BFloat} of the given value. Whole numbers in the range -128 to 1024 are shared instances.
+     *
+     * @param value float value
+     * @return {@code BFloat} of the given value
+     */
+    public static BFloat valueOf(double value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH && value == (int) value
+                && Double.doubleToRawLongBits(value) != NEGATIVE_ZERO_BITS) {
+            return CACHE[(int) value - CACHE_LOW];
+        }
+        return new BFloat(value);
+    }
+
     @Override
     public long intValue() {
         return (long) this.value;
@@ -91,6 +119,6 @@ public final class BFloat extends BValueType implements BRefType<Double> {
 
     @Override
     public BValue copy() {
-        return new BFloat(value);
+        return this;
     }
 }
@@ -38,7 +38,7 @@ public class BFloatArray extends BNewArray {
     }
 
     public BFloatArray() {
-        values = (double[]) newArrayInstance(Double.TYPE);
+        values = new double[initialCapacity()];
         super.arrayType = new BArrayType(BTypes.typeFloat);
     }
 
@@ -46,7 +46,7 @@ public class BFloatArray extends BNewArray {
         if (size != -1) {
             this.size = maxArraySize = size;
         }
-        values = (double[]) newArrayInstance(Double.TYPE);
+        values = new double[initialCapacity()];
         super.arrayType = new BArrayType(BTypes.typeFloat, size);
     }
 
@@ -38,7 +38,7 @@ public class BIntArray extends BNewArray {
     }
     
     public BIntArray() {
-        values = (long[]) newArrayInstance(Long.TYPE);
+        values = new long[initialCapacity()];
         super.arrayType = new BArrayType(BTypes.typeInt);
     }
 
@@ -46,7 +46,7 @@ public class BIntArray extends BNewArray {
         if (size != -1) {
             this.size = maxArraySize = size;
         }
-        values = (long[]) newArrayInstance(Long.TYPE);
+        values = new long[initialCapacity()];
         super.arrayType = new BArrayType(BTypes.typeInt, size);
     }
 
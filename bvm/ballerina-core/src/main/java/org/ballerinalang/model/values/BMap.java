@@ -26,21 +26,23 @@ import org.ballerinalang.model.util.Flags;
 import org.ballerinalang.model.util.JsonGenerator;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
 
 /**
  * {@code MapType} represents a map.
+ * <p>
+ * Reads are done optimistically without acquiring a lock, and only fall back to a read lock if a write happened
+ * at the same time, so maps which are not shared across workers never block on the lock.
+ *
  * @param <K> Key
  * @param <V> Value
  * @since 0.8.0
@@ -48,19 +50,21 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 @SuppressWarnings("rawtypes")
 public class BMap<K, V extends BValue> implements BRefType, BCollection {
 
-    private LinkedHashMap<K, V> map;
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private final Lock readLock = lock.readLock();
-    private final Lock writeLock = lock.writeLock();
+    private LinkedOpenHashMap<K, V> map;
+    private final StampedLock lock = new StampedLock();
     private BType type = BTypes.typeMap;
-    private HashMap<String, Object> nativeData = new HashMap<>();
+    private HashMap<String, Object> nativeData;
 
     public BMap() {
-        map =  new LinkedHashMap<>();
+        map =  new LinkedOpenHashMap<>();
     }
 
     public BMap(BType type) {
-        this.map = new LinkedHashMap<>();
+        MapShape shape = null;
+        if (type instanceof BStructureType) {
+            shape = ((BStructureType) type).getShape();
+        }
+        this.map = shape == null ? new LinkedOpenHashMap<>() : new LinkedOpenHashMap<>(shape);
         this.type = type;
     }
 
@@ -71,13 +75,51 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
      * @param key key used to get the value
      * @return value
      */
+    @SuppressWarnings("unchecked")
     public V get(K key) {
-        readLock.lock();
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object value = map.optimisticGet(key, lock, stamp);
+            if (value != LinkedOpenHashMap.RETRY) {
+                return (V) value;
+            }
+        }
+        stamp = lock.readLock();
         try {
             return map.get(key);
         } finally {
-            readLock.unlock();
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Retrieve the value of a field, using the slot of the field if the map still has the given shape.
+     *
+     * @param key key used to get the value
+     * @param shape shape in which the slot of the field was looked up
+     * @param slot slot of the field in the given shape
+     * @param except flag indicating whether to throw an exception if the key does not exists
+     * @return value
+     */
+    @SuppressWarnings("unchecked")
+    public V getField(K key, MapShape shape, int slot, boolean except) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object value = map.optimisticValueAt(shape, slot, lock, stamp);
+            if (value != LinkedOpenHashMap.RETRY) {
+                return (V) value;
+            }
         }
+        return get(key, except);
+    }
+
+    /**
+     * Returns the current shape of this map.
+     *
+     * @return the shape, or null if the map has a layout of its own
+     */
+    public MapShape getShape() {
+        return map.getShape();
     }
 
     /**
@@ -88,15 +130,7 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
      * @return value
      */
     public V getIfExist(K key) {
-        readLock.lock();
-        try {
-            if (!map.containsKey(key)) {
-                throw new BallerinaException("cannot find key '" + key + "'");
-            }
-            return map.get(key);
-        } finally {
-            readLock.unlock();
-        }
+        return get(key, true);
     }
 
     /**
@@ -107,14 +141,17 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
      * @return value
      */
     public V get(K key, boolean except) {
-        readLock.lock();
+        if (!except) {
+            return get(key);
+        }
+        long stamp = lock.readLock();
         try {
-            if (!map.containsKey(key) && except) {
+            if (!map.containsKey(key)) {
                 throw new BallerinaException("cannot find key '" + key + "'");
             }
             return map.get(key);
         } finally {
-            readLock.unlock();
+            lock.unlockRead(stamp);
         }
     }
 
@@ -124,11 +161,11 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
      * @param value value related to the key
      */
     public void put(K key, V value) {
-        writeLock.lock();
+        long stamp = lock.writeLock();
         try {
             map.put(key, value);
         } finally {
-            writeLock.unlock();
+            lock.unlockWrite(stamp);
         }
     }
 
@@ -136,11 +173,11 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
      * Clear map entries.
      */
     public void clear() {
-        writeLock.lock();
+        long stamp = lock.writeLock();
         try {
             map.clear();
         } finally {
-            writeLock.unlock();
+            lock.unlockWrite(stamp);
         }
     }
 
@@ -151,11 +188,18 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
      * @return returns boolean true if key exists
      */
     public boolean hasKey(K key) {
-        readLock.lock();
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object hasKey = map.optimisticContainsKey(key, lock, stamp);
+            if (hasKey != LinkedOpenHashMap.RETRY) {
+                return (Boolean) hasKey;
+            }
+        }
+        stamp = lock.readLock();
         try {
             return map.containsKey(key);
         } finally {
-            readLock.unlock();
+            lock.unlockRead(stamp);
         }
     }
 
@@ -163,7 +207,7 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
      * Retrieve the internal map.
      * @return map
      */
-    public LinkedHashMap<K, V> getMap() {
+    public Map<K, V> getMap() {
         return map;
     }
 
@@ -172,11 +216,16 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
      * @return returns the size of the map
      */
     public int size() {
-        readLock.lock();
+        long stamp = lock.tryOptimisticRead();
+        int size = map.size();
+        if (stamp != 0 && lock.validate(stamp)) {
+            return size;
+        }
+        stamp = lock.readLock();
         try {
             return map.size();
         } finally {
-            readLock.unlock();
+            lock.unlockRead(stamp);
         }
     }
 
@@ -187,7 +236,7 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
      * @return boolean to indicate whether given key is removed.
      */
     public boolean remove(K key) {
-        writeLock.lock();
+        long stamp = lock.writeLock();
         try {
             boolean hasKey = map.containsKey(key);
             if (hasKey) {
@@ -195,7 +244,7 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
             }
             return hasKey;
         } finally {
-            writeLock.unlock();
+            lock.unlockWrite(stamp);
         }
     }
 
@@ -205,12 +254,12 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
      * @return keys as an array
      */
     public K[] keys() {
-        readLock.lock();
+        long stamp = lock.readLock();
         try {
             Set<K> keys = map.keySet();
             return (K[]) keys.toArray(new String[keys.size()]);
         } finally {
-            readLock.unlock();
+            lock.unlockRead(stamp);
         }
     }
 
@@ -220,12 +269,12 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
      * @return values as an array
      */
     public V[] values() {
-        readLock.lock();
+        long stamp = lock.readLock();
         try {
             Collection<V> values = map.values();
             return (V[]) values.toArray(new BRefType[values.size()]);
         } finally {
-            readLock.unlock();
+            lock.unlockRead(stamp);
         }
     }
 
@@ -234,12 +283,7 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
      * @return Flag indicating whether the map is empty or not
      */
     public boolean isEmpty() {
-        readLock.lock();
-        try {
-            return map.size() == 0;
-        } finally {
-            readLock.unlock();
-        }
+        return size() == 0;
     }
 
     @Override
@@ -249,7 +293,7 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
 
     @Override
     public String stringValue() {
-        readLock.lock();
+        long stamp = lock.readLock();
         StringJoiner sj = new StringJoiner(", ", "{", "}");
         try {
             switch (type.getTag()) {
@@ -259,7 +303,7 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
                             continue;
                         }
                         String fieldName = field.getFieldName();
-                        V fieldVal = get((K) fieldName);
+                        V fieldVal = map.get(fieldName);
                         sj.add(fieldName + ":" + getStringValue(fieldVal));
                     }
                     break;
@@ -278,7 +322,7 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
             }
             return sj.toString();
         } finally {
-            readLock.unlock();
+            lock.unlockRead(stamp);
         }
     }
 
@@ -289,7 +333,7 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
 
     @Override
     public BValue copy() {
-        readLock.lock();
+        long stamp = lock.readLock();
         try {
             BMap<K, BValue> newMap = BTypes.typeMap.getEmptyValue();
             for (Map.Entry<K, V> entry: map.entrySet()) {
@@ -298,7 +342,7 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
             }
             return newMap;
         } finally {
-            readLock.unlock();
+            lock.unlockRead(stamp);
         }
     }
 
@@ -319,7 +363,13 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
 
         BMapIterator(BMap<K, V> value) {
             collection = value;
-            iterator = new LinkedHashMap<>(value.map).entrySet().iterator();
+            /* the iteration goes over the entries the map had when it started, whatever is added or removed */
+            long stamp = value.lock.readLock();
+            try {
+                iterator = value.map.snapshotIterator();
+            } finally {
+                value.lock.unlockRead(stamp);
+            }
         }
 
         @Override
@@ -344,6 +394,9 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
      * @param data data to be stored
      */
     public void addNativeData(String key, Object data) {
+        if (this.nativeData == null) {
+            this.nativeData = new HashMap<>();
+        }
         this.nativeData.put(key, data);
     }
 
@@ -354,7 +407,7 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
      * @return data which was stored with given key or null if no value corresponding to key
      */
     public Object getNativeData(String key) {
-        return this.nativeData.get(key);
+        return this.nativeData == null ? null : this.nativeData.get(key);
     }
 
     @Override
@@ -372,15 +425,35 @@ public class BMap<K, V extends BValue> implements BRefType, BCollection {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * JSON values are written to the stream by a {@link JsonGenerator}, without building their string value first.
+     */
+    @Override
+    public void serialize(OutputStream outputStream) {
+        if (type.getTag() != TypeTags.JSON_TAG) {
+            BRefType.super.serialize(outputStream);
+            return;
+        }
+        try {
+            JsonGenerator gen = new JsonGenerator(outputStream);
+            gen.serialize(this);
+            gen.flush();
+        } catch (IOException e) {
+            throw new BallerinaException("error occurred while serializing data", e);
+        }
+    }
+
     private String getJSONString() {
-        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
-        JsonGenerator gen = new JsonGenerator(byteOut);
+        StringWriter writer = new StringWriter();
+        JsonGenerator gen = new JsonGenerator(writer);
         try {
             gen.serialize(this);
             gen.flush();
         } catch (IOException e) {
             throw new BallerinaException("Error in converting JSON to a string: " + e.getMessage(), e);
         }
-        return new String(byteOut.toByteArray());
+        return writer.toString();
     }
 }
@@ -21,8 +21,6 @@ import org.ballerinalang.model.types.BType;
 import org.ballerinalang.util.exceptions.BLangExceptionHelper;
 import org.ballerinalang.util.exceptions.RuntimeErrors;
 
-import java.lang.reflect.Array;
-
 /**
  * {@code BArray} represents an arrays in Ballerina.
  *
@@ -39,7 +37,7 @@ public abstract class BNewArray implements BRefType, BCollection {
      * This is same as Java
      */
     protected int maxArraySize = Integer.MAX_VALUE - 8;
-    private static final int DEFAULT_ARRAY_SIZE = 100;
+    private static final int DEFAULT_ARRAY_SIZE = 8;
     protected int size = 0;
 
     public abstract void grow(int newLength);
@@ -61,9 +59,14 @@ public abstract class BNewArray implements BRefType, BCollection {
 
     // Private methods
 
-    protected Object newArrayInstance(Class<?> componentType) {
-        return (size > 0) ?
-                Array.newInstance(componentType, size) : Array.newInstance(componentType, DEFAULT_ARRAY_SIZE);
+    /**
+     * Returns the length of the storage array to be allocated for a new array value. Sealed arrays get exactly
+     * their size, while the others start small and grow by {@link #ensureCapacity(int, int)}.
+     *
+     * @return the initial length of the storage array
+     */
+    protected int initialCapacity() {
+        return (size > 0) ? size : DEFAULT_ARRAY_SIZE;
     }
 
     protected void prepareForAdd(long index, int currentArraySize) {
@@ -25,8 +25,9 @@ import org.ballerinalang.model.util.JsonGenerator;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.wso2.ballerinalang.compiler.util.BArrayState;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.StringJoiner;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -36,8 +37,29 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class BRefValueArray extends BNewArray {
 
+    /* elements are kept as boxed values */
+    private static final byte REF_STORAGE = 0;
+
+    /* no element has been added yet to a json or any array, storage is chosen by the first element */
+    private static final byte UNDECIDED_STORAGE = 1;
+
+    /* all the elements are integers, kept unboxed in intValues */
+    private static final byte INT_STORAGE = 2;
+
+    /* all the elements are floats, kept unboxed in floatValues */
+    private static final byte FLOAT_STORAGE = 3;
+
     BRefType<?>[] values;
 
+    private long[] intValues;
+
+    private double[] floatValues;
+
+    private byte storage = REF_STORAGE;
+
+    /* value of the slots which have not been assigned */
+    private BRefType<?> fillValue;
+
     public BRefValueArray(BRefType<?>[] values, BType type) {
         this.values = values;
         super.arrayType = type;
@@ -51,25 +73,34 @@ public class BRefValueArray extends BNewArray {
             if (arrayType.getState() == BArrayState.CLOSED_SEALED) {
                 this.size = maxArraySize = arrayType.getSize();
             }
-            values = (BRefType[]) newArrayInstance(BRefType.class);
-            Arrays.fill(values, arrayType.getElementType().getZeroValue());
+            fillValue = arrayType.getElementType().getZeroValue();
+            if (isUnboxable(arrayType)) {
+                storage = UNDECIDED_STORAGE;
+                return;
+            }
+            values = new BRefType[initialCapacity()];
+            Arrays.fill(values, fillValue);
         } else if (type.getTag() == TypeTags.TUPLE_TAG) {
             BTupleType tupleType = (BTupleType) type;
             this.size = maxArraySize = tupleType.getTupleTypes().size();
-            values = (BRefType[]) newArrayInstance(BRefType.class);
+            values = new BRefType[initialCapacity()];
             AtomicInteger counter = new AtomicInteger(0);
             tupleType.getTupleTypes().forEach(memType -> values[counter.getAndIncrement()] = memType.getEmptyValue());
         } else {
-            values = (BRefType[]) newArrayInstance(BRefType.class);
-            Arrays.fill(values, type.getEmptyValue());
+            fillValue = type.getEmptyValue();
+            values = new BRefType[initialCapacity()];
+            Arrays.fill(values, fillValue);
         }
     }
 
     public BRefValueArray() {
-        values = (BRefType[]) newArrayInstance(BRefType.class);
+        values = new BRefType[initialCapacity()];
     }
 
     public void add(long index, BRefType<?> value) {
+        if (storage != REF_STORAGE && addUnboxed(index, value)) {
+            return;
+        }
         prepareForAdd(index, values.length);
         values[(int) index] = value;
     }
@@ -80,7 +111,7 @@ public class BRefValueArray extends BNewArray {
 
     public BRefType<?> get(long index) {
         rangeCheckForGet(index, size);
-        return values[(int) index];
+        return valueAt((int) index);
     }
 
     @Override
@@ -90,12 +121,34 @@ public class BRefValueArray extends BNewArray {
 
     @Override
     public void grow(int newLength) {
-        values = Arrays.copyOf(values, newLength);
+        switch (storage) {
+            case INT_STORAGE:
+                intValues = Arrays.copyOf(intValues, newLength);
+                break;
+            case FLOAT_STORAGE:
+                floatValues = Arrays.copyOf(floatValues, newLength);
+                break;
+            default:
+                int oldLength = values.length;
+                values = Arrays.copyOf(values, newLength);
+                if (fillValue != null) {
+                    Arrays.fill(values, oldLength, newLength, fillValue);
+                }
+        }
     }
 
     @Override
     public BValue copy() {
-        BRefValueArray refValueArray = new BRefValueArray(Arrays.copyOf(values, values.length), arrayType);
+        BRefValueArray refValueArray;
+        if (storage == REF_STORAGE) {
+            refValueArray = new BRefValueArray(Arrays.copyOf(values, values.length), arrayType);
+        } else {
+            refValueArray = new BRefValueArray(arrayType);
+            refValueArray.storage = storage;
+            refValueArray.intValues = intValues == null ? null : Arrays.copyOf(intValues, intValues.length);
+            refValueArray.floatValues = floatValues == null ? null : Arrays.copyOf(floatValues, floatValues.length);
+        }
+        refValueArray.fillValue = fillValue;
         refValueArray.size = this.size;
         return refValueArray;
     }
@@ -114,9 +167,10 @@ public class BRefValueArray extends BNewArray {
         }
 
         for (int i = 0; i < size; i++) {
-            if (values[i] != null) {
-                sj.add((values[i].getType().getTag() == TypeTags.STRING_TAG)
-                        ? ("\"" + values[i] + "\"") : values[i].stringValue());
+            BRefType<?> value = valueAt(i);
+            if (value != null) {
+                sj.add((value.getType().getTag() == TypeTags.STRING_TAG)
+                        ? ("\"" + value + "\"") : value.stringValue());
             }
         }
         return sj.toString();
@@ -127,7 +181,16 @@ public class BRefValueArray extends BNewArray {
         return get(index);
     }
 
+    /**
+     * Returns the storage array of the elements. If the elements are kept unboxed, they are moved into a
+     * boxed storage array first.
+     *
+     * @return the storage array, which may be longer than the array
+     */
     public BRefType<?>[] getValues() {
+        if (storage != REF_STORAGE) {
+            widen();
+        }
         return values;
     }
     
@@ -136,16 +199,118 @@ public class BRefValueArray extends BNewArray {
         return stringValue();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * JSON values are written to the stream by a {@link JsonGenerator}, without building their string value first.
+     */
+    @Override
+    public void serialize(OutputStream outputStream) {
+        if (getElementType(arrayType).getTag() != TypeTags.JSON_TAG) {
+            super.serialize(outputStream);
+            return;
+        }
+        try {
+            JsonGenerator gen = new JsonGenerator(outputStream);
+            gen.serialize(this);
+            gen.flush();
+        } catch (IOException e) {
+            throw new BallerinaException("error occurred while serializing data", e);
+        }
+    }
+
     private String getJSONString() {
-        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
-        JsonGenerator gen = new JsonGenerator(byteOut);
+        StringWriter writer = new StringWriter();
+        JsonGenerator gen = new JsonGenerator(writer);
         try {
             gen.serialize(this);
             gen.flush();
         } catch (IOException e) {
             throw new BallerinaException("Error in converting JSON to a string: " + e.getMessage(), e);
         }
-        return new String(byteOut.toByteArray());
+        return writer.toString();
+    }
+
+    private BRefType<?> valueAt(int index) {
+        switch (storage) {
+            case INT_STORAGE:
+                return BInteger.valueOf(intValues[index]);
+            case FLOAT_STORAGE:
+                return BFloat.valueOf(floatValues[index]);
+            default:
+                return values[index];
+        }
+    }
+
+    /**
+     * Stores the given value unboxed if the array keeps its elements unboxed and the value is of the element kind
+     * of the array. Storing any other value, or leaving a gap of unassigned slots, widens the array to a boxed
+     * storage.
+     *
+     * @return true if the value was stored, false if the array was widened and the value is yet to be stored
+     */
+    private boolean addUnboxed(long index, BRefType<?> value) {
+        if (index > size) {
+            widen();
+            return false;
+        }
+        if (storage == UNDECIDED_STORAGE) {
+            if (value instanceof BInteger) {
+                storage = INT_STORAGE;
+                intValues = new long[initialCapacity()];
+            } else if (value instanceof BFloat) {
+                storage = FLOAT_STORAGE;
+                floatValues = new double[initialCapacity()];
+            } else {
+                widen();
+                return false;
+            }
+        }
+        if (storage == INT_STORAGE && value instanceof BInteger) {
+            prepareForAdd(index, intValues.length);
+            intValues[(int) index] = ((BInteger) value).intValue();
+            return true;
+        }
+        if (storage == FLOAT_STORAGE && value instanceof BFloat) {
+            prepareForAdd(index, floatValues.length);
+            floatValues[(int) index] = ((BFloat) value).floatValue();
+            return true;
+        }
+        widen();
+        return false;
+    }
+
+    private void widen() {
+        int capacity;
+        if (storage == INT_STORAGE) {
+            capacity = intValues.length;
+        } else if (storage == FLOAT_STORAGE) {
+            capacity = floatValues.length;
+        } else {
+            capacity = initialCapacity();
+        }
+        BRefType<?>[] refValues = new BRefType[capacity];
+        for (int i = 0; i < size; i++) {
+            refValues[i] = valueAt(i);
+        }
+        if (fillValue != null) {
+            Arrays.fill(refValues, size, capacity, fillValue);
+        }
+        values = refValues;
+        intValues = null;
+        floatValues = null;
+        storage = REF_STORAGE;
+    }
+
+    /**
+     * Only unsealed json and any arrays are kept unboxed, as those are the ref arrays which commonly hold numbers.
+     */
+    private static boolean isUnboxable(BArrayType arrayType) {
+        if (arrayType.getState() != BArrayState.UNSEALED) {
+            return false;
+        }
+        int elementTypeTag = arrayType.getElementType().getTag();
+        return elementTypeTag == TypeTags.JSON_TAG || elementTypeTag == TypeTags.ANY_TAG;
     }
 
     private BType getElementType(BType type) {
@@ -22,9 +22,11 @@ import io.ballerina.messaging.broker.core.BrokerException;
 import io.ballerina.messaging.broker.core.Consumer;
 import io.ballerina.messaging.broker.core.Message;
 import org.ballerinalang.bre.bvm.CPU;
+import org.ballerinalang.bre.bvm.streams.SiddhiEventConverter;
+import org.ballerinalang.bre.bvm.streams.StreamRingBuffer;
 import org.ballerinalang.broker.BallerinaBroker;
 import org.ballerinalang.broker.BallerinaBrokerByteBuf;
-import org.ballerinalang.model.types.BField;
+import org.ballerinalang.config.ConfigRegistry;
 import org.ballerinalang.model.types.BIndexedType;
 import org.ballerinalang.model.types.BStreamType;
 import org.ballerinalang.model.types.BStructureType;
@@ -48,12 +50,32 @@ public class BStream implements BRefType<Object> {
 
     private static final String TOPIC_NAME_PREFIX = "TOPIC_NAME_";
 
+    private static final String TRANSPORT_CONFIG_PROP = "b7a.runtime.stream.transport";
+
+    private static final String BUFFER_SIZE_CONFIG_PROP = "b7a.runtime.stream.buffer.size";
+
+    private static final String BACKPRESSURE_CONFIG_PROP = "b7a.runtime.stream.backpressure";
+
+    private static final String BROKER_TRANSPORT = "broker";
+
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
+
     private BType constraintType;
 
     private String streamId = "";
 
     private BallerinaBroker brokerInstance;
 
+    /**
+     * The in-process buffer delivering the events of the stream, unless the broker transport is configured.
+     */
+    private StreamRingBuffer ringBuffer;
+
+    /**
+     * The subscribers registered to the broker topic, when the broker transport is configured.
+     */
+    private final List<Consumer> brokerSubscribers = new ArrayList<>();
+
     /**
      * The name of the underlying broker topic representing the stream object.
      */
@@ -63,10 +85,14 @@ public class BStream implements BRefType<Object> {
         if (((BStreamType) type).getConstrainedType() == null) {
             throw new BallerinaException("a stream cannot be declared without a constraint");
         }
-        try {
-            this.brokerInstance = BallerinaBroker.getBrokerInstance();
-        } catch (Exception e) {
-            throw new BallerinaException("Error starting up internal broker for streams");
+        if (!BROKER_TRANSPORT.equalsIgnoreCase(ConfigRegistry.getInstance().getAsString(TRANSPORT_CONFIG_PROP))) {
+            this.ringBuffer = createRingBuffer(name);
+        } else {
+            try {
+                this.brokerInstance = BallerinaBroker.getBrokerInstance();
+            } catch (Exception e) {
+                throw new BallerinaException("Error starting up internal broker for streams");
+            }
         }
         this.constraintType = ((BStreamType) type).getConstrainedType();
         if (constraintType instanceof BIndexedType) {
@@ -80,6 +106,23 @@ public class BStream implements BRefType<Object> {
         this.streamId = name;
     }
 
+    private static StreamRingBuffer createRingBuffer(String name) {
+        ConfigRegistry configRegistry = ConfigRegistry.getInstance();
+        int bufferSize = DEFAULT_BUFFER_SIZE;
+        String bufferSizeConfig = configRegistry.getAsString(BUFFER_SIZE_CONFIG_PROP);
+        if (bufferSizeConfig != null) {
+            try {
+                bufferSize = Integer.parseInt(bufferSizeConfig.trim());
+            } catch (NumberFormatException e) {
+                throw new BallerinaException("invalid stream buffer size: " + bufferSizeConfig);
+            }
+        }
+        String backpressureConfig = configRegistry.getAsString(BACKPRESSURE_CONFIG_PROP);
+        StreamRingBuffer.Backpressure backpressure = backpressureConfig == null ?
+                StreamRingBuffer.Backpressure.BLOCK : StreamRingBuffer.Backpressure.fromString(backpressureConfig);
+        return new StreamRingBuffer(name, bufferSize, backpressure);
+    }
+
     public String getStreamId() {
         return streamId;
     }
@@ -119,6 +162,10 @@ public class BStream implements BRefType<Object> {
             throw new BallerinaException("incompatible types: value of type:" + dataType
                     + " cannot be added to a stream of type:" + this.constraintType);
         }
+        if (ringBuffer != null) {
+            ringBuffer.publish(data);
+            return;
+        }
         brokerInstance.publish(topicName, new BallerinaBrokerByteBuf(data));
     }
 
@@ -136,7 +183,12 @@ public class BStream implements BRefType<Object> {
                                                  + " accepting:" + this.constraintType);
         }
         String queueName = String.valueOf(System.currentTimeMillis()) + UUID.randomUUID().toString();
-        brokerInstance.addSubscription(topicName, new StreamSubscriber(queueName, functionPointer));
+        StreamSubscriber subscriber = new StreamSubscriber(queueName, functionPointer);
+        if (ringBuffer != null) {
+            ringBuffer.subscribe(subscriber::deliver);
+            return;
+        }
+        addBrokerSubscription(subscriber);
     }
 
     public void subscribe(InputHandler inputHandler) {
@@ -145,7 +197,37 @@ public class BStream implements BRefType<Object> {
             throw new BallerinaException("Streaming Support is only available with streams accepting objects");
         }
         String queueName = String.valueOf(UUID.randomUUID());
-        brokerInstance.addSubscription(topicName, new InternalStreamSubscriber(topicName, queueName, inputHandler));
+        InternalStreamSubscriber subscriber = new InternalStreamSubscriber(topicName, queueName, inputHandler,
+                new SiddhiEventConverter((BStructureType) constraintType));
+        if (ringBuffer != null) {
+            ringBuffer.subscribe(subscriber::deliver);
+            return;
+        }
+        addBrokerSubscription(subscriber);
+    }
+
+    /**
+     * Method to stop delivering the events of the stream. The subscribers are removed, and the events which are not
+     * delivered yet are discarded.
+     */
+    public void close() {
+        if (ringBuffer != null) {
+            ringBuffer.close();
+            return;
+        }
+        synchronized (brokerSubscribers) {
+            for (Consumer subscriber : brokerSubscribers) {
+                brokerInstance.removeSubscription(subscriber);
+            }
+            brokerSubscribers.clear();
+        }
+    }
+
+    private void addBrokerSubscription(Consumer subscriber) {
+        synchronized (brokerSubscribers) {
+            brokerSubscribers.add(subscriber);
+        }
+        brokerInstance.addSubscription(topicName, subscriber);
     }
 
     private class StreamSubscriber extends Consumer {
@@ -163,9 +245,11 @@ public class BStream implements BRefType<Object> {
 
         @Override
         protected void send(Message message) {
+            deliver(((BallerinaBrokerByteBuf) (message.getContentChunks().get(0).getByteBuf()).unwrap()).getValue());
+        }
+
+        void deliver(BValue data) {
             try {
-                BValue data =
-                        ((BallerinaBrokerByteBuf) (message.getContentChunks().get(0).getByteBuf()).unwrap()).getValue();
                 List<BValue> argsList = new ArrayList<>();
                 argsList.addAll(closureArgs);
                 argsList.add(data);
@@ -202,52 +286,35 @@ public class BStream implements BRefType<Object> {
         private final String topic;
         private final String queueName;
         private final InputHandler inputHandler;
+        private final SiddhiEventConverter converter;
+        // reused across the events, the receivers of a Siddhi stream copy the attributes before send returns
+        private final Object[] data;
 
-        InternalStreamSubscriber(String topic, String queueName, InputHandler inputHandler) {
+        InternalStreamSubscriber(String topic, String queueName, InputHandler inputHandler,
+                                 SiddhiEventConverter converter) {
             this.topic = topic;
             this.queueName = queueName;
             this.inputHandler = inputHandler;
+            this.converter = converter;
+            this.data = new Object[converter.getFieldCount()];
         }
 
         @Override
         protected void send(Message message) throws BrokerException {
-            BValue data =
-                    ((BallerinaBrokerByteBuf) (message.getContentChunks().get(0).getByteBuf()).unwrap()).getValue();
-            Object[] event = createEvent((BMap) data);
+            deliver(((BallerinaBrokerByteBuf) (message.getContentChunks().get(0).getByteBuf()).unwrap()).getValue());
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized void deliver(BValue value) {
+            converter.toData((BMap<String, BValue>) value, data);
             try {
-                inputHandler.send(event);
+                inputHandler.send(data);
             } catch (InterruptedException e) {
                 throw new BallerinaException("Error while sending events to stream: " + topic + ": " + e.getMessage()
                         , e);
             }
         }
 
-        private Object[] createEvent(BMap<String, BValue> data) {
-            BStructureType streamType = (BStructureType) data.getType();
-            Object[] event = new Object[streamType.getFields().length];
-            for (int index = 0; index < streamType.getFields().length; index++) {
-                BField field = streamType.getFields()[index];
-                switch (field.getFieldType().getTag()) {
-                    case TypeTags.INT_TAG:
-                        event[index] = ((BInteger) data.get(field.fieldName)).intValue();
-                        break;
-                    case TypeTags.FLOAT_TAG:
-                        event[index] = ((BFloat) data.get(field.fieldName)).floatValue();
-                        break;
-                    case TypeTags.BOOLEAN_TAG:
-                        event[index] = ((BBoolean) data.get(field.fieldName)).booleanValue();
-                        break;
-                    case TypeTags.STRING_TAG:
-                        event[index] = data.get(field.fieldName).stringValue();
-                        break;
-                    default:
-                        throw new BallerinaException("Fields in streams do not support data types other than int, " +
-                                "float, boolean and string");
-                }
-            }
-            return event;
-        }
-
         @Override
         public String getQueueName() {
             return queueName;
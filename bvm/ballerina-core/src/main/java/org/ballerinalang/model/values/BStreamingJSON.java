@@ -21,91 +21,215 @@ import org.ballerinalang.model.JSONDataSource;
 import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.util.JsonGenerator;
-import org.ballerinalang.model.util.JsonParser;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 
 /**
  * {@link BStreamingJSON} represent a JSON array generated from a {@link JSONDataSource}.
+ * <p>
+ * Elements are read from the data source only when they are needed: accessing an element reads the elements up to
+ * it, and iterating reads one element at a time. Only the operations which need the length of the array read the
+ * whole data source. Serializing or iterating an array which has not been read yet takes the elements straight from
+ * the data source, without keeping them, after which the array is empty. The data source is closed as soon as all
+ * of its elements are read, serialized or iterated over.
  * 
  * @since 0.981.0
  */
 public class BStreamingJSON extends BRefValueArray {
 
+    /* the data source, until all of its elements have been read into the array */
     private JSONDataSource datasource;
 
     public BStreamingJSON(JSONDataSource datasource) {
         this.datasource = datasource;
-        this.values = null;
         this.arrayType = new BArrayType(BTypes.typeJSON);
     }
 
+    @Override
     public void add(long index, BRefType<?> value) {
-        if (values == null) {
-            buildDatasource();
+        if (index >= size) {
+            readAll();
         }
-
         super.add(index, value);
     }
 
+    @Override
     public BRefType<?> get(long index) {
-        if (values == null) {
-            buildDatasource();
-        }
-
+        readUpTo(index);
         return super.get(index);
     }
 
+    @Override
+    public long size() {
+        readAll();
+        return size;
+    }
+
+    @Override
+    public BValue copy() {
+        readAll();
+        return super.copy();
+    }
+
+    @Override
+    public BIterator newIterator() {
+        if (this.datasource != null && this.size == 0) {
+            JSONDataSource source = this.datasource;
+            this.datasource = null;
+            return new DataSourceIterator(source);
+        }
+        return new BStreamingJSONIterator();
+    }
+
     @Override
     public void serialize(OutputStream outputStream) {
-        /*
-         * Below order is important, where if the value is generated from a streaming data source,
-         * it should be able to serialize the data out again using the value
-         */
         try {
             JsonGenerator gen = new JsonGenerator(outputStream);
-            if (this.values != null) {
-                gen.serialize(this);
-            } else {
-                this.datasource.serialize(gen);
-            }
+            serialize(gen);
             gen.flush();
         } catch (IOException e) {
             throw new BallerinaException("error occurred while serializing data", e);
         }
     }
 
+    /**
+     * Writes this array to the given generator. If no element has been read yet, the data source is serialized
+     * directly, otherwise the remaining elements are read into the array while they are written.
+     *
+     * @param gen the generator to write to
+     * @throws IOException if an error occurs while writing
+     */
+    public void serialize(JsonGenerator gen) throws IOException {
+        if (this.datasource != null && this.size == 0) {
+            this.datasource.serialize(gen);
+            this.datasource.close();
+            this.datasource = null;
+            return;
+        }
+        gen.writeStartArray();
+        for (int i = 0; i < this.size; i++) {
+            gen.serialize(super.get(i));
+        }
+        while (this.datasource != null && this.datasource.hasNext()) {
+            BRefType<?> value = this.datasource.next();
+            super.add(this.size, value);
+            gen.serialize(value);
+        }
+        closeDatasource();
+        gen.writeEndArray();
+    }
+
     @Override
     public BRefType<?>[] getValues() {
-        if (values == null) {
-            buildDatasource();
-        }
-        return values;
+        readAll();
+        return super.getValues();
     }
 
-    private void buildDatasource() {
-        try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();) {
-            JsonGenerator gen = new JsonGenerator(byteOut);
-            this.datasource.serialize(gen);
-            gen.flush();
-            BRefValueArray json = (BRefValueArray) JsonParser.parse(new ByteArrayInputStream(byteOut.toByteArray()));
-            this.values = json.getValues();
-            this.size = json.size;
+    @Override
+    public String stringValue() {
+        readAll();
+        return super.stringValue();
+    }
+
+    private void readAll() {
+        readUpTo(Long.MAX_VALUE);
+    }
+
+    /**
+     * Reads the elements of the data source into the array, until the array has the element at the given index
+     * or the data source has no more elements.
+     */
+    private void readUpTo(long index) {
+        try {
+            while (this.datasource != null && index >= this.size) {
+                if (!this.datasource.hasNext()) {
+                    closeDatasource();
+                    break;
+                }
+                super.add(this.size, this.datasource.next());
+            }
+        } catch (BallerinaException e) {
+            throw e;
         } catch (Throwable t) {
             throw new BallerinaException("error occurred while building JSON: ", t);
         }
     }
 
-    @Override
-    public String stringValue() {
-        if (values == null) {
-            buildDatasource();
+    private void closeDatasource() {
+        if (this.datasource != null) {
+            this.datasource.close();
+            this.datasource = null;
         }
+    }
 
-        return super.stringValue();
+    /**
+     * Iterates over the elements, reading them from the data source into the array one at a time.
+     */
+    private class BStreamingJSONIterator implements BIterator {
+
+        private long cursor = 0;
+
+        @Override
+        public BValue[] getNext(int arity) {
+            long cursor = this.cursor++;
+            if (arity == 1) {
+                return new BValue[] {get(cursor)};
+            }
+            return new BValue[] {BInteger.valueOf(cursor), get(cursor)};
+        }
+
+        @Override
+        public boolean hasNext() {
+            readUpTo(cursor);
+            return cursor < size;
+        }
+    }
+
+    /**
+     * Iterates over the elements of a data source no element was read from, without keeping them.
+     */
+    private static class DataSourceIterator implements BIterator {
+
+        private JSONDataSource source;
+
+        private long cursor = 0;
+
+        DataSourceIterator(JSONDataSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public BValue[] getNext(int arity) {
+            if (!hasNext()) {
+                throw new BallerinaException("no more elements to be read from the JSON array");
+            }
+            long cursor = this.cursor++;
+            BRefType<?> value = readNext();
+            if (arity == 1) {
+                return new BValue[] {value};
+            }
+            return new BValue[] {BInteger.valueOf(cursor), value};
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (source != null && !source.hasNext()) {
+                source.close();
+                source = null;
+            }
+            return source != null;
+        }
+
+        private BRefType<?> readNext() {
+            try {
+                return source.next();
+            } catch (BallerinaException e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new BallerinaException("error occurred while building JSON: ", t);
+            }
+        }
     }
 }
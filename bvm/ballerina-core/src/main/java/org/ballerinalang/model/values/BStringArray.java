@@ -39,7 +39,7 @@ public class BStringArray extends BNewArray {
     }
 
     public BStringArray() {
-        values = (String[]) newArrayInstance(String.class);
+        values = new String[initialCapacity()];
         Arrays.fill(values, BLangConstants.STRING_EMPTY_VALUE);
         super.arrayType = new BArrayType(BTypes.typeString);
     }
@@ -48,7 +48,7 @@ public class BStringArray extends BNewArray {
         if (size != -1) {
             this.size = maxArraySize = size;
         }
-        values = (String[]) newArrayInstance(String.class);
+        values = new String[initialCapacity()];
         Arrays.fill(values, BLangConstants.STRING_EMPTY_VALUE);
         super.arrayType = new BArrayType(BTypes.typeString, size);
     }
@@ -75,7 +75,9 @@ public class BStringArray extends BNewArray {
 
     @Override
     public void grow(int newLength) {
+        int oldLength = values.length;
         values = Arrays.copyOf(values, newLength);
+        Arrays.fill(values, oldLength, newLength, BLangConstants.STRING_EMPTY_VALUE);
     }
 
     @Override
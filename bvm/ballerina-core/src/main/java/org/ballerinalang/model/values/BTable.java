@@ -24,11 +24,14 @@ import org.ballerinalang.model.types.BStructureType;
 import org.ballerinalang.model.types.BTableType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.util.InMemoryTable;
 import org.ballerinalang.util.TableProvider;
+import org.ballerinalang.util.TableQuery;
 import org.ballerinalang.util.TableUtils;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.program.BLangFunctions;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.StringJoiner;
 
@@ -43,11 +46,15 @@ public class BTable implements BRefType<Object>, BCollection {
     private boolean hasNextVal;
     private boolean nextPrefetched;
     private TableProvider tableProvider;
+    private InMemoryTable inMemoryTable;
+    private TableQuery.Cursor queryCursor;
     private String tableName;
     protected BStructureType constraintType;
     private BStringArray primaryKeys;
     private BStringArray indices;
     private boolean tableClosed;
+    /* iterators over the provider table created by createIndependentIterator which have not been closed */
+    private List<DataIterator> providerIterators;
 
     public BTable() {
         this.iterator = null;
@@ -68,21 +75,53 @@ public class BTable implements BRefType<Object>, BCollection {
 
     public BTable(String query, BTable fromTable, BTable joinTable,
                   BStructureType constraintType, BRefValueArray params) {
-        this.tableProvider = TableProvider.getInstance();
+        this.constraintType = constraintType;
+        fromTable.completeQuery();
         if (joinTable != null) {
-            this.tableName = tableProvider.createTable(fromTable.tableName, joinTable.tableName, query,
-                    constraintType, params);
+            joinTable.completeQuery();
+        }
+        TableQuery compiledQuery = TableQuery.compile(query);
+        if (compiledQuery != null && fromTable.inMemoryTable != null
+                && (joinTable == null || joinTable.inMemoryTable != null)) {
+            // The result rows are computed while the table is iterated for the first time
+            this.inMemoryTable = new InMemoryTable(constraintType, null, null);
+            this.queryCursor = compiledQuery.execute(fromTable.inMemoryTable,
+                    joinTable != null ? joinTable.inMemoryTable : null, params, inMemoryTable);
+            return;
+        }
+
+        TableProvider provider = TableProvider.getInstance();
+        String fromTableName = fromTable.exportToProvider(provider);
+        String joinTableName = joinTable != null ? joinTable.exportToProvider(provider) : null;
+        String resultTableName;
+        try {
+            if (joinTable != null) {
+                resultTableName = provider.createTable(fromTableName, joinTableName, query, constraintType, params);
+            } else {
+                resultTableName = provider.createTable(fromTableName, query, constraintType, params);
+            }
+        } finally {
+            dropExportedTable(provider, fromTable, fromTableName);
+            dropExportedTable(provider, joinTable, joinTableName);
+        }
+        if (InMemoryTable.isEnabled()) {
+            this.inMemoryTable = new InMemoryTable(constraintType, null, null);
+            importFromProvider(provider, resultTableName);
         } else {
-            this.tableName = tableProvider.createTable(fromTable.tableName, query, constraintType, params);
+            this.tableProvider = provider;
+            this.tableName = resultTableName;
         }
-        this.constraintType = constraintType;
     }
 
     public BTable(BType type, BStringArray indexColumns, BStringArray keyColumns, BRefValueArray dataRows) {
         //Create table with given constraints.
         BType constrainedType = ((BTableType) type).getConstrainedType();
-        this.tableProvider = TableProvider.getInstance();
-        this.tableName = tableProvider.createTable(constrainedType, keyColumns, indexColumns);
+        if (InMemoryTable.isEnabled()) {
+            this.inMemoryTable = new InMemoryTable((BStructureType) constrainedType, keyColumns, indexColumns);
+        } else {
+            this.tableProvider = TableProvider.getInstance();
+            this.tableName = tableProvider.createTable(constrainedType, keyColumns, indexColumns);
+        }
         this.constraintType = (BStructureType) constrainedType;
         this.primaryKeys = keyColumns;
         this.indices = indexColumns;
@@ -171,6 +210,7 @@ public class BTable implements BRefType<Object>, BCollection {
         if (iterator != null) {
             iterator.close(isInTransaction);
         }
+        closeProviderIterators(isInTransaction);
         tableClosed = true;
     }
 
@@ -209,7 +249,14 @@ public class BTable implements BRefType<Object>, BCollection {
             throw new BallerinaException("incompatible types: record of type:" + data.getType().getName()
                     + " cannot be added to a table with type:" + this.constraintType.getName());
         }
-        tableProvider.insertData(tableName, data);
+        if (inMemoryTable != null) {
+            // Close the open iterator first, so that the table can compact its removed rows
+            reset(false);
+            completeQuery();
+            inMemoryTable.insertData(data);
+        } else {
+            tableProvider.insertData(tableName, data);
+        }
         reset(false);
     }
 
@@ -231,6 +278,9 @@ public class BTable implements BRefType<Object>, BCollection {
                         + functionInputType.getName() + " cannot be used to remove records from a table with type:"
                         + this.constraintType.getName());
             }
+            completeQuery();
+            // Removal goes over all the rows, from a fresh iterator of the table
+            reset(false);
             int deletedCount = 0;
             while (this.hasNext(false)) {
                 BMap<String, BValue> data = this.getNext();
@@ -238,7 +288,11 @@ public class BTable implements BRefType<Object>, BCollection {
                 BValue[] returns = BLangFunctions.invokeCallable(lambdaFunction.value().getFunctionInfo(), args);
                 if (((BBoolean) returns[0]).booleanValue()) {
                     ++deletedCount;
-                    tableProvider.deleteData(tableName, data);
+                    if (inMemoryTable != null) {
+                        ((InMemoryTable.RowIterator) iterator).removeCurrentRow();
+                    } else {
+                        tableProvider.deleteData(tableName, data);
+                    }
                 }
             }
             context.setReturnValues(new BInteger(deletedCount));
@@ -276,6 +330,60 @@ public class BTable implements BRefType<Object>, BCollection {
         return iterator.getArray(columnIndex);
     }
 
+    /**
+     * Returns the iterator of the row this table is positioned at.
+     *
+     * @return the row iterator of this table
+     */
+    public DataIterator getDataIterator() {
+        return iterator;
+    }
+
+    /**
+     * Creates an iterator over the rows of this table, which does not affect and is not affected by the iteration
+     * done through this table value. The iterator should be closed with {@link #closeIndependentIterator}, or else it
+     * is closed with this table.
+     *
+     * @return the new iterator, or null if the rows of this table can only be read through this table value
+     */
+    public DataIterator createIndependentIterator() {
+        completeQuery();
+        if (inMemoryTable != null) {
+            return inMemoryTable.createIterator();
+        }
+        if (tableProvider != null) {
+            DataIterator rows = tableProvider.createIterator(tableName, constraintType);
+            if (providerIterators == null) {
+                providerIterators = new ArrayList<>();
+            }
+            providerIterators.add(rows);
+            return rows;
+        }
+        return null;
+    }
+
+    /**
+     * Closes an iterator created by {@link #createIndependentIterator()}.
+     *
+     * @param rows            the iterator
+     * @param isInTransaction whether the iterator is read in a transaction
+     */
+    public void closeIndependentIterator(DataIterator rows, boolean isInTransaction) {
+        if (providerIterators != null) {
+            providerIterators.remove(rows);
+        }
+        rows.close(isInTransaction);
+    }
+
+    private void closeProviderIterators(boolean isInTransaction) {
+        if (providerIterators != null) {
+            for (DataIterator rows : providerIterators) {
+                rows.close(isInTransaction);
+            }
+            providerIterators = null;
+        }
+    }
+
     public List<ColumnDefinition> getColumnDefs() {
         return iterator.getColumnDefinitions();
     }
@@ -295,7 +403,14 @@ public class BTable implements BRefType<Object>, BCollection {
     }
 
     protected void generateIterator() {
-        this.iterator = tableProvider.createIterator(tableName, this.constraintType);
+        if (queryCursor != null) {
+            this.iterator = queryCursor;
+            this.queryCursor = null;
+        } else if (inMemoryTable != null) {
+            this.iterator = inMemoryTable.createIterator();
+        } else {
+            this.iterator = tableProvider.createIterator(tableName, this.constraintType);
+        }
         resetIterationHelperAttributes();
     }
 
@@ -310,10 +425,68 @@ public class BTable implements BRefType<Object>, BCollection {
 
     @Override
     protected void finalize() {
-        if (this.iterator != null) {
+        if (this.iterator instanceof TableQuery.Cursor) {
+            ((TableQuery.Cursor) this.iterator).release();
+        } else if (this.iterator != null) {
             this.iterator.close(false);
         }
-        tableProvider.dropTable(this.tableName);
+        if (queryCursor != null) {
+            queryCursor.release();
+        }
+        closeProviderIterators(false);
+        if (tableProvider != null) {
+            tableProvider.dropTable(this.tableName);
+        }
+    }
+
+    /**
+     * Adds the remaining rows of the query this table is the result of, if the query has not been read fully.
+     */
+    private void completeQuery() {
+        if (queryCursor != null) {
+            queryCursor.close(false);
+            queryCursor = null;
+        } else if (iterator instanceof TableQuery.Cursor) {
+            ((TableQuery.Cursor) iterator).complete();
+        }
+    }
+
+    /**
+     * Returns the name of the database table holding the data of this table, copying the data into a temporary
+     * database table if this table is kept in memory.
+     */
+    private String exportToProvider(TableProvider provider) {
+        if (inMemoryTable == null) {
+            return tableName;
+        }
+        String exportedTableName = provider.createTable(constraintType, null, null);
+        InMemoryTable.RowIterator rows = inMemoryTable.createIterator();
+        try {
+            while (rows.next()) {
+                provider.insertData(exportedTableName, rows.generateNext());
+            }
+        } finally {
+            rows.close(false);
+        }
+        return exportedTableName;
+    }
+
+    private static void dropExportedTable(TableProvider provider, BTable table, String exportedTableName) {
+        if (table != null && table.inMemoryTable != null && exportedTableName != null) {
+            provider.dropTable(exportedTableName);
+        }
+    }
+
+    private void importFromProvider(TableProvider provider, String providerTableName) {
+        DataIterator rows = provider.createIterator(providerTableName, constraintType);
+        try {
+            while (rows.next()) {
+                inMemoryTable.insertData((BMap<String, BValue>) rows.generateNext());
+            }
+        } finally {
+            rows.close(false);
+            provider.dropTable(providerTableName);
+        }
     }
 
     private void insertInitialData(BRefValueArray data) {
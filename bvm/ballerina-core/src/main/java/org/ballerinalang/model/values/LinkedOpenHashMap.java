@@ -0,0 +1,479 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ * <p>
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.values;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * {@code LinkedOpenHashMap} is an insertion ordered hash map which is used as the storage of {@link BMap}.
+ * <p>
+ * Entries are kept in insertion order in flat key and value arrays, and are looked up through an open
+ * addressing index table with linear probing, so there is no entry object per mapping. The arrays are never
+ * shrunk or reordered in place, they are replaced when the map grows or gets compacted. Therefore iterators
+ * never fail due to a concurrent modification, but whether they see an update depends on whether the map has
+ * replaced its arrays since. {@link #snapshotIterator()} iterates over a copy of the entries instead, which is not
+ * affected by any later update.
+ * <p>
+ * A map can also be created with a {@link MapShape}, in which case the keys, hashes and the index table are
+ * shared with the other maps having the same shape, and only the values are kept per map. Such a map gets its
+ * own copy of the shared arrays once a key is removed, or a key which is not a field of the shape is added.
+ * <p>
+ * This implementation is not synchronized. The {@code optimistic} lookups can be done without holding the lock of the
+ * owning {@link BMap}: they take the arrays of the map, validate the given stamp of the lock so that the arrays are
+ * known to belong together, and only then probe them. Writes never shrink the arrays they update in place, so the
+ * probe cannot fail even if a write happens during it, and its result is used only if the stamp is still valid.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ * @since 0.981.1
+ */
+final class LinkedOpenHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    /* index table slot which has never been used */
+    private static final int FREE = 0;
+
+    /* index table slot of a removed entry */
+    private static final int DELETED = -1;
+
+    /* key of a removed entry in the entry arrays */
+    private static final Object REMOVED = new Object();
+
+    /* result of an optimistic lookup which raced with a write, which should be done again under the lock */
+    static final Object RETRY = new Object();
+
+    private Object[] keys;
+
+    private Object[] values;
+
+    private int[] hashes;
+
+    /* open addressing table holding entry positions + 1, its length is always twice the entry capacity */
+    private int[] index;
+
+    /* number of used entry slots, including the removed ones */
+    private int entryCount;
+
+    private int size;
+
+    /* the shape whose arrays are used by this map, null if the map has arrays of its own */
+    private MapShape shape;
+
+    LinkedOpenHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    LinkedOpenHashMap(MapShape shape) {
+        this.shape = shape;
+        this.keys = shape.keys;
+        this.hashes = shape.hashes;
+        this.index = shape.index;
+        this.values = new Object[Math.max(shape.declaredFieldCount(), shape.size())];
+        this.entryCount = shape.size();
+        this.size = shape.size();
+    }
+
+    MapShape getShape() {
+        return shape;
+    }
+
+    /**
+     * Returns the value at the given entry position if the map has the given shape, without holding the lock.
+     *
+     * @return the value, or {@link #RETRY} if the map does not have the shape or a write happened meanwhile
+     */
+    Object optimisticValueAt(MapShape expectedShape, int entry, StampedLock lock, long stamp) {
+        MapShape shape = this.shape;
+        Object[] values = this.values;
+        if (!lock.validate(stamp) || shape != expectedShape) {
+            return RETRY;
+        }
+        // the values of a map are never fewer than the fields of its shape
+        Object value = values[entry];
+        return lock.validate(stamp) ? value : RETRY;
+    }
+
+    /**
+     * Returns the value of the given key, without holding the lock.
+     *
+     * @return the value, or {@link #RETRY} if a write happened meanwhile
+     */
+    Object optimisticGet(Object key, StampedLock lock, long stamp) {
+        Object[] keys = this.keys;
+        int[] hashes = this.hashes;
+        int[] index = this.index;
+        Object[] values = this.values;
+        if (!lock.validate(stamp)) {
+            return RETRY;
+        }
+        int slot = findSlot(keys, hashes, index, key, hash(key));
+        Object value = slot < 0 ? null : values[index[slot] - 1];
+        return lock.validate(stamp) ? value : RETRY;
+    }
+
+    /**
+     * Checks whether the map has the given key, without holding the lock.
+     *
+     * @return {@link Boolean#TRUE} or {@link Boolean#FALSE}, or {@link #RETRY} if a write happened meanwhile
+     */
+    Object optimisticContainsKey(Object key, StampedLock lock, long stamp) {
+        Object[] keys = this.keys;
+        int[] hashes = this.hashes;
+        int[] index = this.index;
+        if (!lock.validate(stamp)) {
+            return RETRY;
+        }
+        boolean containsKey = findSlot(keys, hashes, index, key, hash(key)) >= 0;
+        return lock.validate(stamp) ? Boolean.valueOf(containsKey) : RETRY;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findSlot(keys, hashes, index, key, hash(key)) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int[] index = this.index;
+        int slot = findSlot(keys, hashes, index, key, hash(key));
+        return slot < 0 ? null : (V) values[index[slot] - 1];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        int hash = hash(key);
+        int slot = findSlot(keys, hashes, index, key, hash);
+        if (slot >= 0) {
+            int entry = index[slot] - 1;
+            V oldValue = (V) values[entry];
+            values[entry] = value;
+            return oldValue;
+        }
+        if (shape != null) {
+            MapShape nextShape = shape.transition(key, hash);
+            if (nextShape != null) {
+                if (values.length == entryCount) {
+                    values = Arrays.copyOf(values, Math.max(DEFAULT_CAPACITY, entryCount * 2));
+                }
+                values[entryCount++] = value;
+                keys = nextShape.keys;
+                hashes = nextShape.hashes;
+                index = nextShape.index;
+                shape = nextShape;
+                size++;
+                return null;
+            }
+            unshare();
+        }
+        if (entryCount == keys.length) {
+            rebuild();
+        }
+        int entry = entryCount++;
+        keys[entry] = key;
+        values[entry] = value;
+        hashes[entry] = hash;
+        insertIndex(index, hash, entry);
+        size++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        int hash = hash(key);
+        if (shape != null) {
+            if (findSlot(keys, hashes, index, key, hash) < 0) {
+                return null;
+            }
+            unshare();
+        }
+        int slot = findSlot(keys, hashes, index, key, hash);
+        if (slot < 0) {
+            return null;
+        }
+        int entry = index[slot] - 1;
+        V oldValue = (V) values[entry];
+        keys[entry] = REMOVED;
+        values[entry] = null;
+        index[slot] = DELETED;
+        size--;
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new EntryArrayIterator<K>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    K element(Object key, Object value) {
+                        return (K) key;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new EntryArrayIterator<V>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    V element(Object key, Object value) {
+                        return (V) value;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryArrayIterator<Map.Entry<K, V>>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    Map.Entry<K, V> element(Object key, Object value) {
+                        return new Entry((K) key, (V) value);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Returns an iterator over a copy of the current entries, which does not see any later update of the map. Only
+     * the entry arrays are copied, there is no entry object per mapping until the iteration gets to it.
+     *
+     * @return iterator over the current entries
+     */
+    Iterator<Map.Entry<K, V>> snapshotIterator() {
+        return new EntryArrayIterator<Map.Entry<K, V>>(Arrays.copyOf(keys, entryCount),
+                Arrays.copyOf(values, entryCount), entryCount) {
+            @Override
+            @SuppressWarnings("unchecked")
+            Map.Entry<K, V> element(Object key, Object value) {
+                return new AbstractMap.SimpleImmutableEntry<>((K) key, (V) value);
+            }
+        };
+    }
+
+    static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the index table slot of the given key, or -1 if there is no such key. The number of probes is
+     * bounded by the table length, so that a lookup always terminates even when it races with a writer.
+     */
+    static int findSlot(Object[] keys, int[] hashes, int[] index, Object key, int hash) {
+        int mask = index.length - 1;
+        for (int slot = hash & mask, probes = 0; probes < index.length; slot = (slot + 1) & mask, probes++) {
+            int position = index[slot];
+            if (position == FREE) {
+                return -1;
+            }
+            if (position != DELETED) {
+                int entry = position - 1;
+                if (hashes[entry] == hash && Objects.equals(keys[entry], key)) {
+                    return slot;
+                }
+            }
+        }
+        return -1;
+    }
+
+    static void insertIndex(int[] index, int hash, int entry) {
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        while (index[slot] > FREE) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = entry + 1;
+    }
+
+    /**
+     * Moves the live entries into new arrays, doubling the capacity if more than half of the entries are live.
+     */
+    private void rebuild() {
+        rebuild(size >= keys.length / 2 ? keys.length * 2 : keys.length);
+    }
+
+    /**
+     * Moves the entries of the shared shape arrays into arrays of this map.
+     */
+    private void unshare() {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity <= entryCount) {
+            capacity <<= 1;
+        }
+        rebuild(capacity);
+    }
+
+    private void rebuild(int capacity) {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        int oldEntryCount = entryCount;
+        allocate(capacity);
+        for (int i = 0; i < oldEntryCount; i++) {
+            if (oldKeys[i] == REMOVED) {
+                continue;
+            }
+            int entry = entryCount++;
+            keys[entry] = oldKeys[i];
+            values[entry] = oldValues[i];
+            hashes[entry] = oldHashes[i];
+            insertIndex(index, oldHashes[i], entry);
+        }
+        size = entryCount;
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        index = new int[capacity * 2];
+        entryCount = 0;
+        size = 0;
+        shape = null;
+    }
+
+    /**
+     * Iterates over the entry arrays which were current when the iterator was created, or over the given ones.
+     */
+    private abstract class EntryArrayIterator<T> implements Iterator<T> {
+
+        private final Object[] keys;
+
+        private final Object[] values;
+
+        private final int entryCount;
+
+        private int next = 0;
+
+        private Object lastKey = REMOVED;
+
+        EntryArrayIterator() {
+            this(LinkedOpenHashMap.this.keys, LinkedOpenHashMap.this.values, LinkedOpenHashMap.this.entryCount);
+        }
+
+        EntryArrayIterator(Object[] keys, Object[] values, int entryCount) {
+            this.keys = keys;
+            this.values = values;
+            this.entryCount = entryCount;
+        }
+
+        abstract T element(Object key, Object value);
+
+        @Override
+        public boolean hasNext() {
+            while (next < entryCount && keys[next] == REMOVED) {
+                next++;
+            }
+            return next < entryCount;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastKey = keys[next];
+            return element(lastKey, values[next++]);
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == REMOVED) {
+                throw new IllegalStateException();
+            }
+            LinkedOpenHashMap.this.remove(lastKey);
+            lastKey = REMOVED;
+        }
+    }
+
+    /**
+     * Entry returned by the entry set iterator, setting its value updates the map.
+     */
+    private class Entry extends AbstractMap.SimpleEntry<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        Entry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            super.setValue(value);
+            return put(getKey(), value);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ * <p>
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.values;
+
+import org.ballerinalang.model.types.BField;
+import org.ballerinalang.model.types.BStructureType;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code MapShape} describes the layout of the values of a structure type, i.e. which field is stored at which
+ * slot of the value.
+ * <p>
+ * The keys, hashes and the index table of a shape are shared by all the values which had the same fields added in
+ * the same order. Adding a declared field to a value moves it to the next shape in the transition tree, while
+ * removing a field or adding a field which is not declared in the type makes the value fall back to a layout
+ * of its own.
+ * <p>
+ * Values which get their fields added in many different orders would grow the transition tree without bound, so the
+ * number of transitions of a shape and the number of shapes of a type are capped. Adding a field which would need a
+ * new shape beyond these caps also makes the value fall back to a layout of its own.
+ *
+ * @since 0.981.1
+ */
+public final class MapShape {
+
+    /* the maximum number of shapes which a shape leads to by adding a single field */
+    private static final int MAX_TRANSITIONS_PER_SHAPE = 8;
+
+    /* the maximum number of shapes in the transition tree of a type, including the empty shape */
+    private static final int MAX_SHAPES_PER_TYPE = 256;
+
+    final Object[] keys;
+
+    final int[] hashes;
+
+    final int[] index;
+
+    private final Set<String> fieldNames;
+
+    private final Map<Object, MapShape> transitions = new ConcurrentHashMap<>();
+
+    /* the number of shapes in the transition tree this shape belongs to */
+    private final AtomicInteger shapeCount;
+
+    /* the most recently created transition, which is the one taken by most of the values */
+    private volatile MapShape lastTransition;
+
+    private MapShape(Set<String> fieldNames, Object[] keys, int[] hashes, AtomicInteger shapeCount) {
+        this.fieldNames = fieldNames;
+        this.shapeCount = shapeCount;
+        this.keys = keys;
+        this.hashes = hashes;
+        this.index = new int[tableSize(keys.length)];
+        for (int i = 0; i < keys.length; i++) {
+            LinkedOpenHashMap.insertIndex(index, hashes[i], i);
+        }
+    }
+
+    /**
+     * Creates the shape of an empty value of the given structure type.
+     *
+     * @param structureType the structure type
+     * @return the empty shape, or null if the fields of the type are not known
+     */
+    public static MapShape createRootShape(BStructureType structureType) {
+        BField[] fields = structureType.getFields();
+        if (fields == null) {
+            return null;
+        }
+        Set<String> fieldNames = new HashSet<>();
+        for (BField field : fields) {
+            fieldNames.add(field.getFieldName());
+        }
+        return new MapShape(fieldNames, new Object[0], new int[0], new AtomicInteger(1));
+    }
+
+    /**
+     * Returns the number of fields of the values having this shape.
+     *
+     * @return the number of fields
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the slot of the given field in this shape.
+     *
+     * @param key the name of the field
+     * @return the slot of the field, or -1 if the shape does not have it
+     */
+    public int slotOf(Object key) {
+        int slot = LinkedOpenHashMap.findSlot(keys, hashes, index, key, LinkedOpenHashMap.hash(key));
+        return slot < 0 ? -1 : index[slot] - 1;
+    }
+
+    int declaredFieldCount() {
+        return fieldNames.size();
+    }
+
+    /**
+     * Returns the shape which results by adding the given key to this shape.
+     *
+     * @param key the key being added
+     * @param hash the hash of the key
+     * @return the next shape, or null if the key is not a field of the type or the shape can not have more
+     * transitions
+     */
+    MapShape transition(Object key, int hash) {
+        if (key == null) {
+            return null;
+        }
+        MapShape next = lastTransition;
+        if (next != null && next.hashes[keys.length] == hash && key.equals(next.keys[keys.length])) {
+            return next;
+        }
+        next = transitions.get(key);
+        if (next != null) {
+            return next;
+        }
+        if (!fieldNames.contains(key)) {
+            return null;
+        }
+        next = transitions.computeIfAbsent(key, k -> {
+            // the size of the transitions may be off by the ones being added concurrently, which is fine for a cap
+            if (transitions.size() >= MAX_TRANSITIONS_PER_SHAPE || !reserveShape()) {
+                return null;
+            }
+            Object[] nextKeys = Arrays.copyOf(keys, keys.length + 1);
+            int[] nextHashes = Arrays.copyOf(hashes, hashes.length + 1);
+            nextKeys[keys.length] = k;
+            nextHashes[hashes.length] = hash;
+            return new MapShape(fieldNames, nextKeys, nextHashes, shapeCount);
+        });
+        if (next != null) {
+            lastTransition = next;
+        }
+        return next;
+    }
+
+    private boolean reserveShape() {
+        int count;
+        do {
+            count = shapeCount.get();
+            if (count >= MAX_SHAPES_PER_TYPE) {
+                return false;
+            }
+        } while (!shapeCount.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    private static int tableSize(int keyCount) {
+        int size = 2;
+        while (size < keyCount * 2) {
+            size <<= 1;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Condition;
+
+/**
+ * {@code ManagedBlocking} runs the blocking waits of the runtime as {@link ForkJoinPool.ManagedBlocker}s when they
+ * happen on a thread of a {@link ForkJoinPool}, such as the worker pool of the work stealing scheduler mode. The pool
+ * then activates a spare thread while the waiting thread is blocked, so that its parallelism is kept and the tasks
+ * which the waiting thread depends on get to run. On any other thread the waits are done as they are.
+ *
+ * @since 0.981.1
+ */
+public class ManagedBlocking {
+
+    private ManagedBlocking() {
+    }
+
+    /**
+     * Acquires a permit of the given semaphore.
+     *
+     * @param semaphore the semaphore
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public static void acquire(Semaphore semaphore) throws InterruptedException {
+        if (!ForkJoinTask.inForkJoinPool()) {
+            semaphore.acquire();
+            return;
+        }
+        ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+
+            private boolean acquired;
+
+            @Override
+            public boolean block() throws InterruptedException {
+                if (!acquired) {
+                    semaphore.acquire();
+                    acquired = true;
+                }
+                return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                if (!acquired) {
+                    acquired = semaphore.tryAcquire();
+                }
+                return acquired;
+            }
+        });
+    }
+
+    /**
+     * Waits on the given condition once, as {@link Condition#await()} does. The lock of the condition should be held.
+     *
+     * @param condition the condition
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public static void await(Condition condition) throws InterruptedException {
+        if (!ForkJoinTask.inForkJoinPool()) {
+            condition.await();
+            return;
+        }
+        ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+
+            private boolean signalled;
+
+            @Override
+            public boolean block() throws InterruptedException {
+                if (!signalled) {
+                    condition.await();
+                    signalled = true;
+                }
+                return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                return signalled;
+            }
+        });
+    }
+
+    /**
+     * Runs a call which may block the current thread, such as a blocking native function.
+     *
+     * @param call the call to run
+     */
+    public static void run(Runnable call) {
+        if (!ForkJoinTask.inForkJoinPool()) {
+            call.run();
+            return;
+        }
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+
+                private boolean done;
+
+                @Override
+                public boolean block() {
+                    if (!done) {
+                        call.run();
+                        done = true;
+                    }
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return done;
+                }
+            });
+        } catch (InterruptedException e) {
+            // the call itself does not throw it, hence the interrupt is only passed on
+            Thread.currentThread().interrupt();
+        }
+    }
+}
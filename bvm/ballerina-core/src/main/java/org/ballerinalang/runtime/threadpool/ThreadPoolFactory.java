@@ -23,6 +23,8 @@ import org.omg.PortableServer.ThreadPolicyOperations;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * {@code ThreadPoolFactory} holds the thread pools in Ballerina engine.
@@ -37,18 +39,38 @@ public class ThreadPoolFactory {
 
     private static final String WORKER_THREAD_POOL_SIZE_PROP = "b7a.runtime.scheduler.threadpoolsize";
 
+    private static final String SCHEDULER_MODE_PROP = "b7a.runtime.scheduler.mode";
+
+    private static final String SCHEDULER_MODE_FIXED = "fixed";
+
+    private static final String SCHEDULER_MODE_WORK_STEALING = "workstealing";
+
     private static ThreadPoolFactory instance;
 
     private ExecutorService workerExecutor;
 
+    private volatile ExecutorService blockingExecutor;
+
     private ThreadPoolFactory() {
-        int poolSize = this.extractThreadPoolSize();
-        this.workerExecutor = Executors.newFixedThreadPool(poolSize,
-                new BLangThreadFactory(new ThreadGroup("worker"), "worker-thread-pool"));
+        String schedulerMode = ConfigRegistry.getInstance().getAsString(SCHEDULER_MODE_PROP);
+        if (schedulerMode == null || SCHEDULER_MODE_FIXED.equals(schedulerMode)) {
+            int poolSize = this.extractThreadPoolSize(DEFAULT_THREAD_POOL_SIZE);
+            this.workerExecutor = Executors.newFixedThreadPool(poolSize,
+                    new BLangThreadFactory(new ThreadGroup("worker"), "worker-thread-pool"));
+        } else if (SCHEDULER_MODE_WORK_STEALING.equals(schedulerMode)) {
+            /* per thread run queues with work stealing, where the threads are sized to the available cores, the
+             * blocking waits of these threads are done through ManagedBlocking so that the pool compensates them */
+            int poolSize = this.extractThreadPoolSize(Runtime.getRuntime().availableProcessors());
+            this.workerExecutor = new ForkJoinPool(poolSize,
+                    new BLangForkJoinWorkerThreadFactory("worker-thread-pool"), null, true);
+        } else {
+            throw new BallerinaException("invalid value for '" + SCHEDULER_MODE_PROP + "': " + schedulerMode
+                    + ", expected '" + SCHEDULER_MODE_FIXED + "' or '" + SCHEDULER_MODE_WORK_STEALING + "'");
+        }
     };
     
-    private int extractThreadPoolSize() {
-        int poolSize = DEFAULT_THREAD_POOL_SIZE;
+    private int extractThreadPoolSize(int defaultPoolSize) {
+        int poolSize = defaultPoolSize;
         String workerThreadPoolSizeProp = ConfigRegistry.getInstance().getAsString(WORKER_THREAD_POOL_SIZE_PROP);
         if (workerThreadPoolSizeProp != null) {
             try {
@@ -80,4 +102,36 @@ public class ThreadPoolFactory {
         return workerExecutor;
     }
 
+    /**
+     * Returns the elastic thread pool used to run blocking native calls, off the worker thread pool.
+     *
+     * @return the blocking call executor
+     */
+    public ExecutorService getBlockingExecutor() {
+        if (blockingExecutor == null) {
+            synchronized (this) {
+                if (blockingExecutor == null) {
+                    blockingExecutor = Executors.newCachedThreadPool(
+                            new BLangThreadFactory(new ThreadGroup("blocking"), "blocking-thread-pool"));
+                }
+            }
+        }
+        return blockingExecutor;
+    }
+
+    /**
+     * Executes the given task in the worker thread pool. In the work stealing mode, a task submitted from a thread
+     * of the worker pool is pushed to the run queue of that same thread, so that it is resumed there unless it gets
+     * stolen by an idle thread.
+     *
+     * @param task the task to be executed
+     */
+    public void executeWorkerTask(Runnable task) {
+        if (workerExecutor instanceof ForkJoinPool && ForkJoinTask.getPool() == workerExecutor) {
+            ForkJoinTask.adapt(task).fork();
+        } else {
+            workerExecutor.submit(task);
+        }
+    }
+
 }
@@ -0,0 +1,860 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util;
+
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.model.ColumnDefinition;
+import org.ballerinalang.model.DataIterator;
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.types.BField;
+import org.ballerinalang.model.types.BStructureType;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BByteArray;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * {@code InMemoryTable} is the native storage engine of in-memory tables.
+ * <p>
+ * Rows are kept on the heap in typed column vectors, so that int, float and boolean columns are stored unboxed and
+ * adding or reading a row does not go through SQL or JDBC. The primary key and the index columns of the table are
+ * backed by hash indexes, which table queries use to look up the rows of an equality condition on such a column.
+ * Removed rows are only marked, and are dropped by compacting the columns on a later insert when no iterator is open
+ * over the table. Iterators which are dropped without being closed stop counting as open once they are collected.
+ * <p>
+ * The embedded H2 database is used instead when {@code b7a.runtime.table.engine} is set to {@code h2}.
+ *
+ * @since 0.981.1
+ */
+public class InMemoryTable {
+
+    private static final String TABLE_ENGINE_CONFIG_PROP = "b7a.runtime.table.engine";
+
+    private static final String H2_TABLE_ENGINE = "h2";
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /* removed rows are not compacted until there are at least this many of them */
+    private static final int MIN_COMPACTION_COUNT = 64;
+
+    private final BStructureType type;
+
+    private final BField[] fields;
+
+    private final Column[] columns;
+
+    private final List<ColumnDefinition> columnDefs;
+
+    private final int[] primaryKeyColumns;
+
+    /* primary key of a row mapped to the row */
+    private final Map<Object, Integer> primaryKeyIndex;
+
+    /* column position mapped to the rows of each value of the column */
+    private final Map<Integer, Map<Object, BitSet>> indexes = new HashMap<>();
+
+    private final BitSet removedRows = new BitSet();
+
+    private int capacity = INITIAL_CAPACITY;
+
+    /* number of used row slots, including the removed ones */
+    private int rowCount;
+
+    private int removedCount;
+
+    /* iterators which are neither closed nor collected, as compaction would move the rows under them */
+    private final Set<Reference<RowIterator>> openIterators = new HashSet<>();
+
+    private final ReferenceQueue<RowIterator> abandonedIterators = new ReferenceQueue<>();
+
+    public InMemoryTable(BStructureType type, BStringArray primaryKeys, BStringArray indexColumns) {
+        this.type = type;
+        this.fields = type.getFields();
+        this.columns = new Column[fields.length];
+        this.columnDefs = new ArrayList<>(fields.length);
+        for (int i = 0; i < fields.length; i++) {
+            columns[i] = createColumn(fields[i].getFieldType());
+            columnDefs.add(new ColumnDefinition(fields[i].getFieldName(), columns[i].kind));
+        }
+
+        if (primaryKeys != null && primaryKeys.size() > 0) {
+            primaryKeyColumns = new int[(int) primaryKeys.size()];
+            for (int i = 0; i < primaryKeyColumns.length; i++) {
+                primaryKeyColumns[i] = getColumnPosition(primaryKeys.get(i));
+            }
+            primaryKeyIndex = new HashMap<>();
+        } else {
+            primaryKeyColumns = null;
+            primaryKeyIndex = null;
+        }
+
+        if (indexColumns != null) {
+            for (int i = 0; i < indexColumns.size(); i++) {
+                indexes.put(getColumnPosition(indexColumns.get(i)), new HashMap<>());
+            }
+        }
+    }
+
+    /**
+     * Returns whether in-memory tables are stored with the native engine instead of the embedded H2 database.
+     *
+     * @return true if the native table engine is enabled
+     */
+    public static boolean isEnabled() {
+        String engine = ConfigRegistry.getInstance().getAsString(TABLE_ENGINE_CONFIG_PROP);
+        return engine == null || !H2_TABLE_ENGINE.equalsIgnoreCase(engine);
+    }
+
+    public BStructureType getType() {
+        return type;
+    }
+
+    public String[] getColumnNames() {
+        String[] columnNames = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            columnNames[i] = fields[i].getFieldName();
+        }
+        return columnNames;
+    }
+
+    public List<ColumnDefinition> getColumnDefinitions() {
+        return Collections.unmodifiableList(columnDefs);
+    }
+
+    public synchronized int size() {
+        return rowCount - removedCount;
+    }
+
+    public synchronized void insertData(BMap<String, BValue> data) {
+        Object primaryKey = null;
+        if (primaryKeyIndex != null) {
+            primaryKey = getPrimaryKey(data);
+            if (primaryKeyIndex.containsKey(primaryKey)) {
+                throw new BallerinaException("Unique index or primary key violation: duplicate value "
+                        + primaryKey + " for the primary key " + getPrimaryKeyColumnNames() + " of table<"
+                        + type.getName() + ">");
+            }
+        }
+        if (removedCount >= MIN_COMPACTION_COUNT && removedCount > rowCount / 2 && !hasOpenIterators()) {
+            compact();
+        }
+        if (rowCount == capacity) {
+            capacity = capacity * 2;
+            for (Column column : columns) {
+                column.resize(capacity);
+            }
+        }
+
+        int row = rowCount;
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].set(row, data.get(fields[i].getFieldName()));
+        }
+        rowCount++;
+        if (primaryKeyIndex != null) {
+            primaryKeyIndex.put(primaryKey, row);
+        }
+        for (Map.Entry<Integer, Map<Object, BitSet>> index : indexes.entrySet()) {
+            Object key = columns[index.getKey()].keyAt(row);
+            index.getValue().computeIfAbsent(key, k -> new BitSet()).set(row);
+        }
+    }
+
+    public synchronized RowIterator createIterator() {
+        return open(new RowIterator(rowCount, null, null));
+    }
+
+    /**
+     * Creates an iterator over the rows which are in the table at the time of the call. Unlike the iterators
+     * returned by {@link #createIterator()}, the rows removed afterwards are still returned by this iterator.
+     *
+     * @return the snapshot iterator
+     */
+    public synchronized RowIterator createSnapshotIterator() {
+        return open(new RowIterator(rowCount, (BitSet) removedRows.clone(), null));
+    }
+
+    /**
+     * Creates a snapshot iterator over the rows which have the given value in the given column at the time of the
+     * call, which are looked up in the hash index of the column. Only the primary key, if it is a single column, and
+     * the index columns have a hash index.
+     *
+     * @param position position of the column
+     * @param value    value to look for, which is of the type of the column
+     * @return the snapshot iterator, or null if the column has no hash index or the value is not of its type
+     */
+    public synchronized RowIterator createSnapshotIterator(int position, BValue value) {
+        if (!columns[position].isOfType(value)) {
+            return null;
+        }
+        Object key = columns[position].keyOf(value);
+        BitSet matchingRows;
+        if (primaryKeyColumns != null && primaryKeyColumns.length == 1 && primaryKeyColumns[0] == position) {
+            matchingRows = new BitSet();
+            Integer row = primaryKeyIndex.get(key);
+            if (row != null) {
+                matchingRows.set(row);
+            }
+        } else if (indexes.containsKey(position)) {
+            BitSet rows = indexes.get(position).get(key);
+            matchingRows = rows == null ? new BitSet() : (BitSet) rows.clone();
+        } else {
+            return null;
+        }
+        return open(new RowIterator(rowCount, null, matchingRows));
+    }
+
+    private RowIterator open(RowIterator iterator) {
+        iterator.reference = new WeakReference<>(iterator, abandonedIterators);
+        openIterators.add(iterator.reference);
+        return iterator;
+    }
+
+    private boolean hasOpenIterators() {
+        for (Reference<? extends RowIterator> abandoned = abandonedIterators.poll(); abandoned != null;
+             abandoned = abandonedIterators.poll()) {
+            openIterators.remove(abandoned);
+        }
+        return !openIterators.isEmpty();
+    }
+
+    private synchronized void removeRow(int row) {
+        if (removedRows.get(row)) {
+            return;
+        }
+        removedRows.set(row);
+        removedCount++;
+        if (primaryKeyIndex != null) {
+            primaryKeyIndex.remove(getPrimaryKey(row));
+        }
+        for (Map.Entry<Integer, Map<Object, BitSet>> index : indexes.entrySet()) {
+            Object key = columns[index.getKey()].keyAt(row);
+            BitSet rows = index.getValue().get(key);
+            rows.clear(row);
+            if (rows.isEmpty()) {
+                index.getValue().remove(key);
+            }
+        }
+    }
+
+    private synchronized void closeIterator(Reference<RowIterator> reference) {
+        openIterators.remove(reference);
+    }
+
+    /**
+     * Moves the live rows to the front of the columns, and rebuilds the indexes for the new row positions.
+     */
+    private void compact() {
+        int liveCount = 0;
+        for (int row = removedRows.nextClearBit(0); row < rowCount; row = removedRows.nextClearBit(row + 1)) {
+            if (row != liveCount) {
+                for (Column column : columns) {
+                    column.move(row, liveCount);
+                }
+            }
+            liveCount++;
+        }
+        for (Column column : columns) {
+            column.clear(liveCount, rowCount);
+        }
+        rowCount = liveCount;
+        removedCount = 0;
+        removedRows.clear();
+
+        if (primaryKeyIndex != null) {
+            primaryKeyIndex.clear();
+            for (int row = 0; row < rowCount; row++) {
+                primaryKeyIndex.put(getPrimaryKey(row), row);
+            }
+        }
+        for (Map.Entry<Integer, Map<Object, BitSet>> index : indexes.entrySet()) {
+            Column column = columns[index.getKey()];
+            index.getValue().clear();
+            for (int row = 0; row < rowCount; row++) {
+                index.getValue().computeIfAbsent(column.keyAt(row), k -> new BitSet()).set(row);
+            }
+        }
+    }
+
+    private BMap<String, BValue> createRow(int row) {
+        BMap<String, BValue> bStruct = new BMap<>(type);
+        for (int i = 0; i < columns.length; i++) {
+            bStruct.put(fields[i].getFieldName(), columns[i].get(row));
+        }
+        return bStruct;
+    }
+
+    private Object getPrimaryKey(BMap<String, BValue> data) {
+        if (primaryKeyColumns.length == 1) {
+            int position = primaryKeyColumns[0];
+            return columns[position].keyOf(data.get(fields[position].getFieldName()));
+        }
+        Object[] key = new Object[primaryKeyColumns.length];
+        for (int i = 0; i < key.length; i++) {
+            int position = primaryKeyColumns[i];
+            key[i] = columns[position].keyOf(data.get(fields[position].getFieldName()));
+        }
+        return Arrays.asList(key);
+    }
+
+    private Object getPrimaryKey(int row) {
+        if (primaryKeyColumns.length == 1) {
+            return columns[primaryKeyColumns[0]].keyAt(row);
+        }
+        Object[] key = new Object[primaryKeyColumns.length];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = columns[primaryKeyColumns[i]].keyAt(row);
+        }
+        return Arrays.asList(key);
+    }
+
+    private String getPrimaryKeyColumnNames() {
+        StringJoiner names = new StringJoiner(", ", "(", ")");
+        for (int position : primaryKeyColumns) {
+            names.add(fields[position].getFieldName());
+        }
+        return names.toString();
+    }
+
+    private int getColumnPosition(String columnName) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].getFieldName().equals(columnName)) {
+                return i;
+            }
+        }
+        throw new BallerinaException("undefined column '" + columnName + "' for table of type '" + type.getName()
+                + "'");
+    }
+
+    private Column createColumn(BType columnType) {
+        switch (columnType.getTag()) {
+            case TypeTags.INT_TAG:
+                return new IntColumn();
+            case TypeTags.STRING_TAG:
+                return new StringColumn();
+            case TypeTags.FLOAT_TAG:
+                return new FloatColumn();
+            case TypeTags.BOOLEAN_TAG:
+                return new BooleanColumn();
+            case TypeTags.JSON_TAG:
+                return new RefColumn(TypeKind.JSON);
+            case TypeTags.XML_TAG:
+                return new RefColumn(TypeKind.XML);
+            case TypeTags.ARRAY_TAG:
+                BType elementType = ((BArrayType) columnType).getElementType();
+                return new RefColumn(elementType.getTag() == TypeTags.BYTE_TAG ? TypeKind.BLOB : TypeKind.ARRAY);
+            default:
+                throw new BallerinaException("Unsupported column type for table : " + columnType);
+        }
+    }
+
+    /**
+     * {@code RowIterator} iterates over the rows which were in the table when the iterator was created.
+     *
+     * @since 0.981.1
+     */
+    public class RowIterator implements DataIterator {
+
+        private final int rowLimit;
+
+        /* rows removed when a snapshot iterator was created, null if the iterator skips the current removals */
+        private final BitSet snapshotRemovedRows;
+
+        /* rows looked up in an index when a snapshot iterator was created, null if all the rows are iterated */
+        private final BitSet snapshotMatchingRows;
+
+        private int row = -1;
+
+        private boolean closed;
+
+        private Reference<RowIterator> reference;
+
+        private RowIterator(int rowLimit, BitSet snapshotRemovedRows, BitSet snapshotMatchingRows) {
+            this.rowLimit = rowLimit;
+            this.snapshotRemovedRows = snapshotRemovedRows;
+            this.snapshotMatchingRows = snapshotMatchingRows;
+        }
+
+        @Override
+        public boolean next() {
+            if (row >= rowLimit) {
+                return false;
+            }
+            if (snapshotMatchingRows != null) {
+                row = snapshotMatchingRows.nextSetBit(row + 1);
+                if (row < 0) {
+                    row = rowLimit;
+                }
+            } else if (snapshotRemovedRows != null) {
+                row = snapshotRemovedRows.nextClearBit(row + 1);
+            } else {
+                synchronized (InMemoryTable.this) {
+                    row = removedRows.nextClearBit(row + 1);
+                }
+            }
+            if (row >= rowLimit) {
+                row = rowLimit;
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Returns the values of the current row, in the order of the columns of the table.
+         *
+         * @return the values of the current row
+         */
+        public BValue[] getValues() {
+            BValue[] values = new BValue[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = columns[i].get(row);
+            }
+            return values;
+        }
+
+        /**
+         * Removes the current row from the table.
+         */
+        public void removeCurrentRow() {
+            removeRow(row);
+        }
+
+        @Override
+        public void close(boolean isInTransaction) {
+            if (!closed) {
+                closed = true;
+                closeIterator(reference);
+            }
+        }
+
+        @Override
+        public void reset(boolean isInTransaction) {
+            close(isInTransaction);
+        }
+
+        @Override
+        public String getString(int columnIndex) {
+            return columns[columnIndex - 1].getString(row);
+        }
+
+        @Override
+        public long getInt(int columnIndex) {
+            return columns[columnIndex - 1].getInt(row);
+        }
+
+        @Override
+        public double getFloat(int columnIndex) {
+            return columns[columnIndex - 1].getFloat(row);
+        }
+
+        @Override
+        public boolean getBoolean(int columnIndex) {
+            return columns[columnIndex - 1].getBoolean(row);
+        }
+
+        @Override
+        public String getBlob(int columnIndex) {
+            BValue value = columns[columnIndex - 1].getRef(row);
+            return value == null ? null : new String(((BByteArray) value).getBytes());
+        }
+
+        @Override
+        public Object[] getStruct(int columnIndex) {
+            return null;
+        }
+
+        @Override
+        public Object[] getArray(int columnIndex) {
+            return TableUtils.getArrayData(columns[columnIndex - 1].getRef(row));
+        }
+
+        @Override
+        public BMap<String, BValue> generateNext() {
+            return createRow(row);
+        }
+
+        @Override
+        public List<ColumnDefinition> getColumnDefinitions() {
+            return InMemoryTable.this.getColumnDefinitions();
+        }
+
+        @Override
+        public BStructureType getStructType() {
+            return type;
+        }
+    }
+
+    /**
+     * A column vector of the table.
+     */
+    private abstract static class Column {
+
+        final TypeKind kind;
+
+        Column(TypeKind kind) {
+            this.kind = kind;
+        }
+
+        abstract void set(int row, BValue value);
+
+        abstract BValue get(int row);
+
+        /* returns the value of the given row as a hash index key */
+        abstract Object keyAt(int row);
+
+        /* returns the given value as a hash index key */
+        abstract Object keyOf(BValue value);
+
+        /* returns whether the given value is of the type of the column, which is the case if it can be looked up by
+        its key */
+        boolean isOfType(BValue value) {
+            return false;
+        }
+
+        abstract void move(int fromRow, int toRow);
+
+        abstract void clear(int fromRow, int toRow);
+
+        abstract void resize(int capacity);
+
+        String getString(int row) {
+            BValue value = get(row);
+            return value == null ? null : value.stringValue();
+        }
+
+        long getInt(int row) {
+            throw new BallerinaException("column of type " + kind + " is not an int column");
+        }
+
+        double getFloat(int row) {
+            throw new BallerinaException("column of type " + kind + " is not a float column");
+        }
+
+        boolean getBoolean(int row) {
+            throw new BallerinaException("column of type " + kind + " is not a boolean column");
+        }
+
+        BValue getRef(int row) {
+            return get(row);
+        }
+    }
+
+    private static class IntColumn extends Column {
+
+        private long[] values = new long[INITIAL_CAPACITY];
+
+        IntColumn() {
+            super(TypeKind.INT);
+        }
+
+        @Override
+        void set(int row, BValue value) {
+            values[row] = ((BInteger) value).intValue();
+        }
+
+        @Override
+        BValue get(int row) {
+            return BInteger.valueOf(values[row]);
+        }
+
+        @Override
+        Object keyAt(int row) {
+            return values[row];
+        }
+
+        @Override
+        Object keyOf(BValue value) {
+            return ((BInteger) value).intValue();
+        }
+
+        @Override
+        boolean isOfType(BValue value) {
+            return value instanceof BInteger;
+        }
+
+        @Override
+        void move(int fromRow, int toRow) {
+            values[toRow] = values[fromRow];
+        }
+
+        @Override
+        void clear(int fromRow, int toRow) {
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        String getString(int row) {
+            return Long.toString(values[row]);
+        }
+
+        @Override
+        long getInt(int row) {
+            return values[row];
+        }
+    }
+
+    private static class FloatColumn extends Column {
+
+        private double[] values = new double[INITIAL_CAPACITY];
+
+        FloatColumn() {
+            super(TypeKind.FLOAT);
+        }
+
+        @Override
+        void set(int row, BValue value) {
+            values[row] = ((BFloat) value).floatValue();
+        }
+
+        @Override
+        BValue get(int row) {
+            return BFloat.valueOf(values[row]);
+        }
+
+        @Override
+        Object keyAt(int row) {
+            return values[row];
+        }
+
+        @Override
+        Object keyOf(BValue value) {
+            return ((BFloat) value).floatValue();
+        }
+
+        @Override
+        boolean isOfType(BValue value) {
+            return value instanceof BFloat;
+        }
+
+        @Override
+        void move(int fromRow, int toRow) {
+            values[toRow] = values[fromRow];
+        }
+
+        @Override
+        void clear(int fromRow, int toRow) {
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        String getString(int row) {
+            return Double.toString(values[row]);
+        }
+
+        @Override
+        double getFloat(int row) {
+            return values[row];
+        }
+    }
+
+    private static class BooleanColumn extends Column {
+
+        private boolean[] values = new boolean[INITIAL_CAPACITY];
+
+        BooleanColumn() {
+            super(TypeKind.BOOLEAN);
+        }
+
+        @Override
+        void set(int row, BValue value) {
+            values[row] = ((BBoolean) value).booleanValue();
+        }
+
+        @Override
+        BValue get(int row) {
+            return BBoolean.valueOf(values[row]);
+        }
+
+        @Override
+        Object keyAt(int row) {
+            return values[row];
+        }
+
+        @Override
+        Object keyOf(BValue value) {
+            return ((BBoolean) value).booleanValue();
+        }
+
+        @Override
+        boolean isOfType(BValue value) {
+            return value instanceof BBoolean;
+        }
+
+        @Override
+        void move(int fromRow, int toRow) {
+            values[toRow] = values[fromRow];
+        }
+
+        @Override
+        void clear(int fromRow, int toRow) {
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        String getString(int row) {
+            return Boolean.toString(values[row]);
+        }
+
+        @Override
+        boolean getBoolean(int row) {
+            return values[row];
+        }
+    }
+
+    private static class StringColumn extends Column {
+
+        private String[] values = new String[INITIAL_CAPACITY];
+
+        StringColumn() {
+            super(TypeKind.STRING);
+        }
+
+        @Override
+        void set(int row, BValue value) {
+            values[row] = value == null ? null : value.stringValue();
+        }
+
+        @Override
+        BValue get(int row) {
+            return BString.valueOf(values[row]);
+        }
+
+        @Override
+        Object keyAt(int row) {
+            return values[row];
+        }
+
+        @Override
+        Object keyOf(BValue value) {
+            return value == null ? null : value.stringValue();
+        }
+
+        @Override
+        boolean isOfType(BValue value) {
+            return value instanceof BString;
+        }
+
+        @Override
+        void move(int fromRow, int toRow) {
+            values[toRow] = values[fromRow];
+        }
+
+        @Override
+        void clear(int fromRow, int toRow) {
+            Arrays.fill(values, fromRow, toRow, null);
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        String getString(int row) {
+            return values[row];
+        }
+    }
+
+    /**
+     * Column of json, xml and array values. Values are copied when they are stored and read, so that the table
+     * does not share mutable values with the program.
+     */
+    private static class RefColumn extends Column {
+
+        private BValue[] values = new BValue[INITIAL_CAPACITY];
+
+        RefColumn(TypeKind kind) {
+            super(kind);
+        }
+
+        @Override
+        void set(int row, BValue value) {
+            values[row] = value == null ? null : value.copy();
+        }
+
+        @Override
+        BValue get(int row) {
+            BValue value = values[row];
+            return value == null ? null : value.copy();
+        }
+
+        @Override
+        Object keyAt(int row) {
+            BValue value = values[row];
+            return value == null ? null : value.stringValue();
+        }
+
+        @Override
+        Object keyOf(BValue value) {
+            return value == null ? null : value.stringValue();
+        }
+
+        @Override
+        void move(int fromRow, int toRow) {
+            values[toRow] = values[fromRow];
+        }
+
+        @Override
+        void clear(int fromRow, int toRow) {
+            Arrays.fill(values, fromRow, toRow, null);
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        BValue getRef(int row) {
+            return values[row];
+        }
+    }
+}
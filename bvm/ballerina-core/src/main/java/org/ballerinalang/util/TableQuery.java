@@ -0,0 +1,887 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util;
+
+import org.ballerinalang.model.ColumnDefinition;
+import org.ballerinalang.model.DataIterator;
+import org.ballerinalang.model.types.BField;
+import org.ballerinalang.model.types.BStructureType;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BByteArray;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.TableQueryExpression.Binary;
+import org.ballerinalang.util.TableQueryExpression.ColumnRef;
+import org.ballerinalang.util.TableQueryExpression.Constant;
+import org.ballerinalang.util.TableQueryParser.UnsupportedQueryException;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code TableQuery} is a table query compiled for the native table engine.
+ * <p>
+ * The SQL which the compiler generates for a query is parsed once, and is executed as a pipeline of operators over
+ * the rows of the queried {@link InMemoryTable}s: a scan with the where condition of each table, which only reads
+ * the matching rows of an indexed column when the condition requires the column to equal a value, a hash join on
+ * the equality in the join condition (or a nested loop join if there is none), grouping and aggregation, ordering,
+ * the limit and the projection into the result type. Scans, joins and projections are done lazily while the result
+ * is read, and only grouping and ordering need all the rows up front.
+ *
+ * @since 0.981.1
+ */
+public class TableQuery {
+
+    private static final Map<String, Optional<TableQuery>> COMPILED_QUERIES = new ConcurrentHashMap<>();
+
+    List<SelectItem> selectItems;
+
+    Source from;
+
+    Source join;
+
+    TableQueryExpression joinCondition;
+
+    List<TableQueryExpression> groupBy;
+
+    TableQueryExpression having;
+
+    List<OrderItem> orderBy;
+
+    long limit = -1;
+
+    TableQuery() {
+    }
+
+    /**
+     * Compiles the given table query.
+     *
+     * @param query the SQL of the query, as generated by the compiler
+     * @return the compiled query, or null if the query can not be run with the native table engine
+     */
+    public static TableQuery compile(String query) {
+        return COMPILED_QUERIES.computeIfAbsent(query, sql -> {
+            try {
+                return Optional.of(TableQueryParser.parse(sql));
+            } catch (UnsupportedQueryException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * Executes this query. The rows of the result are computed while they are read from the returned cursor, and
+     * are added to the given result table as they are read.
+     *
+     * @param fromTable   the table of the from clause
+     * @param joinTable   the table of the join clause, or null if there is no join
+     * @param params      the parameters of the query
+     * @param resultTable the table the result rows are added to
+     * @return the cursor over the result rows
+     */
+    public Cursor execute(InMemoryTable fromTable, InMemoryTable joinTable, BRefValueArray params,
+                          InMemoryTable resultTable) {
+        List<InMemoryTable.RowIterator> sources = new ArrayList<>(2);
+        try {
+            Schema fromSchema = new Schema(from.alias, fromTable.getColumnNames());
+            TableQueryExpression fromWhere = bind(from.where, fromSchema, params);
+            InMemoryTable.RowIterator fromRows = openRows(fromTable, fromWhere);
+            sources.add(fromRows);
+            Iterator<BValue[]> rows = new Scan(fromRows, fromWhere);
+
+            Schema schema = fromSchema;
+            if (join != null) {
+                Schema joinSchema = new Schema(join.alias, joinTable.getColumnNames());
+                TableQueryExpression joinWhere = bind(join.where, joinSchema, params);
+                InMemoryTable.RowIterator joinRows = openRows(joinTable, joinWhere);
+                sources.add(joinRows);
+                schema = fromSchema.concat(joinSchema);
+                rows = createJoin(rows, new Scan(joinRows, joinWhere), fromSchema.size(),
+                        bind(joinCondition, schema, params));
+            }
+
+            List<TableQueryExpression> selectExprs = null;
+            if (selectItems != null) {
+                selectExprs = new ArrayList<>(selectItems.size());
+                for (SelectItem selectItem : selectItems) {
+                    selectExprs.add(selectItem.expr.bind(schema, params));
+                }
+            }
+            TableQueryExpression boundHaving = bind(having, schema, params);
+            boolean aggregated = groupBy != null || (boundHaving != null && boundHaving.containsAggregate());
+            if (selectExprs != null) {
+                for (TableQueryExpression selectExpr : selectExprs) {
+                    aggregated |= selectExpr.containsAggregate();
+                }
+            }
+
+            Iterator<BValue[]> results;
+            if (!aggregated && orderBy == null) {
+                results = new Projection(rows, selectExprs);
+            } else {
+                results = new Materialization(rows, schema, params, selectExprs, boundHaving, aggregated);
+            }
+            if (limit >= 0) {
+                results = new Limit(results, limit);
+            }
+            return new Cursor(results, sources, resultTable);
+        } catch (RuntimeException e) {
+            for (InMemoryTable.RowIterator source : sources) {
+                source.close(false);
+            }
+            throw e;
+        }
+    }
+
+    private static TableQueryExpression bind(TableQueryExpression expr, Schema schema, BRefValueArray params) {
+        return expr == null ? null : expr.bind(schema, params);
+    }
+
+    /**
+     * Opens the rows of a table to be scanned with the given where condition. When the condition requires a column
+     * which has a hash index to equal a value, only the rows having that value are read. The scan still checks the
+     * whole condition on each row.
+     */
+    private static InMemoryTable.RowIterator openRows(InMemoryTable table, TableQueryExpression where) {
+        List<TableQueryExpression> conjuncts = new ArrayList<>();
+        collectConjuncts(where, conjuncts);
+        for (TableQueryExpression conjunct : conjuncts) {
+            if (!(conjunct instanceof Binary) || !((Binary) conjunct).operator.equals("=")) {
+                continue;
+            }
+            Binary equality = (Binary) conjunct;
+            InMemoryTable.RowIterator rows = null;
+            if (equality.lhs instanceof ColumnRef && equality.rhs instanceof Constant) {
+                rows = table.createSnapshotIterator(((ColumnRef) equality.lhs).index,
+                        ((Constant) equality.rhs).value);
+            } else if (equality.rhs instanceof ColumnRef && equality.lhs instanceof Constant) {
+                rows = table.createSnapshotIterator(((ColumnRef) equality.rhs).index,
+                        ((Constant) equality.lhs).value);
+            }
+            if (rows != null) {
+                return rows;
+            }
+        }
+        return table.createSnapshotIterator();
+    }
+
+    private static Iterator<BValue[]> createJoin(Iterator<BValue[]> left, Iterator<BValue[]> right, int leftSize,
+                                                 TableQueryExpression condition) {
+        List<TableQueryExpression> conjuncts = new ArrayList<>();
+        collectConjuncts(condition, conjuncts);
+        for (TableQueryExpression conjunct : conjuncts) {
+            if (!(conjunct instanceof Binary) || !((Binary) conjunct).operator.equals("=")) {
+                continue;
+            }
+            Binary equality = (Binary) conjunct;
+            if (!(equality.lhs instanceof ColumnRef) || !(equality.rhs instanceof ColumnRef)) {
+                continue;
+            }
+            int lhsIndex = ((ColumnRef) equality.lhs).index;
+            int rhsIndex = ((ColumnRef) equality.rhs).index;
+            if (lhsIndex < leftSize && rhsIndex >= leftSize) {
+                return new HashJoin(left, right, lhsIndex, rhsIndex - leftSize, condition);
+            }
+            if (rhsIndex < leftSize && lhsIndex >= leftSize) {
+                return new HashJoin(left, right, rhsIndex, lhsIndex - leftSize, condition);
+            }
+        }
+        return new HashJoin(left, right, -1, -1, condition);
+    }
+
+    private static void collectConjuncts(TableQueryExpression expr, List<TableQueryExpression> conjuncts) {
+        if (expr instanceof Binary && ((Binary) expr).operator.equals("and")) {
+            collectConjuncts(((Binary) expr).lhs, conjuncts);
+            collectConjuncts(((Binary) expr).rhs, conjuncts);
+        } else {
+            conjuncts.add(expr);
+        }
+    }
+
+    private static BValue[] concat(BValue[] left, BValue[] right) {
+        BValue[] row = new BValue[left.length + right.length];
+        System.arraycopy(left, 0, row, 0, left.length);
+        System.arraycopy(right, 0, row, left.length, right.length);
+        return row;
+    }
+
+    /**
+     * The columns of the rows processed by a query.
+     */
+    static class Schema {
+
+        private final String[] qualifiers;
+
+        private final String[] names;
+
+        Schema(String qualifier, String[] names) {
+            this.qualifiers = new String[names.length];
+            this.names = names;
+            for (int i = 0; i < names.length; i++) {
+                qualifiers[i] = qualifier;
+            }
+        }
+
+        private Schema(String[] qualifiers, String[] names) {
+            this.qualifiers = qualifiers;
+            this.names = names;
+        }
+
+        int size() {
+            return names.length;
+        }
+
+        Schema concat(Schema schema) {
+            String[] concatQualifiers = new String[size() + schema.size()];
+            String[] concatNames = new String[size() + schema.size()];
+            System.arraycopy(qualifiers, 0, concatQualifiers, 0, size());
+            System.arraycopy(schema.qualifiers, 0, concatQualifiers, size(), schema.size());
+            System.arraycopy(names, 0, concatNames, 0, size());
+            System.arraycopy(schema.names, 0, concatNames, size(), schema.size());
+            return new Schema(concatQualifiers, concatNames);
+        }
+
+        int indexOf(String qualifier, String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equalsIgnoreCase(name)
+                        && (qualifier == null || qualifier.equalsIgnoreCase(qualifiers[i]))) {
+                    return i;
+                }
+            }
+            throw new BallerinaException("undefined column '" + (qualifier == null ? "" : qualifier + ".") + name
+                    + "' in table query");
+        }
+    }
+
+    /**
+     * A table of the from or join clause, with its alias and where condition.
+     */
+    static class Source {
+
+        final String alias;
+
+        final TableQueryExpression where;
+
+        Source(String alias, TableQueryExpression where) {
+            this.alias = alias;
+            this.where = where;
+        }
+    }
+
+    /**
+     * An expression of the select clause.
+     */
+    static class SelectItem {
+
+        final TableQueryExpression expr;
+
+        final String alias;
+
+        SelectItem(TableQueryExpression expr, String alias) {
+            this.expr = expr;
+            this.alias = alias;
+        }
+    }
+
+    /**
+     * An expression of the order by clause.
+     */
+    static class OrderItem {
+
+        final TableQueryExpression expr;
+
+        final boolean descending;
+
+        OrderItem(TableQueryExpression expr, boolean descending) {
+            this.expr = expr;
+            this.descending = descending;
+        }
+    }
+
+    /**
+     * Base of the operators which compute their next row on demand.
+     */
+    private abstract static class Operator implements Iterator<BValue[]> {
+
+        private BValue[] nextRow;
+
+        /* returns the next row, or null if there are no more rows */
+        abstract BValue[] computeNext();
+
+        @Override
+        public boolean hasNext() {
+            if (nextRow == null) {
+                nextRow = computeNext();
+            }
+            return nextRow != null;
+        }
+
+        @Override
+        public BValue[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BValue[] row = nextRow;
+            nextRow = null;
+            return row;
+        }
+    }
+
+    /**
+     * Reads the rows of a table which pass the where condition of the table.
+     */
+    private static class Scan extends Operator {
+
+        private final InMemoryTable.RowIterator rows;
+
+        private final TableQueryExpression where;
+
+        Scan(InMemoryTable.RowIterator rows, TableQueryExpression where) {
+            this.rows = rows;
+            this.where = where;
+        }
+
+        @Override
+        BValue[] computeNext() {
+            while (rows.next()) {
+                BValue[] row = rows.getValues();
+                if (where == null || where.isTrue(row, null)) {
+                    return row;
+                }
+            }
+            rows.close(false);
+            return null;
+        }
+    }
+
+    /**
+     * Joins the rows of the from table with the rows of the join table. The rows of the join table are loaded into
+     * a hash table keyed by the join column on the first read, and the rows of the from table are streamed
+     * through it. Without a join column, every pair of rows is checked against the join condition.
+     */
+    private static class HashJoin extends Operator {
+
+        private final Iterator<BValue[]> left;
+
+        private final Iterator<BValue[]> right;
+
+        private final int leftKeyIndex;
+
+        private final int rightKeyIndex;
+
+        private final TableQueryExpression condition;
+
+        private Map<Object, List<BValue[]>> rightRows;
+
+        private BValue[] leftRow;
+
+        private Iterator<BValue[]> matches = Collections.emptyIterator();
+
+        HashJoin(Iterator<BValue[]> left, Iterator<BValue[]> right, int leftKeyIndex, int rightKeyIndex,
+                 TableQueryExpression condition) {
+            this.left = left;
+            this.right = right;
+            this.leftKeyIndex = leftKeyIndex;
+            this.rightKeyIndex = rightKeyIndex;
+            this.condition = condition;
+        }
+
+        @Override
+        BValue[] computeNext() {
+            if (rightRows == null) {
+                rightRows = new HashMap<>();
+                while (right.hasNext()) {
+                    BValue[] row = right.next();
+                    Object key = rightKeyIndex < 0 ? null : TableQueryExpression.toKey(row[rightKeyIndex]);
+                    if (rightKeyIndex < 0 || key != null) {
+                        rightRows.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+                    }
+                }
+            }
+            while (true) {
+                while (matches.hasNext()) {
+                    BValue[] row = concat(leftRow, matches.next());
+                    if (condition.isTrue(row, null)) {
+                        return row;
+                    }
+                }
+                if (!left.hasNext()) {
+                    return null;
+                }
+                leftRow = left.next();
+                List<BValue[]> rows = rightRows.get(leftKeyIndex < 0 ? null
+                        : TableQueryExpression.toKey(leftRow[leftKeyIndex]));
+                matches = rows == null ? Collections.emptyIterator() : rows.iterator();
+            }
+        }
+    }
+
+    /**
+     * Evaluates the select expressions over each row.
+     */
+    private static class Projection extends Operator {
+
+        private final Iterator<BValue[]> rows;
+
+        private final List<TableQueryExpression> selectExprs;
+
+        Projection(Iterator<BValue[]> rows, List<TableQueryExpression> selectExprs) {
+            this.rows = rows;
+            this.selectExprs = selectExprs;
+        }
+
+        @Override
+        BValue[] computeNext() {
+            if (!rows.hasNext()) {
+                return null;
+            }
+            return project(rows.next(), null, selectExprs);
+        }
+    }
+
+    private static BValue[] project(BValue[] row, List<BValue[]> group, List<TableQueryExpression> selectExprs) {
+        if (selectExprs == null) {
+            return row;
+        }
+        BValue[] values = new BValue[selectExprs.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = selectExprs.get(i).evaluate(row, group);
+        }
+        return values;
+    }
+
+    /**
+     * Groups, aggregates and orders all the rows on the first read.
+     */
+    private class Materialization extends Operator {
+
+        private final Iterator<BValue[]> rows;
+
+        private final Schema schema;
+
+        private final BRefValueArray params;
+
+        private final List<TableQueryExpression> selectExprs;
+
+        private final TableQueryExpression having;
+
+        private final boolean aggregated;
+
+        private Iterator<BValue[]> results;
+
+        Materialization(Iterator<BValue[]> rows, Schema schema, BRefValueArray params,
+                        List<TableQueryExpression> selectExprs, TableQueryExpression having, boolean aggregated) {
+            this.rows = rows;
+            this.schema = schema;
+            this.params = params;
+            this.selectExprs = selectExprs;
+            this.having = having;
+            this.aggregated = aggregated;
+        }
+
+        @Override
+        BValue[] computeNext() {
+            if (results == null) {
+                results = materialize().iterator();
+            }
+            return results.hasNext() ? results.next() : null;
+        }
+
+        private List<BValue[]> materialize() {
+            List<List<BValue[]>> groups = new ArrayList<>();
+            if (groupBy != null) {
+                List<TableQueryExpression> groupExprs = new ArrayList<>(groupBy.size());
+                for (TableQueryExpression groupExpr : groupBy) {
+                    groupExprs.add(groupExpr.bind(schema, params));
+                }
+                Map<List<Object>, List<BValue[]>> groupsByKey = new LinkedHashMap<>();
+                while (rows.hasNext()) {
+                    BValue[] row = rows.next();
+                    List<Object> key = new ArrayList<>(groupExprs.size());
+                    for (TableQueryExpression groupExpr : groupExprs) {
+                        key.add(TableQueryExpression.toKey(groupExpr.evaluate(row, null)));
+                    }
+                    groupsByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+                }
+                groups.addAll(groupsByKey.values());
+            } else if (aggregated) {
+                List<BValue[]> group = new ArrayList<>();
+                rows.forEachRemaining(group::add);
+                groups.add(group);
+            } else {
+                while (rows.hasNext()) {
+                    groups.add(Collections.singletonList(rows.next()));
+                }
+            }
+
+            List<OrderKey> sortKeys = orderBy == null ? null : bindOrderBy();
+            List<BValue[]> results = new ArrayList<>(groups.size());
+            List<BValue[]> orderValues = new ArrayList<>(groups.size());
+            for (List<BValue[]> group : groups) {
+                BValue[] row = group.isEmpty() ? null : group.get(0);
+                List<BValue[]> rowGroup = aggregated ? group : null;
+                if (having != null && !having.isTrue(row, rowGroup)) {
+                    continue;
+                }
+                BValue[] values = project(row, rowGroup, selectExprs);
+                results.add(values);
+                if (sortKeys != null) {
+                    BValue[] keys = new BValue[sortKeys.size()];
+                    for (int i = 0; i < keys.length; i++) {
+                        OrderKey sortKey = sortKeys.get(i);
+                        keys[i] = sortKey.outputIndex >= 0 ? values[sortKey.outputIndex]
+                                : sortKey.expr.evaluate(row, rowGroup);
+                    }
+                    orderValues.add(keys);
+                }
+            }
+            if (sortKeys == null) {
+                return results;
+            }
+
+            Integer[] order = new Integer[results.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                BValue[] aKeys = orderValues.get(a);
+                BValue[] bKeys = orderValues.get(b);
+                for (int i = 0; i < aKeys.length; i++) {
+                    int result = compareNullsFirst(aKeys[i], bKeys[i]);
+                    if (result != 0) {
+                        return sortKeys.get(i).descending ? -result : result;
+                    }
+                }
+                return 0;
+            });
+            List<BValue[]> orderedResults = new ArrayList<>(order.length);
+            for (Integer index : order) {
+                orderedResults.add(results.get(index));
+            }
+            return orderedResults;
+        }
+
+        /**
+         * Binds the order by expressions. A column which is not qualified refers to the select expression having
+         * it as the alias, if there is such an expression.
+         */
+        private List<OrderKey> bindOrderBy() {
+            List<OrderKey> sortKeys = new ArrayList<>(orderBy.size());
+            for (OrderItem orderItem : orderBy) {
+                int outputIndex = -1;
+                if (selectItems != null && orderItem.expr instanceof ColumnRef
+                        && ((ColumnRef) orderItem.expr).qualifier == null) {
+                    String name = ((ColumnRef) orderItem.expr).name;
+                    for (int i = 0; i < selectItems.size(); i++) {
+                        if (name.equalsIgnoreCase(selectItems.get(i).alias)) {
+                            outputIndex = i;
+                            break;
+                        }
+                    }
+                }
+                TableQueryExpression expr = outputIndex >= 0 ? null : orderItem.expr.bind(schema, params);
+                sortKeys.add(new OrderKey(expr, outputIndex, orderItem.descending));
+            }
+            return sortKeys;
+        }
+    }
+
+    private static int compareNullsFirst(BValue lhs, BValue rhs) {
+        if (lhs == null || rhs == null) {
+            return lhs == null ? (rhs == null ? 0 : -1) : 1;
+        }
+        return TableQueryExpression.compare(lhs, rhs);
+    }
+
+    /**
+     * A bound order by expression, or the position of the select expression it refers to.
+     */
+    private static class OrderKey {
+
+        private final TableQueryExpression expr;
+
+        private final int outputIndex;
+
+        private final boolean descending;
+
+        OrderKey(TableQueryExpression expr, int outputIndex, boolean descending) {
+            this.expr = expr;
+            this.outputIndex = outputIndex;
+            this.descending = descending;
+        }
+    }
+
+    /**
+     * Stops after the given number of rows.
+     */
+    private static class Limit extends Operator {
+
+        private final Iterator<BValue[]> rows;
+
+        private long remaining;
+
+        Limit(Iterator<BValue[]> rows, long limit) {
+            this.rows = rows;
+            this.remaining = limit;
+        }
+
+        @Override
+        BValue[] computeNext() {
+            if (remaining == 0 || !rows.hasNext()) {
+                return null;
+            }
+            remaining--;
+            return rows.next();
+        }
+    }
+
+    /**
+     * {@code Cursor} reads the result rows of a query, converting the selected values to the field types of the
+     * result type by their position as the database would do.
+     * <p>
+     * Each row read is added to the result table. Closing or completing the cursor adds the rows which have not
+     * been read yet, so that the result table holds the whole result afterwards.
+     *
+     * @since 0.981.1
+     */
+    public static class Cursor implements DataIterator {
+
+        private final Iterator<BValue[]> results;
+
+        private final List<InMemoryTable.RowIterator> sources;
+
+        private final InMemoryTable resultTable;
+
+        private final BField[] fields;
+
+        /* rows added to the result table by complete(), which have not been read yet */
+        private final Deque<BMap<String, BValue>> completedRows = new ArrayDeque<>();
+
+        private BMap<String, BValue> current;
+
+        private boolean released;
+
+        private Cursor(Iterator<BValue[]> results, List<InMemoryTable.RowIterator> sources,
+                       InMemoryTable resultTable) {
+            this.results = results;
+            this.sources = sources;
+            this.resultTable = resultTable;
+            this.fields = resultTable.getType().getFields();
+        }
+
+        @Override
+        public boolean next() {
+            if (!completedRows.isEmpty()) {
+                current = completedRows.poll();
+                return true;
+            }
+            if (released) {
+                return false;
+            }
+            try {
+                if (!results.hasNext()) {
+                    release();
+                    return false;
+                }
+                current = createRow(results.next());
+                resultTable.insertData(current);
+                return true;
+            } catch (RuntimeException e) {
+                release();
+                throw e;
+            }
+        }
+
+        /**
+         * Adds the remaining result rows to the result table, without changing the position of the cursor.
+         */
+        public void complete() {
+            try {
+                while (!released && results.hasNext()) {
+                    BMap<String, BValue> row = createRow(results.next());
+                    resultTable.insertData(row);
+                    completedRows.add(row);
+                }
+            } finally {
+                release();
+            }
+        }
+
+        /**
+         * Releases the queried tables without reading the remaining result rows.
+         */
+        public void release() {
+            if (!released) {
+                released = true;
+                for (InMemoryTable.RowIterator source : sources) {
+                    source.close(false);
+                }
+            }
+        }
+
+        @Override
+        public void close(boolean isInTransaction) {
+            complete();
+            completedRows.clear();
+            current = null;
+        }
+
+        @Override
+        public void reset(boolean isInTransaction) {
+            close(isInTransaction);
+        }
+
+        private BMap<String, BValue> createRow(BValue[] values) {
+            BMap<String, BValue> bStruct = new BMap<>(resultTable.getType());
+            for (int i = 0; i < fields.length; i++) {
+                BValue value = i < values.length ? values[i] : null;
+                bStruct.put(fields[i].getFieldName(), convert(value, fields[i].getFieldType()));
+            }
+            return bStruct;
+        }
+
+        private static BValue convert(BValue value, BType type) {
+            switch (type.getTag()) {
+                case TypeTags.INT_TAG:
+                    if (value == null || value instanceof BInteger) {
+                        return value == null ? BInteger.valueOf(0) : value;
+                    }
+                    if (value instanceof BFloat) {
+                        return BInteger.valueOf(Math.round(((BFloat) value).floatValue()));
+                    }
+                    if (value instanceof BBoolean) {
+                        return BInteger.valueOf(((BBoolean) value).booleanValue() ? 1 : 0);
+                    }
+                    return BInteger.valueOf(parseLong(value));
+                case TypeTags.FLOAT_TAG:
+                    if (value == null || value instanceof BFloat) {
+                        return value == null ? BFloat.valueOf(0) : value;
+                    }
+                    if (value instanceof BInteger) {
+                        return BFloat.valueOf(((BInteger) value).intValue());
+                    }
+                    return BFloat.valueOf(parseDouble(value));
+                case TypeTags.STRING_TAG:
+                    if (value instanceof BString) {
+                        return value;
+                    }
+                    return BString.valueOf(value == null ? null : value.stringValue());
+                case TypeTags.BOOLEAN_TAG:
+                    if (value == null || value instanceof BBoolean) {
+                        return value == null ? BBoolean.FALSE : value;
+                    }
+                    if (value instanceof BInteger || value instanceof BFloat) {
+                        return BBoolean.valueOf(TableQueryExpression.compare(value, BInteger.valueOf(0)) != 0);
+                    }
+                    return BBoolean.valueOf(Boolean.parseBoolean(value.stringValue()));
+                default:
+                    return value;
+            }
+        }
+
+        private static long parseLong(BValue value) {
+            try {
+                return Long.parseLong(value.stringValue());
+            } catch (NumberFormatException e) {
+                throw new BallerinaException("data conversion error: '" + value.stringValue() + "' is not an int");
+            }
+        }
+
+        private static double parseDouble(BValue value) {
+            try {
+                return Double.parseDouble(value.stringValue());
+            } catch (NumberFormatException e) {
+                throw new BallerinaException("data conversion error: '" + value.stringValue() + "' is not a float");
+            }
+        }
+
+        private BValue currentValue(int columnIndex) {
+            return current.get(fields[columnIndex - 1].getFieldName());
+        }
+
+        @Override
+        public String getString(int columnIndex) {
+            BValue value = currentValue(columnIndex);
+            return value == null ? null : value.stringValue();
+        }
+
+        @Override
+        public long getInt(int columnIndex) {
+            return ((BInteger) currentValue(columnIndex)).intValue();
+        }
+
+        @Override
+        public double getFloat(int columnIndex) {
+            return ((BFloat) currentValue(columnIndex)).floatValue();
+        }
+
+        @Override
+        public boolean getBoolean(int columnIndex) {
+            return ((BBoolean) currentValue(columnIndex)).booleanValue();
+        }
+
+        @Override
+        public String getBlob(int columnIndex) {
+            BValue value = currentValue(columnIndex);
+            return value == null ? null : new String(((BByteArray) value).getBytes());
+        }
+
+        @Override
+        public Object[] getStruct(int columnIndex) {
+            return null;
+        }
+
+        @Override
+        public Object[] getArray(int columnIndex) {
+            return TableUtils.getArrayData(currentValue(columnIndex));
+        }
+
+        @Override
+        public BMap<String, BValue> generateNext() {
+            return current;
+        }
+
+        @Override
+        public List<ColumnDefinition> getColumnDefinitions() {
+            return resultTable.getColumnDefinitions();
+        }
+
+        @Override
+        public BStructureType getStructType() {
+            return resultTable.getType();
+        }
+    }
+}
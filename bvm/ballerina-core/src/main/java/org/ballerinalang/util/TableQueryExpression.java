@@ -0,0 +1,467 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util;
+
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.util.List;
+
+/**
+ * {@code TableQueryExpression} is an expression of a compiled in-memory table query.
+ * <p>
+ * Expressions are parsed once per query. Each time the query is executed, they are bound to the columns of the
+ * queried tables and to the parameters of the query, and the bound expressions are evaluated over the rows. As in
+ * SQL, an expression over a null value evaluates to null, and a condition passes only if it evaluates to true.
+ *
+ * @since 0.981.1
+ */
+abstract class TableQueryExpression {
+
+    /**
+     * Evaluates this expression.
+     *
+     * @param row   the current row, or null if an aggregation is done over no rows
+     * @param group the rows aggregated together with the current row, or null if there is no aggregation
+     * @return the value of the expression
+     */
+    abstract BValue evaluate(BValue[] row, List<BValue[]> group);
+
+    /**
+     * Resolves the column references and the parameters of this expression.
+     *
+     * @param schema the columns of the rows this expression is evaluated over
+     * @param params the parameters of the query
+     * @return the bound expression
+     */
+    abstract TableQueryExpression bind(TableQuery.Schema schema, BRefValueArray params);
+
+    boolean containsAggregate() {
+        return false;
+    }
+
+    boolean isTrue(BValue[] row, List<BValue[]> group) {
+        BValue value = evaluate(row, group);
+        return value instanceof BBoolean && ((BBoolean) value).booleanValue();
+    }
+
+    static int compare(BValue lhs, BValue rhs) {
+        if (lhs instanceof BInteger && rhs instanceof BInteger) {
+            return Long.compare(((BInteger) lhs).intValue(), ((BInteger) rhs).intValue());
+        }
+        if (isNumeric(lhs) || isNumeric(rhs)) {
+            return Double.compare(toDouble(lhs), toDouble(rhs));
+        }
+        if (lhs instanceof BBoolean && rhs instanceof BBoolean) {
+            return Boolean.compare(((BBoolean) lhs).booleanValue(), ((BBoolean) rhs).booleanValue());
+        }
+        return lhs.stringValue().compareTo(rhs.stringValue());
+    }
+
+    /**
+     * Returns the hash key of the given value, so that the values which are equal according to
+     * {@link #compare(BValue, BValue)} have equal keys.
+     */
+    static Object toKey(BValue value) {
+        if (value == null) {
+            return null;
+        }
+        if (isNumeric(value)) {
+            double doubleValue = toDouble(value);
+            long longValue = (long) doubleValue;
+            return longValue == doubleValue ? (Object) longValue : (Object) doubleValue;
+        }
+        if (value instanceof BBoolean) {
+            return ((BBoolean) value).booleanValue();
+        }
+        return value.stringValue();
+    }
+
+    private static boolean isNumeric(BValue value) {
+        return value instanceof BInteger || value instanceof BFloat;
+    }
+
+    private static double toDouble(BValue value) {
+        if (isNumeric(value)) {
+            return value instanceof BInteger ? ((BInteger) value).intValue() : ((BFloat) value).floatValue();
+        }
+        try {
+            return Double.parseDouble(value.stringValue());
+        } catch (NumberFormatException e) {
+            throw new BallerinaException("data conversion error: '" + value.stringValue() + "' is not a number");
+        }
+    }
+
+    /**
+     * A value which is known when the expression is bound.
+     */
+    static class Constant extends TableQueryExpression {
+
+        final BValue value;
+
+        Constant(BValue value) {
+            this.value = value;
+        }
+
+        @Override
+        BValue evaluate(BValue[] row, List<BValue[]> group) {
+            return value;
+        }
+
+        @Override
+        TableQueryExpression bind(TableQuery.Schema schema, BRefValueArray params) {
+            return this;
+        }
+    }
+
+    /**
+     * A parameter of the query, which is a literal of the Ballerina query.
+     */
+    static class Parameter extends TableQueryExpression {
+
+        private final int ordinal;
+
+        Parameter(int ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        BValue evaluate(BValue[] row, List<BValue[]> group) {
+            throw new BallerinaException("unbound query parameter: " + ordinal);
+        }
+
+        @Override
+        TableQueryExpression bind(TableQuery.Schema schema, BRefValueArray params) {
+            if (params == null || ordinal >= params.size()) {
+                throw new BallerinaException("missing value for query parameter: " + (ordinal + 1));
+            }
+            return new Constant(params.get(ordinal));
+        }
+    }
+
+    /**
+     * A reference to a column of the queried tables.
+     */
+    static class ColumnRef extends TableQueryExpression {
+
+        final String qualifier;
+
+        final String name;
+
+        final int index;
+
+        ColumnRef(String qualifier, String name) {
+            this(qualifier, name, -1);
+        }
+
+        private ColumnRef(String qualifier, String name, int index) {
+            this.qualifier = qualifier;
+            this.name = name;
+            this.index = index;
+        }
+
+        @Override
+        BValue evaluate(BValue[] row, List<BValue[]> group) {
+            return row == null ? null : row[index];
+        }
+
+        @Override
+        TableQueryExpression bind(TableQuery.Schema schema, BRefValueArray params) {
+            return new ColumnRef(qualifier, name, schema.indexOf(qualifier, name));
+        }
+    }
+
+    /**
+     * A binary arithmetic, comparison or logical operation.
+     */
+    static class Binary extends TableQueryExpression {
+
+        final String operator;
+
+        final TableQueryExpression lhs;
+
+        final TableQueryExpression rhs;
+
+        Binary(String operator, TableQueryExpression lhs, TableQueryExpression rhs) {
+            this.operator = operator;
+            this.lhs = lhs;
+            this.rhs = rhs;
+        }
+
+        @Override
+        BValue evaluate(BValue[] row, List<BValue[]> group) {
+            switch (operator) {
+                case "and":
+                    return and(lhs.evaluate(row, group), rhs.evaluate(row, group));
+                case "or":
+                    return or(lhs.evaluate(row, group), rhs.evaluate(row, group));
+                default:
+                    break;
+            }
+
+            BValue lhsValue = lhs.evaluate(row, group);
+            BValue rhsValue = rhs.evaluate(row, group);
+            if (lhsValue == null || rhsValue == null) {
+                return null;
+            }
+            switch (operator) {
+                case "=":
+                    return BBoolean.valueOf(compare(lhsValue, rhsValue) == 0);
+                case "!=":
+                    return BBoolean.valueOf(compare(lhsValue, rhsValue) != 0);
+                case ">":
+                    return BBoolean.valueOf(compare(lhsValue, rhsValue) > 0);
+                case ">=":
+                    return BBoolean.valueOf(compare(lhsValue, rhsValue) >= 0);
+                case "<":
+                    return BBoolean.valueOf(compare(lhsValue, rhsValue) < 0);
+                case "<=":
+                    return BBoolean.valueOf(compare(lhsValue, rhsValue) <= 0);
+                default:
+                    return arithmetic(lhsValue, rhsValue);
+            }
+        }
+
+        private BValue arithmetic(BValue lhsValue, BValue rhsValue) {
+            if (lhsValue instanceof BInteger && rhsValue instanceof BInteger) {
+                long lhsInt = ((BInteger) lhsValue).intValue();
+                long rhsInt = ((BInteger) rhsValue).intValue();
+                switch (operator) {
+                    case "+":
+                        return BInteger.valueOf(lhsInt + rhsInt);
+                    case "-":
+                        return BInteger.valueOf(lhsInt - rhsInt);
+                    case "*":
+                        return BInteger.valueOf(lhsInt * rhsInt);
+                    case "/":
+                        checkDivisor(rhsInt);
+                        return BInteger.valueOf(lhsInt / rhsInt);
+                    default:
+                        checkDivisor(rhsInt);
+                        return BInteger.valueOf(lhsInt % rhsInt);
+                }
+            }
+            if (operator.equals("+") && lhsValue instanceof BString && rhsValue instanceof BString) {
+                return BString.valueOf(lhsValue.stringValue() + rhsValue.stringValue());
+            }
+            double lhsFloat = toDouble(lhsValue);
+            double rhsFloat = toDouble(rhsValue);
+            switch (operator) {
+                case "+":
+                    return BFloat.valueOf(lhsFloat + rhsFloat);
+                case "-":
+                    return BFloat.valueOf(lhsFloat - rhsFloat);
+                case "*":
+                    return BFloat.valueOf(lhsFloat * rhsFloat);
+                case "/":
+                    checkDivisor(rhsFloat);
+                    return BFloat.valueOf(lhsFloat / rhsFloat);
+                default:
+                    checkDivisor(rhsFloat);
+                    return BFloat.valueOf(lhsFloat % rhsFloat);
+            }
+        }
+
+        private static void checkDivisor(double divisor) {
+            if (divisor == 0) {
+                throw new BallerinaException("Division by zero");
+            }
+        }
+
+        private static BValue and(BValue lhsValue, BValue rhsValue) {
+            if (isFalse(lhsValue) || isFalse(rhsValue)) {
+                return BBoolean.FALSE;
+            }
+            return lhsValue == null || rhsValue == null ? null : BBoolean.TRUE;
+        }
+
+        private static BValue or(BValue lhsValue, BValue rhsValue) {
+            if (isTrue(lhsValue) || isTrue(rhsValue)) {
+                return BBoolean.TRUE;
+            }
+            return lhsValue == null || rhsValue == null ? null : BBoolean.FALSE;
+        }
+
+        private static boolean isTrue(BValue value) {
+            return value instanceof BBoolean && ((BBoolean) value).booleanValue();
+        }
+
+        private static boolean isFalse(BValue value) {
+            return value instanceof BBoolean && !((BBoolean) value).booleanValue();
+        }
+
+        @Override
+        TableQueryExpression bind(TableQuery.Schema schema, BRefValueArray params) {
+            return new Binary(operator, lhs.bind(schema, params), rhs.bind(schema, params));
+        }
+
+        @Override
+        boolean containsAggregate() {
+            return lhs.containsAggregate() || rhs.containsAggregate();
+        }
+    }
+
+    /**
+     * Logical negation.
+     */
+    static class Not extends TableQueryExpression {
+
+        private final TableQueryExpression expr;
+
+        Not(TableQueryExpression expr) {
+            this.expr = expr;
+        }
+
+        @Override
+        BValue evaluate(BValue[] row, List<BValue[]> group) {
+            BValue value = expr.evaluate(row, group);
+            return value == null ? null : BBoolean.valueOf(!((BBoolean) value).booleanValue());
+        }
+
+        @Override
+        TableQueryExpression bind(TableQuery.Schema schema, BRefValueArray params) {
+            return new Not(expr.bind(schema, params));
+        }
+
+        @Override
+        boolean containsAggregate() {
+            return expr.containsAggregate();
+        }
+    }
+
+    /**
+     * The {@code power} function, which the queries use for the {@code ^} operator.
+     */
+    static class Power extends TableQueryExpression {
+
+        private final TableQueryExpression base;
+
+        private final TableQueryExpression exponent;
+
+        Power(TableQueryExpression base, TableQueryExpression exponent) {
+            this.base = base;
+            this.exponent = exponent;
+        }
+
+        @Override
+        BValue evaluate(BValue[] row, List<BValue[]> group) {
+            BValue baseValue = base.evaluate(row, group);
+            BValue exponentValue = exponent.evaluate(row, group);
+            if (baseValue == null || exponentValue == null) {
+                return null;
+            }
+            return BFloat.valueOf(Math.pow(toDouble(baseValue), toDouble(exponentValue)));
+        }
+
+        @Override
+        TableQueryExpression bind(TableQuery.Schema schema, BRefValueArray params) {
+            return new Power(base.bind(schema, params), exponent.bind(schema, params));
+        }
+
+        @Override
+        boolean containsAggregate() {
+            return base.containsAggregate() || exponent.containsAggregate();
+        }
+    }
+
+    /**
+     * One of the {@code count}, {@code sum}, {@code avg}, {@code min} and {@code max} aggregate functions.
+     * Null values are ignored, and the functions other than {@code count} evaluate to null over no values.
+     */
+    static class Aggregate extends TableQueryExpression {
+
+        private final String function;
+
+        private final TableQueryExpression arg;
+
+        Aggregate(String function, TableQueryExpression arg) {
+            this.function = function;
+            this.arg = arg;
+        }
+
+        @Override
+        BValue evaluate(BValue[] row, List<BValue[]> group) {
+            if (group == null) {
+                throw new BallerinaException("aggregate function '" + function + "' used without aggregation");
+            }
+            long count = 0;
+            BValue result = null;
+            boolean intResult = true;
+            long intSum = 0;
+            double floatSum = 0;
+            for (BValue[] groupRow : group) {
+                BValue value = arg.evaluate(groupRow, null);
+                if (value == null) {
+                    continue;
+                }
+                count++;
+                switch (function) {
+                    case "min":
+                        result = result == null || compare(value, result) < 0 ? value : result;
+                        break;
+                    case "max":
+                        result = result == null || compare(value, result) > 0 ? value : result;
+                        break;
+                    case "sum":
+                    case "avg":
+                        if (value instanceof BInteger) {
+                            intSum += ((BInteger) value).intValue();
+                        } else {
+                            intResult = false;
+                        }
+                        floatSum += toDouble(value);
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            switch (function) {
+                case "count":
+                    return BInteger.valueOf(count);
+                case "sum":
+                    if (count == 0) {
+                        return null;
+                    }
+                    return intResult ? BInteger.valueOf(intSum) : BFloat.valueOf(floatSum);
+                case "avg":
+                    if (count == 0) {
+                        return null;
+                    }
+                    return intResult ? BInteger.valueOf(intSum / count) : BFloat.valueOf(floatSum / count);
+                default:
+                    return result;
+            }
+        }
+
+        @Override
+        TableQueryExpression bind(TableQuery.Schema schema, BRefValueArray params) {
+            return new Aggregate(function, arg.bind(schema, params));
+        }
+
+        @Override
+        boolean containsAggregate() {
+            return true;
+        }
+    }
+}
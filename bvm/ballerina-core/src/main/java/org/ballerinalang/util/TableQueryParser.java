@@ -0,0 +1,336 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util;
+
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.util.TableQueryExpression.Aggregate;
+import org.ballerinalang.util.TableQueryExpression.Binary;
+import org.ballerinalang.util.TableQueryExpression.ColumnRef;
+import org.ballerinalang.util.TableQueryExpression.Constant;
+import org.ballerinalang.util.TableQueryExpression.Not;
+import org.ballerinalang.util.TableQueryExpression.Parameter;
+import org.ballerinalang.util.TableQueryExpression.Power;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * {@code TableQueryParser} parses the SQL of in-memory table queries into a {@link TableQuery}.
+ * <p>
+ * Only the SQL which the compiler generates for Ballerina table queries is accepted, i.e. a select over a
+ * {@code [[tableName]]} subquery, optionally joined with another one, followed by the optional group by, having,
+ * order by and limit clauses. A {@link UnsupportedQueryException} is thrown for anything else, so that the query
+ * can be run with the embedded database instead.
+ *
+ * @since 0.981.1
+ */
+class TableQueryParser {
+
+    private static final String TABLE_NAME_PLACEHOLDER = "[[tableName]]";
+
+    private static final Set<String> AGGREGATE_FUNCTIONS = new HashSet<>(Arrays.asList("count", "sum", "avg",
+            "min", "max"));
+
+    private static final Set<String> COMPARISON_OPERATORS = new HashSet<>(Arrays.asList("=", "!=", ">", ">=", "<",
+            "<="));
+
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList("select", "from", "where", "as",
+            "join", "on", "group", "by", "having", "order", "asc", "desc", "limit", "and", "or", "not"));
+
+    private final List<String> tokens;
+
+    private int position;
+
+    private int paramCount;
+
+    private TableQueryParser(String query) {
+        this.tokens = tokenize(query);
+    }
+
+    static TableQuery parse(String query) {
+        return new TableQueryParser(query).parseQuery();
+    }
+
+    private TableQuery parseQuery() {
+        TableQuery tableQuery = new TableQuery();
+        expectKeyword("select");
+        if (accept("*")) {
+            tableQuery.selectItems = null;
+        } else {
+            tableQuery.selectItems = new ArrayList<>();
+            do {
+                TableQueryExpression expr = parseExpression();
+                String alias = acceptKeyword("as") ? expectIdentifier() : null;
+                tableQuery.selectItems.add(new TableQuery.SelectItem(expr, alias));
+            } while (accept(","));
+        }
+
+        expectKeyword("from");
+        tableQuery.from = parseSource();
+        if (acceptKeyword("join")) {
+            tableQuery.join = parseSource();
+            expectKeyword("on");
+            tableQuery.joinCondition = parseExpression();
+        }
+        if (acceptKeyword("group")) {
+            expectKeyword("by");
+            tableQuery.groupBy = new ArrayList<>();
+            do {
+                tableQuery.groupBy.add(parseExpression());
+            } while (accept(","));
+        }
+        if (acceptKeyword("having")) {
+            tableQuery.having = parseExpression();
+        }
+        if (acceptKeyword("order")) {
+            expectKeyword("by");
+            tableQuery.orderBy = new ArrayList<>();
+            do {
+                TableQueryExpression expr = parseExpression();
+                boolean descending = acceptKeyword("desc");
+                if (!descending) {
+                    acceptKeyword("asc");
+                }
+                tableQuery.orderBy.add(new TableQuery.OrderItem(expr, descending));
+            } while (accept(","));
+        }
+        if (acceptKeyword("limit")) {
+            String limit = next();
+            try {
+                tableQuery.limit = Long.parseLong(limit);
+            } catch (NumberFormatException e) {
+                throw new UnsupportedQueryException("invalid limit: " + limit);
+            }
+        }
+        if (position != tokens.size()) {
+            throw new UnsupportedQueryException("unexpected token: " + tokens.get(position));
+        }
+        return tableQuery;
+    }
+
+    private TableQuery.Source parseSource() {
+        expect("(");
+        expectKeyword("select");
+        expect("*");
+        expectKeyword("from");
+        expect(TABLE_NAME_PLACEHOLDER);
+        TableQueryExpression where = acceptKeyword("where") ? parseExpression() : null;
+        expect(")");
+        String alias = acceptKeyword("as") ? expectIdentifier() : null;
+        return new TableQuery.Source(alias, where);
+    }
+
+    private TableQueryExpression parseExpression() {
+        TableQueryExpression expr = parseAnd();
+        while (acceptKeyword("or")) {
+            expr = new Binary("or", expr, parseAnd());
+        }
+        return expr;
+    }
+
+    private TableQueryExpression parseAnd() {
+        TableQueryExpression expr = parseNot();
+        while (acceptKeyword("and")) {
+            expr = new Binary("and", expr, parseNot());
+        }
+        return expr;
+    }
+
+    private TableQueryExpression parseNot() {
+        if (acceptKeyword("not")) {
+            return new Not(parseNot());
+        }
+        return parseComparison();
+    }
+
+    private TableQueryExpression parseComparison() {
+        TableQueryExpression expr = parseAdditive();
+        if (position < tokens.size() && COMPARISON_OPERATORS.contains(tokens.get(position))) {
+            String operator = next();
+            expr = new Binary(operator, expr, parseAdditive());
+        }
+        return expr;
+    }
+
+    private TableQueryExpression parseAdditive() {
+        TableQueryExpression expr = parseMultiplicative();
+        while (peek("+") || peek("-")) {
+            String operator = next();
+            expr = new Binary(operator, expr, parseMultiplicative());
+        }
+        return expr;
+    }
+
+    private TableQueryExpression parseMultiplicative() {
+        TableQueryExpression expr = parsePrimary();
+        while (peek("*") || peek("/") || peek("%")) {
+            String operator = next();
+            expr = new Binary(operator, expr, parsePrimary());
+        }
+        return expr;
+    }
+
+    private TableQueryExpression parsePrimary() {
+        if (accept("?")) {
+            return new Parameter(paramCount++);
+        }
+        if (accept("(")) {
+            TableQueryExpression expr = parseExpression();
+            expect(")");
+            return expr;
+        }
+        String token = next();
+        if (Character.isDigit(token.charAt(0))) {
+            try {
+                return token.indexOf('.') < 0 ? new Constant(BInteger.valueOf(Long.parseLong(token)))
+                        : new Constant(BFloat.valueOf(Double.parseDouble(token)));
+            } catch (NumberFormatException e) {
+                throw new UnsupportedQueryException("invalid number: " + token);
+            }
+        }
+        String name = identifier(token);
+        if (accept("(")) {
+            return parseFunction(name.toLowerCase(Locale.ENGLISH));
+        }
+        if (accept(".")) {
+            return new ColumnRef(name, expectIdentifier());
+        }
+        return new ColumnRef(null, name);
+    }
+
+    private TableQueryExpression parseFunction(String function) {
+        List<TableQueryExpression> args = new ArrayList<>();
+        if (!accept(")")) {
+            do {
+                args.add(parseExpression());
+            } while (accept(","));
+            expect(")");
+        }
+        if (AGGREGATE_FUNCTIONS.contains(function) && args.size() == 1) {
+            return new Aggregate(function, args.get(0));
+        }
+        if (function.equals("power") && args.size() == 2) {
+            return new Power(args.get(0), args.get(1));
+        }
+        throw new UnsupportedQueryException("unsupported function: " + function);
+    }
+
+    private String next() {
+        if (position == tokens.size()) {
+            throw new UnsupportedQueryException("unexpected end of query");
+        }
+        return tokens.get(position++);
+    }
+
+    private boolean peek(String token) {
+        return position < tokens.size() && tokens.get(position).equals(token);
+    }
+
+    private boolean accept(String token) {
+        if (peek(token)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!accept(token)) {
+            throw new UnsupportedQueryException("expected '" + token + "'");
+        }
+    }
+
+    private void expectKeyword(String keyword) {
+        if (!acceptKeyword(keyword)) {
+            throw new UnsupportedQueryException("expected '" + keyword + "'");
+        }
+    }
+
+    private String expectIdentifier() {
+        return identifier(next());
+    }
+
+    private static String identifier(String token) {
+        char first = token.charAt(0);
+        if ((!Character.isLetter(first) && first != '_') || KEYWORDS.contains(token.toLowerCase(Locale.ENGLISH))) {
+            throw new UnsupportedQueryException("expected an identifier, found: " + token);
+        }
+        return token;
+    }
+
+    private static List<String> tokenize(String query) {
+        List<String> tokens = new ArrayList<>();
+        int length = query.length();
+        int i = 0;
+        while (i < length) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (query.startsWith(TABLE_NAME_PLACEHOLDER, i)) {
+                tokens.add(TABLE_NAME_PLACEHOLDER);
+                i += TABLE_NAME_PLACEHOLDER.length();
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < length && (Character.isLetterOrDigit(query.charAt(i)) || query.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(query.substring(start, i));
+            } else if (Character.isDigit(c)) {
+                int start = i;
+                while (i < length && (Character.isDigit(query.charAt(i)) || query.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(query.substring(start, i));
+            } else if ((c == '!' || c == '>' || c == '<') && i + 1 < length && query.charAt(i + 1) == '=') {
+                tokens.add(query.substring(i, i + 2));
+                i += 2;
+            } else if ("(),.*+-/%=<>?".indexOf(c) >= 0) {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else {
+                throw new UnsupportedQueryException("unsupported character '" + c + "'");
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Thrown when a query can not be run with the native table engine.
+     */
+    static class UnsupportedQueryException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedQueryException(String message) {
+            super(message);
+        }
+    }
+}
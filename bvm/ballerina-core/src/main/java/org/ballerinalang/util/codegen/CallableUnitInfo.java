@@ -17,6 +17,7 @@
 */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.bre.bvm.jit.CompiledCallable;
 import org.ballerinalang.model.NativeCallableUnit;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.TypeTags;
@@ -71,6 +72,11 @@ public class CallableUnitInfo implements AttributeInfoPool, WorkerInfoPool {
     
     private boolean hasReturnType;
 
+    // Approximate number of invocations, used to decide when to compile the callable unit to JVM bytecode
+    private int invocationCount;
+
+    private volatile CompiledCallable compiledCallable;
+
     private WorkerDataIndex calculateWorkerDataIndex(BType[] retTypes) {
         WorkerDataIndex index = new WorkerDataIndex();
         index.retRegs = new int[retTypes.length];
@@ -230,6 +236,18 @@ public class CallableUnitInfo implements AttributeInfoPool, WorkerInfoPool {
         return workerSet;
     }
 
+    public int incrementInvocationCount() {
+        return ++invocationCount;
+    }
+
+    public CompiledCallable getCompiledCallable() {
+        return compiledCallable;
+    }
+
+    public void setCompiledCallable(CompiledCallable compiledCallable) {
+        this.compiledCallable = compiledCallable;
+    }
+
     @Override
     public AttributeInfo getAttributeInfo(AttributeInfo.Kind attributeKind) {
         return attributeInfoMap.get(attributeKind);
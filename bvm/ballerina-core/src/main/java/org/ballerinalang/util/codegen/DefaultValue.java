@@ -17,6 +17,8 @@
 */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.model.values.BString;
+
 /**
  * {@code AnnotationAttributeValue} contains the default value of a Ballerina struct field.
  *
@@ -31,6 +33,7 @@ public class DefaultValue {
     private byte byteValue;
     private double floatValue;
     private String stringValue;
+    private BString bStringValue;
     private boolean booleanValue;
 
     public DefaultValue(int typeDescCPIndex, String typeDesc) {
@@ -76,6 +79,11 @@ public class DefaultValue {
 
     public void setStringValue(String stringValue) {
         this.stringValue = stringValue;
+        this.bStringValue = BString.valueOf(stringValue);
+    }
+
+    public BString getBStringValue() {
+        return bStringValue;
     }
 
     public boolean getBooleanValue() {
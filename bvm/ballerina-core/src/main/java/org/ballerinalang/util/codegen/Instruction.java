@@ -18,6 +18,8 @@
 package org.ballerinalang.util.codegen;
 
 import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.MapShape;
 import org.ballerinalang.util.codegen.cpentries.ForkJoinCPEntry;
 import org.ballerinalang.util.codegen.cpentries.FunctionRefCPEntry;
 
@@ -324,4 +326,170 @@ public class Instruction {
             return Mnemonics.getMnem(opcode) + " " + sj.toString();
         }
     }
+
+    /**
+     * {@code {@link InstructionICONST}} represents a pre-decoded integer constant load instruction. The value is
+     * resolved from the constant pool when the instructions are decoded.
+     *
+     * @since 0.981.1
+     */
+    public static class InstructionICONST extends Instruction {
+
+        public final long value;
+        public final int retReg;
+
+        InstructionICONST(int opcode, long value, int retReg, int... operands) {
+            super(opcode, operands);
+            this.value = value;
+            this.retReg = retReg;
+        }
+    }
+
+    /**
+     * {@code {@link InstructionFCONST}} represents a pre-decoded float constant load instruction. The value is
+     * resolved from the constant pool when the instructions are decoded.
+     *
+     * @since 0.981.1
+     */
+    public static class InstructionFCONST extends Instruction {
+
+        public final double value;
+        public final int retReg;
+
+        InstructionFCONST(int opcode, double value, int retReg, int... operands) {
+            super(opcode, operands);
+            this.value = value;
+            this.retReg = retReg;
+        }
+    }
+
+    /**
+     * {@code {@link InstructionSCONST}} represents a pre-decoded string constant load instruction. The value is
+     * resolved from the constant pool when the instructions are decoded.
+     *
+     * @since 0.981.1
+     */
+    public static class InstructionSCONST extends Instruction {
+
+        public final String value;
+        public final int retReg;
+
+        InstructionSCONST(int opcode, String value, int retReg, int... operands) {
+            super(opcode, operands);
+            this.value = value;
+            this.retReg = retReg;
+        }
+    }
+
+    /**
+     * {@code {@link InstructionIConstBinary}} represents the ICONST_IADD/ICONST_ISUB superinstructions. It loads an
+     * integer constant to a register and then performs the binary operation that follows it.
+     *
+     * @since 0.981.1
+     */
+    public static class InstructionIConstBinary extends Instruction {
+
+        public final long value;
+        public final int constReg;
+        public final int lhsReg;
+        public final int rhsReg;
+        public final int retReg;
+
+        InstructionIConstBinary(int opcode, long value, int constReg, int lhsReg, int rhsReg, int retReg) {
+            super(opcode, constReg, lhsReg, rhsReg, retReg);
+            this.value = value;
+            this.constReg = constReg;
+            this.lhsReg = lhsReg;
+            this.rhsReg = rhsReg;
+            this.retReg = retReg;
+        }
+    }
+
+    /**
+     * {@code {@link InstructionICmpBranch}} represents the integer compare and BR_FALSE superinstructions.
+     *
+     * @since 0.981.1
+     */
+    public static class InstructionICmpBranch extends Instruction {
+
+        public final int lhsReg;
+        public final int rhsReg;
+        public final int retReg;
+        public final int falseJumpAddr;
+
+        InstructionICmpBranch(int opcode, int lhsReg, int rhsReg, int retReg, int falseJumpAddr) {
+            super(opcode, lhsReg, rhsReg, retReg, falseJumpAddr);
+            this.lhsReg = lhsReg;
+            this.rhsReg = rhsReg;
+            this.retReg = retReg;
+            this.falseJumpAddr = falseJumpAddr;
+        }
+    }
+
+    /**
+     * {@code {@link InstructionSConstToAny}} represents the SCONST_S2ANY superinstruction. It loads a string
+     * constant to a register and then converts it to a ref value, using the {@code BString} interned in the
+     * constant pool instead of allocating a new one.
+     *
+     * @since 0.981.1
+     */
+    public static class InstructionSConstToAny extends Instruction {
+
+        public final String value;
+        public final BString bValue;
+        public final int constReg;
+        public final int retReg;
+
+        InstructionSConstToAny(int opcode, String value, BString bValue, int constReg, int retReg,
+                               int... operands) {
+            super(opcode, operands);
+            this.value = value;
+            this.bValue = bValue;
+            this.constReg = constReg;
+            this.retReg = retReg;
+        }
+    }
+
+    /**
+     * {@code {@link InstructionFieldLoad}} represents the SCONST_MAPLOAD superinstruction. It loads a field name
+     * constant to a register and then loads the field with that name from the map that follows it. The slot of
+     * the field in the shape of the last map it was loaded from is cached in the instruction.
+     *
+     * @since 0.981.1
+     */
+    public static class InstructionFieldLoad extends Instruction {
+
+        public final String fieldName;
+        public final int keyReg;
+        public final int mapReg;
+        public final int retReg;
+        public final boolean except;
+        public FieldSlot cachedSlot;
+
+        InstructionFieldLoad(int opcode, String fieldName, int keyReg, int mapReg, int retReg, boolean except,
+                             int... operands) {
+            super(opcode, operands);
+            this.fieldName = fieldName;
+            this.keyReg = keyReg;
+            this.mapReg = mapReg;
+            this.retReg = retReg;
+            this.except = except;
+        }
+    }
+
+    /**
+     * {@code {@link FieldSlot}} represents the slot of a field in a map shape.
+     *
+     * @since 0.981.1
+     */
+    public static class FieldSlot {
+
+        public final MapShape shape;
+        public final int slot;
+
+        public FieldSlot(MapShape shape, int slot) {
+            this.shape = shape;
+            this.slot = slot;
+        }
+    }
 }
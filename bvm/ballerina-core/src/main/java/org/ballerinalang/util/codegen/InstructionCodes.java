@@ -289,4 +289,20 @@ public interface InstructionCodes {
     int TNE = 254;
 
     int INSTRUCTION_CODE_COUNT = 255;
+
+    // Pre-decoded instructions. These are never written to a program file, they are
+    // produced by the InstructionDecoder after the program is loaded.
+    int ICONST_DECODED = 256;
+    int FCONST_DECODED = 257;
+    int SCONST_DECODED = 258;
+    int ICONST_IADD = 259;
+    int ICONST_ISUB = 260;
+    int IGT_BR_FALSE = 261;
+    int IGE_BR_FALSE = 262;
+    int ILT_BR_FALSE = 263;
+    int ILE_BR_FALSE = 264;
+    int SCONST_MAPLOAD = 265;
+    int SCONST_S2ANY = 266;
+
+    int DECODED_INSTRUCTION_CODE_COUNT = 267;
 }
@@ -0,0 +1,186 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.codegen;
+
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.util.codegen.Instruction.InstructionFCONST;
+import org.ballerinalang.util.codegen.Instruction.InstructionFieldLoad;
+import org.ballerinalang.util.codegen.Instruction.InstructionICONST;
+import org.ballerinalang.util.codegen.Instruction.InstructionICmpBranch;
+import org.ballerinalang.util.codegen.Instruction.InstructionIConstBinary;
+import org.ballerinalang.util.codegen.Instruction.InstructionSCONST;
+import org.ballerinalang.util.codegen.Instruction.InstructionSConstToAny;
+import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
+import org.ballerinalang.util.codegen.cpentries.FloatCPEntry;
+import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
+import org.ballerinalang.util.codegen.cpentries.StringCPEntry;
+
+/**
+ * {@code InstructionDecoder} rewrites the loaded instructions of a program into a pre-decoded form.
+ * <p>
+ * Constant pool entries of constant load instructions are inlined into the instruction, and common
+ * instruction pairs are fused into superinstructions. A superinstruction replaces the first instruction
+ * of the pair while the second one is kept as it is, so that the addresses used by jumps, error tables
+ * and line number tables stay valid.
+ *
+ * @since 0.981.1
+ */
+public class InstructionDecoder {
+
+    private static final String PREDECODE_CONFIG_PROP = "b7a.runtime.vm.predecode";
+
+    public static boolean isEnabled() {
+        // Superinstructions hide instruction boundaries from the debugger, hence decode only when not debugging
+        String debug = System.getProperty(Constants.SYSTEM_PROP_BAL_DEBUG);
+        if (debug != null && !debug.isEmpty()) {
+            return false;
+        }
+        String predecodeConfigProp = ConfigRegistry.getInstance().getAsString(PREDECODE_CONFIG_PROP);
+        return predecodeConfigProp != null && Boolean.parseBoolean(predecodeConfigProp);
+    }
+
+    public static void decode(ProgramFile programFile) {
+        for (PackageInfo packageInfo : programFile.getPackageInfoEntries()) {
+            decode(packageInfo);
+        }
+    }
+
+    public static void decode(PackageInfo packageInfo) {
+        Instruction[] code = packageInfo.getInstructions();
+        ConstantPoolEntry[] constPool = packageInfo.getConstPoolEntries();
+        for (int ip = 0; ip < code.length; ip++) {
+            code[ip] = decodeConst(code[ip], constPool);
+        }
+        for (int ip = 0; ip < code.length - 1; ip++) {
+            Instruction fused = fuse(code[ip], code[ip + 1], constPool);
+            if (fused != null) {
+                code[ip] = fused;
+            }
+        }
+    }
+
+    private static Instruction decodeConst(Instruction instruction, ConstantPoolEntry[] constPool) {
+        int[] operands = instruction.getOperands();
+        switch (instruction.getOpcode()) {
+            case InstructionCodes.ICONST:
+                return new InstructionICONST(InstructionCodes.ICONST_DECODED,
+                        ((IntegerCPEntry) constPool[operands[0]]).getValue(), operands[1], operands);
+            case InstructionCodes.FCONST:
+                return new InstructionFCONST(InstructionCodes.FCONST_DECODED,
+                        ((FloatCPEntry) constPool[operands[0]]).getValue(), operands[1], operands);
+            case InstructionCodes.SCONST:
+                return new InstructionSCONST(InstructionCodes.SCONST_DECODED,
+                        ((StringCPEntry) constPool[operands[0]]).getValue(), operands[1], operands);
+            default:
+                return instruction;
+        }
+    }
+
+    private static Instruction fuse(Instruction first, Instruction second, ConstantPoolEntry[] constPool) {
+        int[] operands = second.getOperands();
+        switch (second.getOpcode()) {
+            case InstructionCodes.MAPLOAD:
+                return fuseFieldLoad(first, operands, constPool);
+            case InstructionCodes.S2ANY:
+                return fuseSConstToAny(first, operands, constPool);
+            case InstructionCodes.IADD:
+                return fuseIConstBinary(InstructionCodes.ICONST_IADD, first, operands);
+            case InstructionCodes.ISUB:
+                return fuseIConstBinary(InstructionCodes.ICONST_ISUB, first, operands);
+            case InstructionCodes.BR_FALSE:
+                return fuseICmpBranch(first, operands);
+            default:
+                return null;
+        }
+    }
+
+    private static Instruction fuseIConstBinary(int opcode, Instruction first, int[] binaryOperands) {
+        long value;
+        int constReg;
+        int firstOpcode = first.getOpcode();
+        if (firstOpcode == InstructionCodes.ICONST_DECODED) {
+            value = ((InstructionICONST) first).value;
+            constReg = ((InstructionICONST) first).retReg;
+        } else if (firstOpcode >= InstructionCodes.ICONST_0 && firstOpcode <= InstructionCodes.ICONST_5) {
+            value = firstOpcode - InstructionCodes.ICONST_0;
+            constReg = first.getOperands()[0];
+        } else {
+            return null;
+        }
+
+        if (binaryOperands[0] != constReg && binaryOperands[1] != constReg) {
+            return null;
+        }
+        return new InstructionIConstBinary(opcode, value, constReg, binaryOperands[0],
+                binaryOperands[1], binaryOperands[2]);
+    }
+
+    private static Instruction fuseFieldLoad(Instruction first, int[] loadOperands, ConstantPoolEntry[] constPool) {
+        if (first.getOpcode() != InstructionCodes.SCONST_DECODED) {
+            return null;
+        }
+        InstructionSCONST sconst = (InstructionSCONST) first;
+        if (sconst.retReg != loadOperands[1]) {
+            return null;
+        }
+        boolean except = ((IntegerCPEntry) constPool[loadOperands[3]]).getValue() == 1;
+        return new InstructionFieldLoad(InstructionCodes.SCONST_MAPLOAD, sconst.value, sconst.retReg,
+                loadOperands[0], loadOperands[2], except, first.getOperands());
+    }
+
+    private static Instruction fuseSConstToAny(Instruction first, int[] convOperands, ConstantPoolEntry[] constPool) {
+        if (first.getOpcode() != InstructionCodes.SCONST_DECODED) {
+            return null;
+        }
+        InstructionSCONST sconst = (InstructionSCONST) first;
+        if (sconst.retReg != convOperands[0]) {
+            return null;
+        }
+        StringCPEntry stringCPEntry = (StringCPEntry) constPool[first.getOperands()[0]];
+        return new InstructionSConstToAny(InstructionCodes.SCONST_S2ANY, sconst.value,
+                stringCPEntry.getBStringValue(), sconst.retReg, convOperands[1], first.getOperands());
+    }
+
+    private static Instruction fuseICmpBranch(Instruction first, int[] branchOperands) {
+        int opcode;
+        switch (first.getOpcode()) {
+            case InstructionCodes.IGT:
+                opcode = InstructionCodes.IGT_BR_FALSE;
+                break;
+            case InstructionCodes.IGE:
+                opcode = InstructionCodes.IGE_BR_FALSE;
+                break;
+            case InstructionCodes.ILT:
+                opcode = InstructionCodes.ILT_BR_FALSE;
+                break;
+            case InstructionCodes.ILE:
+                opcode = InstructionCodes.ILE_BR_FALSE;
+                break;
+            default:
+                return null;
+        }
+
+        int[] cmpOperands = first.getOperands();
+        if (cmpOperands[2] != branchOperands[0]) {
+            return null;
+        }
+        return new InstructionICmpBranch(opcode, cmpOperands[0], cmpOperands[1], cmpOperands[2],
+                branchOperands[1]);
+    }
+}
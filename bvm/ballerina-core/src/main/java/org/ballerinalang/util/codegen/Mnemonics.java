@@ -21,7 +21,7 @@ package org.ballerinalang.util.codegen;
  * @since 0.87
  */
 public class Mnemonics {
-    private static final String[] mnemonics = new String[InstructionCodes.INSTRUCTION_CODE_COUNT];
+    private static final String[] mnemonics = new String[InstructionCodes.DECODED_INSTRUCTION_CODE_COUNT];
 
     static {
         mnemonics[InstructionCodes.ICONST] = "iconst";
@@ -258,6 +258,18 @@ public class Mnemonics {
         mnemonics[InstructionCodes.XML2S] = "xml2s";
         mnemonics[InstructionCodes.LOCK] = "lock";
         mnemonics[InstructionCodes.UNLOCK] = "unlock";
+
+        mnemonics[InstructionCodes.ICONST_DECODED] = "iconst_decoded";
+        mnemonics[InstructionCodes.FCONST_DECODED] = "fconst_decoded";
+        mnemonics[InstructionCodes.SCONST_DECODED] = "sconst_decoded";
+        mnemonics[InstructionCodes.ICONST_IADD] = "iconst_iadd";
+        mnemonics[InstructionCodes.ICONST_ISUB] = "iconst_isub";
+        mnemonics[InstructionCodes.IGT_BR_FALSE] = "igt_br_false";
+        mnemonics[InstructionCodes.IGE_BR_FALSE] = "ige_br_false";
+        mnemonics[InstructionCodes.ILT_BR_FALSE] = "ilt_br_false";
+        mnemonics[InstructionCodes.ILE_BR_FALSE] = "ile_br_false";
+        mnemonics[InstructionCodes.SCONST_MAPLOAD] = "sconst_mapload";
+        mnemonics[InstructionCodes.SCONST_S2ANY] = "sconst_s2any";
     }
 
     public static String getMnem(int opcode) {
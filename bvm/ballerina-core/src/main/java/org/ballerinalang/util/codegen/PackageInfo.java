@@ -26,11 +26,14 @@ import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * {@code PackageInfo} contains metadata of a Ballerina package entry in the program file.
@@ -56,6 +59,10 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
     private Instruction[] instructions;
     private List<Instruction> instructionList = new ArrayList<>();
 
+    // Sorted start addresses of the code of all the workers in this package
+    private int[] workerCodeAddrs;
+    private Set<Integer> workerCodeAddrsSet = new HashSet<>();
+
     private Map<String, PackageVarInfo> constantInfoMap = new LinkedHashMap<>();
 
     private Map<String, PackageVarInfo> globalVarInfoMap = new LinkedHashMap<>();
@@ -203,6 +210,22 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
         return instructionList.size();
     }
 
+    public void addWorkerCodeAddrs(int codeAddrs) {
+        workerCodeAddrsSet.add(codeAddrs);
+    }
+
+    /**
+     * Returns the end address (exclusive) of the worker code starting at the given address.
+     *
+     * @param codeAddrs start address of the worker code
+     * @return the start address of the next worker code, or the instruction count if this is the last one
+     */
+    public int getWorkerCodeEndAddrs(int codeAddrs) {
+        int index = Arrays.binarySearch(workerCodeAddrs, codeAddrs);
+        int next = index >= 0 ? index + 1 : -index - 1;
+        return next < workerCodeAddrs.length ? workerCodeAddrs[next] : instructions.length;
+    }
+
     public LineNumberInfo getLineNumberInfo(LineNumberInfo lineNumberInfo) {
         LineNumberTableAttributeInfo lineNumberTableAttributeInfo = (LineNumberTableAttributeInfo) attributeInfoMap
                 .get(AttributeInfo.Kind.LINE_NUMBER_TABLE_ATTRIBUTE);
@@ -278,6 +301,7 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
     public void complete() {
         this.constPool = constantPoolEntries.toArray(new ConstantPoolEntry[0]);
         this.instructions = instructionList.toArray(new Instruction[0]);
+        this.workerCodeAddrs = workerCodeAddrsSet.stream().mapToInt(Integer::intValue).sorted().toArray();
     }
 
     @Override
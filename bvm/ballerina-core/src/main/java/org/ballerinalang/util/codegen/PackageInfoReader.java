@@ -941,6 +941,7 @@ public class PackageInfoReader {
                 CodeAttributeInfo codeAttributeInfo = new CodeAttributeInfo();
                 codeAttributeInfo.setAttributeNameIndex(attribNameCPIndex);
                 codeAttributeInfo.setCodeAddrs(dataInStream.readInt());
+                packageInfo.addWorkerCodeAddrs(codeAttributeInfo.getCodeAddrs());
 
                 codeAttributeInfo.setMaxLongLocalVars(dataInStream.readUnsignedShort());
                 codeAttributeInfo.setMaxDoubleLocalVars(dataInStream.readShort());
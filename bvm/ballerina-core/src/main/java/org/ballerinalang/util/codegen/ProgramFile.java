@@ -71,6 +71,9 @@ public class ProgramFile implements ConstantPool, AttributeInfoPool {
     private Debugger debugger;
     private boolean distributedTransactionEnabled = false;
 
+    // Number of invocations after which a callable unit is compiled to JVM bytecode, zero if it is disabled
+    private int callableCompileThreshold;
+
     // Cached values.
     // This is the actual path given by the user and this is used primarily for error reporting
     private Path programFilePath;
@@ -246,4 +249,12 @@ public class ProgramFile implements ConstantPool, AttributeInfoPool {
         return debugger;
     }
 
+    public int getCallableCompileThreshold() {
+        return callableCompileThreshold;
+    }
+
+    public void setCallableCompileThreshold(int callableCompileThreshold) {
+        this.callableCompileThreshold = callableCompileThreshold;
+    }
+
 }
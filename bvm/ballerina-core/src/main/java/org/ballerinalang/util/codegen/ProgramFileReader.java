@@ -17,6 +17,7 @@
  */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.bre.bvm.jit.CallableCompiler;
 import org.ballerinalang.util.exceptions.BLangRuntimeException;
 
 import java.io.BufferedInputStream;
@@ -101,6 +102,10 @@ public class ProgramFileReader {
 
         // TODO This needs to be moved out of this class
         programFile.initializeGlobalMemArea();
+        programFile.setCallableCompileThreshold(CallableCompiler.getCompileThreshold());
+        if (InstructionDecoder.isEnabled()) {
+            InstructionDecoder.decode(programFile);
+        }
         return programFile;
     }
 
@@ -17,6 +17,8 @@
 */
 package org.ballerinalang.util.codegen.cpentries;
 
+import org.ballerinalang.model.values.BString;
+
 /**
  * {@code StringCPEntry} represents a Ballerina string value in the constant pool.
  *
@@ -29,15 +31,23 @@ public class StringCPEntry implements ConstantPoolEntry {
 
     private String value;
 
+    // Interned ref value of the string, shared by all the conversions of this constant to a ref value
+    private BString bStringValue;
+
     public StringCPEntry(int stringCPIndex, String value) {
         this.stringCPIndex = stringCPIndex;
         this.value = value;
+        this.bStringValue = BString.valueOf(value);
     }
 
     public String getValue() {
         return value;
     }
 
+    public BString getBStringValue() {
+        return bStringValue;
+    }
+
     public int getStringCPIndex() {
         return stringCPIndex;
     }
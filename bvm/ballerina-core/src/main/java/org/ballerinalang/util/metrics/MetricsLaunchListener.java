@@ -121,6 +121,8 @@ public class MetricsLaunchListener implements LaunchListener {
                 BLangScheduler.SchedulerStats::getWaitingForResponseWorkerCount).register();
         PolledGauge.builder(prefix + "waiting_for_lock_worker_count", schedulerStats,
                 BLangScheduler.SchedulerStats::getWaitingForLockWorkerCount).register();
+        PolledGauge.builder(prefix + "offloaded_blocking_call_count", schedulerStats,
+                BLangScheduler.SchedulerStats::getOffloadedBlockingCallCount).register();
     }
 
     @Override
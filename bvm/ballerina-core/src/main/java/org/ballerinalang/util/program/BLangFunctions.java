@@ -33,6 +33,8 @@ import org.ballerinalang.bre.bvm.SyncCallableWorkerResponseContext;
 import org.ballerinalang.bre.bvm.WorkerData;
 import org.ballerinalang.bre.bvm.WorkerExecutionContext;
 import org.ballerinalang.bre.bvm.WorkerResponseContext;
+import org.ballerinalang.bre.bvm.jit.CallableCompiler;
+import org.ballerinalang.bre.bvm.jit.CompiledCallable;
 import org.ballerinalang.model.NativeCallableUnit;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
@@ -40,6 +42,7 @@ import org.ballerinalang.model.values.BCallableFuture;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.runtime.threadpool.ManagedBlocking;
 import org.ballerinalang.util.FunctionFlags;
 import org.ballerinalang.util.codegen.CallableUnitInfo;
 import org.ballerinalang.util.codegen.CallableUnitInfo.WorkerSet;
@@ -263,6 +266,10 @@ public class BLangFunctions {
             if (FunctionFlags.isAsync(flags)) {
                 invokeNonNativeCallableAsync(callableUnitInfo, parentCtx, argRegs, retRegs, flags);
                 resultCtx = parentCtx;
+            } else if (invokeCompiledCallable(callableUnitInfo, parentCtx, argRegs, retRegs, waitForResponse,
+                    flags)) {
+                /* the compiled body has already written the return values to the parent */
+                resultCtx = parentCtx;
             } else {
                 resultCtx = invokeNonNativeCallable(callableUnitInfo, parentCtx, argRegs, retRegs, waitForResponse,
                         flags);
@@ -281,6 +288,22 @@ public class BLangFunctions {
         }
     }
 
+    private static boolean invokeCompiledCallable(CallableUnitInfo callableUnitInfo,
+                                                  WorkerExecutionContext parentCtx, int[] argRegs, int[] retRegs,
+                                                  boolean waitForResponse, int flags) {
+        if (parentCtx.programFile == null) {
+            return false;
+        }
+        int compileThreshold = parentCtx.programFile.getCallableCompileThreshold();
+        if (compileThreshold <= 0 || waitForResponse || parentCtx.programFile.getDebugger().isDebugEnabled()
+                || (ObservabilityUtils.isObservabilityEnabled() && FunctionFlags.isObserved(flags))) {
+            return false;
+        }
+        CompiledCallable compiledCallable = CallableCompiler.countInvocation(callableUnitInfo, compileThreshold);
+        /* a compiled body which bails out has not changed anything, hence the interpreter runs it from scratch */
+        return compiledCallable != null && compiledCallable.execute(parentCtx.workerLocal, argRegs, retRegs);
+    }
+
     private static WorkerExecutionContext invokeNonNativeCallable(CallableUnitInfo callableUnitInfo,
                                                                   WorkerExecutionContext parentCtx, int[] argRegs,
                                                                   int[] retRegs, boolean waitForResponse, int flags) {
@@ -378,17 +401,24 @@ public class BLangFunctions {
         BType[] retTypes = callableUnitInfo.getRetParamTypes();
         WorkerData caleeSF = BLangVMUtils.createWorkerDataForLocal(callableUnitInfo.getDefaultWorkerInfo(), parentCtx,
                 argRegs, callableUnitInfo.getParamTypes());
-        Context ctx = new NativeCallContext(parentCtx, callableUnitInfo, caleeSF);
+        NativeCallContext ctx = new NativeCallContext(parentCtx, callableUnitInfo, caleeSF);
         NativeCallableUnit nativeCallable = callableUnitInfo.getNativeCallableUnit();        
         if (nativeCallable == null) {
             return parentCtx;
         }
         try {
             ObserverContext observerContext = checkAndStartNativeCallableObservation(ctx, callableUnitInfo, flags);
-            if (nativeCallable.isBlocking()) {
-                nativeCallable.execute(ctx, null);
+            if (nativeCallable.isBlocking() && BLangScheduler.isBlockingOffloadEnabled()) {
+                CallableUnitCallback callback = getNativeCallableUnitCallback(parentCtx, ctx, observerContext,
+                        retRegs, retTypes, flags);
+                BLangScheduler.executeBlockingNativeOffloaded(nativeCallable, ctx, callback);
+                /* the parent waits for the response, and gets resumed once the blocking call completes */
+                return null;
+            } else if (nativeCallable.isBlocking()) {
+                ManagedBlocking.run(() -> nativeCallable.execute(ctx, null));
                 BLangVMUtils.populateWorkerDataWithValues(parentLocalData, retRegs, ctx.getReturnValues(), retTypes);
                 checkAndStopCallableObservation(observerContext, flags);
+                ctx.releaseLocalWorkerData();
                 /* we want the parent to continue, since we got the response of the native call already */
                 return parentCtx;
             } else {
@@ -626,7 +656,7 @@ public class BLangFunctions {
         
         public void waitForResponse() {
             try {
-                this.check.acquire();
+                ManagedBlocking.acquire(this.check);
             } catch (InterruptedException ignore) { /* ignore */ }
         }
         
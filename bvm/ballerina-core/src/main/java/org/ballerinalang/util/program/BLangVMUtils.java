@@ -20,6 +20,7 @@ package org.ballerinalang.util.program;
 import org.ballerinalang.bre.bvm.CPU;
 import org.ballerinalang.bre.bvm.CPU.HandleErrorException;
 import org.ballerinalang.bre.bvm.WorkerData;
+import org.ballerinalang.bre.bvm.WorkerDataPool;
 import org.ballerinalang.bre.bvm.WorkerExecutionContext;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.TypeTags;
@@ -126,7 +127,7 @@ public class BLangVMUtils {
     }
 
     private static WorkerData createWorkerData(WorkerInfo workerInfo) {
-        return new WorkerData(workerInfo.getCodeAttributeInfo());
+        return WorkerDataPool.acquire(workerInfo.getCodeAttributeInfo());
     }
 
     @SuppressWarnings("rawtypes")
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.util.timer;
+
+/**
+ * Listener which is notified by a {@link TimerWheel} when the deadlines scheduled for it expire.
+ *
+ * @since 0.981.1
+ */
+public interface ExpiryListener {
+
+    /**
+     * Called once per advance of the timer wheel for all the deadlines of this listener which expired in it.
+     *
+     * @param expiryTime the latest of the expired deadlines, rounded up to a tick of the wheel
+     */
+    void onExpiry(long expiryTime);
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.util.timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hierarchical timer wheel which tracks the expiry deadlines of windows and caches.
+ * <p>
+ * The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots each. A deadline is kept in the lowest level whose
+ * span covers it and moves down a level each time the wheel turns over the slot holding it, so scheduling and
+ * expiring a deadline take constant time regardless of the number of pending deadlines. Pending deadlines are held
+ * in primitive arrays linked by index, without an object per deadline.
+ * <p>
+ * Expiry callbacks are batched: each time the wheel advances, a listener is notified once with the latest of its
+ * expired deadlines.
+ *
+ * @since 0.981.1
+ */
+public class TimerWheel {
+
+    private static final Logger log = LoggerFactory.getLogger(TimerWheel.class);
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NONE = -1;
+
+    private static final long DEFAULT_TICK_DURATION = 10;
+
+    private static final TimerWheel INSTANCE = new TimerWheel(DEFAULT_TICK_DURATION, System.currentTimeMillis(),
+            true);
+
+    private final long tickDuration;
+    private final boolean selfDriven;
+
+    private final int[] slots = new int[LEVELS * SLOTS];
+    private long[] deadlines = new long[INITIAL_CAPACITY];
+    private ExpiryListener[] listeners = new ExpiryListener[INITIAL_CAPACITY];
+    private int[] next = new int[INITIAL_CAPACITY];
+    private int allocated;
+    private int free = NONE;
+    private int pending;
+
+    // the next tick to be processed
+    private long currentTick;
+
+    private final Map<ExpiryListener, Long> expired = new IdentityHashMap<>();
+
+    private ScheduledExecutorService driver;
+    private ScheduledFuture<?> driverFuture;
+
+    /**
+     * Creates a timer wheel which is advanced by its owner through {@link #advance(long)}.
+     *
+     * @param tickDuration the duration of a tick in milliseconds
+     * @param startTime    the time in milliseconds the wheel starts at
+     */
+    public TimerWheel(long tickDuration, long startTime) {
+        this(tickDuration, startTime, false);
+    }
+
+    private TimerWheel(long tickDuration, long startTime, boolean selfDriven) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration of the timer wheel should be positive, but found "
+                    + tickDuration);
+        }
+        this.tickDuration = tickDuration;
+        this.selfDriven = selfDriven;
+        this.currentTick = Math.floorDiv(startTime, tickDuration);
+        Arrays.fill(slots, NONE);
+    }
+
+    /**
+     * Returns the timer wheel shared by the windows and caches of the runtime. It advances itself with the system time
+     * on a daemon thread while it has pending deadlines, so its listeners should hand long running work off to their
+     * own executors.
+     *
+     * @return the shared timer wheel
+     */
+    public static TimerWheel getInstance() {
+        return INSTANCE;
+    }
+
+    public long getTickDuration() {
+        return tickDuration;
+    }
+
+    /**
+     * Returns the time at which a deadline expires, which is the deadline rounded up to a tick of the wheel. Deadlines
+     * with the same expiry time are notified together.
+     *
+     * @param deadline the deadline in milliseconds
+     * @return the expiry time of the deadline
+     */
+    public long expiryTimeOf(long deadline) {
+        return toTick(deadline) * tickDuration;
+    }
+
+    /**
+     * Schedules a deadline for the given listener. A deadline which has already passed expires on the next advance.
+     *
+     * @param deadline the deadline in milliseconds
+     * @param listener the listener to notify when the deadline expires
+     */
+    public synchronized void schedule(long deadline, ExpiryListener listener) {
+        if (pending == 0 && selfDriven) {
+            currentTick = Math.floorDiv(System.currentTimeMillis(), tickDuration);
+        }
+        int entry = allocate();
+        deadlines[entry] = toTick(deadline);
+        listeners[entry] = listener;
+        insert(entry);
+        pending++;
+        if (selfDriven && driverFuture == null) {
+            startDriver();
+        }
+    }
+
+    /**
+     * Removes all the pending deadlines of the given listener.
+     *
+     * @param listener the listener
+     */
+    public synchronized void cancel(ExpiryListener listener) {
+        for (int slot = 0; slot < slots.length; slot++) {
+            int previous = NONE;
+            int entry = slots[slot];
+            while (entry != NONE) {
+                int following = next[entry];
+                if (listeners[entry] == listener) {
+                    if (previous == NONE) {
+                        slots[slot] = following;
+                    } else {
+                        next[previous] = following;
+                    }
+                    release(entry);
+                    pending--;
+                } else {
+                    previous = entry;
+                }
+                entry = following;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return pending;
+    }
+
+    /**
+     * Advances the wheel up to the given time and notifies the listeners of the expired deadlines. Listeners are
+     * notified outside the lock of the wheel, so they may schedule new deadlines.
+     *
+     * @param now the current time in milliseconds
+     */
+    public void advance(long now) {
+        ExpiryListener[] expiredListeners;
+        long[] expiryTimes;
+        synchronized (this) {
+            long nowTick = Math.floorDiv(now, tickDuration);
+            if (pending == 0) {
+                currentTick = Math.max(currentTick, nowTick + 1);
+                stopDriver();
+                return;
+            }
+            while (currentTick <= nowTick) {
+                processTick(currentTick);
+                currentTick++;
+            }
+            if (pending == 0) {
+                stopDriver();
+            }
+            if (expired.isEmpty()) {
+                return;
+            }
+            expiredListeners = new ExpiryListener[expired.size()];
+            expiryTimes = new long[expired.size()];
+            int i = 0;
+            for (Map.Entry<ExpiryListener, Long> entry : expired.entrySet()) {
+                expiredListeners[i] = entry.getKey();
+                expiryTimes[i] = entry.getValue() * tickDuration;
+                i++;
+            }
+            expired.clear();
+        }
+        for (int i = 0; i < expiredListeners.length; i++) {
+            try {
+                expiredListeners[i].onExpiry(expiryTimes[i]);
+            } catch (RuntimeException e) {
+                log.error("Error when notifying the expiry of " + expiryTimes[i] + " at the timer wheel", e);
+            }
+        }
+    }
+
+    private void processTick(long tick) {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((tick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                break;
+            }
+            cascade(level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK));
+        }
+        int slot = (int) (tick & SLOT_MASK);
+        int entry = slots[slot];
+        slots[slot] = NONE;
+        while (entry != NONE) {
+            int following = next[entry];
+            if (deadlines[entry] <= tick) {
+                Long expiryTick = expired.get(listeners[entry]);
+                if (expiryTick == null || expiryTick < deadlines[entry]) {
+                    expired.put(listeners[entry], deadlines[entry]);
+                }
+                release(entry);
+                pending--;
+            } else {
+                insert(entry);
+            }
+            entry = following;
+        }
+    }
+
+    private void cascade(int slot) {
+        int entry = slots[slot];
+        slots[slot] = NONE;
+        while (entry != NONE) {
+            int following = next[entry];
+            insert(entry);
+            entry = following;
+        }
+    }
+
+    private void insert(int entry) {
+        long deadline = Math.max(deadlines[entry], currentTick);
+        long delta = deadline - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = level * SLOTS + (int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+        next[entry] = slots[slot];
+        slots[slot] = entry;
+    }
+
+    private int allocate() {
+        if (free != NONE) {
+            int entry = free;
+            free = next[entry];
+            return entry;
+        }
+        if (allocated == deadlines.length) {
+            int capacity = deadlines.length << 1;
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            listeners = Arrays.copyOf(listeners, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return allocated++;
+    }
+
+    private void release(int entry) {
+        listeners[entry] = null;
+        next[entry] = free;
+        free = entry;
+    }
+
+    private long toTick(long time) {
+        return Math.floorDiv(time + tickDuration - 1, tickDuration);
+    }
+
+    private void startDriver() {
+        if (driver == null) {
+            driver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ballerina-timer-wheel");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        driverFuture = driver.scheduleAtFixedRate(() -> advance(System.currentTimeMillis()), tickDuration,
+                tickDuration, TimeUnit.MILLISECONDS);
+    }
+
+    private void stopDriver() {
+        if (driverFuture != null) {
+            driverFuture.cancel(false);
+            driverFuture = null;
+        }
+    }
+}
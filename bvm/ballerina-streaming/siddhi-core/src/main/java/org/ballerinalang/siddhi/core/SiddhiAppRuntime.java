@@ -531,12 +531,13 @@ public class SiddhiAppRuntime {
         try {
             // first, pause all the event sources
             sourceMap.values().forEach(list -> list.forEach(Source::pause));
-            // take snapshots of execution units
-            byte[] snapshots = siddhiAppContext.getSnapshotService().snapshot();
+            // take snapshots of the execution units which changed since the last persisted revision
+            String revision = AsyncSnapshotPersistor.createRevision(siddhiAppContext.getName());
+            byte[] snapshots = siddhiAppContext.getSnapshotService().incrementalSnapshot(revision);
             // start the snapshot persisting task asynchronously
             AsyncSnapshotPersistor asyncSnapshotPersistor = new AsyncSnapshotPersistor(snapshots,
-                    siddhiAppContext.getSiddhiContext().getPersistenceStore(), siddhiAppContext.getName());
-            String revision = asyncSnapshotPersistor.getRevision();
+                    siddhiAppContext.getSiddhiContext().getPersistenceStore(), siddhiAppContext.getName(), revision,
+                    siddhiAppContext.getSnapshotService());
             Future future = siddhiAppContext.getExecutorService().submit(asyncSnapshotPersistor);
             return new PersistenceReference(future, revision);
         } finally {
@@ -27,6 +27,7 @@ import org.ballerinalang.siddhi.core.util.SiddhiAppRuntimeBuilder;
 import org.ballerinalang.siddhi.core.util.config.ConfigManager;
 import org.ballerinalang.siddhi.core.util.parser.SiddhiAppParser;
 import org.ballerinalang.siddhi.core.util.persistence.PersistenceStore;
+import org.ballerinalang.siddhi.core.util.timer.TimerService;
 import org.ballerinalang.siddhi.query.api.SiddhiApp;
 import org.ballerinalang.siddhi.query.compiler.SiddhiCompiler;
 import org.slf4j.Logger;
@@ -137,6 +138,15 @@ public class SiddhiManager {
         this.siddhiContext.setRecordTableHandlerManager(recordTableHandlerManager);
     }
 
+    /**
+     * Method to set timer service that would track the times to notify for the schedulers of each Siddhi app.
+     *
+     * @param timerService Timer Service Implementation to be used.
+     */
+    public void setTimerService(TimerService timerService) {
+        this.siddhiContext.setTimerService(timerService);
+    }
+
     /**
      * Method to set configManager for the Siddhi Manager instance.
      *
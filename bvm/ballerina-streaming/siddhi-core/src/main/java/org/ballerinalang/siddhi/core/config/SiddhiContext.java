@@ -27,6 +27,7 @@ import org.ballerinalang.siddhi.core.util.config.ConfigManager;
 import org.ballerinalang.siddhi.core.util.config.InMemoryConfigManager;
 import org.ballerinalang.siddhi.core.util.extension.holder.AbstractExtensionHolder;
 import org.ballerinalang.siddhi.core.util.persistence.PersistenceStore;
+import org.ballerinalang.siddhi.core.util.timer.TimerService;
 import org.ballerinalang.siddhi.core.util.statistics.metrics.SiddhiMetricsFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,6 +54,7 @@ public class SiddhiContext {
     private SinkHandlerManager sinkHandlerManager = null;
     private SourceHandlerManager sourceHandlerManager = null;
     private RecordTableHandlerManager recordTableHandlerManager = null;
+    private TimerService timerService = null;
 
     public SiddhiContext() {
         SiddhiExtensionLoader.loadSiddhiExtensions(siddhiExtensions);
@@ -149,4 +151,12 @@ public class SiddhiContext {
     public void setRecordTableHandlerManager(RecordTableHandlerManager recordTableHandlerManager) {
         this.recordTableHandlerManager = recordTableHandlerManager;
     }
+
+    public TimerService getTimerService() {
+        return timerService;
+    }
+
+    public void setTimerService(TimerService timerService) {
+        this.timerService = timerService;
+    }
 }
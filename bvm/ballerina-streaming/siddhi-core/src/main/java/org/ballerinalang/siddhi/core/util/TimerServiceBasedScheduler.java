@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.util;
+
+import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
+import org.ballerinalang.siddhi.core.query.input.stream.single.EntryValveProcessor;
+import org.ballerinalang.siddhi.core.util.timer.TimerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Scheduler based on System time, which tracks the times to notify with the {@link TimerService} of the Siddhi
+ * manager. The timer events are sent on the scheduled executor of the Siddhi app.
+ */
+public class TimerServiceBasedScheduler extends Scheduler {
+    private static final Logger log = LoggerFactory.getLogger(TimerServiceBasedScheduler.class);
+    private final TimerService timerService;
+    private final TimerService.Timer timer;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private EventCaller eventCaller;
+    private volatile long lastExpiryTime = -1;
+    private ScheduledExecutorService scheduledExecutorService;
+
+    public TimerServiceBasedScheduler(TimerService timerService, ScheduledExecutorService scheduledExecutorService,
+                                      Schedulable singleThreadEntryValve, SiddhiAppContext siddhiAppContext) {
+        super(singleThreadEntryValve, siddhiAppContext);
+        this.timerService = timerService;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.eventCaller = new EventCaller();
+        this.timer = timerService.createTimer(this::onExpiry);
+    }
+
+    @Override
+    public void schedule(long time) {
+        long expiryTime = timer.expiryTimeOf(time);
+        // A time which expires with an already scheduled one is covered by it, unless that one has already expired
+        if (expiryTime == lastExpiryTime && expiryTime > System.currentTimeMillis()) {
+            return;
+        }
+        lastExpiryTime = expiryTime;
+        timer.schedule(time);
+    }
+
+    private void onExpiry() {
+        if (!running.getAndSet(true)) {
+            try {
+                scheduledExecutorService.execute(eventCaller);
+            } catch (RejectedExecutionException e) {
+                // The Siddhi app has been shut down
+                running.set(false);
+                timer.cancel();
+            }
+        }
+    }
+
+    @Override
+    public Scheduler clone(String key, EntryValveProcessor entryValveProcessor) {
+        Scheduler scheduler = new TimerServiceBasedScheduler(timerService, scheduledExecutorService,
+                entryValveProcessor, siddhiAppContext);
+        scheduler.elementId = elementId + "-" + key;
+        return scheduler;
+    }
+
+    private boolean hasDueTimerEvents() {
+        Long toNotifyTime = toNotifyQueue.peek();
+        return toNotifyTime != null && toNotifyTime - siddhiAppContext.getTimestampGenerator().currentTime() <= 0;
+    }
+
+    private class EventCaller implements Runnable {
+        /**
+         * Sends the due timer events. Expiries notified while the events are being sent do not start another
+         * caller, so the caller checks for due events again before it finishes.
+         */
+        @Override
+        public void run() {
+            try {
+                do {
+                    sendTimerEvents();
+                    running.set(false);
+                } while (hasDueTimerEvents() && !running.getAndSet(true));
+            } catch (Throwable t) {
+                running.set(false);
+                log.error("Error when sending timer events at Timer Service Based Scheduler", t);
+            }
+        }
+
+    }
+}
@@ -23,13 +23,16 @@ import org.ballerinalang.siddhi.core.util.EventTimeBasedScheduler;
 import org.ballerinalang.siddhi.core.util.Schedulable;
 import org.ballerinalang.siddhi.core.util.Scheduler;
 import org.ballerinalang.siddhi.core.util.SystemTimeBasedScheduler;
+import org.ballerinalang.siddhi.core.util.TimerServiceBasedScheduler;
+import org.ballerinalang.siddhi.core.util.timer.TimerService;
 
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * This parser generates the scheduler based on the playback configuration. If playback is enabled, an
  * {@link EventTimeBasedScheduler} object will be returned. If the playback is disabled (default behaviour),
- * {@link SystemTimeBasedScheduler} object will be returned.
+ * {@link SystemTimeBasedScheduler} object will be returned, or a {@link TimerServiceBasedScheduler} object if a
+ * {@link TimerService} has been set on the Siddhi manager.
  */
 public class SchedulerParser {
 
@@ -50,6 +53,10 @@ public class SchedulerParser {
         if (siddhiAppContext.isPlayback()) {
             // Playback mode is enabled
             scheduler = new EventTimeBasedScheduler(singleThreadEntryValve, siddhiAppContext);
+        } else if (siddhiAppContext.getSiddhiContext().getTimerService() != null) {
+            // Timers are shared with the embedding runtime
+            scheduler = new TimerServiceBasedScheduler(siddhiAppContext.getSiddhiContext().getTimerService(),
+                    siddhiAppContext.getScheduledExecutorService(), singleThreadEntryValve, siddhiAppContext);
         } else {
             // Default execution
             scheduler = new SystemTimeBasedScheduler(siddhiAppContext.getScheduledExecutorService(),
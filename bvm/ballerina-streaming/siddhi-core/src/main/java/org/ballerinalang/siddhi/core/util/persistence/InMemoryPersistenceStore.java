@@ -18,81 +18,84 @@
 package org.ballerinalang.siddhi.core.util.persistence;
 
 
+import org.ballerinalang.siddhi.core.util.snapshot.SnapshotFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Implementation of {@link PersistenceStore} which will store the state in-memory.
+ * Implementation of {@link PersistenceStore} which will store the state in-memory. Only the latest revisions up to
+ * the 'revisionsToKeep' property are kept, together with the revisions their incremental snapshots are based on.
  */
 public class InMemoryPersistenceStore implements PersistenceStore {
 
     private static final Logger log = LoggerFactory.getLogger(InMemoryPersistenceStore.class);
 
-    Map<String, Map<String, byte[]>> persistenceMap = new HashMap<String, Map<String, byte[]>>();
-    Map<String, List<String>> revisionMap = new HashMap<String, List<String>>();
+    // revisions of each siddhi app in the order they were saved
+    private final Map<String, LinkedHashMap<String, byte[]>> persistenceMap = new HashMap<>();
+    private int revisionsToKeep;
 
+    public InMemoryPersistenceStore() {
+        this(RevisionRetention.DEFAULT_REVISIONS_TO_KEEP);
+    }
 
-    @Override
-    public void save(String siddhiAppId, String revision, byte[] data) {
-        Map<String, byte[]> executionPersistenceMap = persistenceMap.get(siddhiAppId);
-        if (executionPersistenceMap == null) {
-            executionPersistenceMap = new HashMap<String, byte[]>();
-        }
-
-        executionPersistenceMap.put(revision, data);
-
+    public InMemoryPersistenceStore(int revisionsToKeep) {
+        this.revisionsToKeep = revisionsToKeep;
+    }
 
-        List<String> revisionList = revisionMap.get(siddhiAppId);
-        if (revisionList == null) {
-            revisionList = new ArrayList<String>();
-            revisionMap.put(siddhiAppId, revisionList);
+    @Override
+    public synchronized void save(String siddhiAppId, String revision, byte[] data) {
+        LinkedHashMap<String, byte[]> revisions = persistenceMap.computeIfAbsent(siddhiAppId,
+                k -> new LinkedHashMap<>());
+        revisions.put(revision, data);
+
+        List<Boolean> incrementalFlags = new ArrayList<>(revisions.size());
+        for (byte[] snapshot : revisions.values()) {
+            incrementalFlags.add(SnapshotFormat.isIncremental(snapshot));
         }
-        if (revisionList.size() == 0 || (revisionList.size() > 0 && !revision.equals(revisionList.get(
-                revisionList.size() - 1)))) {
-            revisionList.add(revision);
-            revisionMap.put(siddhiAppId, revisionList);
+        int removableCount = RevisionRetention.getRemovableCount(incrementalFlags, revisionsToKeep);
+        Iterator<String> iterator = revisions.keySet().iterator();
+        for (int i = 0; i < removableCount; i++) {
+            iterator.next();
+            iterator.remove();
         }
-        persistenceMap.put(siddhiAppId, executionPersistenceMap);
-
-
     }
 
     @Override
-    public byte[] load(String siddhiAppId, String revision) {
-
-
-        Map<String, byte[]> executionPersistenceMap = persistenceMap.get(siddhiAppId);
-        if (executionPersistenceMap == null) {
+    public synchronized byte[] load(String siddhiAppId, String revision) {
+        Map<String, byte[]> revisions = persistenceMap.get(siddhiAppId);
+        if (revisions == null) {
             log.warn("Data not found for the siddhi app " + siddhiAppId);
             return null;
         }
-        return executionPersistenceMap.get(revision);
+        return revisions.get(revision);
     }
 
     @Override
-    public String getLastRevision(String siddhiAppIdentifier) {
-        List<String> revisionList = revisionMap.get(siddhiAppIdentifier);
-        if (revisionList == null) {
+    public synchronized String getLastRevision(String siddhiAppIdentifier) {
+        LinkedHashMap<String, byte[]> revisions = persistenceMap.get(siddhiAppIdentifier);
+        if (revisions == null) {
             return null;
         }
-        if (revisionList.size() > 0) {
-            return revisionList.get(revisionList.size() - 1);
+        String lastRevision = null;
+        for (String revision : revisions.keySet()) {
+            lastRevision = revision;
         }
-        return null;
+        return lastRevision;
     }
 
     @Override
-    public void setProperties(Map properties) {
-        //no properties to add
+    public synchronized void setProperties(Map properties) {
+        revisionsToKeep = RevisionRetention.getRevisionsToKeep(properties, revisionsToKeep);
     }
 
-    public void shutdown() {
+    public synchronized void shutdown() {
         persistenceMap.clear();
-        revisionMap.clear();
     }
 }
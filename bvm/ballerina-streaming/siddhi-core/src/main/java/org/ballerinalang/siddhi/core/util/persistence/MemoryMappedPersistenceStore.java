@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.siddhi.core.util.persistence;
+
+import org.ballerinalang.siddhi.core.exception.SiddhiAppRuntimeException;
+import org.ballerinalang.siddhi.core.util.snapshot.SnapshotFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of {@link PersistenceStore} which stores the revisions of each siddhi app in memory-mapped segment
+ * files under a directory of the app.
+ * <p>
+ * Revisions are appended to the latest segment of the app as records holding the length and the name of the
+ * revision followed by the length and the content of the snapshot. A new segment is started when a revision does not
+ * fit in the latest one, and a segment is deleted once none of its revisions are retained. The revisions are found
+ * again by scanning the segments when the app is first accessed.
+ * <p>
+ * Supported properties are 'location' (the base directory), 'segmentSize' (the size of a segment in bytes) and
+ * 'revisionsToKeep'.
+ */
+public class MemoryMappedPersistenceStore implements PersistenceStore {
+
+    private static final Logger log = LoggerFactory.getLogger(MemoryMappedPersistenceStore.class);
+
+    private static final String LOCATION = "location";
+    private static final String SEGMENT_SIZE = "segmentSize";
+    private static final String DEFAULT_LOCATION = "siddhi-app-persistence";
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final Pattern SEGMENT_FILE_NAME = Pattern.compile("segment-(\\d+)\\.dat");
+
+    private final Map<String, AppStore> appStores = new HashMap<>();
+    private File baseDirectory;
+    private int segmentSize;
+    private int revisionsToKeep;
+
+    public MemoryMappedPersistenceStore() {
+        this(DEFAULT_LOCATION);
+    }
+
+    public MemoryMappedPersistenceStore(String location) {
+        this(location, DEFAULT_SEGMENT_SIZE, RevisionRetention.DEFAULT_REVISIONS_TO_KEEP);
+    }
+
+    public MemoryMappedPersistenceStore(String location, int segmentSize, int revisionsToKeep) {
+        this.baseDirectory = new File(location);
+        this.segmentSize = segmentSize;
+        this.revisionsToKeep = revisionsToKeep;
+    }
+
+    @Override
+    public synchronized void save(String siddhiAppId, String revision, byte[] snapshot) {
+        try {
+            getAppStore(siddhiAppId).save(revision, snapshot);
+        } catch (IOException e) {
+            throw new SiddhiAppRuntimeException("Error when persisting revision " + revision + " of siddhi app "
+                    + siddhiAppId + " to " + baseDirectory, e);
+        }
+    }
+
+    @Override
+    public synchronized void setProperties(Map properties) {
+        if (properties == null) {
+            return;
+        }
+        if (!appStores.isEmpty()) {
+            log.warn("Properties of the persistence store are set after it has been used, and will only apply to "
+                    + "the siddhi apps accessed afterwards");
+        }
+        Object location = properties.get(LOCATION);
+        if (location != null) {
+            baseDirectory = new File(location.toString());
+        }
+        Object size = properties.get(SEGMENT_SIZE);
+        if (size != null) {
+            segmentSize = Integer.parseInt(size.toString().trim());
+        }
+        revisionsToKeep = RevisionRetention.getRevisionsToKeep(properties, revisionsToKeep);
+    }
+
+    @Override
+    public synchronized byte[] load(String siddhiAppId, String revision) {
+        try {
+            byte[] snapshot = getAppStore(siddhiAppId).load(revision);
+            if (snapshot == null) {
+                log.warn("Revision " + revision + " not found for the siddhi app " + siddhiAppId);
+            }
+            return snapshot;
+        } catch (IOException e) {
+            throw new SiddhiAppRuntimeException("Error when loading revision " + revision + " of siddhi app "
+                    + siddhiAppId + " from " + baseDirectory, e);
+        }
+    }
+
+    @Override
+    public synchronized String getLastRevision(String siddhiAppId) {
+        try {
+            return getAppStore(siddhiAppId).getLastRevision();
+        } catch (IOException e) {
+            throw new SiddhiAppRuntimeException("Error when reading revisions of siddhi app " + siddhiAppId
+                    + " from " + baseDirectory, e);
+        }
+    }
+
+    /**
+     * Closes the segment files of all the siddhi apps.
+     */
+    public synchronized void shutdown() {
+        for (AppStore appStore : appStores.values()) {
+            appStore.close();
+        }
+        appStores.clear();
+    }
+
+    private AppStore getAppStore(String siddhiAppId) throws IOException {
+        AppStore appStore = appStores.get(siddhiAppId);
+        if (appStore == null) {
+            appStore = new AppStore(new File(baseDirectory, siddhiAppId), segmentSize, revisionsToKeep);
+            appStores.put(siddhiAppId, appStore);
+        }
+        return appStore;
+    }
+
+    /**
+     * Segments and revisions of a siddhi app.
+     */
+    private static class AppStore {
+
+        private final File directory;
+        private final int segmentSize;
+        private final int revisionsToKeep;
+        private final List<Segment> segments = new ArrayList<>();
+        private final LinkedHashMap<String, Record> records = new LinkedHashMap<>();
+
+        AppStore(File directory, int segmentSize, int revisionsToKeep) throws IOException {
+            this.directory = directory;
+            this.segmentSize = segmentSize;
+            this.revisionsToKeep = revisionsToKeep;
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Cannot create directory " + directory);
+            }
+            recover();
+        }
+
+        void save(String revision, byte[] snapshot) throws IOException {
+            byte[] revisionBytes = revision.getBytes(StandardCharsets.UTF_8);
+            int recordLength = 8 + revisionBytes.length + snapshot.length;
+            Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            // a record is terminated by the length of the next one, which stays zero until it is written
+            if (segment == null || segment.remaining() < recordLength + 4) {
+                int id = segment == null ? 0 : segment.id + 1;
+                segment = Segment.create(new File(directory, "segment-" + id + ".dat"), id,
+                        Math.max(segmentSize, recordLength + 4));
+                segments.add(segment);
+            }
+            int dataOffset = segment.append(revisionBytes, snapshot);
+            Record previous = records.remove(revision);
+            if (previous != null) {
+                previous.segment.liveRecords--;
+            }
+            records.put(revision, new Record(segment, dataOffset, snapshot.length,
+                    SnapshotFormat.isIncremental(snapshot)));
+            segment.liveRecords++;
+            applyRetention();
+        }
+
+        byte[] load(String revision) {
+            Record record = records.get(revision);
+            return record == null ? null : record.segment.read(record.offset, record.length);
+        }
+
+        String getLastRevision() {
+            String lastRevision = null;
+            for (String revision : records.keySet()) {
+                lastRevision = revision;
+            }
+            return lastRevision;
+        }
+
+        void close() {
+            for (Segment segment : segments) {
+                segment.close();
+            }
+            segments.clear();
+            records.clear();
+        }
+
+        private void applyRetention() {
+            List<Boolean> incrementalFlags = new ArrayList<>(records.size());
+            for (Record record : records.values()) {
+                incrementalFlags.add(record.incremental);
+            }
+            int removableCount = RevisionRetention.getRemovableCount(incrementalFlags, revisionsToKeep);
+            Iterator<Record> iterator = records.values().iterator();
+            for (int i = 0; i < removableCount; i++) {
+                iterator.next().segment.liveRecords--;
+                iterator.remove();
+            }
+            // the latest segment is kept for the revisions to come
+            for (int i = segments.size() - 2; i >= 0; i--) {
+                Segment segment = segments.get(i);
+                if (segment.liveRecords == 0) {
+                    segments.remove(i);
+                    segment.delete();
+                }
+            }
+        }
+
+        private void recover() throws IOException {
+            File[] files = directory.listFiles();
+            if (files == null) {
+                return;
+            }
+            List<Segment> recovered = new ArrayList<>();
+            for (File file : files) {
+                Matcher matcher = SEGMENT_FILE_NAME.matcher(file.getName());
+                if (matcher.matches()) {
+                    recovered.add(Segment.open(file, Integer.parseInt(matcher.group(1))));
+                }
+            }
+            recovered.sort((a, b) -> Integer.compare(a.id, b.id));
+            for (Segment segment : recovered) {
+                segments.add(segment);
+                segment.scan(records);
+            }
+            applyRetention();
+        }
+    }
+
+    /**
+     * Location of a revision in a segment.
+     */
+    private static class Record {
+
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+        private final boolean incremental;
+
+        Record(Segment segment, int offset, int length, boolean incremental) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.incremental = incremental;
+        }
+    }
+
+    /**
+     * A memory-mapped segment file.
+     */
+    private static class Segment {
+
+        private final File file;
+        private final int id;
+        private final RandomAccessFile randomAccessFile;
+        private final MappedByteBuffer buffer;
+        private int position;
+        private int liveRecords;
+
+        private Segment(File file, int id, int size) throws IOException {
+            this.file = file;
+            this.id = id;
+            this.randomAccessFile = new RandomAccessFile(file, "rw");
+            this.buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        static Segment create(File file, int id, int size) throws IOException {
+            return new Segment(file, id, size);
+        }
+
+        static Segment open(File file, int id) throws IOException {
+            return new Segment(file, id, (int) file.length());
+        }
+
+        int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        int append(byte[] revision, byte[] snapshot) {
+            int start = position;
+            ByteBuffer view = buffer.duplicate();
+            view.position(start + 4);
+            view.put(revision);
+            view.putInt(snapshot.length);
+            int dataOffset = view.position();
+            view.put(snapshot);
+            if (view.remaining() >= 4) {
+                // clears what a partly written record may have left, as the terminator of this record
+                view.putInt(view.position(), 0);
+            }
+            // the length of the revision is written last, so that a partly written record is not recovered
+            buffer.putInt(start, revision.length);
+            buffer.force();
+            position = view.position();
+            return dataOffset;
+        }
+
+        byte[] read(int offset, int length) {
+            byte[] snapshot = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset);
+            view.get(snapshot);
+            return snapshot;
+        }
+
+        void scan(Map<String, Record> records) {
+            ByteBuffer view = buffer.duplicate();
+            while (view.remaining() >= 4) {
+                int start = view.position();
+                int revisionLength = view.getInt();
+                if (revisionLength <= 0 || revisionLength + 4 > view.remaining()) {
+                    view.position(start);
+                    break;
+                }
+                byte[] revision = new byte[revisionLength];
+                view.get(revision);
+                int length = view.getInt();
+                if (length < 0 || length > view.remaining()) {
+                    view.position(start);
+                    break;
+                }
+                int offset = view.position();
+                byte[] header = new byte[Math.min(length, SnapshotFormat.HEADER_LENGTH)];
+                view.get(header);
+                view.position(offset + length);
+                Record previous = records.remove(new String(revision, StandardCharsets.UTF_8));
+                if (previous != null) {
+                    previous.segment.liveRecords--;
+                }
+                records.put(new String(revision, StandardCharsets.UTF_8), new Record(this, offset, length,
+                        SnapshotFormat.isIncremental(header)));
+                liveRecords++;
+            }
+            position = view.position();
+        }
+
+        void close() {
+            try {
+                randomAccessFile.close();
+            } catch (IOException e) {
+                log.warn("Error when closing persistence segment " + file, e);
+            }
+        }
+
+        void delete() {
+            close();
+            if (!file.delete()) {
+                log.warn("Cannot delete persistence segment " + file + " which has no retained revisions");
+            }
+        }
+    }
+}
@@ -20,6 +20,7 @@ package org.ballerinalang.siddhi.core.util.persistence;
 import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
 import org.ballerinalang.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import org.ballerinalang.siddhi.core.exception.NoPersistenceStoreException;
+import org.ballerinalang.siddhi.core.util.snapshot.AsyncSnapshotPersistor;
 import org.ballerinalang.siddhi.core.util.snapshot.SnapshotService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,9 +49,10 @@ public class PersistenceService {
             if (log.isDebugEnabled()) {
                 log.debug("Persisting...");
             }
-            byte[] snapshot = snapshotService.snapshot();
-            String revision = System.currentTimeMillis() + "_" + siddhiAppName;
+            String revision = AsyncSnapshotPersistor.createRevision(siddhiAppName);
+            byte[] snapshot = snapshotService.incrementalSnapshot(revision);
             persistenceStore.save(siddhiAppName, revision, snapshot);
+            snapshotService.snapshotPersisted(revision);
             if (log.isDebugEnabled()) {
                 log.debug("Persisted.");
             }
@@ -67,8 +69,7 @@ public class PersistenceService {
             if (log.isDebugEnabled()) {
                 log.debug("Restoring revision: " + revision + " ...");
             }
-            byte[] snapshot = persistenceStore.load(siddhiAppName, revision);
-            snapshotService.restore(snapshot);
+            snapshotService.restore(revision, persistenceStore);
             if (log.isDebugEnabled()) {
                 log.debug("Restored revision: " + revision);
             }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.siddhi.core.util.persistence;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Revision retention limit of the persistence stores. The latest revisions up to the limit are kept, together with
+ * the revisions back to the last full snapshot, which the incremental snapshots among them are based on.
+ */
+final class RevisionRetention {
+
+    static final String REVISIONS_TO_KEEP = "revisionsToKeep";
+    static final int DEFAULT_REVISIONS_TO_KEEP = 3;
+
+    private RevisionRetention() {
+    }
+
+    static int getRevisionsToKeep(Map properties, int defaultValue) {
+        Object value = properties == null ? null : properties.get(REVISIONS_TO_KEEP);
+        if (value == null) {
+            return defaultValue;
+        }
+        int revisionsToKeep = Integer.parseInt(value.toString().trim());
+        if (revisionsToKeep < 1) {
+            throw new IllegalArgumentException("'" + REVISIONS_TO_KEEP + "' of a persistence store should be at "
+                    + "least 1, but found " + revisionsToKeep);
+        }
+        return revisionsToKeep;
+    }
+
+    /**
+     * Returns the number of the oldest revisions which can be removed.
+     *
+     * @param incrementalFlags whether each revision is an incremental snapshot, from the oldest to the latest
+     * @param revisionsToKeep  the number of latest revisions to keep
+     * @return the number of removable revisions
+     */
+    static int getRemovableCount(List<Boolean> incrementalFlags, int revisionsToKeep) {
+        int first = incrementalFlags.size() - revisionsToKeep;
+        while (first > 0 && incrementalFlags.get(first)) {
+            first--;
+        }
+        return Math.max(first, 0);
+    }
+}
@@ -23,22 +23,54 @@ import org.ballerinalang.siddhi.core.util.persistence.PersistenceStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * {@link Runnable} which is responsible for persisting the snapshots that are taken.
  */
 public class AsyncSnapshotPersistor implements Runnable {
     private static final Logger log = LoggerFactory.getLogger(AsyncSnapshotPersistor.class);
+    private static final AtomicLong lastRevisionTime = new AtomicLong();
     private byte[] snapshots;
     private PersistenceStore persistenceStore;
     private String siddhiAppName;
     private String revision;
+    private SnapshotService snapshotService;
 
     public AsyncSnapshotPersistor(byte[] snapshots, PersistenceStore persistenceStore,
                                   String siddhiAppName) {
+        this(snapshots, persistenceStore, siddhiAppName, createRevision(siddhiAppName), null);
+    }
+
+    /**
+     * Creates a persistor for a snapshot taken with {@link SnapshotService#incrementalSnapshot(String)}, which has to
+     * be persisted as the revision it was taken for. The snapshot service is told once the snapshot is persisted.
+     *
+     * @param snapshots        the snapshot
+     * @param persistenceStore the persistence store
+     * @param siddhiAppName    the name of the Siddhi app
+     * @param revision         the revision the snapshot was taken for
+     * @param snapshotService  the snapshot service which took the snapshot
+     */
+    public AsyncSnapshotPersistor(byte[] snapshots, PersistenceStore persistenceStore,
+                                  String siddhiAppName, String revision, SnapshotService snapshotService) {
         this.snapshots = snapshots;
         this.persistenceStore = persistenceStore;
         this.siddhiAppName = siddhiAppName;
-        revision = System.currentTimeMillis() + "_" + siddhiAppName;
+        this.revision = revision;
+        this.snapshotService = snapshotService;
+    }
+
+    /**
+     * Creates a revision for a snapshot of the given app. The time of each revision created is later than that of the
+     * previous one, so revisions are unique even when they are created within the same millisecond.
+     *
+     * @param siddhiAppName the name of the Siddhi app
+     * @return the revision
+     */
+    public static String createRevision(String siddhiAppName) {
+        long now = System.currentTimeMillis();
+        return lastRevisionTime.updateAndGet(last -> Math.max(now, last + 1)) + "_" + siddhiAppName;
     }
 
     public String getRevision() {
@@ -52,6 +84,9 @@ public class AsyncSnapshotPersistor implements Runnable {
                 log.debug("Persisting...");
             }
             persistenceStore.save(siddhiAppName, revision, snapshots);
+            if (snapshotService != null) {
+                snapshotService.snapshotPersisted(revision);
+            }
             if (log.isDebugEnabled()) {
                 log.debug("Persisted.");
             }
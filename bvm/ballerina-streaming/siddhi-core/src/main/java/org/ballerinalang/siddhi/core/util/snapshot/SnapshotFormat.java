@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.util.snapshot;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Layout of the snapshots taken by {@link SnapshotService}.
+ * <p>
+ * A snapshot starts with a header of {@value #HEADER_LENGTH} bytes holding a magic number, the format version and
+ * the kind of the snapshot. It is followed by the base revision for incremental snapshots, and by the states of the
+ * {@link Snapshotable} elements, each encoded separately with {@link StateSerializer}. A full snapshot holds the
+ * states of all the elements, while an incremental snapshot only holds the states which changed since its base
+ * revision.
+ */
+public final class SnapshotFormat {
+
+    public static final int HEADER_LENGTH = 6;
+
+    private static final int MAGIC = 0x53535350;
+    private static final byte VERSION = 1;
+    private static final byte FULL = 0;
+    private static final byte INCREMENTAL = 1;
+
+    private SnapshotFormat() {
+    }
+
+    /**
+     * Encodes a snapshot.
+     *
+     * @param baseRevision the revision an incremental snapshot is based on, or null for a full snapshot
+     * @param states       the encoded states of the elements, by element id
+     * @return the snapshot
+     */
+    public static byte[] encode(String baseRevision, Map<String, byte[]> states) {
+        StateSerializer.Output output = new StateSerializer.Output();
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        if (baseRevision == null) {
+            output.writeByte(FULL);
+        } else {
+            output.writeByte(INCREMENTAL);
+            output.writeString(baseRevision);
+        }
+        output.writeVarInt(states.size());
+        for (Map.Entry<String, byte[]> entry : states.entrySet()) {
+            output.writeString(entry.getKey());
+            output.writeBytes(entry.getValue());
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Checks whether the given bytes start with a snapshot header. Snapshots taken with java serialization do not.
+     *
+     * @param snapshot the snapshot, or at least its first {@value #HEADER_LENGTH} bytes
+     * @return true if the bytes are in this format
+     */
+    public static boolean isSnapshot(byte[] snapshot) {
+        return snapshot != null && snapshot.length >= HEADER_LENGTH
+                && new StateSerializer.Input(snapshot).readInt() == MAGIC && snapshot[4] == VERSION;
+    }
+
+    public static boolean isIncremental(byte[] snapshot) {
+        return isSnapshot(snapshot) && snapshot[5] == INCREMENTAL;
+    }
+
+    public static String getBaseRevision(byte[] snapshot) {
+        if (!isIncremental(snapshot)) {
+            return null;
+        }
+        StateSerializer.Input input = skipHeader(snapshot);
+        return input.readString();
+    }
+
+    /**
+     * Decodes the encoded states of the elements held in a snapshot.
+     *
+     * @param snapshot the snapshot
+     * @return the encoded states, by element id
+     */
+    public static Map<String, byte[]> decode(byte[] snapshot) {
+        StateSerializer.Input input = skipHeader(snapshot);
+        if (snapshot[5] == INCREMENTAL) {
+            input.readString();
+        }
+        int size = input.readVarInt();
+        Map<String, byte[]> states = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            String elementId = input.readString();
+            states.put(elementId, input.readBytes());
+        }
+        return states;
+    }
+
+    private static StateSerializer.Input skipHeader(byte[] snapshot) {
+        StateSerializer.Input input = new StateSerializer.Input(snapshot);
+        for (int i = 0; i < HEADER_LENGTH; i++) {
+            input.readByte();
+        }
+        return input;
+    }
+}
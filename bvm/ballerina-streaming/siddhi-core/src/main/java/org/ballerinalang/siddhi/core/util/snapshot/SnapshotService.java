@@ -20,26 +20,47 @@ package org.ballerinalang.siddhi.core.util.snapshot;
 import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
 import org.ballerinalang.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import org.ballerinalang.siddhi.core.util.ThreadBarrier;
+import org.ballerinalang.siddhi.core.util.persistence.PersistenceStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Service level implementation to take/restore snapshots of processing elements.
+ * <p>
+ * The state of each element is encoded separately with {@link StateSerializer}. Snapshots taken for persistence are
+ * incremental: they only hold the states which changed since the previously persisted revision, and every
+ * {@value #FULL_SNAPSHOT_INTERVAL}th of them is a full snapshot, which bounds the revisions read on restore. A revision
+ * only becomes the base of the following snapshots once it is reported as persisted with
+ * {@link #snapshotPersisted(String)}.
  */
 public class SnapshotService {
 
 
     private static final Logger log = LoggerFactory.getLogger(SnapshotService.class);
     private static final ThreadLocal<Boolean> skipSnapshotableThreadLocal = new ThreadLocal<Boolean>();
+    private static final int FULL_SNAPSHOT_INTERVAL = 10;
 
     private final ThreadBarrier threadBarrier;
     private HashMap<String, List<Snapshotable>> snapshotableMap = new HashMap<String, List<Snapshotable>>();
     private SiddhiAppContext siddhiAppContext;
+    // digests of the element states in the last persisted incremental snapshot, and the revision it was persisted as
+    private Map<String, byte[]> lastStateDigests = new HashMap<>();
+    private String lastRevision;
+    private int incrementalSnapshotCount;
+    // the last incremental snapshot taken, which becomes the base once it is persisted
+    private PendingSnapshot pendingSnapshot;
 
     public SnapshotService(SiddhiAppContext siddhiAppContext) {
         this.siddhiAppContext = siddhiAppContext;
@@ -70,35 +91,81 @@ public class SnapshotService {
         }
     }
 
+    /**
+     * Takes a full snapshot of all the elements.
+     *
+     * @return the snapshot
+     */
     public byte[] snapshot() {
-        HashMap<String, Map<String, Object>> snapshots = new HashMap<>(snapshotableMap.size());
-        List<Snapshotable> snapshotableList;
-        byte[] serializedSnapshots;
+        byte[] snapshot = SnapshotFormat.encode(null, serializeStates());
+        if (log.isDebugEnabled()) {
+            log.debug("Snapshot taken for Siddhi app '" + siddhiAppContext.getName() + "'");
+        }
+        return snapshot;
+    }
+
+    /**
+     * Takes a snapshot to be persisted as the given revision. It only holds the states which changed since the
+     * last persisted snapshot taken with this method, unless it is due to be a full snapshot.
+     *
+     * @param revision the revision the snapshot is persisted as
+     * @return the snapshot
+     */
+    public synchronized byte[] incrementalSnapshot(String revision) {
+        Map<String, byte[]> states = serializeStates();
+        boolean full = lastRevision == null || incrementalSnapshotCount >= FULL_SNAPSHOT_INTERVAL - 1;
+        Map<String, byte[]> changedStates = full ? states : new HashMap<>();
+        Map<String, byte[]> stateDigests = new HashMap<>(states.size() * 2);
+        MessageDigest messageDigest = createMessageDigest();
+        for (Map.Entry<String, byte[]> entry : states.entrySet()) {
+            byte[] digest = messageDigest.digest(entry.getValue());
+            stateDigests.put(entry.getKey(), digest);
+            if (!full && !Arrays.equals(digest, lastStateDigests.get(entry.getKey()))) {
+                changedStates.put(entry.getKey(), entry.getValue());
+            }
+        }
+        byte[] snapshot = SnapshotFormat.encode(full ? null : lastRevision, changedStates);
+        pendingSnapshot = new PendingSnapshot(revision, stateDigests, full ? 0 : incrementalSnapshotCount + 1);
+        if (log.isDebugEnabled()) {
+            log.debug((full ? "Full" : "Incremental") + " snapshot of " + changedStates.size() + " out of "
+                    + states.size() + " elements taken for Siddhi app '" + siddhiAppContext.getName() + "'");
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reports that the snapshot taken for the given revision with {@link #incrementalSnapshot(String)} has been
+     * persisted, so that the following snapshots can be based on it. A snapshot which failed to be persisted is never
+     * reported, hence the following snapshots stay based on the last persisted revision.
+     *
+     * @param revision the persisted revision
+     */
+    public synchronized void snapshotPersisted(String revision) {
+        // a snapshot taken later replaces the pending one, and becomes the base once it is persisted instead
+        if (pendingSnapshot != null && pendingSnapshot.revision.equals(revision)) {
+            lastStateDigests = pendingSnapshot.stateDigests;
+            lastRevision = revision;
+            incrementalSnapshotCount = pendingSnapshot.incrementalSnapshotCount;
+            pendingSnapshot = null;
+        }
+    }
+
+    private Map<String, byte[]> serializeStates() {
+        Map<String, byte[]> states = new HashMap<>();
         if (log.isDebugEnabled()) {
             log.debug("Taking snapshot ...");
         }
         try {
             threadBarrier.lock();
             for (Map.Entry<String, List<Snapshotable>> entry : snapshotableMap.entrySet()) {
-                snapshotableList = entry.getValue();
-                snapshotableList.forEach(snapshotableElement -> snapshots.put(snapshotableElement.getElementId(),
-                        snapshotableElement.currentState()));
-            }
-            if (log.isDebugEnabled()) {
-                log.debug("Snapshot serialization started ...");
-            }
-            serializedSnapshots = ByteSerializer.objectToByte(snapshots, siddhiAppContext);
-            if (log.isDebugEnabled()) {
-                log.debug("Snapshot serialization finished.");
+                for (Snapshotable snapshotable : entry.getValue()) {
+                    states.put(snapshotable.getElementId(), StateSerializer.serialize(snapshotable.currentState()));
+                }
             }
         } finally {
             threadBarrier.unlock();
         }
-        if (log.isDebugEnabled()) {
-            log.debug("Snapshot taken for Siddhi app '" + siddhiAppContext.getName() + "'");
-        }
-
-        return serializedSnapshots;
+        return states;
     }
 
     public Map<String, Object> queryState(String queryName) {
@@ -125,9 +192,87 @@ public class SnapshotService {
 
     }
 
+    /**
+     * Restores the states held in a full snapshot, or in a snapshot taken with java serialization.
+     *
+     * @param snapshot the snapshot
+     * @throws CannotRestoreSiddhiAppStateException if the snapshot cannot be restored
+     */
     public void restore(byte[] snapshot) throws CannotRestoreSiddhiAppStateException {
-        Map<String, Map<String, Object>> snapshots = (Map<String, Map<String, Object>>)
-                ByteSerializer.byteToObject(snapshot, siddhiAppContext);
+        Map<String, Map<String, Object>> snapshots;
+        if (SnapshotFormat.isIncremental(snapshot)) {
+            throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.getName()
+                    + " failed as an incremental snapshot can only be restored from its persistence store");
+        } else if (SnapshotFormat.isSnapshot(snapshot)) {
+            snapshots = deserializeStates(SnapshotFormat.decode(snapshot));
+        } else {
+            snapshots = (Map<String, Map<String, Object>>) ByteSerializer.byteToObject(snapshot, siddhiAppContext);
+        }
+        restoreStates(snapshots);
+    }
+
+    /**
+     * Restores a persisted revision, reading the revisions an incremental snapshot is based on back to the last
+     * full snapshot.
+     *
+     * @param revision         the revision to restore
+     * @param persistenceStore the persistence store holding the revision
+     * @throws CannotRestoreSiddhiAppStateException if the revision or one of its base revisions cannot be restored
+     */
+    public void restore(String revision, PersistenceStore persistenceStore)
+            throws CannotRestoreSiddhiAppStateException {
+        String siddhiAppName = siddhiAppContext.getName();
+        Deque<byte[]> snapshotChain = new ArrayDeque<>();
+        Set<String> chainRevisions = new HashSet<>();
+        String currentRevision = revision;
+        while (currentRevision != null) {
+            if (!chainRevisions.add(currentRevision)) {
+                throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppName
+                        + " failed as revision " + revision + " is based on itself through revision "
+                        + currentRevision);
+            }
+            byte[] snapshot = persistenceStore.load(siddhiAppName, currentRevision);
+            if (snapshot == null) {
+                throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppName
+                        + " failed as revision " + currentRevision + " is not found in the persistence store");
+            }
+            if (!SnapshotFormat.isSnapshot(snapshot)) {
+                // a snapshot taken with java serialization can only be a full one
+                restore(snapshot);
+                return;
+            }
+            snapshotChain.push(snapshot);
+            currentRevision = SnapshotFormat.getBaseRevision(snapshot);
+        }
+        Map<String, byte[]> states = new HashMap<>();
+        while (!snapshotChain.isEmpty()) {
+            states.putAll(SnapshotFormat.decode(snapshotChain.pop()));
+        }
+        restoreStates(deserializeStates(states));
+    }
+
+    private Map<String, Map<String, Object>> deserializeStates(Map<String, byte[]> states)
+            throws CannotRestoreSiddhiAppStateException {
+        Map<String, Map<String, Object>> snapshots = new HashMap<>(states.size() * 2);
+        try {
+            for (Map.Entry<String, byte[]> entry : states.entrySet()) {
+                snapshots.put(entry.getKey(), (Map<String, Object>) StateSerializer.deserialize(entry.getValue()));
+            }
+        } catch (RuntimeException e) {
+            throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.getName()
+                    + " failed as the snapshot could not be decoded", e);
+        }
+        return snapshots;
+    }
+
+    private void restoreStates(Map<String, Map<String, Object>> snapshots)
+            throws CannotRestoreSiddhiAppStateException {
+        synchronized (this) {
+            // the next incremental snapshot cannot be based on a revision older than the restored state
+            lastStateDigests = new HashMap<>();
+            lastRevision = null;
+            pendingSnapshot = null;
+        }
         List<Snapshotable> snapshotableList;
         try {
             threadBarrier.lock();
@@ -163,4 +308,28 @@ public class SnapshotService {
             threadBarrier.unlock();
         }
     }
+
+    /**
+     * An incremental snapshot which has not been reported as persisted yet.
+     */
+    private static class PendingSnapshot {
+
+        private final String revision;
+        private final Map<String, byte[]> stateDigests;
+        private final int incrementalSnapshotCount;
+
+        private PendingSnapshot(String revision, Map<String, byte[]> stateDigests, int incrementalSnapshotCount) {
+            this.revision = revision;
+            this.stateDigests = stateDigests;
+            this.incrementalSnapshotCount = incrementalSnapshotCount;
+        }
+    }
+
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 message digest is not available", e);
+        }
+    }
 }
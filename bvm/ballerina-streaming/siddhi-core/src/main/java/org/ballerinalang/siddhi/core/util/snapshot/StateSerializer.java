@@ -0,0 +1,437 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.util.snapshot;
+
+import org.ballerinalang.siddhi.core.event.ComplexEvent;
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Compact binary codec for the states of {@link Snapshotable} elements.
+ * <p>
+ * Values are written with a one byte tag followed by their content. Numbers are written as variable length integers,
+ * and the common collections and {@link StreamEvent} chains are written element by element, so that the states of
+ * windows and aggregations are encoded without java serialization. Values of any other type are written with java
+ * serialization.
+ */
+public final class StateSerializer {
+
+    private static final ComplexEvent.Type[] EVENT_TYPES = ComplexEvent.Type.values();
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte FLOAT = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte STRING = 7;
+    private static final byte BYTES = 8;
+    private static final byte OBJECT_ARRAY = 9;
+    private static final byte HASH_MAP = 10;
+    private static final byte LINKED_HASH_MAP = 11;
+    private static final byte ARRAY_LIST = 12;
+    private static final byte LINKED_LIST = 13;
+    private static final byte LINKED_BLOCKING_QUEUE = 14;
+    private static final byte STREAM_EVENT = 15;
+    private static final byte SERIALIZED = 16;
+
+    private StateSerializer() {
+    }
+
+    public static byte[] serialize(Object state) {
+        Output output = new Output();
+        output.writeValue(state);
+        return output.toByteArray();
+    }
+
+    public static Object deserialize(byte[] bytes) {
+        return new Input(bytes).readValue();
+    }
+
+    /**
+     * Growable output buffer the values are written to.
+     */
+    static class Output {
+
+        private byte[] buffer = new byte[256];
+        private int position;
+
+        void writeValue(Object value) {
+            if (value == null) {
+                writeByte(NULL);
+                return;
+            }
+            Class<?> type = value.getClass();
+            if (type == Boolean.class) {
+                writeByte((Boolean) value ? TRUE : FALSE);
+            } else if (type == Integer.class) {
+                writeByte(INT);
+                writeVarLong((Integer) value);
+            } else if (type == Long.class) {
+                writeByte(LONG);
+                writeVarLong((Long) value);
+            } else if (type == Float.class) {
+                writeByte(FLOAT);
+                writeInt(Float.floatToIntBits((Float) value));
+            } else if (type == Double.class) {
+                writeByte(DOUBLE);
+                writeLong(Double.doubleToLongBits((Double) value));
+            } else if (type == String.class) {
+                writeByte(STRING);
+                writeString((String) value);
+            } else if (type == byte[].class) {
+                writeByte(BYTES);
+                writeBytes((byte[]) value);
+            } else if (type == Object[].class) {
+                writeByte(OBJECT_ARRAY);
+                writeObjectArray((Object[]) value);
+            } else if (type == HashMap.class) {
+                writeByte(HASH_MAP);
+                writeMap((Map<?, ?>) value);
+            } else if (type == LinkedHashMap.class) {
+                writeByte(LINKED_HASH_MAP);
+                writeMap((Map<?, ?>) value);
+            } else if (type == ArrayList.class) {
+                writeByte(ARRAY_LIST);
+                writeCollection((Collection<?>) value);
+            } else if (type == LinkedList.class) {
+                writeByte(LINKED_LIST);
+                writeCollection((Collection<?>) value);
+            } else if (type == LinkedBlockingQueue.class) {
+                writeByte(LINKED_BLOCKING_QUEUE);
+                writeCollection((Collection<?>) value);
+            } else if (isStreamEventChain(value)) {
+                writeByte(STREAM_EVENT);
+                writeStreamEventChain((StreamEvent) value);
+            } else {
+                writeByte(SERIALIZED);
+                writeBytes(javaSerialize(value));
+            }
+        }
+
+        void writeString(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeBytes(byte[] value) {
+            writeVarInt(value.length);
+            ensureCapacity(value.length);
+            System.arraycopy(value, 0, buffer, position, value.length);
+            position += value.length;
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+            buffer[position++] = (byte) (value >>> 24);
+            buffer[position++] = (byte) (value >>> 16);
+            buffer[position++] = (byte) (value >>> 8);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        private void writeVarLong(long value) {
+            // zig-zag encoding keeps small negative numbers short
+            long zigZag = (value << 1) ^ (value >> 63);
+            ensureCapacity(10);
+            while ((zigZag & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((zigZag & 0x7F) | 0x80);
+                zigZag >>>= 7;
+            }
+            buffer[position++] = (byte) zigZag;
+        }
+
+        private void writeObjectArray(Object[] values) {
+            writeVarInt(values.length);
+            for (Object value : values) {
+                writeValue(value);
+            }
+        }
+
+        private void writeMap(Map<?, ?> map) {
+            writeVarInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(entry.getKey());
+                writeValue(entry.getValue());
+            }
+        }
+
+        private void writeCollection(Collection<?> collection) {
+            writeVarInt(collection.size());
+            for (Object value : collection) {
+                writeValue(value);
+            }
+        }
+
+        private void writeStreamEventChain(StreamEvent streamEvent) {
+            int count = 0;
+            for (StreamEvent event = streamEvent; event != null; event = event.getNext()) {
+                count++;
+            }
+            writeVarInt(count);
+            for (StreamEvent event = streamEvent; event != null; event = event.getNext()) {
+                writeVarLong(event.getTimestamp());
+                writeByte(event.getType().ordinal());
+                writeNullableArray(event.getBeforeWindowData());
+                writeNullableArray(event.getOnAfterWindowData());
+                writeNullableArray(event.getOutputData());
+            }
+        }
+
+        private void writeNullableArray(Object[] values) {
+            if (values == null) {
+                writeByte(NULL);
+            } else {
+                writeByte(OBJECT_ARRAY);
+                writeObjectArray(values);
+            }
+        }
+
+        private void ensureCapacity(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + length));
+            }
+        }
+
+        private static boolean isStreamEventChain(Object value) {
+            for (Object event = value; event != null; event = ((StreamEvent) event).getNext()) {
+                if (event.getClass() != StreamEvent.class) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static byte[] javaSerialize(Object value) {
+            try {
+                ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+                ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream);
+                objectOutputStream.writeObject(value);
+                objectOutputStream.close();
+                return byteArrayOutputStream.toByteArray();
+            } catch (IOException e) {
+                throw new IllegalStateException("Error when serializing state of type " + value.getClass()
+                        .getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Input the values are read from.
+     */
+    static class Input {
+
+        private final byte[] buffer;
+        private int position;
+
+        Input(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        Object readValue() {
+            byte tag = readByte();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case INT:
+                    return (int) readVarLong();
+                case LONG:
+                    return readVarLong();
+                case FLOAT:
+                    return Float.intBitsToFloat(readInt());
+                case DOUBLE:
+                    return Double.longBitsToDouble(readLong());
+                case STRING:
+                    return readString();
+                case BYTES:
+                    return readBytes();
+                case OBJECT_ARRAY:
+                    return readObjectArray();
+                case HASH_MAP:
+                    return readMap(new HashMap<>());
+                case LINKED_HASH_MAP:
+                    return readMap(new LinkedHashMap<>());
+                case ARRAY_LIST:
+                    return readCollection(new ArrayList<>());
+                case LINKED_LIST:
+                    return readCollection(new LinkedList<>());
+                case LINKED_BLOCKING_QUEUE:
+                    return readCollection(new LinkedBlockingQueue<>());
+                case STREAM_EVENT:
+                    return readStreamEventChain();
+                case SERIALIZED:
+                    return javaDeserialize(readBytes());
+                default:
+                    throw new IllegalStateException("Unknown state tag " + tag + " at " + (position - 1));
+            }
+        }
+
+        String readString() {
+            int length = readVarInt();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        byte[] readBytes() {
+            int length = readVarInt();
+            byte[] value = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return value;
+        }
+
+        byte readByte() {
+            if (position >= buffer.length) {
+                throw new IllegalStateException("Unexpected end of state at " + position);
+            }
+            return buffer[position++];
+        }
+
+        int readInt() {
+            return (readByte() & 0xFF) << 24 | (readByte() & 0xFF) << 16 | (readByte() & 0xFF) << 8
+                    | (readByte() & 0xFF);
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed variable length integer at " + position);
+        }
+
+        private long readLong() {
+            return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        private long readVarLong() {
+            long zigZag = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                byte b = readByte();
+                zigZag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigZag >>> 1) ^ -(zigZag & 1);
+                }
+            }
+            throw new IllegalStateException("Malformed variable length long at " + position);
+        }
+
+        private Object[] readObjectArray() {
+            Object[] values = new Object[readVarInt()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readValue();
+            }
+            return values;
+        }
+
+        private Map<Object, Object> readMap(Map<Object, Object> map) {
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                Object key = readValue();
+                map.put(key, readValue());
+            }
+            return map;
+        }
+
+        private <T extends Collection<Object>> T readCollection(T collection) {
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                collection.add(readValue());
+            }
+            return collection;
+        }
+
+        private StreamEvent readStreamEventChain() {
+            int count = readVarInt();
+            StreamEvent first = null;
+            StreamEvent last = null;
+            for (int i = 0; i < count; i++) {
+                StreamEvent event = new StreamEvent(0, 0, 0);
+                event.setTimestamp(readVarLong());
+                event.setType(EVENT_TYPES[readByte()]);
+                event.setBeforeWindowData(readNullableArray());
+                event.setOnAfterWindowData(readNullableArray());
+                event.setOutputData(readNullableArray());
+                if (last == null) {
+                    first = event;
+                } else {
+                    last.setNext(event);
+                }
+                last = event;
+            }
+            return first;
+        }
+
+        private Object[] readNullableArray() {
+            return readByte() == NULL ? null : readObjectArray();
+        }
+
+        private static Object javaDeserialize(byte[] bytes) {
+            try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return objectInputStream.readObject();
+            } catch (IOException | ClassNotFoundException e) {
+                throw new IllegalStateException("Error when deserializing state", e);
+            }
+        }
+    }
+}
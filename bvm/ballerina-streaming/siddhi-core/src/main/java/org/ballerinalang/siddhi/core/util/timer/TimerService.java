@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.util.timer;
+
+/**
+ * TimerService lets the runtime which embeds Siddhi share a single timer across the schedulers of all the Siddhi
+ * apps, instead of each scheduler chaining its own tasks on the scheduled executor of its app. It is set on the
+ * {@link org.ballerinalang.siddhi.core.SiddhiManager}.
+ */
+public interface TimerService {
+
+    /**
+     * Creates a timer which runs the given task when the times scheduled on it are reached. Times which are reached
+     * together are notified with a single run of the task, so the task should not take long.
+     *
+     * @param task the task to run
+     * @return the timer
+     */
+    Timer createTimer(Runnable task);
+
+    /**
+     * A timer created by a {@link TimerService}.
+     */
+    interface Timer {
+
+        /**
+         * Returns the time at which the given time is notified. Times with the same notification time are
+         * notified together.
+         *
+         * @param time the time in milliseconds
+         * @return the notification time in milliseconds
+         */
+        long expiryTimeOf(long time);
+
+        /**
+         * Schedules a run of the task of this timer at the given time.
+         *
+         * @param time the time in milliseconds
+         */
+        void schedule(long time);
+
+        /**
+         * Removes all the pending times of this timer.
+         */
+        void cancel();
+    }
+}
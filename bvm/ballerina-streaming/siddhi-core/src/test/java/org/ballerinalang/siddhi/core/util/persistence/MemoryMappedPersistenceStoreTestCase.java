@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.util.persistence;
+
+import org.ballerinalang.siddhi.core.util.snapshot.SnapshotFormat;
+import org.testng.AssertJUnit;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Testcase for the memory-mapped persistence store and the revision retention of the persistence stores.
+ */
+public class MemoryMappedPersistenceStoreTestCase {
+
+    private static final String APP = "TestApp";
+
+    private File location;
+
+    @BeforeMethod
+    public void init() throws IOException {
+        location = Files.createTempDirectory("siddhi-persistence").toFile();
+    }
+
+    @AfterMethod
+    public void cleanUp() {
+        File[] appDirectories = location.listFiles();
+        if (appDirectories != null) {
+            for (File appDirectory : appDirectories) {
+                File[] segments = appDirectory.listFiles();
+                if (segments != null) {
+                    for (File segment : segments) {
+                        segment.delete();
+                    }
+                }
+                appDirectory.delete();
+            }
+        }
+        location.delete();
+    }
+
+    @Test
+    public void testSaveAndRecover() {
+        MemoryMappedPersistenceStore persistenceStore = new MemoryMappedPersistenceStore(location.getPath(), 256,
+                10);
+        persistenceStore.save(APP, "1_" + APP, fullSnapshot(100));
+        persistenceStore.save(APP, "2_" + APP, incrementalSnapshot("1_" + APP, 200));
+        persistenceStore.save(APP, "3_" + APP, incrementalSnapshot("2_" + APP, 50));
+        AssertJUnit.assertEquals("3_" + APP, persistenceStore.getLastRevision(APP));
+        AssertJUnit.assertEquals("2_" + APP, SnapshotFormat.getBaseRevision(persistenceStore.load(APP, "3_" + APP)));
+        persistenceStore.shutdown();
+
+        MemoryMappedPersistenceStore recoveredStore = new MemoryMappedPersistenceStore();
+        recoveredStore.setProperties(Collections.singletonMap("location", location.getPath()));
+        AssertJUnit.assertEquals("3_" + APP, recoveredStore.getLastRevision(APP));
+        AssertJUnit.assertEquals(100, SnapshotFormat.decode(recoveredStore.load(APP, "1_" + APP)).get("state")
+                .length);
+        AssertJUnit.assertEquals(200, SnapshotFormat.decode(recoveredStore.load(APP, "2_" + APP)).get("state")
+                .length);
+        recoveredStore.save(APP, "4_" + APP, fullSnapshot(10));
+        AssertJUnit.assertEquals("4_" + APP, recoveredStore.getLastRevision(APP));
+        recoveredStore.shutdown();
+        AssertJUnit.assertNull(new MemoryMappedPersistenceStore(location.getPath()).getLastRevision("OtherApp"));
+    }
+
+    @Test
+    public void testRetention() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("location", location.getPath());
+        properties.put("segmentSize", "128");
+        properties.put("revisionsToKeep", "2");
+        MemoryMappedPersistenceStore persistenceStore = new MemoryMappedPersistenceStore();
+        persistenceStore.setProperties(properties);
+        persistenceStore.save(APP, "1_" + APP, fullSnapshot(100));
+        persistenceStore.save(APP, "2_" + APP, fullSnapshot(100));
+        persistenceStore.save(APP, "3_" + APP, incrementalSnapshot("2_" + APP, 100));
+        persistenceStore.save(APP, "4_" + APP, incrementalSnapshot("3_" + APP, 100));
+
+        // the base revisions of the kept incremental revisions are kept as well
+        AssertJUnit.assertNull(persistenceStore.load(APP, "1_" + APP));
+        AssertJUnit.assertNotNull(persistenceStore.load(APP, "2_" + APP));
+        AssertJUnit.assertNotNull(persistenceStore.load(APP, "3_" + APP));
+        AssertJUnit.assertEquals(3, new File(location, APP).listFiles().length);
+
+        persistenceStore.save(APP, "5_" + APP, fullSnapshot(100));
+        persistenceStore.save(APP, "6_" + APP, incrementalSnapshot("5_" + APP, 100));
+        AssertJUnit.assertNull(persistenceStore.load(APP, "4_" + APP));
+        AssertJUnit.assertNotNull(persistenceStore.load(APP, "5_" + APP));
+        AssertJUnit.assertEquals(2, new File(location, APP).listFiles().length);
+        persistenceStore.shutdown();
+    }
+
+    @Test
+    public void testInMemoryRetention() {
+        InMemoryPersistenceStore persistenceStore = new InMemoryPersistenceStore(1);
+        persistenceStore.save(APP, "1_" + APP, fullSnapshot(10));
+        persistenceStore.save(APP, "2_" + APP, incrementalSnapshot("1_" + APP, 10));
+        AssertJUnit.assertNotNull(persistenceStore.load(APP, "1_" + APP));
+        persistenceStore.save(APP, "3_" + APP, fullSnapshot(10));
+        AssertJUnit.assertNull(persistenceStore.load(APP, "1_" + APP));
+        AssertJUnit.assertNull(persistenceStore.load(APP, "2_" + APP));
+        AssertJUnit.assertEquals("3_" + APP, persistenceStore.getLastRevision(APP));
+    }
+
+    private static byte[] fullSnapshot(int stateSize) {
+        return SnapshotFormat.encode(null, Collections.singletonMap("state", new byte[stateSize]));
+    }
+
+    private static byte[] incrementalSnapshot(String baseRevision, int stateSize) {
+        return SnapshotFormat.encode(baseRevision, Collections.singletonMap("state", new byte[stateSize]));
+    }
+}
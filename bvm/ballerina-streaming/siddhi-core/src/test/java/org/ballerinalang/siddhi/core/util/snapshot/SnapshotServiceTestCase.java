@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.siddhi.core.util.snapshot;
+
+import org.ballerinalang.siddhi.core.config.SiddhiAppContext;
+import org.ballerinalang.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import org.ballerinalang.siddhi.core.util.ThreadBarrier;
+import org.ballerinalang.siddhi.core.util.persistence.InMemoryPersistenceStore;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Testcase for the incremental snapshots of the snapshot service and the revisions they are persisted as.
+ */
+public class SnapshotServiceTestCase {
+
+    private static final String APP = "TestApp";
+
+    private SnapshotService snapshotService;
+    private CountingElement element;
+
+    @BeforeMethod
+    public void init() {
+        SiddhiAppContext siddhiAppContext = new SiddhiAppContext();
+        siddhiAppContext.setName(APP);
+        siddhiAppContext.setThreadBarrier(new ThreadBarrier());
+        snapshotService = new SnapshotService(siddhiAppContext);
+        element = new CountingElement();
+        snapshotService.addSnapshotable("query", element);
+    }
+
+    @Test
+    public void testBaseRevisionIsPersisted() throws CannotRestoreSiddhiAppStateException {
+        InMemoryPersistenceStore persistenceStore = new InMemoryPersistenceStore();
+        String firstRevision = AsyncSnapshotPersistor.createRevision(APP);
+        new AsyncSnapshotPersistor(snapshotService.incrementalSnapshot(firstRevision), persistenceStore, APP,
+                firstRevision, snapshotService).run();
+
+        // a snapshot which is never persisted does not become the base of the next one
+        element.count = 1;
+        String lostRevision = AsyncSnapshotPersistor.createRevision(APP);
+        snapshotService.incrementalSnapshot(lostRevision);
+
+        element.count = 2;
+        String lastRevision = AsyncSnapshotPersistor.createRevision(APP);
+        byte[] snapshot = snapshotService.incrementalSnapshot(lastRevision);
+        AssertJUnit.assertEquals(firstRevision, SnapshotFormat.getBaseRevision(snapshot));
+        new AsyncSnapshotPersistor(snapshot, persistenceStore, APP, lastRevision, snapshotService).run();
+
+        element.count = 3;
+        AssertJUnit.assertEquals(lastRevision,
+                SnapshotFormat.getBaseRevision(snapshotService.incrementalSnapshot(
+                        AsyncSnapshotPersistor.createRevision(APP))));
+        snapshotService.restore(lastRevision, persistenceStore);
+        AssertJUnit.assertEquals(2L, element.count);
+    }
+
+    @Test
+    public void testUniqueRevisions() {
+        Set<String> revisions = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            AssertJUnit.assertTrue(revisions.add(AsyncSnapshotPersistor.createRevision(APP)));
+        }
+    }
+
+    @Test(expectedExceptions = CannotRestoreSiddhiAppStateException.class)
+    public void testRestoreRevisionBasedOnItself() throws CannotRestoreSiddhiAppStateException {
+        InMemoryPersistenceStore persistenceStore = new InMemoryPersistenceStore();
+        Map<String, byte[]> states = Collections.singletonMap(element.getElementId(),
+                StateSerializer.serialize(element.currentState()));
+        persistenceStore.save(APP, "1_" + APP, SnapshotFormat.encode("2_" + APP, states));
+        persistenceStore.save(APP, "2_" + APP, SnapshotFormat.encode("1_" + APP, states));
+        snapshotService.restore("2_" + APP, persistenceStore);
+    }
+
+    private static class CountingElement implements Snapshotable {
+
+        private long count;
+
+        @Override
+        public Map<String, Object> currentState() {
+            Map<String, Object> state = new HashMap<>();
+            state.put("count", count);
+            return state;
+        }
+
+        @Override
+        public void restoreState(Map<String, Object> state) {
+            count = (Long) state.get("count");
+        }
+
+        @Override
+        public String getElementId() {
+            return "counting-element";
+        }
+    }
+}
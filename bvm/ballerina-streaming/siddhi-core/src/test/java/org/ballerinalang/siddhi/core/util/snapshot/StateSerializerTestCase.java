@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.siddhi.core.util.snapshot;
+
+import org.ballerinalang.siddhi.core.event.ComplexEvent;
+import org.ballerinalang.siddhi.core.event.stream.StreamEvent;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Testcase for the binary codec of the snapshot states.
+ */
+public class StateSerializerTestCase {
+
+    @Test
+    public void testValues() {
+        Map<String, Object> state = new HashMap<>();
+        state.put("Int", -5);
+        state.put("Long", Long.MAX_VALUE);
+        state.put("Float", 1.5f);
+        state.put("Double", -2.25);
+        state.put("Boolean", true);
+        state.put("String", "WSO2 \u00e9\u0dc1");
+        state.put("Null", null);
+        state.put("Array", new Object[]{1, "a", null});
+        state.put("Serialized", new BigDecimal("10.5"));
+        List<Object> list = new ArrayList<>();
+        list.add(10L);
+        list.add(new LinkedHashMap<>());
+        state.put("List", list);
+        LinkedBlockingQueue<Long> queue = new LinkedBlockingQueue<>();
+        queue.add(100L);
+        queue.add(200L);
+        state.put("ToNotifyQueue", queue);
+
+        Map<String, Object> restored = (Map<String, Object>) StateSerializer.deserialize(
+                StateSerializer.serialize(state));
+        AssertJUnit.assertEquals(state.size(), restored.size());
+        AssertJUnit.assertEquals(-5, restored.get("Int"));
+        AssertJUnit.assertEquals(Long.MAX_VALUE, restored.get("Long"));
+        AssertJUnit.assertEquals(1.5f, restored.get("Float"));
+        AssertJUnit.assertEquals(-2.25, restored.get("Double"));
+        AssertJUnit.assertEquals(true, restored.get("Boolean"));
+        AssertJUnit.assertEquals(state.get("String"), restored.get("String"));
+        AssertJUnit.assertTrue(restored.containsKey("Null"));
+        AssertJUnit.assertEquals(3, ((Object[]) restored.get("Array")).length);
+        AssertJUnit.assertEquals("a", ((Object[]) restored.get("Array"))[1]);
+        AssertJUnit.assertEquals(new BigDecimal("10.5"), restored.get("Serialized"));
+        AssertJUnit.assertEquals(list, restored.get("List"));
+        AssertJUnit.assertEquals(ArrayList.class, restored.get("List").getClass());
+        AssertJUnit.assertEquals(LinkedBlockingQueue.class, restored.get("ToNotifyQueue").getClass());
+        AssertJUnit.assertEquals(Long.valueOf(100L), ((LinkedBlockingQueue) restored.get("ToNotifyQueue")).peek());
+    }
+
+    @Test
+    public void testStreamEventChain() {
+        StreamEvent first = new StreamEvent(0, 2, 1);
+        first.setTimestamp(1000);
+        first.setOnAfterWindowData(new Object[]{"IBM", 75.6f});
+        first.setOutputData(new Object[]{"IBM"});
+        StreamEvent second = new StreamEvent(0, 2, 0);
+        second.setTimestamp(2000);
+        second.setType(ComplexEvent.Type.EXPIRED);
+        second.setOnAfterWindowData(new Object[]{"WSO2", 57.6f});
+        first.setNext(second);
+        Map<String, Object> state = new HashMap<>();
+        state.put("ExpiredEventChunk", first);
+
+        byte[] encoded = StateSerializer.serialize(state);
+        StreamEvent restored = (StreamEvent) ((Map<String, Object>) StateSerializer.deserialize(encoded))
+                .get("ExpiredEventChunk");
+        AssertJUnit.assertEquals(first, restored);
+        AssertJUnit.assertEquals(second, restored.getNext());
+        AssertJUnit.assertNull(restored.getNext().getNext());
+        AssertJUnit.assertNull(restored.getNext().getOutputData());
+        AssertJUnit.assertEquals(ComplexEvent.Type.EXPIRED, restored.getNext().getType());
+    }
+
+    @Test
+    public void testSnapshotFormat() {
+        Map<String, byte[]> states = new HashMap<>();
+        states.put("query1-window", StateSerializer.serialize(new HashMap<>()));
+        byte[] full = SnapshotFormat.encode(null, states);
+        byte[] incremental = SnapshotFormat.encode("1000_app", states);
+
+        AssertJUnit.assertTrue(SnapshotFormat.isSnapshot(full));
+        AssertJUnit.assertFalse(SnapshotFormat.isIncremental(full));
+        AssertJUnit.assertNull(SnapshotFormat.getBaseRevision(full));
+        AssertJUnit.assertTrue(SnapshotFormat.isIncremental(incremental));
+        AssertJUnit.assertEquals("1000_app", SnapshotFormat.getBaseRevision(incremental));
+        AssertJUnit.assertEquals(1, SnapshotFormat.decode(incremental).size());
+        AssertJUnit.assertTrue(SnapshotFormat.decode(full).containsKey("query1-window"));
+        AssertJUnit.assertFalse(SnapshotFormat.isSnapshot(new byte[]{(byte) 0xAC, (byte) 0xED, 0, 5}));
+    }
+}
@@ -0,0 +1,516 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache;
+
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.ballerinalang.util.metrics.DefaultMetricRegistry;
+import org.ballerinalang.util.metrics.MetricRegistry;
+import org.ballerinalang.util.metrics.PolledGauge;
+import org.ballerinalang.util.timer.ExpiryListener;
+import org.ballerinalang.util.timer.TimerWheel;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.ballerinalang.stdlib.cache.CacheConstants.CACHE_ENGINE;
+
+/**
+ * The entries of a {@code cache:Cache}, kept as native data of the cache object.
+ * <p>
+ * The entries are spread over lock striped segments. A segment links its entries in the order of their last access.
+ * The capacity is checked against the entries of all the segments, and once a new entry takes the cache past its
+ * capacity, the least recently used entries of the whole cache are evicted, picking each one from the segment whose
+ * least recently used entry was accessed first. How the keys are spread over the segments does not matter. An entry
+ * expires once it has not been accessed for the expiry time of the cache. As all the
+ * entries of a cache have the same expiry time, the least recently used entry of a segment is always the next to
+ * expire, hence a segment only schedules the expiry of that entry on the shared {@link TimerWheel}, instead of the
+ * cache being scanned periodically.
+ *
+ * @since 0.981.1
+ */
+public class CacheEngine {
+
+    private static final String METRIC_PREFIX = "ballerina_cache_";
+
+    // segments are only added for caches large enough to give each segment this many entries
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private static final AtomicLong CACHE_IDS = new AtomicLong();
+
+    // metrics of the caches which are neither closed nor known to be collected
+    private static final Set<Metrics> REGISTERED_METRICS = ConcurrentHashMap.newKeySet();
+
+    private static final ReferenceQueue<CacheEngine> COLLECTED_ENGINES = new ReferenceQueue<>();
+
+    private final int capacity;
+
+    private final int evictionCount;
+
+    private final long expiryTimeMillis;
+
+    private final Segment[] segments;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    // held while evicting, so that concurrent puts past the capacity do not evict more than needed
+    private final Object evictionLock = new Object();
+
+    private final TimerWheel timerWheel;
+
+    private final Statistics statistics = new Statistics();
+
+    private Metrics metrics;
+
+    // order in which the keys were first added, which is the order of keys()
+    private final AtomicLong insertionSequence = new AtomicLong();
+
+    public CacheEngine(int capacity, long expiryTimeMillis, double evictionFactor) {
+        this(capacity, expiryTimeMillis, evictionFactor, TimerWheel.getInstance());
+    }
+
+    CacheEngine(int capacity, long expiryTimeMillis, double evictionFactor, TimerWheel timerWheel) {
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && capacity / (segmentCount * 2) >= MIN_SEGMENT_CAPACITY) {
+            segmentCount *= 2;
+        }
+        this.capacity = capacity;
+        // evict at least one entry, so that a full cache does not grow past its capacity
+        this.evictionCount = Math.max(1, (int) (capacity * evictionFactor));
+        this.expiryTimeMillis = expiryTimeMillis;
+        this.timerWheel = timerWheel;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * Returns the engine of the given cache object.
+     *
+     * @param cache the cache object
+     * @return the engine of the cache
+     */
+    public static CacheEngine get(BMap<String, BValue> cache) {
+        CacheEngine engine = (CacheEngine) cache.getNativeData(CACHE_ENGINE);
+        if (engine == null) {
+            throw new BallerinaException("cache is not initialized");
+        }
+        return engine;
+    }
+
+    /**
+     * Publishes the hit, miss, eviction and expiry counts of this cache to the metric registry, if metrics are
+     * enabled. The counts are tagged with the given name and an id, which tells apart caches of the same name. They
+     * are unregistered when the cache is closed, or else once a cache is registered after this engine was collected.
+     *
+     * @param name the name of the cache
+     */
+    public void registerMetrics(String name) {
+        MetricRegistry metricRegistry = DefaultMetricRegistry.getInstance();
+        if (metricRegistry == null) {
+            return;
+        }
+        unregisterCollectedMetrics();
+        String[] tags = {"cache", name, "id", String.valueOf(CACHE_IDS.incrementAndGet())};
+        List<PolledGauge> gauges = new ArrayList<>(4);
+        gauges.add(PolledGauge.builder(METRIC_PREFIX + "hit_count", statistics, s -> s.hits.sum())
+                .description("Number of lookups which found a value in the cache")
+                .tags(tags).register(metricRegistry));
+        gauges.add(PolledGauge.builder(METRIC_PREFIX + "miss_count", statistics, s -> s.misses.sum())
+                .description("Number of lookups which did not find a value in the cache")
+                .tags(tags).register(metricRegistry));
+        gauges.add(PolledGauge.builder(METRIC_PREFIX + "eviction_count", statistics, s -> s.evictions.sum())
+                .description("Number of entries evicted from the cache to make room for new entries")
+                .tags(tags).register(metricRegistry));
+        gauges.add(PolledGauge.builder(METRIC_PREFIX + "expiry_count", statistics, s -> s.expirations.sum())
+                .description("Number of entries removed from the cache as they were not accessed in time")
+                .tags(tags).register(metricRegistry));
+        metrics = new Metrics(this, metricRegistry, gauges);
+        REGISTERED_METRICS.add(metrics);
+    }
+
+    /**
+     * Removes all the entries of the cache, and unregisters its metrics.
+     */
+    public void close() {
+        if (metrics != null) {
+            metrics.unregister();
+        }
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private static void unregisterCollectedMetrics() {
+        Reference<? extends CacheEngine> collected;
+        while ((collected = COLLECTED_ENGINES.poll()) != null) {
+            ((Metrics) collected).unregister();
+        }
+    }
+
+    public boolean hasKey(String key) {
+        return segmentOf(key).hasKey(key, System.currentTimeMillis());
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public void put(String key, BValue value) {
+        if (segmentOf(key).put(key, value, System.currentTimeMillis()) && size.get() > capacity) {
+            evictEntries();
+        }
+    }
+
+    /**
+     * Returns the value of the given key and marks it as the most recently used entry of its segment.
+     *
+     * @param key the key
+     * @return the value, or null if the cache does not have a value for the key
+     */
+    public BValue get(String key) {
+        BValue value = segmentOf(key).get(key, System.currentTimeMillis());
+        if (value == null) {
+            statistics.misses.increment();
+        } else {
+            statistics.hits.increment();
+        }
+        return value;
+    }
+
+    public void remove(String key) {
+        segmentOf(key).remove(key);
+    }
+
+    /**
+     * Returns the keys of the cache, in the order in which they were added.
+     *
+     * @return the keys
+     */
+    public String[] keys() {
+        long now = System.currentTimeMillis();
+        List<Entry> entries = new ArrayList<>();
+        for (Segment segment : segments) {
+            segment.collectEntries(entries, now);
+        }
+        entries.sort((a, b) -> Long.compare(a.sequence, b.sequence));
+        String[] keys = new String[entries.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = entries.get(i).key;
+        }
+        return keys;
+    }
+
+    /**
+     * Evicts the least recently used entries of the cache once it has more entries than its capacity. The segments
+     * are locked one at a time, so an entry accessed while the oldest entry is being looked for may still be evicted.
+     */
+    private void evictEntries() {
+        synchronized (evictionLock) {
+            while (size.get() > capacity) {
+                for (int i = 0; i < evictionCount && evictLeastRecentlyUsed(); i++) {
+                    statistics.evictions.increment();
+                }
+            }
+        }
+    }
+
+    private boolean evictLeastRecentlyUsed() {
+        Segment oldest = null;
+        long oldestAccessTime = Long.MAX_VALUE;
+        for (Segment segment : segments) {
+            long accessTime = segment.leastRecentAccessTime();
+            if (accessTime < oldestAccessTime) {
+                oldest = segment;
+                oldestAccessTime = accessTime;
+            }
+        }
+        return oldest != null && oldest.evictLeastRecentlyUsed();
+    }
+
+    private Segment segmentOf(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    /**
+     * A cache entry, linked to the entries accessed before and after it.
+     */
+    private static class Entry {
+
+        private final String key;
+        private final long sequence;
+        private BValue value;
+        private long lastAccessTime;
+        private Entry previous;
+        private Entry next;
+
+        Entry(String key, long sequence) {
+            this.key = key;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * The hit, miss, eviction and expiry counts of a cache.
+     */
+    private static class Statistics {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder expirations = new LongAdder();
+    }
+
+    /**
+     * The gauges registered for a cache, which do not keep the engine of the cache reachable.
+     */
+    private static class Metrics extends WeakReference<CacheEngine> {
+
+        private final MetricRegistry metricRegistry;
+        private final List<PolledGauge> gauges;
+
+        Metrics(CacheEngine engine, MetricRegistry metricRegistry, List<PolledGauge> gauges) {
+            super(engine, COLLECTED_ENGINES);
+            this.metricRegistry = metricRegistry;
+            this.gauges = gauges;
+        }
+
+        void unregister() {
+            if (REGISTERED_METRICS.remove(this)) {
+                for (PolledGauge gauge : gauges) {
+                    metricRegistry.unregister(gauge);
+                }
+            }
+        }
+    }
+
+    /**
+     * A lock striped part of the cache, which links its entries from the least to the most recently used.
+     */
+    private class Segment implements ExpiryListener {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Entry> entries = new HashMap<>();
+        // sentinel of the access order list, its next entry is the least recently used one
+        private final Entry head = new Entry(null, 0);
+        // expiry time scheduled on the timer wheel, or 0 if the segment has no scheduled expiry
+        private long scheduledExpiryTime;
+
+        Segment() {
+            head.previous = head;
+            head.next = head;
+        }
+
+        boolean hasKey(String key, long now) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(key);
+                return entry != null && !isExpired(entry, now);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Puts the value of the given key.
+         *
+         * @return true if a new entry was added for the key
+         */
+        boolean put(String key, BValue value, long now) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(key);
+                boolean added = entry == null;
+                if (added) {
+                    expireEntries(now);
+                    entry = new Entry(key, insertionSequence.incrementAndGet());
+                    entries.put(key, entry);
+                    size.incrementAndGet();
+                } else {
+                    unlink(entry);
+                }
+                entry.value = value;
+                entry.lastAccessTime = now;
+                linkLast(entry);
+                scheduleExpiry();
+                return added;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Returns the last access time of the least recently used entry, or {@link Long#MAX_VALUE} if the segment
+         * is empty.
+         */
+        long leastRecentAccessTime() {
+            lock.lock();
+            try {
+                return head.next == head ? Long.MAX_VALUE : head.next.lastAccessTime;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean evictLeastRecentlyUsed() {
+            lock.lock();
+            try {
+                if (head.next == head) {
+                    return false;
+                }
+                removeEntry(head.next);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        BValue get(String key, long now) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (isExpired(entry, now)) {
+                    // not removed by the timer wheel yet
+                    removeEntry(entry);
+                    statistics.expirations.increment();
+                    return null;
+                }
+                entry.lastAccessTime = now;
+                unlink(entry);
+                linkLast(entry);
+                return entry.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(String key) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(key);
+                if (entry != null) {
+                    removeEntry(entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                while (head.next != head) {
+                    removeEntry(head.next);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void collectEntries(List<Entry> collected, long now) {
+            lock.lock();
+            try {
+                for (Entry entry = head.next; entry != head; entry = entry.next) {
+                    if (!isExpired(entry, now)) {
+                        collected.add(entry);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onExpiry(long expiryTime) {
+            lock.lock();
+            try {
+                scheduledExpiryTime = 0;
+                expireEntries(System.currentTimeMillis());
+                scheduleExpiry();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean isExpired(Entry entry, long now) {
+            return now >= entry.lastAccessTime + expiryTimeMillis;
+        }
+
+        private void expireEntries(long now) {
+            while (head.next != head && isExpired(head.next, now)) {
+                removeEntry(head.next);
+                statistics.expirations.increment();
+            }
+        }
+
+        /**
+         * Schedules the expiry of the least recently used entry, unless an expiry is already scheduled. An already
+         * scheduled expiry is never later than that of the least recently used entry, as entries only move away from
+         * the head of the list when accessed.
+         */
+        private void scheduleExpiry() {
+            if (scheduledExpiryTime != 0 || head.next == head) {
+                return;
+            }
+            long deadline = head.next.lastAccessTime + expiryTimeMillis;
+            scheduledExpiryTime = timerWheel.expiryTimeOf(deadline);
+            timerWheel.schedule(deadline, this);
+        }
+
+        private void removeEntry(Entry entry) {
+            entries.remove(entry.key);
+            size.decrementAndGet();
+            unlink(entry);
+            entry.value = null;
+        }
+
+        private void linkLast(Entry entry) {
+            entry.previous = head.previous;
+            entry.next = head;
+            head.previous.next = entry;
+            head.previous = entry;
+        }
+
+        private void unlink(Entry entry) {
+            entry.previous.next = entry.next;
+            entry.next.previous = entry.previous;
+            entry.previous = null;
+            entry.next = null;
+        }
+    }
+}
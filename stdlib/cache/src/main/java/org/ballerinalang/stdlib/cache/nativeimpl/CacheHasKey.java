@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.stdlib.cache.CacheEngine;
+
+import static org.ballerinalang.stdlib.cache.CacheConstants.CACHE;
+import static org.ballerinalang.stdlib.cache.CacheConstants.ORG_NAME;
+import static org.ballerinalang.stdlib.cache.CacheConstants.PACKAGE_NAME;
+import static org.ballerinalang.stdlib.cache.CacheConstants.PACKAGE_PATH;
+
+/**
+ * Extern function ballerina.cache:Cache.hasKey.
+ *
+ * @since 0.981.1
+ */
+@BallerinaFunction(
+        orgName = ORG_NAME,
+        packageName = PACKAGE_NAME,
+        functionName = "hasKey",
+        receiver = @Receiver(type = TypeKind.OBJECT, structType = CACHE, structPackage = PACKAGE_PATH),
+        args = {@Argument(name = "key", type = TypeKind.STRING)},
+        returnType = {@ReturnType(type = TypeKind.BOOLEAN)},
+        isPublic = true
+)
+public class CacheHasKey extends BlockingNativeCallableUnit {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void execute(Context context) {
+        BMap<String, BValue> cache = (BMap<String, BValue>) context.getRefArgument(0);
+        String key = context.getStringArgument(0);
+        context.setReturnValues(BBoolean.valueOf(CacheEngine.get(cache).hasKey(key)));
+    }
+}
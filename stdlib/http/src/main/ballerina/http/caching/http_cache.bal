@@ -134,7 +134,7 @@ public type HttpCache object {
 function createHttpCache (string name, CacheConfig cacheConfig) returns HttpCache {
     HttpCache httpCache = new;
     cache:Cache backingCache = new(expiryTimeMillis = cacheConfig.expiryTimeMillis, capacity = cacheConfig.capacity,
-                                     evictionFactor = cacheConfig.evictionFactor);
+                                     evictionFactor = cacheConfig.evictionFactor, name = name);
     httpCache.cache = backingCache;
     httpCache.policy = cacheConfig.policy;
     httpCache.isShared = cacheConfig.isShared;
@@ -187,7 +187,7 @@ function createAuthFiltersForSecureListener(SecureEndpointConfiguration config)
     Filter[] authFilters = [];
     AuthnHandlerChain authnHandlerChain = new(registry);
     AuthnFilter authnFilter = new(authnHandlerChain);
-    cache:Cache authzCache = new(expiryTimeMillis = 300000);
+    cache:Cache authzCache = new(expiryTimeMillis = 300000, name = "http-authz-cache");
     auth:ConfigAuthStoreProvider configAuthStoreProvider = new;
     auth:AuthStoreProvider authStoreProvider = <auth:AuthStoreProvider>configAuthStoreProvider;
     HttpAuthzHandler authzHandler = new(authStoreProvider, authzCache);
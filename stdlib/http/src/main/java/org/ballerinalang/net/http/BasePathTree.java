@@ -0,0 +1,178 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+
+package org.ballerinalang.net.http;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Case insensitive radix tree of the service base paths of a host, used to find the most specific base path of a
+ * request path in a single pass over the path. A tree is not modified once built, a new tree is built when a service
+ * is registered.
+ *
+ * @since 0.981.1
+ */
+public class BasePathTree {
+
+    private static final char PATH_SEPARATOR = '/';
+
+    private final Node root = new Node(new char[0]);
+
+    /**
+     * Builds the tree of the given base paths. Of the base paths which only differ by case, the first one is kept.
+     *
+     * @param basePaths the base paths
+     */
+    public BasePathTree(Collection<String> basePaths) {
+        for (String basePath : basePaths) {
+            insert(basePath);
+        }
+    }
+
+    /**
+     * Finds the longest base path which the given path starts with, ignoring case, and which ends at a segment
+     * boundary of the path.
+     *
+     * @param path the request path
+     * @return the matching base path, or null if none of the base paths match
+     */
+    public String findMostSpecificBasePath(String path) {
+        int length = path.length();
+        int index = 0;
+        Node node = root;
+        String basePath = null;
+        while (true) {
+            if (node.basePath != null && (index == length || path.charAt(index) == PATH_SEPARATOR)) {
+                basePath = node.basePath;
+            }
+            if (index == length) {
+                return basePath;
+            }
+            Node child = node.getChild(toLowerCase(path.charAt(index)));
+            if (child == null || !child.matches(path, index)) {
+                return basePath;
+            }
+            index += child.label.length;
+            node = child;
+        }
+    }
+
+    private void insert(String basePath) {
+        char[] key = new char[basePath.length()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = toLowerCase(basePath.charAt(i));
+        }
+        Node node = root;
+        int index = 0;
+        while (index < key.length) {
+            Node child = node.getChild(key[index]);
+            if (child == null) {
+                child = new Node(Arrays.copyOfRange(key, index, key.length));
+                node.addChild(child);
+                node = child;
+                break;
+            }
+            int common = child.commonPrefixLength(key, index);
+            if (common < child.label.length) {
+                child = node.split(child, common);
+            }
+            index += common;
+            node = child;
+        }
+        if (node.basePath == null) {
+            node.basePath = basePath;
+        }
+    }
+
+    private static char toLowerCase(char c) {
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * A node of the tree, labelled with the characters which lead to it from its parent.
+     */
+    private static class Node {
+
+        private char[] label;
+
+        private String basePath;
+
+        // first characters of the labels of the children, kept sorted for binary search
+        private char[] firstChars = new char[0];
+
+        private Node[] children = new Node[0];
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        Node getChild(char firstChar) {
+            int index = Arrays.binarySearch(firstChars, firstChar);
+            return index < 0 ? null : children[index];
+        }
+
+        boolean matches(String path, int offset) {
+            if (path.length() - offset < label.length) {
+                return false;
+            }
+            for (int i = 0; i < label.length; i++) {
+                if (toLowerCase(path.charAt(offset + i)) != label[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int commonPrefixLength(char[] key, int offset) {
+            int length = Math.min(label.length, key.length - offset);
+            int i = 0;
+            while (i < length && label[i] == key[offset + i]) {
+                i++;
+            }
+            return i;
+        }
+
+        void addChild(Node child) {
+            int index = -Arrays.binarySearch(firstChars, child.label[0]) - 1;
+            char[] newFirstChars = new char[firstChars.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firstChars, 0, newFirstChars, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newFirstChars[index] = child.label[0];
+            newChildren[index] = child;
+            System.arraycopy(firstChars, index, newFirstChars, index + 1, firstChars.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            firstChars = newFirstChars;
+            children = newChildren;
+        }
+
+        /**
+         * Splits the given child after the given number of characters of its label, and returns the new child which
+         * takes its place.
+         */
+        Node split(Node child, int length) {
+            Node prefix = new Node(Arrays.copyOfRange(child.label, 0, length));
+            child.label = Arrays.copyOfRange(child.label, length, child.label.length);
+            prefix.addChild(child);
+            children[Arrays.binarySearch(firstChars, prefix.label[0])] = prefix;
+            return prefix;
+        }
+    }
+}
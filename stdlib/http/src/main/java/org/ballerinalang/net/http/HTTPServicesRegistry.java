@@ -95,6 +95,16 @@ public class HTTPServicesRegistry {
         return servicesMapByHost.get(hostName).sortedServiceURIs;
     }
 
+    /**
+     * Get the base path tree for given host name.
+     *
+     * @param hostName of the service
+     * @return the base path tree of the host
+     */
+    public BasePathTree getBasePathTreeByHost(String hostName) {
+        return servicesMapByHost.get(hostName).basePathTree;
+    }
+
     /**
      * Register a service into the map.
      *
@@ -125,12 +135,28 @@ public class HTTPServicesRegistry {
             logger.info(errLog);
 
             //basePath will get cached after registering service
-            sortedServiceURIs.add(basePath);
-            sortedServiceURIs.sort((basePath1, basePath2) -> basePath2.length() - basePath1.length());
+            cacheBasePath(hostName, basePath);
             registerUpgradableWebSocketService(httpService);
         }
     }
 
+    /**
+     * Adds a registered base path to the sorted base paths of the host, and replaces the base path tree of the host
+     * with one which includes it. Requests dispatched while the tree is rebuilt use the previous tree.
+     *
+     * @param hostName host name of the service
+     * @param basePath base path of the service
+     */
+    protected void cacheBasePath(String hostName, String basePath) {
+        ServicesMapHolder servicesMapHolder = servicesMapByHost.get(hostName);
+        synchronized (servicesMapHolder) {
+            List<String> basePaths = servicesMapHolder.sortedServiceURIs;
+            basePaths.add(basePath);
+            basePaths.sort((basePath1, basePath2) -> basePath2.length() - basePath1.length());
+            servicesMapHolder.basePathTree = new BasePathTree(basePaths);
+        }
+    }
+
     private void registerUpgradableWebSocketService(HttpService httpService) {
         httpService.getUpgradeToWebSocketResources().forEach(upgradeToWebSocketResource -> {
             ProgramFile programFile = WebSocketUtil.getProgramFile(upgradeToWebSocketResource.getBalResource());
@@ -163,17 +189,10 @@ public class HTTPServicesRegistry {
     }
 
     public String findTheMostSpecificBasePath(String requestURIPath, Map<String, HttpService> services,
-                                              List<String> sortedServiceURIs) {
-        for (Object key : sortedServiceURIs) {
-            if (!requestURIPath.toLowerCase().contains(key.toString().toLowerCase())) {
-                continue;
-            }
-            if (requestURIPath.length() <= key.toString().length()) {
-                return key.toString();
-            }
-            if (requestURIPath.charAt(key.toString().length()) == '/') {
-                return key.toString();
-            }
+                                              BasePathTree basePathTree) {
+        String basePath = basePathTree.findMostSpecificBasePath(requestURIPath);
+        if (basePath != null) {
+            return basePath;
         }
         if (services.containsKey(HttpConstants.DEFAULT_BASE_PATH)) {
             return HttpConstants.DEFAULT_BASE_PATH;
@@ -182,15 +201,17 @@ public class HTTPServicesRegistry {
     }
 
     /**
-     * Holds both serviceByBasePath map and sorted Service basePath list.
+     * Holds the serviceByBasePath map, the sorted Service basePath list and the tree of the base paths.
      */
     protected class ServicesMapHolder {
         private Map<String, HttpService> servicesByBasePath;
         private List<String> sortedServiceURIs;
+        private volatile BasePathTree basePathTree;
 
         public ServicesMapHolder(Map<String, HttpService> servicesByBasePath, List<String> sortedServiceURIs) {
             this.servicesByBasePath = servicesByBasePath;
             this.sortedServiceURIs = sortedServiceURIs;
+            this.basePathTree = new BasePathTree(sortedServiceURIs);
         }
     }
 }
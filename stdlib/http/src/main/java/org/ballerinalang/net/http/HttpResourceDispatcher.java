@@ -22,6 +22,8 @@ import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import org.ballerinalang.connector.api.BallerinaConnectorException;
 import org.ballerinalang.net.uri.DispatcherUtil;
+import org.ballerinalang.net.uri.PathArguments;
+import org.ballerinalang.net.uri.PathSegmentTree;
 import org.ballerinalang.net.uri.URITemplateException;
 import org.wso2.transport.http.netty.message.HttpCarbonMessage;
 
@@ -38,9 +40,18 @@ public class HttpResourceDispatcher {
         String method = (String) inboundRequest.getProperty(HttpConstants.HTTP_METHOD);
         String subPath = (String) inboundRequest.getProperty(HttpConstants.SUB_PATH);
         subPath = sanitizeSubPath(subPath);
-        Map<String, String> resourceArgumentValues = new HashMap<>();
+        PathSegmentTree<HttpResource, HttpCarbonMessage> resourceTree = service.getResourceTree();
+        Map<String, String> resourceArgumentValues;
         try {
-            HttpResource resource = service.getUriTemplate().matches(subPath, resourceArgumentValues, inboundRequest);
+            HttpResource resource;
+            if (resourceTree != null) {
+                PathArguments pathArguments = resourceTree.createArguments();
+                resource = resourceTree.matches(subPath, pathArguments, inboundRequest);
+                resourceArgumentValues = pathArguments;
+            } else {
+                resourceArgumentValues = new HashMap<>();
+                resource = service.getUriTemplate().matches(subPath, resourceArgumentValues, inboundRequest);
+            }
             if (resource != null) {
                 inboundRequest.setProperty(HttpConstants.RESOURCE_ARGS, resourceArgumentValues);
                 inboundRequest.setProperty(HttpConstants.RESOURCES_CORS, resource.getCorsHeaders());
@@ -23,6 +23,7 @@ import org.ballerinalang.connector.api.Resource;
 import org.ballerinalang.connector.api.Service;
 import org.ballerinalang.connector.api.Struct;
 import org.ballerinalang.net.uri.DispatcherUtil;
+import org.ballerinalang.net.uri.PathSegmentTree;
 import org.ballerinalang.net.uri.URITemplate;
 import org.ballerinalang.net.uri.URITemplateException;
 import org.ballerinalang.net.uri.parser.Literal;
@@ -66,6 +67,7 @@ public class HttpService implements Cloneable {
     private String basePath;
     private CorsHeaders corsHeaders;
     private URITemplate<HttpResource, HttpCarbonMessage> uriTemplate;
+    private PathSegmentTree<HttpResource, HttpCarbonMessage> resourceTree;
     private boolean keepAlive = true; //default behavior
     private String compression = AUTO; //default behavior
     private String hostName;
@@ -172,6 +174,31 @@ public class HttpService implements Cloneable {
         return uriTemplate;
     }
 
+    /**
+     * Returns the compiled uri templates of the resources, or null if the templates of some resources can only be
+     * matched with the {@link URITemplate} of the service.
+     *
+     * @return the compiled uri templates of the resources
+     */
+    public PathSegmentTree<HttpResource, HttpCarbonMessage> getResourceTree() {
+        return resourceTree;
+    }
+
+    private static PathSegmentTree<HttpResource, HttpCarbonMessage> compileResources(List<HttpResource> resources)
+            throws URITemplateException {
+        for (HttpResource resource : resources) {
+            if (!PathSegmentTree.isSupported(resource.getPath())) {
+                return null;
+            }
+        }
+        PathSegmentTree<HttpResource, HttpCarbonMessage> resourceTree =
+                new PathSegmentTree<>(new HttpResourceElementFactory());
+        for (HttpResource resource : resources) {
+            resourceTree.add(resource.getPath(), resource);
+        }
+        return resourceTree;
+    }
+
     public static List<HttpService> buildHttpService(Service service) {
         List<HttpService> serviceList = new ArrayList<>();
         List<String> basePathList = new ArrayList<>();
@@ -222,6 +249,11 @@ public class HttpService implements Cloneable {
             }
         }
         httpService.setResources(httpResources);
+        try {
+            httpService.resourceTree = compileResources(httpResources);
+        } catch (URITemplateException e) {
+            throw new BallerinaConnectorException(e.getMessage());
+        }
         httpService.setUpgradeToWebSocketResources(upgradeToWebSocketResources);
         httpService.setAllAllowedMethods(DispatcherUtil.getAllResourceMethods(httpService));
 
@@ -19,6 +19,7 @@
 package org.ballerinalang.net.http;
 
 import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultHttpRequest;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
@@ -40,12 +41,14 @@ import org.ballerinalang.connector.api.Resource;
 import org.ballerinalang.connector.api.Service;
 import org.ballerinalang.connector.api.Struct;
 import org.ballerinalang.connector.api.Value;
-import org.ballerinalang.mime.util.EntityBodyChannel;
 import org.ballerinalang.mime.util.EntityBodyHandler;
 import org.ballerinalang.mime.util.EntityWrapper;
 import org.ballerinalang.mime.util.HeaderUtil;
+import org.ballerinalang.mime.util.HttpContentChannel;
 import org.ballerinalang.mime.util.MimeUtil;
 import org.ballerinalang.mime.util.MultipartDecoder;
+import org.ballerinalang.model.util.ChunkedByteBufOutputStream;
+import org.ballerinalang.model.util.JsonGenerator;
 import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BString;
@@ -260,10 +263,10 @@ public class HttpUtil {
                                           BMap<String, BValue> entity, boolean isRequest) {
         HttpCarbonMessage httpCarbonMessage = HttpUtil
                 .getCarbonMsg(httpMessageStruct, HttpUtil.createHttpCarbonMessage(isRequest));
-        HttpMessageDataStreamer httpMessageDataStreamer = new HttpMessageDataStreamer(httpCarbonMessage);
         String contentType = httpCarbonMessage.getHeader(HttpHeaderNames.CONTENT_TYPE.toString());
         if (MimeUtil.isNotNullAndEmpty(contentType) && contentType.startsWith(MULTIPART_AS_PRIMARY_TYPE)
                 && context != null) {
+            HttpMessageDataStreamer httpMessageDataStreamer = new HttpMessageDataStreamer(httpCarbonMessage);
             MultipartDecoder.parseBody(context, entity, contentType, httpMessageDataStreamer.getInputStream());
         } else {
             long contentLength = NO_CONTENT_LENGTH_FOUND;
@@ -278,8 +281,9 @@ public class HttpUtil {
                 throw new BallerinaException("Invalid content length");
             }
             if (contentLength > 0) {
-                entity.addNativeData(ENTITY_BYTE_CHANNEL, new EntityWrapper(
-                        new EntityBodyChannel(httpMessageDataStreamer.getInputStream())));
+                // the content stays in the message until it is read, so that it can be passed through as it is
+                entity.addNativeData(ENTITY_BYTE_CHANNEL,
+                                     new EntityWrapper(new HttpContentChannel(httpCarbonMessage)));
             }
         }
         httpMessageStruct.put(isRequest ? REQUEST_ENTITY_FIELD : RESPONSE_ENTITY_FIELD, entity);
@@ -305,6 +309,37 @@ public class HttpUtil {
         }
     }
 
+    /**
+     * Serializes the given message data source straight into pooled buffers, which are added to the given message as
+     * its content. The last buffer is added as the last content of the message, hence the payload does not have to be
+     * written through the data streamer of the message. The message is not ended if the data source fails to
+     * serialize.
+     *
+     * @param messageDataSource Represent the data source to be serialized
+     * @param entityStruct      Represent the entity that holds the data source
+     * @param message           Represent the message to which the serialized content is added
+     * @throws IOException When an error occurs while serializing the data source
+     */
+    public static void serializeMessageDataSource(BValue messageDataSource, BMap<String, BValue> entityStruct,
+                                                  HttpCarbonMessage message) throws IOException {
+        ChunkedByteBufOutputStream outputStream = new ChunkedByteBufOutputStream((chunk, last) ->
+                message.addHttpContent(last ? new DefaultLastHttpContent(chunk) : new DefaultHttpContent(chunk)));
+        try {
+            if (MimeUtil.generateAsJSON(messageDataSource, entityStruct)) {
+                JsonGenerator gen = new JsonGenerator(outputStream.getWriter());
+                gen.serialize(messageDataSource);
+                gen.flush();
+            } else {
+                messageDataSource.serialize(outputStream);
+            }
+        } catch (IOException | RuntimeException e) {
+            // the message must not be ended with a truncated payload
+            outputStream.abort();
+            throw e;
+        }
+        outputStream.close();
+    }
+
     public static void prepareOutboundResponse(Context context, HttpCarbonMessage inboundRequestMsg,
                                                HttpCarbonMessage outboundResponseMsg,
                                                BMap<String, BValue> outboundResponseStruct) {
@@ -30,10 +30,8 @@ import org.ballerinalang.connector.api.BallerinaConnectorException;
 import org.ballerinalang.connector.api.Struct;
 import org.ballerinalang.mime.util.EntityBodyHandler;
 import org.ballerinalang.mime.util.HeaderUtil;
-import org.ballerinalang.mime.util.MimeUtil;
 import org.ballerinalang.mime.util.MultipartDataSource;
 import org.ballerinalang.model.NativeCallableUnit;
-import org.ballerinalang.model.util.JsonGenerator;
 import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BRefValueArray;
@@ -353,9 +351,9 @@ public abstract class AbstractHTTPAction implements NativeCallableUnit {
         }
         try {
             if (boundaryString != null) {
-                serializeMultiparts(dataContext.context, messageOutputStream, boundaryString);
+                serializeMultiparts(dataContext.context, outboundRequestMsg, messageOutputStream, boundaryString);
             } else {
-                serializeDataSource(dataContext.context, messageOutputStream);
+                serializeDataSource(dataContext.context, outboundRequestMsg, messageOutputStream);
             }
         } catch (IOException | EncoderException serializerException) {
             // We don't have to do anything here as the client connector will notify
@@ -388,19 +386,19 @@ public abstract class AbstractHTTPAction implements NativeCallableUnit {
      * if it exist as a byte channel.
      *
      * @param context             Represent the ballerina context which is the runtime state of the program
-     * @param boundaryString      Boundary string that should be used in encoding body parts
+     * @param outboundRequestMsg  Outbound request to which the encoded body parts are added
      * @param messageOutputStream Output stream to which the payload is written
+     * @param boundaryString      Boundary string that should be used in encoding body parts
      */
-    private void serializeMultiparts(Context context, OutputStream messageOutputStream, String boundaryString)
-            throws IOException {
+    private void serializeMultiparts(Context context, HttpCarbonMessage outboundRequestMsg,
+                                     OutputStream messageOutputStream, String boundaryString) throws IOException {
         BMap<String, BValue> entityStruct = getEntityStruct(context);
         if (entityStruct != null) {
             BRefValueArray bodyParts = EntityBodyHandler.getBodyPartArray(entityStruct);
             if (bodyParts != null && bodyParts.size() > 0) {
-                serializeMultipartDataSource(messageOutputStream, boundaryString,
-                                             entityStruct);
+                serializeMultipartDataSource(outboundRequestMsg, boundaryString, entityStruct);
             } else { //If the content is in a byte channel
-                serializeDataSource(context, messageOutputStream);
+                serializeDataSource(context, outboundRequestMsg, messageOutputStream);
             }
         }
     }
@@ -413,18 +411,19 @@ public abstract class AbstractHTTPAction implements NativeCallableUnit {
     /**
      * Encode body parts with the given boundary and send it across the wire.
      *
+     * @param outboundRequestMsg  Outbound request to which the encoded body parts are added
      * @param boundaryString      Boundary string of multipart entity
      * @param entityStruct        Represent ballerina entity struct
-     * @param messageOutputStream Output stream to which the payload is written
+     * @throws IOException When an error occurs while encoding the body parts
      */
-    private void serializeMultipartDataSource(OutputStream messageOutputStream,
-                                              String boundaryString, BMap<String, BValue> entityStruct) {
+    private void serializeMultipartDataSource(HttpCarbonMessage outboundRequestMsg, String boundaryString,
+                                              BMap<String, BValue> entityStruct) throws IOException {
         MultipartDataSource multipartDataSource = new MultipartDataSource(entityStruct, boundaryString);
-        multipartDataSource.serialize(messageOutputStream);
-        HttpUtil.closeMessageOutputStream(messageOutputStream);
+        HttpUtil.serializeMessageDataSource(multipartDataSource, entityStruct, outboundRequestMsg);
     }
 
-    private void serializeDataSource(Context context, OutputStream messageOutputStream) throws IOException {
+    private void serializeDataSource(Context context, HttpCarbonMessage outboundRequestMsg,
+                                     OutputStream messageOutputStream) throws IOException {
         BMap<String, BValue> requestStruct = ((BMap<String, BValue>) context.getNullableRefArgument(1));
         if (requestStruct == null) {
             return;
@@ -434,16 +433,10 @@ public abstract class AbstractHTTPAction implements NativeCallableUnit {
         if (entityStruct != null) {
             BValue messageDataSource = EntityBodyHandler.getMessageDataSource(entityStruct);
             if (messageDataSource != null) {
-                if (MimeUtil.generateAsJSON(messageDataSource, entityStruct)) {
-                    JsonGenerator gen = new JsonGenerator(messageOutputStream);
-                    gen.serialize(messageDataSource);
-                    gen.flush();
-                } else {
-                    messageDataSource.serialize(messageOutputStream);
-                }
-                HttpUtil.closeMessageOutputStream(messageOutputStream);
+                HttpUtil.serializeMessageDataSource(messageDataSource, entityStruct, outboundRequestMsg);
             } else { //When the entity body is a byte channel and when it is not null
-                if (EntityBodyHandler.getByteChannel(entityStruct) != null) {
+                if (EntityBodyHandler.getByteChannel(entityStruct) != null
+                        && !EntityBodyHandler.transferByteChannelContent(entityStruct, outboundRequestMsg)) {
                     EntityBodyHandler.writeByteChannelToOutputStream(entityStruct, messageOutputStream);
                     HttpUtil.closeMessageOutputStream(messageOutputStream);
                 }
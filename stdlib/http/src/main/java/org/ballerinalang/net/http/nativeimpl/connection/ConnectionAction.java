@@ -20,10 +20,8 @@ package org.ballerinalang.net.http.nativeimpl.connection;
 
 import org.ballerinalang.mime.util.EntityBodyHandler;
 import org.ballerinalang.mime.util.HeaderUtil;
-import org.ballerinalang.mime.util.MimeUtil;
 import org.ballerinalang.mime.util.MultipartDataSource;
 import org.ballerinalang.model.NativeCallableUnit;
-import org.ballerinalang.model.util.JsonGenerator;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BRefValueArray;
 import org.ballerinalang.model.values.BValue;
@@ -68,10 +66,10 @@ public abstract class ConnectionAction implements NativeCallableUnit {
         BMap<String, BValue> entityStruct = extractEntity(outboundResponseStruct);
         if (entityStruct != null) {
             if (boundaryString != null) {
-                serializeMultiparts(boundaryString, entityStruct, messageOutputStream);
+                serializeMultiparts(boundaryString, entityStruct, responseMessage, messageOutputStream);
             } else {
                 BValue outboundMessageSource = EntityBodyHandler.getMessageDataSource(entityStruct);
-                serializeMsgDataSource(outboundMessageSource, entityStruct, messageOutputStream);
+                serializeMsgDataSource(outboundMessageSource, entityStruct, responseMessage, messageOutputStream);
             }
         }
     }
@@ -82,19 +80,21 @@ public abstract class ConnectionAction implements NativeCallableUnit {
      *
      * @param boundaryString           Boundary string that should be used in encoding body parts
      * @param entityStruct             Represent the entity that holds the actual body
+     * @param responseMessage          Represent the response message to which the body parts are added
      * @param messageOutputStream      Represent the output stream
      */
     private void serializeMultiparts(String boundaryString, BMap<String, BValue> entityStruct,
-                                     OutputStream messageOutputStream) {
+                                     HttpCarbonMessage responseMessage, OutputStream messageOutputStream) {
         BRefValueArray bodyParts = EntityBodyHandler.getBodyPartArray(entityStruct);
         if (bodyParts != null && bodyParts.size() > 0) {
             MultipartDataSource multipartDataSource = new MultipartDataSource(entityStruct, boundaryString);
-            serializeMsgDataSource(multipartDataSource, entityStruct, messageOutputStream);
-            HttpUtil.closeMessageOutputStream(messageOutputStream);
+            serializeMsgDataSource(multipartDataSource, entityStruct, responseMessage, messageOutputStream);
         } else {
             try {
-                EntityBodyHandler.writeByteChannelToOutputStream(entityStruct, messageOutputStream);
-                HttpUtil.closeMessageOutputStream(messageOutputStream);
+                if (!EntityBodyHandler.transferByteChannelContent(entityStruct, responseMessage)) {
+                    EntityBodyHandler.writeByteChannelToOutputStream(entityStruct, messageOutputStream);
+                    HttpUtil.closeMessageOutputStream(messageOutputStream);
+                }
             } catch (IOException e) {
                 throw new BallerinaException("Error occurred while serializing byte channel content : " +
                         e.getMessage());
@@ -108,19 +108,23 @@ public abstract class ConnectionAction implements NativeCallableUnit {
         outResponseStatusFuture.setHttpConnectorListener(outboundResStatusConnectorListener);
     }
 
+    /**
+     * Serialize the message data source straight into the content of the response message. If there is no data
+     * source, the content of an unread inbound byte channel is moved to the response message as it is, and any other
+     * byte channel of the entity is written to the given output stream.
+     *
+     * @param outboundMessageSource    Represent the message data source
+     * @param entityStruct             Represent the entity that holds the actual body
+     * @param responseMessage          Represent the response message
+     * @param messageOutputStream      Represent the output stream of the response message
+     */
     protected void serializeMsgDataSource(BValue outboundMessageSource, BMap<String, BValue> entityStruct,
-                                          OutputStream messageOutputStream) {
+                                          HttpCarbonMessage responseMessage, OutputStream messageOutputStream) {
         try {
             if (outboundMessageSource != null) {
-                if (MimeUtil.generateAsJSON(outboundMessageSource, entityStruct)) {
-                    JsonGenerator gen = new JsonGenerator(messageOutputStream);
-                    gen.serialize(outboundMessageSource);
-                    gen.flush();
-                } else {
-                    outboundMessageSource.serialize(messageOutputStream);
-                }
-                HttpUtil.closeMessageOutputStream(messageOutputStream);
-            } else { //When the entity body is a byte channel
+                HttpUtil.serializeMessageDataSource(outboundMessageSource, entityStruct, responseMessage);
+            } else if (!EntityBodyHandler.transferByteChannelContent(entityStruct, responseMessage)) {
+                //When the entity body is a byte channel which has to be copied
                 EntityBodyHandler.writeByteChannelToOutputStream(entityStruct, messageOutputStream);
                 HttpUtil.closeMessageOutputStream(messageOutputStream);
             }
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.session;
+
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.util.JsonParser;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BByte;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * {@link SessionPersistence} which writes each session to a file of its own in a local directory. The directory is
+ * given by {@code b7a.runtime.http.session.persistence.dir}, and a temporary directory is used if it is not given.
+ * <p>
+ * Attributes of string, int, float, boolean, byte and json values are written. A session holding an attribute of any
+ * other type is not stored, so it is kept in memory.
+ *
+ * @since 0.981.1
+ */
+public class FileSessionPersistence implements SessionPersistence {
+
+    private static final String NAME = "file";
+
+    private static final String DIRECTORY_CONFIG_PROP = "b7a.runtime.http.session.persistence.dir";
+
+    private static final String FILE_SUFFIX = ".session";
+
+    private static final int VERSION = 1;
+
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte FLOAT = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte BYTE = 5;
+    private static final byte JSON = 6;
+
+    private final Path configuredDirectory;
+    private Path directory;
+
+    public FileSessionPersistence() {
+        String directoryConfig = ConfigRegistry.getInstance().getAsString(DIRECTORY_CONFIG_PROP);
+        this.configuredDirectory = directoryConfig == null ? null : Paths.get(directoryConfig.trim());
+    }
+
+    public FileSessionPersistence(Path directory) {
+        this.configuredDirectory = directory;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean store(HTTPSession session) throws IOException {
+        BMap<String, BValue> attributes = session.getAttributes();
+        String[] names = attributes.keys();
+        byte[] tags = new byte[names.length];
+        for (int i = 0; i < names.length; i++) {
+            tags[i] = tagOf(attributes.get(names[i]));
+            if (tags[i] == 0) {
+                return false;
+            }
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(fileOf(session.getId()))))) {
+            out.writeInt(VERSION);
+            writeString(out, session.getPath());
+            out.writeInt(session.getMaxInactiveInterval());
+            out.writeLong(session.getCreationTime());
+            out.writeLong(session.getAccessedTime());
+            out.writeLong(session.getLastAccessedTime());
+            out.writeBoolean(session.isNew());
+            out.writeInt(names.length);
+            for (int i = 0; i < names.length; i++) {
+                writeString(out, names[i]);
+                out.writeByte(tags[i]);
+                writeValue(out, tags[i], attributes.get(names[i]));
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public HTTPSession load(String sessionId) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(fileOf(sessionId))))) {
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("unsupported session file version: " + version);
+            }
+            String path = readString(in);
+            int maxInactiveInterval = in.readInt();
+            long createTime = in.readLong();
+            long accessedTime = in.readLong();
+            long lastAccessedTime = in.readLong();
+            boolean isNew = in.readBoolean();
+            int attributeCount = in.readInt();
+            BMap<String, BValue> attributes = new BMap<>();
+            for (int i = 0; i < attributeCount; i++) {
+                String name = readString(in);
+                attributes.put(name, readValue(in, in.readByte()));
+            }
+            HTTPSession session = new HTTPSession(sessionId, path, maxInactiveInterval, createTime, accessedTime,
+                    lastAccessedTime, attributes);
+            session.setNew(isNew);
+            return session;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void remove(String sessionId) throws IOException {
+        Files.deleteIfExists(fileOf(sessionId));
+    }
+
+    private synchronized Path getDirectory() throws IOException {
+        if (directory == null) {
+            directory = configuredDirectory == null ? Files.createTempDirectory("ballerina-sessions")
+                    : Files.createDirectories(configuredDirectory);
+        }
+        return directory;
+    }
+
+    private Path fileOf(String sessionId) throws IOException {
+        // session ids come from cookies, so they are not trusted as file names
+        for (int i = 0; i < sessionId.length(); i++) {
+            if (!Character.isLetterOrDigit(sessionId.charAt(i))) {
+                throw new IOException("invalid session id: " + sessionId);
+            }
+        }
+        return getDirectory().resolve(sessionId + FILE_SUFFIX);
+    }
+
+    private static byte tagOf(BValue value) {
+        if (value instanceof BString) {
+            return STRING;
+        } else if (value instanceof BInteger) {
+            return INT;
+        } else if (value instanceof BFloat) {
+            return FLOAT;
+        } else if (value instanceof BBoolean) {
+            return BOOLEAN;
+        } else if (value instanceof BByte) {
+            return BYTE;
+        } else if (value != null && value.getType().getTag() == TypeTags.JSON_TAG) {
+            return JSON;
+        }
+        return 0;
+    }
+
+    private static void writeValue(DataOutputStream out, byte tag, BValue value) throws IOException {
+        switch (tag) {
+            case STRING:
+                writeString(out, value.stringValue());
+                break;
+            case INT:
+                out.writeLong(((BInteger) value).intValue());
+                break;
+            case FLOAT:
+                out.writeDouble(((BFloat) value).floatValue());
+                break;
+            case BOOLEAN:
+                out.writeBoolean(((BBoolean) value).booleanValue());
+                break;
+            case BYTE:
+                out.writeByte(((BByte) value).byteValue());
+                break;
+            default:
+                writeString(out, value.stringValue());
+                break;
+        }
+    }
+
+    private static BValue readValue(DataInputStream in, byte tag) throws IOException {
+        switch (tag) {
+            case STRING:
+                return new BString(readString(in));
+            case INT:
+                return BInteger.valueOf(in.readLong());
+            case FLOAT:
+                return BFloat.valueOf(in.readDouble());
+            case BOOLEAN:
+                return BBoolean.valueOf(in.readBoolean());
+            case BYTE:
+                return new BByte(in.readByte());
+            case JSON:
+                return JsonParser.parse(readString(in));
+            default:
+                throw new IOException("invalid session attribute type: " + tag);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -52,6 +52,28 @@ public class HTTPSession implements Session, Serializable {
         this.sessionPath = path;
     }
 
+    /**
+     * Create a session restored from a {@link SessionPersistence}.
+     *
+     * @param id                  id of the session
+     * @param path                path of the session
+     * @param maxInactiveInterval max inactive interval of the session in seconds
+     * @param createTime          creation time of the session
+     * @param accessedTime        time of the latest access to the session
+     * @param lastAccessedTime    time of the access before the latest access
+     * @param attributeMap        attributes of the session
+     */
+    public HTTPSession(String id, String path, int maxInactiveInterval, long createTime, long accessedTime,
+                       long lastAccessedTime, BMap<String, BValue> attributeMap) {
+        this.id = id;
+        this.sessionPath = path;
+        this.maxInactiveInterval = maxInactiveInterval;
+        this.createTime = createTime;
+        this.accessedTime = accessedTime;
+        this.lastAccessedTime = lastAccessedTime;
+        this.attributeMap = attributeMap;
+    }
+
     @Override
     public String getId() {
         return id;
@@ -111,6 +133,9 @@ public class HTTPSession implements Session, Serializable {
     @Override
     public void setMaxInactiveInterval(int maxInactiveInterval) {
         this.maxInactiveInterval = maxInactiveInterval;
+        if (sessionManager != null) {
+            sessionManager.touch(this);
+        }
     }
 
     @Override
@@ -125,6 +150,7 @@ public class HTTPSession implements Session, Serializable {
         checkValidity();
         lastAccessedTime = this.accessedTime;
         accessedTime = System.currentTimeMillis();
+        sessionManager.touch(this);
         return this;
     }
 
@@ -143,6 +169,15 @@ public class HTTPSession implements Session, Serializable {
         }
     }
 
+    /**
+     * Get the time of the latest access to the session, which the session expires from.
+     *
+     * @return Time in milliseconds.
+     */
+    public long getAccessedTime() {
+        return accessedTime;
+    }
+
     public void setManager(SessionManager sessionManager) {
         this.sessionManager = sessionManager;
     }
@@ -18,21 +18,32 @@
 
 package org.ballerinalang.net.http.session;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.util.ServiceLoader;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
  * SessionManager to manage all transport sessions.
+ * <p>
+ * Sessions are held in a {@link SessionStore}, which expires them through a timer wheel. The number of sessions held
+ * in memory is limited by {@code b7a.runtime.http.session.capacity}. Once it is reached, idle sessions are spilled to
+ * the {@link SessionPersistence} named by {@code b7a.runtime.http.session.persistence} if one is configured, and new
+ * sessions are refused otherwise.
  *
  * @since 0.89
  */
 public class SessionManager {
 
-    private static SessionManager instance = new SessionManager();
-    private Map<String, Session> sessionMap = new ConcurrentHashMap<>();
+    private static final String CAPACITY_CONFIG_PROP = "b7a.runtime.http.session.capacity";
+
+    private static final String PERSISTENCE_CONFIG_PROP = "b7a.runtime.http.session.persistence";
+
+    private static SessionManager instance = createInstance();
+    private final SessionStore sessionStore;
     private SessionIdGenerator sessionIdGenerator = new SessionIdGenerator();
     private ScheduledExecutorService sessionExpiryChecker;
 
@@ -48,18 +59,54 @@ public class SessionManager {
      */
     private static final int SESSION_ID_LENGTH = 16;
 
-    private SessionManager() {
+    /**
+     * Creates a session manager whose sessions are expired by its owner through {@link #expireSessions(long)}.
+     *
+     * @param capacity    max number of sessions held in memory
+     * @param persistence persistence to spill sessions to once the capacity is reached, or null to refuse new
+     *                    sessions instead
+     */
+    public SessionManager(int capacity, SessionPersistence persistence) {
         sessionIdGenerator.setSessionIdLength(SESSION_ID_LENGTH);
+        sessionStore = new SessionStore(this, capacity, persistence, System.currentTimeMillis());
+    }
+
+    private static SessionManager createInstance() {
+        SessionManager sessionManager = new SessionManager(getCapacity(), loadPersistence());
         // Session expiry scheduled task
-        sessionExpiryChecker = Executors.newScheduledThreadPool(1);
-        sessionExpiryChecker.scheduleAtFixedRate(() ->
-                        sessionMap.values().parallelStream()
-                                .filter(session ->
-                                        (session.getMaxInactiveInterval() >= 0 &&
-                                                System.currentTimeMillis() - session.getLastAccessedTime() >=
-                                                        session.getMaxInactiveInterval() * 1000))
-                                .forEach(Session::invalidate),
-                30, 30, TimeUnit.SECONDS);
+        sessionManager.sessionExpiryChecker = Executors.newScheduledThreadPool(1);
+        sessionManager.sessionExpiryChecker.scheduleAtFixedRate(
+                () -> sessionManager.expireSessions(System.currentTimeMillis()), 1, 1, TimeUnit.SECONDS);
+        return sessionManager;
+    }
+
+    private static int getCapacity() {
+        String capacityConfig = ConfigRegistry.getInstance().getAsString(CAPACITY_CONFIG_PROP);
+        if (capacityConfig == null) {
+            return DEFAULT_MAX_ACTIVE_SESSIONS;
+        }
+        try {
+            int capacity = Integer.parseInt(capacityConfig.trim());
+            if (capacity > 0) {
+                return capacity;
+            }
+        } catch (NumberFormatException e) {
+            // handled below
+        }
+        throw new BallerinaException("invalid http session capacity: " + capacityConfig);
+    }
+
+    private static SessionPersistence loadPersistence() {
+        String persistenceName = ConfigRegistry.getInstance().getAsString(PERSISTENCE_CONFIG_PROP);
+        if (persistenceName == null) {
+            return null;
+        }
+        for (SessionPersistence persistence : ServiceLoader.load(SessionPersistence.class)) {
+            if (persistenceName.trim().equalsIgnoreCase(persistence.getName())) {
+                return persistence;
+            }
+        }
+        throw new BallerinaException("invalid http session persistence: " + persistenceName);
     }
 
     public static SessionManager getInstance() {
@@ -67,21 +114,14 @@ public class SessionManager {
     }
 
     public Session getHTTPSession(String sessionId) {
-        HTTPSession session = (HTTPSession) sessionMap.get(sessionId);
-        if (session != null) {
-            return session;
-        }
-        return null;
+        return sessionStore.get(sessionId);
     }
 
     public Session createHTTPSession(String path) {
-        if (sessionMap.size() >= DEFAULT_MAX_ACTIVE_SESSIONS) {
-            throw new IllegalStateException("Failed to create session: Too many active sessions");
-        }
         HTTPSession session = new HTTPSession(sessionIdGenerator.generateSessionId(),
                 DEFAULT_MAX_INACTIVE_INTERVAL, path);
         session.setManager(this);
-        sessionMap.put(session.getId(), session);
+        sessionStore.add(session);
         return session;
     }
 
@@ -91,7 +131,40 @@ public class SessionManager {
      * @param session The session to be invalidated.
      */
     public void invalidateSession(Session session) {
-        sessionMap.remove(session.getId());
+        sessionStore.remove(session);
+    }
+
+    /**
+     * Invalidate the sessions which have been inactive for longer than their max inactive interval.
+     *
+     * @param now the current time in milliseconds
+     */
+    public void expireSessions(long now) {
+        for (HTTPSession session : sessionStore.expire(now)) {
+            session.invalidate();
+        }
+    }
+
+    /**
+     * Get the number of active sessions, including the sessions spilled to the persistence.
+     *
+     * @return number of active sessions
+     */
+    public int getActiveSessionCount() {
+        return sessionStore.size();
+    }
+
+    /**
+     * Get the number of active sessions held in memory.
+     *
+     * @return number of sessions in memory
+     */
+    public int getResidentSessionCount() {
+        return sessionStore.residentSize();
+    }
+
+    void touch(HTTPSession session) {
+        sessionStore.touch(session);
     }
 
     /**
@@ -99,7 +172,9 @@ public class SessionManager {
      *
      */
     public void stop() {
-        sessionExpiryChecker.shutdown();
+        if (sessionExpiryChecker != null) {
+            sessionExpiryChecker.shutdown();
+        }
     }
 
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.session;
+
+import java.io.IOException;
+
+/**
+ * {@code SessionPersistence} holds the sessions which the {@link SessionManager} spills out of memory once it holds
+ * as many sessions as its capacity allows. A spilled session is loaded back when it is next requested.
+ * <p>
+ * Implementations are looked up with the {@link java.util.ServiceLoader} and the one whose name matches the
+ * {@code b7a.runtime.http.session.persistence} configuration is used.
+ *
+ * @since 0.981.1
+ */
+public interface SessionPersistence {
+
+    /**
+     * Get the name of the persistence, which is used to select it in the configuration.
+     *
+     * @return name of the persistence
+     */
+    String getName();
+
+    /**
+     * Store a session.
+     *
+     * @param session session to be stored
+     * @return true if the session was stored, false if the session cannot be stored by this persistence
+     * @throws IOException if the session could not be written
+     */
+    boolean store(HTTPSession session) throws IOException;
+
+    /**
+     * Load a stored session. The session stays stored until it is removed.
+     *
+     * @param sessionId id of the session
+     * @return the session, or null if there is no session stored with the given id
+     * @throws IOException if the session could not be read
+     */
+    HTTPSession load(String sessionId) throws IOException;
+
+    /**
+     * Remove a stored session.
+     *
+     * @param sessionId id of the session
+     * @throws IOException if the session could not be removed
+     */
+    void remove(String sessionId) throws IOException;
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Store of the sessions of a {@link SessionManager}.
+ * <p>
+ * Sessions are spread over shards by their id, each shard guarded by its own lock. A shard keeps its sessions in a
+ * hashed timer wheel of one second ticks, in the slot of the tick at which the session expires, which is its latest
+ * access plus its max inactive interval. Touching a session moves it to another slot in constant time, and advancing
+ * the wheel only visits the slots of the elapsed ticks. A shard also keeps its sessions in memory ordered by their
+ * latest access. The capacity is checked against the sessions in memory of all the shards, and when the store is full
+ * and a {@link SessionPersistence} is given, the least recently accessed session of the shard of the new session is
+ * spilled to the persistence, or that of another shard if none of its sessions can be spilled. A spilled session stays
+ * in the wheel, so it expires on time, and is loaded back into memory when it is requested.
+ *
+ * @since 0.981.1
+ */
+class SessionStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionStore.class);
+
+    private static final int MAX_SHARDS = 16;
+    private static final int MIN_SHARD_CAPACITY = 1024;
+
+    private static final int WHEEL_SLOTS = 1024;
+    private static final int WHEEL_MASK = WHEEL_SLOTS - 1;
+    private static final long TICK_DURATION = 1000;
+    private static final long NEVER = Long.MAX_VALUE;
+
+    /**
+     * Sessions accessed within this time are not spilled, as requests may still be working on them.
+     */
+    private static final long MIN_IDLE_TIME_TO_SPILL = 30_000;
+    private static final int MAX_SPILL_ATTEMPTS = 16;
+
+    private final SessionManager manager;
+    private final SessionPersistence persistence;
+    private final int capacity;
+    private final Shard[] shards;
+    // the number of sessions in memory, over all the shards
+    private final AtomicInteger resident = new AtomicInteger();
+
+    SessionStore(SessionManager manager, int capacity, SessionPersistence persistence, long startTime) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Session capacity should be positive, but found " + capacity);
+        }
+        this.manager = manager;
+        this.persistence = persistence;
+        this.capacity = capacity;
+        int shardCount = 1;
+        while (shardCount < MAX_SHARDS && (long) capacity / (shardCount << 1) >= MIN_SHARD_CAPACITY) {
+            shardCount <<= 1;
+        }
+        shards = new Shard[shardCount];
+        long startTick = Math.floorDiv(startTime, TICK_DURATION);
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(startTick);
+        }
+    }
+
+    HTTPSession get(String sessionId) {
+        Shard shard = shardOf(sessionId);
+        HTTPSession session = shard.get(sessionId);
+        if (resident.get() > capacity) {
+            // a session was restored while its shard had no session to spill
+            spillOtherThan(shard);
+        }
+        return session;
+    }
+
+    /**
+     * Add a new session.
+     *
+     * @param session the session
+     * @throws IllegalStateException if the store is full and no session can be spilled to make room
+     */
+    void add(HTTPSession session) {
+        Shard shard = shardOf(session.getId());
+        // the room of the session is taken before it is added, so that concurrent adds do not overfill the store
+        if (resident.incrementAndGet() > capacity && !shard.spill() && !spillOtherThan(shard)) {
+            resident.decrementAndGet();
+            throw new IllegalStateException("Failed to create session: Too many active sessions");
+        }
+        shard.add(session);
+    }
+
+    /**
+     * Reschedule the expiry of a session after it is accessed or its max inactive interval is changed.
+     */
+    void touch(HTTPSession session) {
+        shardOf(session.getId()).touch(session);
+    }
+
+    void remove(Session session) {
+        shardOf(session.getId()).remove(session);
+    }
+
+    /**
+     * Remove the sessions which have expired by the given time.
+     *
+     * @param now the current time in milliseconds
+     * @return the sessions which were held in memory when they expired
+     */
+    List<HTTPSession> expire(long now) {
+        long nowTick = Math.floorDiv(now, TICK_DURATION);
+        List<HTTPSession> expired = new ArrayList<>();
+        for (Shard shard : shards) {
+            shard.expire(nowTick, expired);
+        }
+        return expired;
+    }
+
+    int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    int residentSize() {
+        return resident.get();
+    }
+
+    /**
+     * Spill a session of any shard other than the given one. The shards are locked one at a time.
+     *
+     * @return true if a session was spilled
+     */
+    private boolean spillOtherThan(Shard excluded) {
+        for (Shard shard : shards) {
+            if (shard != excluded && shard.spill()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Shard shardOf(String sessionId) {
+        int hash = sessionId.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+
+    private static long deadlineTickOf(HTTPSession session) {
+        int maxInactiveInterval = session.getMaxInactiveInterval();
+        if (maxInactiveInterval < 0) {
+            return NEVER;
+        }
+        long deadline = session.getAccessedTime() + maxInactiveInterval * 1000L;
+        return Math.floorDiv(deadline + TICK_DURATION - 1, TICK_DURATION);
+    }
+
+    /**
+     * A session held by a shard. The session is null while it is spilled to the persistence.
+     */
+    private static class Entry {
+
+        private final String id;
+        private HTTPSession session;
+        private long deadlineTick;
+        private int slot;
+        private Entry slotPrevious;
+        private Entry slotNext;
+        private Entry accessPrevious;
+        private Entry accessNext;
+
+        private Entry(String id) {
+            this.id = id;
+        }
+    }
+
+    private class Shard {
+
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final Entry[] slots = new Entry[WHEEL_SLOTS];
+        // sentinel of the circular list of the sessions in memory, least recently accessed first
+        private final Entry accessOrder = new Entry(null);
+        // the next tick to be processed
+        private long currentTick;
+
+        private Shard(long startTick) {
+            this.currentTick = startTick;
+            accessOrder.accessPrevious = accessOrder;
+            accessOrder.accessNext = accessOrder;
+        }
+
+        private synchronized HTTPSession get(String sessionId) {
+            Entry entry = entries.get(sessionId);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.session == null) {
+                restore(entry);
+            }
+            return entry.session;
+        }
+
+        /**
+         * Add a new session, for which the store has already taken room.
+         */
+        private synchronized void add(HTTPSession session) {
+            Entry entry = new Entry(session.getId());
+            entry.session = session;
+            entries.put(entry.id, entry);
+            linkAccessed(entry);
+            schedule(entry, deadlineTickOf(session));
+        }
+
+        private synchronized void touch(HTTPSession session) {
+            Entry entry = entries.get(session.getId());
+            if (entry == null || entry.session != session) {
+                return;
+            }
+            unlinkAccessed(entry);
+            linkAccessed(entry);
+            long deadlineTick = deadlineTickOf(session);
+            if (deadlineTick != entry.deadlineTick) {
+                unschedule(entry);
+                schedule(entry, deadlineTick);
+            }
+        }
+
+        private synchronized void remove(Session session) {
+            Entry entry = entries.get(session.getId());
+            if (entry == null || entry.session != session) {
+                return;
+            }
+            entries.remove(entry.id);
+            unschedule(entry);
+            unlinkAccessed(entry);
+            resident.decrementAndGet();
+        }
+
+        private synchronized void expire(long nowTick, List<HTTPSession> expired) {
+            if (nowTick < currentTick) {
+                return;
+            }
+            // a full turn of the wheel visits every slot
+            long firstTick = Math.max(currentTick, nowTick - WHEEL_MASK);
+            for (long tick = firstTick; tick <= nowTick; tick++) {
+                Entry entry = slots[(int) (tick & WHEEL_MASK)];
+                while (entry != null) {
+                    Entry following = entry.slotNext;
+                    // later turns of the wheel share the slot
+                    if (entry.deadlineTick <= nowTick) {
+                        expire(entry, expired);
+                    }
+                    entry = following;
+                }
+            }
+            currentTick = nowTick + 1;
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+
+        private void expire(Entry entry, List<HTTPSession> expired) {
+            entries.remove(entry.id);
+            unschedule(entry);
+            if (entry.session != null) {
+                unlinkAccessed(entry);
+                resident.decrementAndGet();
+                expired.add(entry.session);
+                return;
+            }
+            try {
+                persistence.remove(entry.id);
+            } catch (IOException e) {
+                log.error("Failed to remove the expired session " + entry.id + " from the " + persistence.getName()
+                        + " session persistence", e);
+            }
+        }
+
+        /**
+         * Spill the least recently accessed session which the persistence accepts.
+         *
+         * @return true if a session was spilled
+         */
+        private synchronized boolean spill() {
+            if (persistence == null) {
+                return false;
+            }
+            long idleSince = currentTick * TICK_DURATION - MIN_IDLE_TIME_TO_SPILL;
+            Entry entry = accessOrder.accessNext;
+            for (int i = 0; i < MAX_SPILL_ATTEMPTS && entry != accessOrder; i++) {
+                if (entry.session.getAccessedTime() > idleSince) {
+                    // the rest of the sessions have been accessed later
+                    return false;
+                }
+                Entry following = entry.accessNext;
+                try {
+                    if (persistence.store(entry.session)) {
+                        unlinkAccessed(entry);
+                        entry.session = null;
+                        resident.decrementAndGet();
+                        return true;
+                    }
+                } catch (IOException e) {
+                    log.error("Failed to spill the session " + entry.id + " to the " + persistence.getName()
+                            + " session persistence", e);
+                    return false;
+                }
+                entry = following;
+            }
+            return false;
+        }
+
+        /**
+         * Load a spilled session back into memory. A restored session is kept in memory even when no other session
+         * of the shard can be spilled to make room for it, in which case the store spills a session of another shard.
+         */
+        private void restore(Entry entry) {
+            HTTPSession session = null;
+            try {
+                session = persistence.load(entry.id);
+                if (session != null) {
+                    persistence.remove(entry.id);
+                }
+            } catch (IOException e) {
+                log.error("Failed to restore the session " + entry.id + " from the " + persistence.getName()
+                        + " session persistence", e);
+            }
+            if (session == null) {
+                entries.remove(entry.id);
+                unschedule(entry);
+                return;
+            }
+            if (resident.get() >= capacity) {
+                spill();
+            }
+            session.setManager(manager);
+            entry.session = session;
+            resident.incrementAndGet();
+            linkAccessed(entry);
+        }
+
+        private void schedule(Entry entry, long deadlineTick) {
+            entry.deadlineTick = deadlineTick;
+            if (deadlineTick == NEVER) {
+                return;
+            }
+            // a deadline which has already passed expires on the next tick
+            int slot = (int) (Math.max(deadlineTick, currentTick) & WHEEL_MASK);
+            Entry head = slots[slot];
+            entry.slot = slot;
+            entry.slotPrevious = null;
+            entry.slotNext = head;
+            if (head != null) {
+                head.slotPrevious = entry;
+            }
+            slots[slot] = entry;
+        }
+
+        private void unschedule(Entry entry) {
+            if (entry.deadlineTick == NEVER) {
+                return;
+            }
+            if (entry.slotPrevious != null) {
+                entry.slotPrevious.slotNext = entry.slotNext;
+            } else {
+                slots[entry.slot] = entry.slotNext;
+            }
+            if (entry.slotNext != null) {
+                entry.slotNext.slotPrevious = entry.slotPrevious;
+            }
+            entry.slotPrevious = null;
+            entry.slotNext = null;
+        }
+
+        private void linkAccessed(Entry entry) {
+            Entry last = accessOrder.accessPrevious;
+            entry.accessPrevious = last;
+            entry.accessNext = accessOrder;
+            last.accessNext = entry;
+            accessOrder.accessPrevious = entry;
+        }
+
+        private void unlinkAccessed(Entry entry) {
+            entry.accessPrevious.accessNext = entry.accessNext;
+            entry.accessNext.accessPrevious = entry.accessPrevious;
+            entry.accessPrevious = null;
+            entry.accessNext = null;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.uri;
+
+import org.ballerinalang.net.http.HttpConstants;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Path parameter values of a path matched by a {@link PathSegmentTree}, by variable name. As with the variables of a
+ * {@link URITemplate}, a value is kept once given, even when the matching backtracks from the segment it was given
+ * for, and a variable given a value already only takes a segment with the same value. The segments of the path
+ * parameters are recorded as offsets into the path while matching, and a value is only decoded when it is read,
+ * unless the segment has escaped characters. The extra path info of a template ending with a wildcard is available
+ * under {@link HttpConstants#EXTRA_PATH_INFO}.
+ *
+ * @since 0.981.1
+ */
+public class PathArguments extends AbstractMap<String, String> {
+
+    private String path;
+
+    private final String[] names;
+
+    private final int[] starts;
+
+    private final int[] ends;
+
+    private final String[] values;
+
+    private int size;
+
+    private Map<String, String> entries;
+
+    PathArguments(int maxSize) {
+        this.names = new String[maxSize];
+        this.starts = new int[maxSize];
+        this.ends = new int[maxSize];
+        this.values = new String[maxSize];
+    }
+
+    void reset(String path) {
+        this.path = path;
+        this.size = 0;
+        this.entries = null;
+    }
+
+    /**
+     * Gives the segment between the given offsets of the path to the given variables, one after the other.
+     *
+     * @return false if a variable has a different value already, leaving the values given before it
+     */
+    boolean setPathParam(String[] variableNames, int start, int end) {
+        int escape = path.indexOf('%', start);
+        String value = escape >= 0 && escape < end ? decode(path.substring(start, end)) : null;
+        for (String name : variableNames) {
+            int index = indexOf(name);
+            if (index >= 0) {
+                if (value == null) {
+                    value = decode(path.substring(start, end));
+                }
+                if (!value.equals(getValue(index))) {
+                    return false;
+                }
+                continue;
+            }
+            names[size] = name;
+            starts[size] = start;
+            ends[size] = end;
+            values[size] = value;
+            size++;
+        }
+        return true;
+    }
+
+    void putExtraPathInfo(int start) {
+        if (indexOf(HttpConstants.EXTRA_PATH_INFO) < 0) {
+            names[size] = HttpConstants.EXTRA_PATH_INFO;
+            values[size] = "/" + path.substring(start);
+            size++;
+        }
+    }
+
+    @Override
+    public String get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : getValue(index);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        if (entries == null) {
+            Map<String, String> map = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                map.put(names[i], getValue(i));
+            }
+            entries = map;
+        }
+        return entries.entrySet();
+    }
+
+    private int indexOf(Object key) {
+        for (int i = 0; i < size; i++) {
+            if (names[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String getValue(int index) {
+        String value = values[index];
+        if (value == null) {
+            value = path.substring(starts[index], ends[index]);
+            values[index] = value;
+        }
+        return value;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value.replace("+", "%2B"), "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException("Error while encoding value: " + value, e);
+        }
+    }
+}
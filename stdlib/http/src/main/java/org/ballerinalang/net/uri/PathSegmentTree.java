@@ -0,0 +1,461 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.uri;
+
+import org.ballerinalang.net.uri.parser.DataElement;
+import org.ballerinalang.net.uri.parser.DataElementFactory;
+import org.ballerinalang.net.uri.parser.DataReturnAgent;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Compiled form of the uri templates of a service, matched against a request path with the same results as the
+ * {@link URITemplate} of the service.
+ * <p>
+ * Each node of the tree stands for a path segment, and has its literal segments, at most one path parameter and at
+ * most one trailing wildcard as children, tried in the order of the children of a {@link URITemplate} node. The
+ * matching follows {@link org.ballerinalang.net.uri.parser.Node#matchAll} over offsets into the path instead of
+ * substrings of it, and looks the literals up by their length, so that a literal still matches the start of a longer
+ * segment and leaves the rest of it to the next node, a segment matched by a path parameter still has to agree with
+ * a value given to the same variable earlier, and the root path is still matched by the templates ending with a
+ * wildcard after path parameters only. The values of the path parameters are recorded in a {@link PathArguments},
+ * which like the variables of a {@link URITemplate} keeps the values of the branches the matching backtracked from.
+ * <p>
+ * Only templates made of whole literal segments, whole single variable segments and a trailing {@code *} can be
+ * compiled, which {@link #isSupported(String)} checks. Services with other templates are matched with
+ * {@link URITemplate}.
+ *
+ * @param <DataType>       Data type stored in the data elements.
+ * @param <InboundMsgType> Inbound message type for additional checks.
+ * @since 0.981.1
+ */
+public class PathSegmentTree<DataType, InboundMsgType> {
+
+    private static final String WILDCARD = "*";
+
+    private final DataElementFactory<? extends DataElement<DataType, InboundMsgType>> elementCreator;
+
+    private final Node<DataType, InboundMsgType> root = new Node<>();
+
+    private final Set<String> variableNames = new HashSet<>();
+
+    public PathSegmentTree(DataElementFactory<? extends DataElement<DataType, InboundMsgType>> elementCreator) {
+        this.elementCreator = elementCreator;
+    }
+
+    /**
+     * Checks whether the given uri template can be compiled into a tree.
+     *
+     * @param uriTemplate the uri template
+     * @return true if the segments of the template are whole literals, whole single variables or a trailing wildcard
+     */
+    public static boolean isSupported(String uriTemplate) {
+        String[] segments = getSegments(uriTemplate);
+        if (segments == null) {
+            return false;
+        }
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.isEmpty()) {
+                return false;
+            }
+            if (WILDCARD.equals(segment)) {
+                if (i != segments.length - 1) {
+                    return false;
+                }
+                continue;
+            }
+            String variableName = getVariableName(segment);
+            if (variableName != null) {
+                if (!isVariableName(variableName)) {
+                    return false;
+                }
+            } else if (!isLiteral(segment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a uri template, which should be supported, and the data it dispatches to.
+     *
+     * @param uriTemplate the uri template
+     * @param data        the data of the template
+     * @throws URITemplateException if the template is not supported
+     */
+    public void add(String uriTemplate, DataType data) throws URITemplateException {
+        if (!isSupported(uriTemplate)) {
+            throw new URITemplateException("Uri template cannot be compiled: " + uriTemplate);
+        }
+        Node<DataType, InboundMsgType> node = root;
+        for (String segment : getSegments(uriTemplate)) {
+            if (WILDCARD.equals(segment)) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node<>();
+                }
+                node = node.wildcard;
+                continue;
+            }
+            String variableName = getVariableName(segment);
+            if (variableName != null) {
+                if (node.pathParam == null) {
+                    node.pathParam = new Node<>();
+                    node.pathParam.variableNames = new String[0];
+                }
+                node = node.pathParam;
+                node.addVariableName(variableName);
+                variableNames.add(variableName);
+                continue;
+            }
+            node = node.getOrAddLiteral(decode(segment));
+        }
+        if (node.dataElement == null) {
+            node.dataElement = elementCreator.createDataElement();
+        }
+        node.dataElement.setData(data);
+    }
+
+    /**
+     * Creates the arguments to record the path parameters of a match, sized for the templates of the tree.
+     *
+     * @return the arguments
+     */
+    public PathArguments createArguments() {
+        return new PathArguments(variableNames.size() + 1);
+    }
+
+    /**
+     * Finds the data of the given path.
+     *
+     * @param path       the path, starting with a '/'
+     * @param arguments  the arguments to record the path parameters of the matching template in
+     * @param inboundMsg the inbound message, checked by the data elements
+     * @return the data of the matching template, or null if the data element of the matching template accepts the
+     * request without data
+     * @throws org.ballerinalang.util.exceptions.BallerinaException the last error of the data elements which rejected
+     * the request, if no template matches
+     */
+    public DataType matches(String path, PathArguments arguments, InboundMsgType inboundMsg) {
+        DataReturnAgent<DataType> dataReturnAgent = new DataReturnAgent<>();
+        arguments.reset(path);
+        if (matchRoot(path, arguments, inboundMsg, dataReturnAgent)) {
+            return dataReturnAgent.getData();
+        }
+        if (dataReturnAgent.getError() != null) {
+            throw dataReturnAgent.getError();
+        }
+        return null;
+    }
+
+    /**
+     * Matches the path against the root, which like the root literal of a {@link URITemplate} takes the leading '/'
+     * of the path, or nothing of the root path when no template is the root path itself.
+     */
+    private boolean matchRoot(String path, PathArguments arguments, InboundMsgType inboundMsg,
+                              DataReturnAgent<DataType> dataReturnAgent) {
+        int length = path.length();
+        if (length == 0 || path.charAt(0) != '/') {
+            return false;
+        }
+        if (length == 1 && !root.hasData()) {
+            return matchChildren(root, path, 0, 0, arguments, inboundMsg, dataReturnAgent);
+        }
+        if (length == 1) {
+            return root.getData(inboundMsg, dataReturnAgent);
+        }
+        return matchChildren(root, path, 0, 1, arguments, inboundMsg, dataReturnAgent);
+    }
+
+    /**
+     * Matches the rest of the path against the children of a node which matched {@code matchLength} characters of
+     * the path from {@code start}, leaving characters after them.
+     */
+    private boolean matchChildren(Node<DataType, InboundMsgType> node, String path, int start, int matchLength,
+                                  PathArguments arguments, InboundMsgType inboundMsg,
+                                  DataReturnAgent<DataType> dataReturnAgent) {
+        int next = nextStart(path, start, matchLength);
+        int segmentEnd = path.indexOf('/', next);
+        if (segmentEnd < 0) {
+            segmentEnd = path.length();
+        }
+        for (int literalLength : node.literalLengths) {
+            if (literalLength > segmentEnd - next) {
+                continue;
+            }
+            Node<DataType, InboundMsgType> literal = node.getLiteral(path, next, next + literalLength);
+            if (literal != null && matchNode(literal, path, next, literalLength, arguments, inboundMsg,
+                                             dataReturnAgent)) {
+                return true;
+            }
+        }
+        if (node.pathParam != null && matchPathParam(node.pathParam, path, next, arguments, inboundMsg,
+                                                     dataReturnAgent)) {
+            return true;
+        }
+        if (node.wildcard != null && !hasLineTerminator(path, next, segmentEnd)
+                && node.wildcard.getData(inboundMsg, dataReturnAgent)) {
+            arguments.putExtraPathInfo(next);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean matchPathParam(Node<DataType, InboundMsgType> node, String path, int start,
+                                   PathArguments arguments, InboundMsgType inboundMsg,
+                                   DataReturnAgent<DataType> dataReturnAgent) {
+        if (start == path.length()) {
+            return node.getData(inboundMsg, dataReturnAgent);
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        return arguments.setPathParam(node.variableNames, start, end)
+                && matchNode(node, path, start, end - start, arguments, inboundMsg, dataReturnAgent);
+    }
+
+    private boolean matchNode(Node<DataType, InboundMsgType> node, String path, int start, int matchLength,
+                              PathArguments arguments, InboundMsgType inboundMsg,
+                              DataReturnAgent<DataType> dataReturnAgent) {
+        if (start + matchLength == path.length()) {
+            return node.getData(inboundMsg, dataReturnAgent);
+        }
+        return matchChildren(node, path, start, matchLength, arguments, inboundMsg, dataReturnAgent);
+    }
+
+    /**
+     * Returns where the children of a node start matching, skipping the '/' after the match of the node only when
+     * the rest of the path it was given neither starts with a '/' nor has no '/' at all, as {@link URITemplate} does.
+     */
+    private static int nextStart(String path, int start, int matchLength) {
+        int next = start + matchLength;
+        if (path.charAt(start) != '/' && path.charAt(next) == '/') {
+            return next + 1;
+        }
+        return next;
+    }
+
+    /**
+     * Checks for the characters which the {@code .*} a wildcard segment is matched with in {@link URITemplate} does
+     * not match.
+     */
+    private static boolean hasLineTerminator(String path, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char ch = path.charAt(i);
+            if (ch == '\n' || ch == '\r' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the segments of a template the way {@link URITemplate} splits it, or null if it has no segments.
+     */
+    private static String[] getSegments(String uriTemplate) {
+        if ("/".equals(uriTemplate)) {
+            return new String[0];
+        }
+        String template = uriTemplate;
+        if (template.startsWith(WILDCARD)) {
+            return null;
+        }
+        if (template.endsWith("/")) {
+            template = template.substring(0, template.length() - 1);
+        }
+        if (template.startsWith("/")) {
+            template = template.substring(1);
+        }
+        if (template.endsWith("/")) {
+            template = template.substring(0, template.length() - 1);
+        }
+        if (template.isEmpty()) {
+            return null;
+        }
+        return template.split("/", -1);
+    }
+
+    private static String getVariableName(String segment) {
+        if (segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}') {
+            return segment.substring(1, segment.length() - 1);
+        }
+        return null;
+    }
+
+    private static boolean isVariableName(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (!((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9')
+                    || ch == '.' || ch == '-' || ch == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a segment is a literal, which should not decode to the characters {@link URITemplate} gives a
+     * meaning to either.
+     */
+    private static boolean isLiteral(String segment) {
+        if (!isPlainText(segment)) {
+            return false;
+        }
+        try {
+            String literal = decode(segment);
+            return isPlainText(literal) && literal.indexOf('/') < 0;
+        } catch (URITemplateException e) {
+            return false;
+        }
+    }
+
+    private static boolean isPlainText(String text) {
+        return text.indexOf('{') < 0 && text.indexOf('}') < 0 && text.indexOf('*') < 0;
+    }
+
+    private static String decode(String segment) throws URITemplateException {
+        try {
+            return URLDecoder.decode(segment, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            throw new URITemplateException("Invalid path literal: " + segment);
+        }
+    }
+
+    /**
+     * A path segment of the templates.
+     *
+     * @param <DataType>       Data type stored in the data elements.
+     * @param <InboundMsgType> Inbound message type for additional checks.
+     */
+    private static class Node<DataType, InboundMsgType> {
+
+        private DataElement<DataType, InboundMsgType> dataElement;
+
+        // literal children, sorted by their length and then by their characters
+        private String[] literals = new String[0];
+
+        private Node<DataType, InboundMsgType>[] literalNodes = newNodes(0);
+
+        // distinct lengths of the literal children, longest first as the children of a URITemplate node are tried
+        private int[] literalLengths = new int[0];
+
+        private Node<DataType, InboundMsgType> pathParam;
+
+        private Node<DataType, InboundMsgType> wildcard;
+
+        // names of the variables of the templates which have a path parameter at this segment
+        private String[] variableNames;
+
+        boolean hasData() {
+            return dataElement != null && dataElement.hasData();
+        }
+
+        boolean getData(InboundMsgType inboundMsg, DataReturnAgent<DataType> dataReturnAgent) {
+            return dataElement != null && dataElement.getData(inboundMsg, dataReturnAgent);
+        }
+
+        Node<DataType, InboundMsgType> getLiteral(String path, int start, int end) {
+            int low = 0;
+            int high = literals.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int comparison = compare(literals[mid], path, start, end);
+                if (comparison < 0) {
+                    low = mid + 1;
+                } else if (comparison > 0) {
+                    high = mid - 1;
+                } else {
+                    return literalNodes[mid];
+                }
+            }
+            return null;
+        }
+
+        Node<DataType, InboundMsgType> getOrAddLiteral(String literal) {
+            Node<DataType, InboundMsgType> node = getLiteral(literal, 0, literal.length());
+            if (node != null) {
+                return node;
+            }
+            int index = 0;
+            while (index < literals.length && compare(literals[index], literal, 0, literal.length()) < 0) {
+                index++;
+            }
+            node = new Node<>();
+            String[] newLiterals = new String[literals.length + 1];
+            Node<DataType, InboundMsgType>[] newLiteralNodes = newNodes(literals.length + 1);
+            System.arraycopy(literals, 0, newLiterals, 0, index);
+            System.arraycopy(literalNodes, 0, newLiteralNodes, 0, index);
+            newLiterals[index] = literal;
+            newLiteralNodes[index] = node;
+            System.arraycopy(literals, index, newLiterals, index + 1, literals.length - index);
+            System.arraycopy(literalNodes, index, newLiteralNodes, index + 1, literals.length - index);
+            literals = newLiterals;
+            literalNodes = newLiteralNodes;
+            addLiteralLength(literal.length());
+            return node;
+        }
+
+        private void addLiteralLength(int length) {
+            int index = 0;
+            while (index < literalLengths.length && literalLengths[index] > length) {
+                index++;
+            }
+            if (index < literalLengths.length && literalLengths[index] == length) {
+                return;
+            }
+            int[] newLiteralLengths = new int[literalLengths.length + 1];
+            System.arraycopy(literalLengths, 0, newLiteralLengths, 0, index);
+            newLiteralLengths[index] = length;
+            System.arraycopy(literalLengths, index, newLiteralLengths, index + 1, literalLengths.length - index);
+            literalLengths = newLiteralLengths;
+        }
+
+        void addVariableName(String variableName) {
+            if (!Arrays.asList(variableNames).contains(variableName)) {
+                variableNames = Arrays.copyOf(variableNames, variableNames.length + 1);
+                variableNames[variableNames.length - 1] = variableName;
+            }
+        }
+
+        private static int compare(String literal, String path, int start, int end) {
+            int length = end - start;
+            if (literal.length() != length) {
+                return literal.length() - length;
+            }
+            for (int i = 0; i < length; i++) {
+                char ch = path.charAt(start + i);
+                if (literal.charAt(i) != ch) {
+                    return literal.charAt(i) - ch;
+                }
+            }
+            return 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <DataType, InboundMsgType> Node<DataType, InboundMsgType>[] newNodes(int size) {
+            return (Node<DataType, InboundMsgType>[]) new Node[size];
+        }
+    }
+}
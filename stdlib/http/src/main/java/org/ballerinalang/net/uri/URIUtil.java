@@ -84,6 +84,10 @@ public class URIUtil {
 
 
     public static String extractMatrixParams(String path, Map<String, Map<String, String>> matrixParams) {
+        if (isWithoutMatrixParams(path)) {
+            // nothing to extract, and the path is already in the form it would be rebuilt to
+            return path;
+        }
         if (path.startsWith("/")) {
             path = path.substring(1);
         }
@@ -111,4 +115,13 @@ public class URIUtil {
         }
         return pathToMatrixParam;
     }
+
+    private static boolean isWithoutMatrixParams(String path) {
+        if (path.indexOf(';') >= 0 || !path.startsWith(URI_PATH_DELIMITER) || path.endsWith("?")) {
+            return false;
+        }
+        int queryIndex = path.indexOf('?');
+        int pathEnd = queryIndex < 0 ? path.length() : queryIndex;
+        return pathEnd == 1 || path.charAt(pathEnd - 1) != '/';
+    }
 }
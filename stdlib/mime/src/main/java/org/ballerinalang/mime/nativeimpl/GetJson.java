@@ -25,6 +25,7 @@ import org.ballerinalang.mime.util.HeaderUtil;
 import org.ballerinalang.mime.util.MimeUtil;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.model.util.JsonParser;
+import org.ballerinalang.model.values.BByteArray;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.model.values.BString;
@@ -63,6 +64,9 @@ public class GetJson extends BlockingNativeCallableUnit {
                     // If the value is a already JSON, then return it as is.
                     if (isJSON(dataSource)) {
                         result = (BRefType<?>) dataSource;
+                    } else if (dataSource instanceof BByteArray) {
+                        // Parse the UTF-8 encoded payload from its bytes, without decoding it to a string first.
+                        result = JsonParser.parse(((BByteArray) dataSource).getBytes());
                     } else {
                         // Else, build the JSON from the string representation of the payload.
                         BString payload = MimeUtil.getMessageAsString(dataSource);
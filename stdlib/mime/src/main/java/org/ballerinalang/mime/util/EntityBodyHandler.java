@@ -37,6 +37,7 @@ import org.ballerinalang.stdlib.io.channels.base.Channel;
 import org.ballerinalang.stdlib.io.utils.BallerinaIOException;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.jvnet.mimepull.MIMEPart;
+import org.wso2.transport.http.netty.message.HttpCarbonMessage;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -129,7 +130,12 @@ public class EntityBodyHandler {
         if (byteChannel == null) {
             return new BByteArray(new byte[0]);
         }
-        byte[] byteData = MimeUtil.getByteArray(byteChannel.getInputStream());
+        byte[] byteData;
+        if (byteChannel.getByteChannel() instanceof HttpContentChannel) {
+            byteData = ((HttpContentChannel) byteChannel.getByteChannel()).readAllBytes();
+        } else {
+            byteData = MimeUtil.getByteArray(byteChannel.getInputStream());
+        }
         byteChannel.close();
         return new BByteArray(byteData);
     }
@@ -285,6 +291,29 @@ public class EntityBodyHandler {
         }
     }
 
+    /**
+     * Move the content of a byte channel which has not been read into the given message as it is, if the byte channel
+     * is still backed by the content of an http message. The byte channel is cleared from the entity once the content
+     * has been moved.
+     *
+     * @param entityStruct Represent a ballerina entity
+     * @param message      Represent the message that the content should be added to
+     * @return a boolean indicating whether the content was moved
+     * @throws IOException In case the content could not be received in full
+     */
+    public static boolean transferByteChannelContent(BMap<String, BValue> entityStruct, HttpCarbonMessage message)
+            throws IOException {
+        Channel byteChannel = EntityBodyHandler.getByteChannel(entityStruct);
+        if (byteChannel == null || !(byteChannel.getByteChannel() instanceof HttpContentChannel)) {
+            return false;
+        }
+        if (!((HttpContentChannel) byteChannel.getByteChannel()).transferTo(message)) {
+            return false;
+        }
+        entityStruct.addNativeData(ENTITY_BYTE_CHANNEL, null);
+        return true;
+    }
+
     /**
      * Decode a given entity body to get a set of child parts and set them to parent entity's multipart data field.
      *
@@ -38,6 +38,10 @@ public class EntityWrapper extends Channel {
         super(channel, new ChannelReader(), new ChannelWriter());
     }
 
+    public EntityWrapper(HttpContentChannel channel) throws BallerinaIOException {
+        super(channel, new ChannelReader(), new ChannelWriter());
+    }
+
     @Override
     public void transfer(int position, int count, WritableByteChannel dstChannel) throws IOException {
         //For the time being not applicable
@@ -0,0 +1,180 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+
+package org.ballerinalang.mime.util;
+
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.wso2.transport.http.netty.message.HttpCarbonMessage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+
+/**
+ * Represent the entity body of an http message as a byte channel over the content of the message.
+ * <p>
+ * The content is left in the message until the channel is first read. Until then it can be moved to another message
+ * as it is, so a body which is only passed through is sent on with the pooled buffers it was received in. Once read,
+ * the buffers are taken from the message into a composite buffer as the reader drains it, without copying them, and
+ * are released once they have been read, so only the chunks which are not read yet are held. The bytes are copied
+ * once from there into the buffers of the reader. Only {@link #readAllBytes()} takes the whole remaining content at
+ * once. If the transport fails to deliver the whole content, reading or moving the content fails rather than ending
+ * it early.
+ *
+ * @since 0.981.1
+ */
+public class HttpContentChannel implements ByteChannel {
+
+    private final HttpCarbonMessage message;
+    private CompositeByteBuf content;
+    private boolean lastContentAdded;
+    private boolean incomplete;
+    private boolean open = true;
+
+    public HttpContentChannel(HttpCarbonMessage message) {
+        this.message = message;
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer dst) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        CompositeByteBuf buffer = getContent();
+        while (!buffer.isReadable() && !lastContentAdded) {
+            addNextContent();
+        }
+        if (!buffer.isReadable()) {
+            return -1;
+        }
+        int length = Math.min(dst.remaining(), buffer.readableBytes());
+        int limit = dst.limit();
+        dst.limit(dst.position() + length);
+        buffer.readBytes(dst);
+        dst.limit(limit);
+        buffer.discardReadComponents();
+        return length;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public synchronized void close() {
+        open = false;
+        releaseContent();
+    }
+
+    /**
+     * Reads the remaining bytes of the body into an array of their exact size.
+     *
+     * @return the remaining bytes of the body
+     * @throws IOException if the channel is closed or the content could not be received in full
+     */
+    public synchronized byte[] readAllBytes() throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        CompositeByteBuf buffer = getContent();
+        while (!lastContentAdded) {
+            addNextContent();
+        }
+        byte[] bytes = ByteBufUtil.getBytes(buffer);
+        buffer.skipBytes(buffer.readableBytes());
+        buffer.discardReadComponents();
+        return bytes;
+    }
+
+    /**
+     * Moves the content to the given message, if the channel has not been read. The content is left in place when the
+     * given message is the message the content belongs to. The channel is closed once the content is moved.
+     *
+     * @param target the message which the content should be added to
+     * @return true if the content was moved, false if the channel has already been read or closed
+     * @throws IOException if the content could not be received in full, in which case the given message is not ended
+     */
+    public synchronized boolean transferTo(HttpCarbonMessage target) throws IOException {
+        if (!open || content != null) {
+            return false;
+        }
+        open = false;
+        if (target == message) {
+            return true;
+        }
+        HttpContent httpContent;
+        do {
+            httpContent = nextHttpContent();
+            target.addHttpContent(httpContent);
+        } while (!(httpContent instanceof LastHttpContent));
+        return true;
+    }
+
+    private CompositeByteBuf getContent() throws IOException {
+        if (incomplete) {
+            throw new IOException("entity body was not received in full");
+        }
+        if (content == null) {
+            // the buffer is released on close, even if the content could not be received in full
+            content = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+        }
+        return content;
+    }
+
+    private void addNextContent() throws IOException {
+        HttpContent httpContent;
+        try {
+            httpContent = nextHttpContent();
+        } catch (IOException e) {
+            incomplete = true;
+            throw e;
+        }
+        content.addComponent(true, httpContent.content());
+        lastContentAdded = httpContent instanceof LastHttpContent;
+    }
+
+    private HttpContent nextHttpContent() throws IOException {
+        HttpContent httpContent = message.getHttpContent();
+        if (httpContent == null) {
+            throw new IOException("timed out while waiting for the entity body");
+        }
+        if (httpContent.decoderResult().isFailure()) {
+            httpContent.release();
+            throw new IOException("failed to receive the entity body", httpContent.decoderResult().cause());
+        }
+        return httpContent;
+    }
+
+    private void releaseContent() {
+        if (content != null && content.refCnt() > 0) {
+            content.release();
+        }
+    }
+}
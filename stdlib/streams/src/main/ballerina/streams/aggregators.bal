@@ -14,8 +14,6 @@
 // specific language governing permissions and limitations
 // under the License.
 import ballerina/reflect;
-import ballerina/crypto;
-import ballerina/math;
 
 public type Aggregator object {
 
@@ -53,34 +51,7 @@ public type Sum object {
 
     }
 
-    public function process(any value, EventType eventType) returns any {
-        match value {
-            int i => {
-                if (eventType == "CURRENT") {
-                    iSum += i;
-                } else if (eventType == "EXPIRED"){
-                    iSum -= i;
-                } else if (eventType == "RESET"){
-                    iSum = 0;
-                }
-                return iSum;
-            }
-            float f => {
-                if (eventType == "CURRENT") {
-                    fSum += f;
-                } else if (eventType == "EXPIRED"){
-                    fSum -= f;
-                } else if (eventType == "RESET"){
-                    fSum = 0.0;
-                }
-                return fSum;
-            }
-            any a => {
-                error e = { message: "Unsupported attribute type found" };
-                return e;
-            }
-        }
-    }
+    public extern function process(any value, EventType eventType) returns any;
 
     public function clone() returns Aggregator {
         Sum sumAggregator = new();
@@ -103,39 +74,7 @@ public type Average object {
 
     }
 
-    public function process(any value, EventType eventType) returns any {
-        match value {
-            int i => {
-                if (eventType == "CURRENT") {
-                    sum += i;
-                    count++;
-                } else if (eventType == "EXPIRED"){
-                    sum -= i;
-                    count--;
-                } else if (eventType == "RESET"){
-                    sum = 0;
-                    count = 0;
-                }
-            }
-            float f => {
-                if (eventType == "CURRENT") {
-                    sum += f;
-                    count++;
-                } else if (eventType == "EXPIRED"){
-                    sum -= f;
-                    count--;
-                } else if (eventType == "RESET"){
-                    sum = 0.0;
-                    count = 0;
-                }
-            }
-            any a => {
-                error e = { message: "Unsupported attribute type found" };
-                return e;
-            }
-        }
-        return (count > 0) ? (sum / count) : 0.0;
-    }
+    public extern function process(any value, EventType eventType) returns any;
 
     public function clone() returns Aggregator {
         Average avgAggregator = new();
@@ -157,16 +96,7 @@ public type Count object {
 
     }
 
-    public function process(any value, EventType eventType) returns any {
-        if (eventType == "CURRENT") {
-            count++;
-        } else if (eventType == "EXPIRED"){
-            count--;
-        } else if (eventType == "RESET"){
-            count = 0;
-        }
-        return count;
-    }
+    public extern function process(any value, EventType eventType) returns any;
 
     public function clone() returns Aggregator {
         Count countAggregator = new();
@@ -188,25 +118,7 @@ public type DistinctCount object {
 
     }
 
-    public function process(any value, EventType eventType) returns any {
-        string key = crypto:crc32(value);
-        if (eventType == "CURRENT") {
-            int preVal = distinctValues[key] ?: 0;
-            preVal++;
-            distinctValues[key] = preVal;
-        } else if (eventType == "EXPIRED"){
-            int preVal = distinctValues[key] ?: 1;
-            preVal--;
-            if (preVal <= 0) {
-                _ = distinctValues.remove(key);
-            } else {
-                distinctValues[key] = preVal;
-            }
-        } else if (eventType == "RESET"){
-            distinctValues.clear();
-        }
-        return lengthof distinctValues;
-    }
+    public extern function process(any value, EventType eventType) returns any;
 
     public function clone() returns Aggregator {
         DistinctCount distinctCountAggregator = new();
@@ -222,8 +134,6 @@ public function distinctCount() returns Aggregator {
 
 public type Max object {
 
-    public LinkedList iMaxQueue;
-    public LinkedList fMaxQueue;
     public int? iMax = ();
     public float? fMax = ();
 
@@ -231,90 +141,7 @@ public type Max object {
 
     }
 
-    public function process(any value, EventType eventType) returns any {
-        match value {
-            int i => {
-                if (eventType == "CURRENT") {
-                    iMaxQueue.resetToRear();
-                    while (iMaxQueue.hasPrevious()) {
-                        int a = check <int>iMaxQueue.previous();
-                        if (a < i) {
-                            iMaxQueue.removeCurrent();
-                        } else {
-                            break;
-                        }
-                    }
-                    iMaxQueue.addLast(i);
-                    match iMax {
-                        int tempMax => {
-                            iMax = (tempMax < i) ? i : tempMax;
-                        }
-                        () => {
-                            iMax = i;
-                        }
-                    }
-                    return iMax;
-                } else if (eventType == "EXPIRED"){
-                    iMaxQueue.resetToFront();
-                    while (iMaxQueue.hasNext()) {
-                        int a = check <int>iMaxQueue.next();
-                        if (a == i) {
-                            iMaxQueue.removeCurrent();
-                            break;
-                        }
-                    }
-                    iMax = check <int>iMaxQueue.getFirst();
-                    return iMax;
-                } else if (eventType == "RESET"){
-                    iMaxQueue.clear();
-                    iMax = ();
-                }
-                return iMax;
-            }
-            float f => {
-                if (eventType == "CURRENT") {
-                    fMaxQueue.resetToRear();
-                    while (fMaxQueue.hasPrevious()) {
-                        float a = check <float>fMaxQueue.previous();
-                        if (a < f) {
-                            fMaxQueue.removeCurrent();
-                        } else {
-                            break;
-                        }
-                    }
-                    fMaxQueue.addLast(f);
-                    match fMax {
-                        float tempMax => {
-                            fMax = (tempMax < f) ? f : tempMax;
-                        }
-                        () => {
-                            fMax = f;
-                        }
-                    }
-                    return fMax;
-                } else if (eventType == "EXPIRED"){
-                    fMaxQueue.resetToFront();
-                    while (fMaxQueue.hasNext()) {
-                        float a = check <float>fMaxQueue.next();
-                        if (a == f) {
-                            fMaxQueue.removeCurrent();
-                            break;
-                        }
-                    }
-                    fMax = check <float>fMaxQueue.getFirst();
-                    return fMax;
-                } else if (eventType == "RESET"){
-                    fMaxQueue.clear();
-                    fMax = ();
-                }
-                return fMax;
-            }
-            any a => {
-                error e = { message: "Unsupported attribute type found" };
-                return e;
-            }
-        }
-    }
+    public extern function process(any value, EventType eventType) returns any;
 
     public function clone() returns Aggregator {
         Max maxAggregator = new();
@@ -331,8 +158,6 @@ public function max() returns Aggregator {
 
 public type Min object {
 
-    public LinkedList iMinQueue;
-    public LinkedList fMinQueue;
     public int? iMin = ();
     public float? fMin = ();
 
@@ -340,90 +165,7 @@ public type Min object {
 
     }
 
-    public function process(any value, EventType eventType) returns any {
-        match value {
-            int i => {
-                if (eventType == "CURRENT") {
-                    iMinQueue.resetToRear();
-                    while (iMinQueue.hasPrevious()) {
-                        int a = check <int>iMinQueue.previous();
-                        if (a > i) {
-                            iMinQueue.removeCurrent();
-                        } else {
-                            break;
-                        }
-                    }
-                    iMinQueue.addLast(i);
-                    match iMin {
-                        int tempMin => {
-                            iMin = (tempMin > i) ? i : tempMin;
-                        }
-                        () => {
-                            iMin = i;
-                        }
-                    }
-                    return iMin;
-                } else if (eventType == "EXPIRED"){
-                    iMinQueue.resetToFront();
-                    while (iMinQueue.hasNext()) {
-                        int a = check <int>iMinQueue.next();
-                        if (a == i) {
-                            iMinQueue.removeCurrent();
-                            break;
-                        }
-                    }
-                    iMin = check <int>iMinQueue.getFirst();
-                    return iMin;
-                } else if (eventType == "RESET"){
-                    iMinQueue.clear();
-                    iMin = ();
-                }
-                return iMin;
-            }
-            float f => {
-                if (eventType == "CURRENT") {
-                    fMinQueue.resetToRear();
-                    while (fMinQueue.hasPrevious()) {
-                        float a = check <float>fMinQueue.previous();
-                        if (a > f) {
-                            fMinQueue.removeCurrent();
-                        } else {
-                            break;
-                        }
-                    }
-                    fMinQueue.addLast(f);
-                    match fMin {
-                        float tempMin => {
-                            fMin = (tempMin > f) ? f : tempMin;
-                        }
-                        () => {
-                            fMin = f;
-                        }
-                    }
-                    return fMin;
-                } else if (eventType == "EXPIRED"){
-                    fMinQueue.resetToFront();
-                    while (fMinQueue.hasNext()) {
-                        float a = check <float>fMinQueue.next();
-                        if (a == f) {
-                            fMinQueue.removeCurrent();
-                            break;
-                        }
-                    }
-                    fMin = check <float>fMinQueue.getFirst();
-                    return fMin;
-                } else if (eventType == "RESET"){
-                    fMinQueue.clear();
-                    fMin = ();
-                }
-                return fMin;
-            }
-            any a => {
-                error e = { message: "Unsupported attribute type found" };
-                return e;
-            }
-        }
-    }
+    public extern function process(any value, EventType eventType) returns any;
 
     public function clone() returns Aggregator {
         Min minAggregator = new();
@@ -450,64 +192,7 @@ public type StdDev object {
 
     }
 
-    public function process(any value, EventType eventType) returns any {
-        float fVal;
-        match value {
-            int i => {
-                fVal = <float>i;
-            }
-            float f => {
-                fVal = f;
-            }
-            any a => {
-                error e = { message: "Unsupported attribute type found" };
-                return e;
-            }
-        }
-
-        if (eventType == "CURRENT") {
-            // See here for the algorithm: http://www.johndcook.com/blog/standard_deviation/
-            count++;
-            if (count == 0) {
-                return ();
-            } else if (count == 1) {
-                sumValue = fVal;
-                mean = fVal;
-                stdDeviation = 0.0;
-                return 0.0;
-            } else {
-                float oldMean = mean;
-                sumValue += fVal;
-                mean = sumValue / count;
-                stdDeviation += (fVal - oldMean) * (fVal - mean);
-                return math:sqrt(stdDeviation / count);
-            }
-        } else if (eventType == "EXPIRED") {
-            count--;
-            if (count == 0) {
-                sumValue = 0.0;
-                mean = 0.0;
-                stdDeviation = 0.0;
-                return ();
-            } else if (count == 1) {
-                return 0.0;
-            } else {
-                float oldMean = mean;
-                sumValue -= fVal;
-                mean = sumValue / count;
-                stdDeviation -= (fVal - oldMean) * (fVal - mean);
-                return math:sqrt(stdDeviation / count);
-            }
-        } else if (eventType == "RESET") {
-            mean = 0.0;
-            stdDeviation = 0.0;
-            sumValue = 0.0;
-            count = 0;
-            return 0.0;
-        } else {
-            return ();
-        }
-    }
+    public extern function process(any value, EventType eventType) returns any;
 
     public function clone() returns Aggregator {
         StdDev stdDevAggregator = new();
@@ -530,40 +215,7 @@ public type MaxForever object {
 
     }
 
-    public function process(any value, EventType eventType) returns any {
-        match value {
-            int i => {
-                if (eventType == "CURRENT" || eventType == "EXPIRED") {
-                    match iMax {
-                        int tempMax => {
-                            iMax = (tempMax < i) ? i : tempMax;
-                        }
-                        () => {
-                            iMax = i;
-                        }
-                    }
-                }
-                return iMax;
-            }
-            float f => {
-                if (eventType == "CURRENT" || eventType == "EXPIRED") {
-                    match fMax {
-                        float tempMax => {
-                            fMax = (tempMax < f) ? f : tempMax;
-                        }
-                        () => {
-                            fMax = f;
-                        }
-                    }
-                }
-                return fMax;
-            }
-            any a => {
-                error e = { message: "Unsupported attribute type found" };
-                return e;
-            }
-        }
-    }
+    public extern function process(any value, EventType eventType) returns any;
 
     public function clone() returns Aggregator {
         MaxForever maxForeverAggregator = new();
@@ -586,40 +238,7 @@ public type MinForever object {
 
     }
 
-    public function process(any value, EventType eventType) returns any {
-        match value {
-            int i => {
-                if (eventType == "CURRENT" || eventType == "EXPIRED") {
-                    match iMin {
-                        int tempMin => {
-                            iMin = (tempMin > i) ? i : tempMin;
-                        }
-                        () => {
-                            iMin = i;
-                        }
-                    }
-                }
-                return iMin;
-            }
-            float f => {
-                if (eventType == "CURRENT" || eventType == "EXPIRED") {
-                    match fMin {
-                        float tempMin => {
-                            fMin = (tempMin > f) ? f : tempMin;
-                        }
-                        () => {
-                            fMin = f;
-                        }
-                    }
-                }
-                return fMin;
-            }
-            any a => {
-                error e = { message: "Unsupported attribute type found" };
-                return e;
-            }
-        }
-    }
+    public extern function process(any value, EventType eventType) returns any;
 
     public function clone() returns Aggregator {
         MinForever minForeverAggregator = new();
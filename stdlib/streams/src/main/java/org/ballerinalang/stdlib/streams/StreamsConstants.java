@@ -0,0 +1,47 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.stdlib.streams;
+
+/**
+ * Constants of the streams package.
+ *
+ * @since 0.981.1
+ */
+public class StreamsConstants {
+
+    public static final String ORG_NAME = "ballerina";
+    public static final String PACKAGE_NAME = "streams";
+    public static final String PACKAGE_PATH = ORG_NAME + "/" + PACKAGE_NAME;
+
+    public static final String STREAM_EVENT = "StreamEvent";
+    public static final String EVENT_TYPE = "eventType";
+    public static final String EVENT_OBJECT = "eventObject";
+    public static final String TIMESTAMP = "timestamp";
+
+    public static final String CURRENT = "CURRENT";
+    public static final String EXPIRED = "EXPIRED";
+    public static final String RESET = "RESET";
+
+    public static final String NEXT_PROCESSOR_POINTER = "nextProcessorPointer";
+    public static final String OPERATOR_STATE = "operatorState";
+
+    public static final String UNSUPPORTED_ATTRIBUTE_TYPE = "Unsupported attribute type found";
+
+    private StreamsConstants() {
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.stdlib.streams;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.values.BClosure;
+import org.ballerinalang.model.values.BFunctionPointer;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.program.BLangFunctions;
+
+import java.util.List;
+
+import static org.ballerinalang.stdlib.streams.StreamsConstants.EVENT_OBJECT;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.EVENT_TYPE;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.EXPIRED;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.PACKAGE_PATH;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.STREAM_EVENT;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.TIMESTAMP;
+
+/**
+ * Utilities shared by the native operators of the streams package.
+ *
+ * @since 0.981.1
+ */
+public class StreamsUtils {
+
+    private static final BString EXPIRED_EVENT_TYPE = new BString(EXPIRED);
+
+    private StreamsUtils() {
+    }
+
+    /**
+     * Returns the {@code StreamEvent[]} type of the program.
+     *
+     * @param context the context of the native function
+     * @return the stream event array type
+     */
+    public static BArrayType getStreamEventArrayType(Context context) {
+        return new BArrayType(context.getProgramFile().getPackageInfo(PACKAGE_PATH).getStructInfo(STREAM_EVENT)
+                .getType());
+    }
+
+    public static long getTimestamp(BMap<String, BValue> event) {
+        return ((BInteger) event.get(TIMESTAMP)).intValue();
+    }
+
+    /**
+     * Creates an expired copy of the given stream event.
+     *
+     * @param event the event to expire
+     * @return the expired event
+     */
+    public static BMap<String, BValue> createExpiredEvent(BMap<String, BValue> event) {
+        BMap<String, BValue> expiredEvent = new BMap<>(event.getType());
+        expiredEvent.put(EVENT_TYPE, EXPIRED_EVENT_TYPE);
+        expiredEvent.put(EVENT_OBJECT, event.get(EVENT_OBJECT));
+        expiredEvent.put(TIMESTAMP, event.get(TIMESTAMP));
+        return expiredEvent;
+    }
+
+    /**
+     * Passes the given events on to the next processor of a stream operator.
+     *
+     * @param nextProcessor pointer to the next processor
+     * @param arrayType     the stream event array type
+     * @param events        the events to pass on
+     * @param count         the number of events to pass on
+     */
+    public static void invokeNextProcessor(BFunctionPointer nextProcessor, BArrayType arrayType,
+                                           BRefType<?>[] events, int count) {
+        BRefType<?>[] values = new BRefType<?>[count];
+        System.arraycopy(events, 0, values, 0, count);
+        invokeNextProcessor(nextProcessor, new BRefValueArray(values, arrayType));
+    }
+
+    public static void invokeNextProcessor(BFunctionPointer nextProcessor, BRefValueArray events) {
+        List<BClosure> closureVars = nextProcessor.getClosureVars();
+        BValue[] args = new BValue[closureVars.size() + 1];
+        for (int i = 0; i < closureVars.size(); i++) {
+            args[i] = closureVars.get(i).value();
+        }
+        args[closureVars.size()] = events;
+        BLangFunctions.invokeCallable(nextProcessor.value().getFunctionInfo(), args);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.stdlib.streams.nativeimpl.aggregators;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+import static org.ballerinalang.stdlib.streams.StreamsConstants.CURRENT;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.EXPIRED;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.ORG_NAME;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.PACKAGE_NAME;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.PACKAGE_PATH;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.RESET;
+
+/**
+ * Extern function ballerina.streams:DistinctCount.process.
+ *
+ * @since 0.981.1
+ */
+@BallerinaFunction(
+        orgName = ORG_NAME,
+        packageName = PACKAGE_NAME,
+        functionName = "process",
+        receiver = @Receiver(type = TypeKind.OBJECT, structType = "DistinctCount", structPackage = PACKAGE_PATH),
+        args = {@Argument(name = "value", type = TypeKind.ANY),
+                @Argument(name = "eventType", type = TypeKind.STRING)},
+        returnType = {@ReturnType(type = TypeKind.ANY)},
+        isPublic = true
+)
+public class DistinctCountProcess extends BlockingNativeCallableUnit {
+
+    private static final String DISTINCT_VALUES = "distinctValues";
+
+    @Override
+    public void execute(Context context) {
+        BMap<String, BValue> aggregator = (BMap<String, BValue>) context.getRefArgument(0);
+        BValue value = context.getNullableRefArgument(1);
+        String eventType = context.getRefArgument(2).stringValue();
+        BMap<String, BValue> distinctValues = (BMap<String, BValue>) aggregator.get(DISTINCT_VALUES);
+        // the string value is used as the key, as it is both cheaper and less prone to collisions than a checksum
+        String key = value == null ? "()" : value.stringValue();
+        switch (eventType) {
+            case CURRENT:
+                BInteger count = (BInteger) distinctValues.get(key);
+                distinctValues.put(key, BInteger.valueOf(count == null ? 1 : count.intValue() + 1));
+                break;
+            case EXPIRED:
+                BInteger previous = (BInteger) distinctValues.get(key);
+                long remaining = previous == null ? 0 : previous.intValue() - 1;
+                if (remaining <= 0) {
+                    distinctValues.remove(key);
+                } else {
+                    distinctValues.put(key, BInteger.valueOf(remaining));
+                }
+                break;
+            case RESET:
+                distinctValues.clear();
+                break;
+            default:
+                break;
+        }
+        context.setReturnValues(BInteger.valueOf(distinctValues.size()));
+    }
+}
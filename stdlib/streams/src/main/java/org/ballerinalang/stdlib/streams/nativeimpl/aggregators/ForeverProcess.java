@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.stdlib.streams.nativeimpl.aggregators;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BLangVMErrors;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+
+import static org.ballerinalang.stdlib.streams.StreamsConstants.CURRENT;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.EXPIRED;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.UNSUPPORTED_ATTRIBUTE_TYPE;
+
+/**
+ * Base of the max and min aggregators which never forget a value, even once it has expired.
+ *
+ * @since 0.981.1
+ */
+abstract class ForeverProcess extends BlockingNativeCallableUnit {
+
+    private final String intField;
+
+    private final String floatField;
+
+    ForeverProcess(String intField, String floatField) {
+        this.intField = intField;
+        this.floatField = floatField;
+    }
+
+    // whether the value replaces the current extremum
+    abstract boolean replaces(long value, long extremum);
+
+    abstract boolean replaces(double value, double extremum);
+
+    @Override
+    public void execute(Context context) {
+        BMap<String, BValue> aggregator = (BMap<String, BValue>) context.getRefArgument(0);
+        BValue value = context.getNullableRefArgument(1);
+        String eventType = context.getRefArgument(2).stringValue();
+        boolean update = CURRENT.equals(eventType) || EXPIRED.equals(eventType);
+        if (value instanceof BInteger) {
+            BInteger extremum = (BInteger) aggregator.get(intField);
+            if (update && (extremum == null || replaces(((BInteger) value).intValue(), extremum.intValue()))) {
+                extremum = (BInteger) value;
+                aggregator.put(intField, extremum);
+            }
+            context.setReturnValues(extremum);
+        } else if (value instanceof BFloat) {
+            BFloat extremum = (BFloat) aggregator.get(floatField);
+            if (update && (extremum == null || replaces(((BFloat) value).floatValue(), extremum.floatValue()))) {
+                extremum = (BFloat) value;
+                aggregator.put(floatField, extremum);
+            }
+            context.setReturnValues(extremum);
+        } else {
+            context.setReturnValues(BLangVMErrors.createError(context, UNSUPPORTED_ATTRIBUTE_TYPE));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.stdlib.streams.nativeimpl.aggregators;
+
+/**
+ * A double ended queue of {@code long} values, backed by a growable circular array.
+ *
+ * @since 0.981.1
+ */
+class LongDeque {
+
+    private long[] elements = new long[16];
+
+    private int head;
+
+    private int size;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long peekFirst() {
+        return elements[head];
+    }
+
+    long peekLast() {
+        return elements[(head + size - 1) & (elements.length - 1)];
+    }
+
+    void addLast(long value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    void removeLast() {
+        size--;
+    }
+
+    void removeFirst() {
+        head = (head + 1) & (elements.length - 1);
+        size--;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        long[] newElements = new long[elements.length << 1];
+        int firstPart = elements.length - head;
+        System.arraycopy(elements, head, newElements, 0, firstPart);
+        System.arraycopy(elements, 0, newElements, firstPart, head);
+        elements = newElements;
+        head = 0;
+    }
+}
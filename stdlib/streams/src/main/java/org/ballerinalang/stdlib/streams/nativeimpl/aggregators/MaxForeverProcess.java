@@ -0,0 +1,60 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.stdlib.streams.nativeimpl.aggregators;
+
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+import static org.ballerinalang.stdlib.streams.StreamsConstants.ORG_NAME;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.PACKAGE_NAME;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.PACKAGE_PATH;
+
+/**
+ * Extern function ballerina.streams:MaxForever.process.
+ *
+ * @since 0.981.1
+ */
+@BallerinaFunction(
+        orgName = ORG_NAME,
+        packageName = PACKAGE_NAME,
+        functionName = "process",
+        receiver = @Receiver(type = TypeKind.OBJECT, structType = "MaxForever", structPackage = PACKAGE_PATH),
+        args = {@Argument(name = "value", type = TypeKind.ANY),
+                @Argument(name = "eventType", type = TypeKind.STRING)},
+        returnType = {@ReturnType(type = TypeKind.ANY)},
+        isPublic = true
+)
+public class MaxForeverProcess extends ForeverProcess {
+
+    public MaxForeverProcess() {
+        super("iMax", "fMax");
+    }
+
+    @Override
+    boolean replaces(long value, long extremum) {
+        return value > extremum;
+    }
+
+    @Override
+    boolean replaces(double value, double extremum) {
+        return value > extremum;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.stdlib.streams.nativeimpl.aggregators;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BLangVMErrors;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+
+import static org.ballerinalang.stdlib.streams.StreamsConstants.CURRENT;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.EXPIRED;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.OPERATOR_STATE;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.RESET;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.UNSUPPORTED_ATTRIBUTE_TYPE;
+
+/**
+ * Base of the max and min aggregators over a window. The values of the window which can still become the extremum
+ * are kept in monotonic queues of primitives, hence the extremum is always at the head of the queue. As events expire
+ * in the order in which they arrived, an expired value is still in the queue only if it is at its head.
+ *
+ * @since 0.981.1
+ */
+abstract class MonotonicQueueProcess extends BlockingNativeCallableUnit {
+
+    private final String intField;
+
+    private final String floatField;
+
+    MonotonicQueueProcess(String intField, String floatField) {
+        this.intField = intField;
+        this.floatField = floatField;
+    }
+
+    // whether the value at the rear of the queue can never become the extremum once the newer value is added
+    abstract boolean isDominated(long rear, long value);
+
+    abstract boolean isDominated(double rear, double value);
+
+    @Override
+    public void execute(Context context) {
+        BMap<String, BValue> aggregator = (BMap<String, BValue>) context.getRefArgument(0);
+        BValue value = context.getNullableRefArgument(1);
+        String eventType = context.getRefArgument(2).stringValue();
+        Queues queues = (Queues) aggregator.getNativeData(OPERATOR_STATE);
+        if (queues == null) {
+            queues = new Queues();
+            aggregator.addNativeData(OPERATOR_STATE, queues);
+        }
+        if (value instanceof BInteger) {
+            LongDeque queue = queues.ints;
+            long i = ((BInteger) value).intValue();
+            switch (eventType) {
+                case CURRENT:
+                    while (!queue.isEmpty() && isDominated(queue.peekLast(), i)) {
+                        queue.removeLast();
+                    }
+                    queue.addLast(i);
+                    break;
+                case EXPIRED:
+                    if (!queue.isEmpty() && queue.peekFirst() == i) {
+                        queue.removeFirst();
+                    }
+                    break;
+                case RESET:
+                    queue.clear();
+                    break;
+                default:
+                    context.setReturnValues(aggregator.get(intField));
+                    return;
+            }
+            BValue result = queue.isEmpty() ? null : BInteger.valueOf(queue.peekFirst());
+            aggregator.put(intField, result);
+            context.setReturnValues(result);
+        } else if (value instanceof BFloat) {
+            DoubleDeque queue = queues.floats;
+            double f = ((BFloat) value).floatValue();
+            switch (eventType) {
+                case CURRENT:
+                    while (!queue.isEmpty() && isDominated(queue.peekLast(), f)) {
+                        queue.removeLast();
+                    }
+                    queue.addLast(f);
+                    break;
+                case EXPIRED:
+                    if (!queue.isEmpty() && queue.peekFirst() == f) {
+                        queue.removeFirst();
+                    }
+                    break;
+                case RESET:
+                    queue.clear();
+                    break;
+                default:
+                    context.setReturnValues(aggregator.get(floatField));
+                    return;
+            }
+            BValue result = queue.isEmpty() ? null : BFloat.valueOf(queue.peekFirst());
+            aggregator.put(floatField, result);
+            context.setReturnValues(result);
+        } else {
+            context.setReturnValues(BLangVMErrors.createError(context, UNSUPPORTED_ATTRIBUTE_TYPE));
+        }
+    }
+
+    /**
+     * The monotonic queues of an aggregator, kept as its native data.
+     */
+    private static class Queues {
+
+        private final LongDeque ints = new LongDeque();
+
+        private final DoubleDeque floats = new DoubleDeque();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.stdlib.streams.nativeimpl.aggregators;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BLangVMErrors;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+import static org.ballerinalang.stdlib.streams.StreamsConstants.CURRENT;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.EXPIRED;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.ORG_NAME;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.PACKAGE_NAME;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.PACKAGE_PATH;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.RESET;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.UNSUPPORTED_ATTRIBUTE_TYPE;
+
+/**
+ * Extern function ballerina.streams:StdDev.process.
+ *
+ * @since 0.981.1
+ */
+@BallerinaFunction(
+        orgName = ORG_NAME,
+        packageName = PACKAGE_NAME,
+        functionName = "process",
+        receiver = @Receiver(type = TypeKind.OBJECT, structType = "StdDev", structPackage = PACKAGE_PATH),
+        args = {@Argument(name = "value", type = TypeKind.ANY),
+                @Argument(name = "eventType", type = TypeKind.STRING)},
+        returnType = {@ReturnType(type = TypeKind.ANY)},
+        isPublic = true
+)
+public class StdDevProcess extends BlockingNativeCallableUnit {
+
+    private static final String MEAN = "mean";
+    private static final String STD_DEVIATION = "stdDeviation";
+    private static final String SUM_VALUE = "sumValue";
+    private static final String COUNT = "count";
+
+    @Override
+    public void execute(Context context) {
+        BMap<String, BValue> aggregator = (BMap<String, BValue>) context.getRefArgument(0);
+        BValue value = context.getNullableRefArgument(1);
+        String eventType = context.getRefArgument(2).stringValue();
+        double f;
+        if (value instanceof BInteger) {
+            f = ((BInteger) value).intValue();
+        } else if (value instanceof BFloat) {
+            f = ((BFloat) value).floatValue();
+        } else {
+            context.setReturnValues(BLangVMErrors.createError(context, UNSUPPORTED_ATTRIBUTE_TYPE));
+            return;
+        }
+        double mean = ((BFloat) aggregator.get(MEAN)).floatValue();
+        double stdDeviation = ((BFloat) aggregator.get(STD_DEVIATION)).floatValue();
+        double sumValue = ((BFloat) aggregator.get(SUM_VALUE)).floatValue();
+        long count = ((BInteger) aggregator.get(COUNT)).intValue();
+        BValue result;
+        switch (eventType) {
+            case CURRENT:
+                // See here for the algorithm: http://www.johndcook.com/blog/standard_deviation/
+                count++;
+                if (count == 0) {
+                    result = null;
+                } else if (count == 1) {
+                    sumValue = f;
+                    mean = f;
+                    stdDeviation = 0.0;
+                    result = BFloat.valueOf(0.0);
+                } else {
+                    double oldMean = mean;
+                    sumValue += f;
+                    mean = sumValue / count;
+                    stdDeviation += (f - oldMean) * (f - mean);
+                    result = BFloat.valueOf(Math.sqrt(stdDeviation / count));
+                }
+                break;
+            case EXPIRED:
+                count--;
+                if (count == 0) {
+                    sumValue = 0.0;
+                    mean = 0.0;
+                    stdDeviation = 0.0;
+                    result = null;
+                } else if (count == 1) {
+                    result = BFloat.valueOf(0.0);
+                } else {
+                    double oldMean = mean;
+                    sumValue -= f;
+                    mean = sumValue / count;
+                    stdDeviation -= (f - oldMean) * (f - mean);
+                    result = BFloat.valueOf(Math.sqrt(stdDeviation / count));
+                }
+                break;
+            case RESET:
+                mean = 0.0;
+                stdDeviation = 0.0;
+                sumValue = 0.0;
+                count = 0;
+                result = BFloat.valueOf(0.0);
+                break;
+            default:
+                context.setReturnValues();
+                return;
+        }
+        aggregator.put(MEAN, BFloat.valueOf(mean));
+        aggregator.put(STD_DEVIATION, BFloat.valueOf(stdDeviation));
+        aggregator.put(SUM_VALUE, BFloat.valueOf(sumValue));
+        aggregator.put(COUNT, BInteger.valueOf(count));
+        context.setReturnValues(result);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.stdlib.streams.nativeimpl.aggregators;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BLangVMErrors;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+import static org.ballerinalang.stdlib.streams.StreamsConstants.CURRENT;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.EXPIRED;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.ORG_NAME;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.PACKAGE_NAME;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.PACKAGE_PATH;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.RESET;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.UNSUPPORTED_ATTRIBUTE_TYPE;
+
+/**
+ * Extern function ballerina.streams:Sum.process.
+ *
+ * @since 0.981.1
+ */
+@BallerinaFunction(
+        orgName = ORG_NAME,
+        packageName = PACKAGE_NAME,
+        functionName = "process",
+        receiver = @Receiver(type = TypeKind.OBJECT, structType = "Sum", structPackage = PACKAGE_PATH),
+        args = {@Argument(name = "value", type = TypeKind.ANY),
+                @Argument(name = "eventType", type = TypeKind.STRING)},
+        returnType = {@ReturnType(type = TypeKind.ANY)},
+        isPublic = true
+)
+public class SumProcess extends BlockingNativeCallableUnit {
+
+    private static final String INT_SUM = "iSum";
+    private static final String FLOAT_SUM = "fSum";
+
+    @Override
+    public void execute(Context context) {
+        BMap<String, BValue> aggregator = (BMap<String, BValue>) context.getRefArgument(0);
+        BValue value = context.getNullableRefArgument(1);
+        String eventType = context.getRefArgument(2).stringValue();
+        if (value instanceof BInteger) {
+            long sum = ((BInteger) aggregator.get(INT_SUM)).intValue();
+            long i = ((BInteger) value).intValue();
+            switch (eventType) {
+                case CURRENT:
+                    sum += i;
+                    break;
+                case EXPIRED:
+                    sum -= i;
+                    break;
+                case RESET:
+                    sum = 0;
+                    break;
+                default:
+                    break;
+            }
+            BInteger result = BInteger.valueOf(sum);
+            aggregator.put(INT_SUM, result);
+            context.setReturnValues(result);
+        } else if (value instanceof BFloat) {
+            double sum = ((BFloat) aggregator.get(FLOAT_SUM)).floatValue();
+            double f = ((BFloat) value).floatValue();
+            switch (eventType) {
+                case CURRENT:
+                    sum += f;
+                    break;
+                case EXPIRED:
+                    sum -= f;
+                    break;
+                case RESET:
+                    sum = 0.0;
+                    break;
+                default:
+                    break;
+            }
+            BFloat result = BFloat.valueOf(sum);
+            aggregator.put(FLOAT_SUM, result);
+            context.setReturnValues(result);
+        } else {
+            context.setReturnValues(BLangVMErrors.createError(context, UNSUPPORTED_ATTRIBUTE_TYPE));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.stdlib.streams.nativeimpl.groupby;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BFunctionPointer;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.stdlib.streams.StreamsUtils;
+
+import static org.ballerinalang.stdlib.streams.StreamsConstants.EVENT_OBJECT;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.NEXT_PROCESSOR_POINTER;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.ORG_NAME;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.PACKAGE_NAME;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.PACKAGE_PATH;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.STREAM_EVENT;
+
+/**
+ * Extern function ballerina.streams:GroupBy.performGrouping.
+ *
+ * @since 0.981.1
+ */
+@BallerinaFunction(
+        orgName = ORG_NAME,
+        packageName = PACKAGE_NAME,
+        functionName = "performGrouping",
+        receiver = @Receiver(type = TypeKind.OBJECT, structType = "GroupBy", structPackage = PACKAGE_PATH),
+        args = {@Argument(name = "streamEvents", type = TypeKind.ARRAY, elementType = TypeKind.RECORD,
+                structType = STREAM_EVENT, structPackage = PACKAGE_PATH)},
+        isPublic = true
+)
+public class PerformGrouping extends BlockingNativeCallableUnit {
+
+    private static final String GROUP_BY_FIELDS = "groupByFields";
+    private static final String GROUPED_STREAM_EVENTS = "groupedStreamEvents";
+
+    @Override
+    public void execute(Context context) {
+        BMap<String, BValue> groupBy = (BMap<String, BValue>) context.getRefArgument(0);
+        BRefValueArray streamEvents = (BRefValueArray) context.getRefArgument(1);
+        BFunctionPointer nextProcessor = (BFunctionPointer) groupBy.get(NEXT_PROCESSOR_POINTER);
+        BStringArray groupByFields = (BStringArray) groupBy.get(GROUP_BY_FIELDS);
+        if (groupByFields.size() == 0) {
+            StreamsUtils.invokeNextProcessor(nextProcessor, streamEvents);
+            return;
+        }
+        BMap<String, BValue> groupedStreamEvents = (BMap<String, BValue>) groupBy.get(GROUPED_STREAM_EVENTS);
+        for (int i = 0; i < streamEvents.size(); i++) {
+            BMap<String, BValue> streamEvent = (BMap<String, BValue>) streamEvents.get(i);
+            String key = generateGroupByKey(streamEvent, groupByFields);
+            BRefValueArray groupedEvents = (BRefValueArray) groupedStreamEvents.get(key);
+            if (groupedEvents == null) {
+                groupedEvents = new BRefValueArray(streamEvents.getType());
+                groupedStreamEvents.put(key, groupedEvents);
+            }
+            groupedEvents.append(streamEvent);
+        }
+        for (BValue groupedEvents : groupedStreamEvents.values()) {
+            StreamsUtils.invokeNextProcessor(nextProcessor, (BRefValueArray) groupedEvents);
+        }
+    }
+
+    private static String generateGroupByKey(BMap<String, BValue> streamEvent, BStringArray groupByFields) {
+        StringBuilder key = new StringBuilder();
+        BValue eventObject = streamEvent.get(EVENT_OBJECT);
+        if (eventObject instanceof BMap) {
+            BMap<String, BValue> mappedEvent = (BMap<String, BValue>) eventObject;
+            for (int i = 0; i < groupByFields.size(); i++) {
+                key.append(", ");
+                BValue fieldValue = mappedEvent.get(groupByFields.get(i));
+                if (fieldValue != null) {
+                    key.append(fieldValue.stringValue());
+                }
+            }
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.stdlib.streams.nativeimpl.windows;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BFunctionPointer;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.stdlib.streams.StreamsUtils;
+
+import static org.ballerinalang.stdlib.streams.StreamsConstants.NEXT_PROCESSOR_POINTER;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.ORG_NAME;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.PACKAGE_NAME;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.PACKAGE_PATH;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.STREAM_EVENT;
+
+/**
+ * Extern function ballerina.streams:LengthWindow.add.
+ *
+ * @since 0.981.1
+ */
+@BallerinaFunction(
+        orgName = ORG_NAME,
+        packageName = PACKAGE_NAME,
+        functionName = "add",
+        receiver = @Receiver(type = TypeKind.OBJECT, structType = "LengthWindow", structPackage = PACKAGE_PATH),
+        args = {@Argument(name = "event", type = TypeKind.RECORD, structType = STREAM_EVENT,
+                structPackage = PACKAGE_PATH)},
+        isPublic = true
+)
+public class LengthWindowAdd extends BlockingNativeCallableUnit {
+
+    @Override
+    public void execute(Context context) {
+        BMap<String, BValue> window = (BMap<String, BValue>) context.getRefArgument(0);
+        BMap<String, BValue> event = (BMap<String, BValue>) context.getRefArgument(1);
+        LengthWindowState state = LengthWindowState.get(context, window);
+        BFunctionPointer nextProcessor = (BFunctionPointer) window.get(NEXT_PROCESSOR_POINTER);
+        BMap<String, BValue> expiredEvent = state.getEventToBeExpired();
+        if (expiredEvent != null) {
+            StreamsUtils.invokeNextProcessor(nextProcessor,
+                    new BRefValueArray(new BRefType<?>[]{expiredEvent}, state.arrayType));
+        }
+        state.add(event);
+        window.put(LengthWindowState.COUNTER, BInteger.valueOf(state.getCounter()));
+        StreamsUtils.invokeNextProcessor(nextProcessor, state.arrayType, state.getEvents(), state.getEventCount());
+    }
+}
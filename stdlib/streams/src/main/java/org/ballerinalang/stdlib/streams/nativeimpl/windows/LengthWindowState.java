@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.stdlib.streams.nativeimpl.windows;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.stdlib.streams.StreamsUtils;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import static org.ballerinalang.stdlib.streams.StreamsConstants.OPERATOR_STATE;
+
+/**
+ * The events of a length window, kept as native data of the window in a ring buffer of the window length.
+ *
+ * @since 0.981.1
+ */
+class LengthWindowState {
+
+    static final String COUNTER = "counter";
+
+    private static final String SIZE = "size";
+
+    final BArrayType arrayType;
+
+    private final BRefType<?>[] events;
+
+    // number of events ever added to the window
+    private long counter;
+
+    private LengthWindowState(BArrayType arrayType, int size, long counter) {
+        this.arrayType = arrayType;
+        this.events = new BRefType<?>[size];
+        this.counter = counter;
+    }
+
+    static LengthWindowState get(Context context, BMap<String, BValue> window) {
+        LengthWindowState state = (LengthWindowState) window.getNativeData(OPERATOR_STATE);
+        if (state == null) {
+            long size = ((BInteger) window.get(SIZE)).intValue();
+            if (size <= 0 || size > Integer.MAX_VALUE) {
+                throw new BallerinaException("invalid length window size: " + size);
+            }
+            state = new LengthWindowState(StreamsUtils.getStreamEventArrayType(context), (int) size,
+                    ((BInteger) window.get(COUNTER)).intValue());
+            window.addNativeData(OPERATOR_STATE, state);
+        }
+        return state;
+    }
+
+    long getCounter() {
+        return counter;
+    }
+
+    BRefType<?>[] getEvents() {
+        return events;
+    }
+
+    int getEventCount() {
+        return (int) Math.min(counter, events.length);
+    }
+
+    /**
+     * Returns an expired copy of the event which is replaced by the next event added to the window, if the window
+     * has overflowed already.
+     *
+     * @return the expired event, or null if there is none
+     */
+    BMap<String, BValue> getEventToBeExpired() {
+        if (counter <= events.length) {
+            return null;
+        }
+        return StreamsUtils.createExpiredEvent((BMap<String, BValue>) events[(int) (counter % events.length)]);
+    }
+
+    void add(BMap<String, BValue> event) {
+        events[(int) (counter % events.length)] = event;
+        counter++;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.stdlib.streams.nativeimpl.windows;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.values.BFunctionPointer;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.stdlib.streams.StreamsUtils;
+import org.ballerinalang.util.timer.ExpiryListener;
+import org.ballerinalang.util.timer.TimerWheel;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.ballerinalang.stdlib.streams.StreamsConstants.NEXT_PROCESSOR_POINTER;
+import static org.ballerinalang.stdlib.streams.StreamsConstants.OPERATOR_STATE;
+
+/**
+ * The events of a time window in the order of their timestamps, kept as native data of the window. The timestamps
+ * are held in a primitive array next to the events, so that finding the expired events does not touch the events.
+ * <p>
+ * Events are expired when a newer event arrives, and also by the shared {@link TimerWheel} when the window has no
+ * newer events, as long as the timestamps of the events are times of the system clock. Expiry by the timer wheel
+ * runs on the worker pool, so the window holds its processing lock while it passes expired events on, which keeps
+ * the next processor from being run by the timer and the stream at once and keeps expired events in order.
+ *
+ * @since 0.981.1
+ */
+class TimeWindowState implements ExpiryListener {
+
+    private static final String TIME_LENGTH = "timeLength";
+
+    private final BMap<String, BValue> window;
+
+    private final BArrayType arrayType;
+
+    private final long timeLength;
+
+    private final TimerWheel timerWheel = TimerWheel.getInstance();
+
+    private final ReentrantLock processingLock = new ReentrantLock();
+
+    private long[] timestamps = new long[16];
+
+    private BRefType<?>[] events = new BRefType<?>[16];
+
+    private int head;
+
+    private int size;
+
+    private long lastExpiryTime = -1;
+
+    private TimeWindowState(BMap<String, BValue> window, BArrayType arrayType, long timeLength) {
+        this.window = window;
+        this.arrayType = arrayType;
+        this.timeLength = timeLength;
+    }
+
+    static TimeWindowState get(Context context, BMap<String, BValue> window) {
+        TimeWindowState state = (TimeWindowState) window.getNativeData(OPERATOR_STATE);
+        if (state == null) {
+            state = new TimeWindowState(window, StreamsUtils.getStreamEventArrayType(context),
+                    ((BInteger) window.get(TIME_LENGTH)).intValue());
+            window.addNativeData(OPERATOR_STATE, state);
+        }
+        return state;
+    }
+
+    /**
+     * Adds an event to the window and expires the events which are older than the window length compared to it.
+     * Events older than the newest event of the window are ignored.
+     *
+     * @param event the event to add
+     */
+    void add(BMap<String, BValue> event) {
+        processingLock.lock();
+        try {
+            synchronized (this) {
+                long timestamp = StreamsUtils.getTimestamp(event);
+                if (size > 0 && timestamps[index(size - 1)] > timestamp) {
+                    return;
+                }
+                if (size == events.length) {
+                    grow();
+                }
+                timestamps[index(size)] = timestamp;
+                events[index(size)] = event;
+                size++;
+                scheduleExpiry(timestamp + timeLength + 1);
+            }
+            removeExpiredEvents();
+        } finally {
+            processingLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the events which are older than the window length compared to the newest event, and passes expired
+     * copies of them on to the next processor of the window.
+     */
+    void removeExpiredEvents() {
+        processingLock.lock();
+        try {
+            long newest;
+            synchronized (this) {
+                if (size == 0) {
+                    return;
+                }
+                newest = timestamps[index(size - 1)];
+            }
+            expire(newest);
+        } finally {
+            processingLock.unlock();
+        }
+    }
+
+    @Override
+    public void onExpiry(long expiryTime) {
+        ThreadPoolFactory.getInstance().getWorkerExecutor().execute(() -> {
+            processingLock.lock();
+            try {
+                expire(expiryTime);
+            } finally {
+                processingLock.unlock();
+            }
+        });
+    }
+
+    synchronized BRefValueArray getEvents() {
+        BRefType<?>[] content = new BRefType<?>[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = events[index(i)];
+        }
+        return new BRefValueArray(content, arrayType);
+    }
+
+    /**
+     * Expires the events which are older than the window length compared to the given time. Should be called with the
+     * processing lock held, which is kept while the next processor runs.
+     */
+    private void expire(long time) {
+        BRefType<?>[] expiredEvents;
+        synchronized (this) {
+            int count = 0;
+            while (count < size && time > timestamps[index(count)] + timeLength) {
+                count++;
+            }
+            if (count == 0) {
+                return;
+            }
+            expiredEvents = new BRefType<?>[count];
+            for (int i = 0; i < count; i++) {
+                expiredEvents[i] = StreamsUtils.createExpiredEvent((BMap<String, BValue>) events[head]);
+                events[head] = null;
+                head = index(1);
+            }
+            size -= count;
+        }
+        StreamsUtils.invokeNextProcessor((BFunctionPointer) window.get(NEXT_PROCESSOR_POINTER),
+                new BRefValueArray(expiredEvents, arrayType));
+    }
+
+    private void scheduleExpiry(long deadline) {
+        // Events with timestamps which are not ahead of the system clock are only expired by newer events, and
+        // events expiring in the same tick of the timer wheel share a single deadline
+        long expiryTime = timerWheel.expiryTimeOf(deadline);
+        if (expiryTime <= System.currentTimeMillis() || expiryTime == lastExpiryTime) {
+            return;
+        }
+        lastExpiryTime = expiryTime;
+        timerWheel.schedule(deadline, this);
+    }
+
+    private int index(int offset) {
+        return (head + offset) & (events.length - 1);
+    }
+
+    private void grow() {
+        int capacity = events.length << 1;
+        long[] newTimestamps = new long[capacity];
+        BRefType<?>[] newEvents = new BRefType<?>[capacity];
+        for (int i = 0; i < size; i++) {
+            newTimestamps[i] = timestamps[index(i)];
+            newEvents[i] = events[index(i)];
+        }
+        timestamps = newTimestamps;
+        events = newEvents;
+        head = 0;
+    }
+}
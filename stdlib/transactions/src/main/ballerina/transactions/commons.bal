@@ -39,7 +39,7 @@ map<TwoPhaseCommitTransaction> participatedTransactions;
 documentation {
     This cache is used for caching HTTP connectors against the URL, since creating connectors is expensive.
 }
-cache:Cache httpClientCache = new;
+cache:Cache httpClientCache = new(name = "transaction-http-clients");
 
 @final boolean scheduleInit = scheduleTimer(1000, 60000);
 
@@ -22,6 +22,7 @@ import org.apache.commons.logging.LogFactory;
 import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BFloat;
 import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BString;
@@ -193,6 +194,35 @@ public class CacheTest {
         Assert.assertEquals(((BInteger) returns[0]).intValue(), 0);
     }
 
+    @Test
+    public void testHasKeyOfExpiredEntry() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testHasKeyOfExpiredEntry");
+        Assert.assertEquals(returns.length, 2);
+        Assert.assertTrue(((BBoolean) returns[0]).booleanValue());
+        Assert.assertFalse(((BBoolean) returns[1]).booleanValue());
+    }
+
+    @Test
+    public void testReplacingValueOfFullCache() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testReplacingValueOfFullCache");
+        Assert.assertEquals(returns.length, 2);
+        Assert.assertTrue(returns[0] instanceof BStringArray);
+        BStringArray keys = (BStringArray) returns[0];
+        Assert.assertEquals(keys.size(), 3);
+        Assert.assertEquals(keys.get(0), "A");
+        Assert.assertEquals(keys.get(1), "B");
+        Assert.assertEquals(keys.get(2), "C");
+        Assert.assertEquals(returns[1].stringValue(), "A2");
+    }
+
+    @Test
+    public void testCloseCache() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testCloseCache");
+        Assert.assertEquals(returns.length, 2);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 0);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 1);
+    }
+
     @Test(expectedExceptions = BLangRuntimeException.class)
     public void testCreateCacheWithZeroExpiryTime() {
         BRunUtil.invoke(compileResult, "testCreateCacheWithZeroExpiryTime");
@@ -256,6 +256,42 @@ public class LocksInMainTest {
 
     }
 
+    @Test(description = "Tests lock acquired by several workers at the same time")
+    public void testLockUnderContention() {
+        CompileResult compileResult = BCompileUtil.compile("test-src/lock/locks-in-functions.bal");
+
+        BValue[] returns =
+                BRunUtil.invoke(compileResult, "lockUnderContention");
+        assertEquals(returns.length, 1);
+        assertSame(returns[0].getClass(), BInteger.class);
+
+        assertEquals(((BInteger) returns[0]).intValue(), 2000);
+    }
+
+    @Test(description = "Tests re-entrant locking by several workers at the same time")
+    public void testReentrantLockUnderContention() {
+        CompileResult compileResult = BCompileUtil.compile("test-src/lock/locks-in-functions.bal");
+
+        BValue[] returns =
+                BRunUtil.invoke(compileResult, "reentrantLockUnderContention");
+        assertEquals(returns.length, 1);
+        assertSame(returns[0].getClass(), BInteger.class);
+
+        assertEquals(((BInteger) returns[0]).intValue(), 4000);
+    }
+
+    @Test(description = "Tests lock taken over by an async child while its parent still holds the lock")
+    public void testLockWithNestedAsyncChild() {
+        CompileResult compileResult = BCompileUtil.compile("test-src/lock/locks-in-functions.bal");
+
+        BValue[] returns =
+                BRunUtil.invoke(compileResult, "lockWithNestedAsyncChild");
+        assertEquals(returns.length, 1);
+        assertSame(returns[0].getClass(), BInteger.class);
+
+        assertEquals(((BInteger) returns[0]).intValue(), 1000);
+    }
+
     @Test(description = "Test lock negative cases")
     public void testLockNegativeCases() {
         CompileResult compileResult = BCompileUtil.compile("test-src/lock/locks-in-functions-negative.bal");
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.mime;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderResult;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.ballerinalang.mime.util.HttpContentChannel;
+import org.ballerinalang.net.http.HttpUtil;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.transport.http.netty.message.HttpCarbonMessage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test cases for reading and passing through the entity body of an http message.
+ */
+public class HttpContentChannelTest {
+
+    @Test(description = "Read the body of a message received in several chunks")
+    public void testReadChunkedContent() throws IOException {
+        HttpCarbonMessage message = createMessage("Hello ", "Ballerina ", "World");
+        HttpContentChannel channel = new HttpContentChannel(message);
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        StringBuilder content = new StringBuilder();
+        while (channel.read(buffer) > 0) {
+            buffer.flip();
+            content.append(StandardCharsets.UTF_8.decode(buffer));
+            buffer.clear();
+        }
+        Assert.assertEquals(content.toString(), "Hello Ballerina World");
+        Assert.assertEquals(channel.read(buffer), -1);
+        channel.close();
+        Assert.assertFalse(channel.isOpen());
+    }
+
+    @Test(description = "Chunks of the body are released once they have been read")
+    public void testReadReleasesReadChunks() throws IOException {
+        ByteBuf first = Unpooled.copiedBuffer("Hello ", StandardCharsets.UTF_8);
+        ByteBuf last = Unpooled.copiedBuffer("World", StandardCharsets.UTF_8);
+        HttpCarbonMessage message = HttpUtil.createHttpCarbonMessage(true);
+        message.addHttpContent(new DefaultHttpContent(first));
+        message.addHttpContent(new DefaultLastHttpContent(last));
+        HttpContentChannel channel = new HttpContentChannel(message);
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        Assert.assertEquals(channel.read(buffer), 6);
+        Assert.assertEquals(first.refCnt(), 0);
+        Assert.assertEquals(last.refCnt(), 1);
+        Assert.assertEquals(channel.read(buffer), 5);
+        Assert.assertEquals(last.refCnt(), 0);
+        Assert.assertEquals(channel.read(buffer), -1);
+        channel.close();
+    }
+
+    @Test(description = "Read the rest of a body into an array of its exact size")
+    public void testReadAllBytes() throws IOException {
+        HttpContentChannel channel = new HttpContentChannel(createMessage("Hello ", "World"));
+        Assert.assertEquals(Channels.newInputStream(channel).read(), 'H');
+        Assert.assertEquals(new String(channel.readAllBytes(), StandardCharsets.UTF_8), "ello World");
+        Assert.assertEquals(channel.readAllBytes().length, 0);
+        channel.close();
+    }
+
+    @Test(description = "Move the buffers of an unread body to another message as they are")
+    public void testTransferUnreadContent() throws IOException {
+        ByteBuf first = Unpooled.copiedBuffer("Hello ", StandardCharsets.UTF_8);
+        ByteBuf last = Unpooled.copiedBuffer("World", StandardCharsets.UTF_8);
+        HttpCarbonMessage source = HttpUtil.createHttpCarbonMessage(true);
+        source.addHttpContent(new DefaultHttpContent(first));
+        source.addHttpContent(new DefaultLastHttpContent(last));
+        HttpCarbonMessage target = HttpUtil.createHttpCarbonMessage(true);
+
+        HttpContentChannel channel = new HttpContentChannel(source);
+        Assert.assertTrue(channel.transferTo(target));
+        Assert.assertFalse(channel.isOpen());
+        HttpContent firstContent = target.getHttpContent();
+        HttpContent lastContent = target.getHttpContent();
+        Assert.assertSame(firstContent.content(), first);
+        Assert.assertSame(lastContent.content(), last);
+        Assert.assertTrue(lastContent instanceof LastHttpContent);
+        firstContent.release();
+        lastContent.release();
+    }
+
+    @Test(description = "A body which has been read is not moved")
+    public void testTransferReadContent() throws IOException {
+        HttpContentChannel channel = new HttpContentChannel(createMessage("Hello"));
+        channel.read(ByteBuffer.allocate(1));
+        Assert.assertFalse(channel.transferTo(HttpUtil.createHttpCarbonMessage(true)));
+        channel.close();
+    }
+
+    @Test(description = "A body which was not received in full cannot be read",
+          expectedExceptions = IOException.class)
+    public void testReadIncompleteContent() throws IOException {
+        HttpContentChannel channel = new HttpContentChannel(createIncompleteMessage());
+        try {
+            channel.readAllBytes();
+        } catch (IOException e) {
+            // the part which was received is not handed out as the whole body either
+            channel.read(ByteBuffer.allocate(16));
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Test(description = "A body which was not received in full is not passed on as a complete body")
+    public void testTransferIncompleteContent() {
+        HttpCarbonMessage target = HttpUtil.createHttpCarbonMessage(true);
+        try {
+            new HttpContentChannel(createIncompleteMessage()).transferTo(target);
+            Assert.fail("Incomplete body transferred");
+        } catch (IOException e) {
+            HttpContent httpContent = target.getHttpContent();
+            Assert.assertFalse(httpContent instanceof LastHttpContent);
+            httpContent.release();
+        }
+    }
+
+    @Test(description = "The body of an inbound message cannot be written to",
+          expectedExceptions = NonWritableChannelException.class)
+    public void testWrite() {
+        new HttpContentChannel(createMessage("Hello")).write(ByteBuffer.allocate(1));
+    }
+
+    private static HttpCarbonMessage createIncompleteMessage() {
+        HttpCarbonMessage message = HttpUtil.createHttpCarbonMessage(true);
+        message.addHttpContent(new DefaultHttpContent(Unpooled.copiedBuffer("Hello ", StandardCharsets.UTF_8)));
+        LastHttpContent failure = new DefaultLastHttpContent();
+        failure.setDecoderResult(DecoderResult.failure(new IOException("connection closed")));
+        message.addHttpContent(failure);
+        return message;
+    }
+
+    private static HttpCarbonMessage createMessage(String... chunks) {
+        HttpCarbonMessage message = HttpUtil.createHttpCarbonMessage(true);
+        for (int i = 0; i < chunks.length; i++) {
+            ByteBuf chunk = Unpooled.copiedBuffer(chunks[i], StandardCharsets.UTF_8);
+            message.addHttpContent(i == chunks.length - 1 ? new DefaultLastHttpContent(chunk)
+                                           : new DefaultHttpContent(chunk));
+        }
+        return message;
+    }
+}
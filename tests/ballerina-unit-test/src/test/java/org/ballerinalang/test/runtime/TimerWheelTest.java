@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.runtime;
+
+import org.ballerinalang.util.timer.ExpiryListener;
+import org.ballerinalang.util.timer.TimerWheel;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Testcase for the timer wheel.
+ */
+public class TimerWheelTest {
+
+    @Test
+    public void testBatchedExpiry() {
+        TimerWheel timerWheel = new TimerWheel(10, 0);
+        RecordingListener listener = new RecordingListener();
+        timerWheel.schedule(5, listener);
+        timerWheel.schedule(12, listener);
+        timerWheel.schedule(25, listener);
+        timerWheel.schedule(700, listener);
+
+        timerWheel.advance(9);
+        AssertJUnit.assertTrue(listener.expiryTimes.isEmpty());
+        timerWheel.advance(29);
+        AssertJUnit.assertEquals(1, listener.expiryTimes.size());
+        AssertJUnit.assertEquals(20L, (long) listener.expiryTimes.get(0));
+        timerWheel.advance(30);
+        AssertJUnit.assertEquals(2, listener.expiryTimes.size());
+        AssertJUnit.assertEquals(30L, (long) listener.expiryTimes.get(1));
+        timerWheel.advance(699);
+        AssertJUnit.assertEquals(2, listener.expiryTimes.size());
+        timerWheel.advance(700);
+        AssertJUnit.assertEquals(3, listener.expiryTimes.size());
+        AssertJUnit.assertEquals(700L, (long) listener.expiryTimes.get(2));
+        AssertJUnit.assertEquals(0, timerWheel.size());
+    }
+
+    @Test
+    public void testPastDeadline() {
+        TimerWheel timerWheel = new TimerWheel(10, 1000);
+        RecordingListener listener = new RecordingListener();
+        timerWheel.schedule(100, listener);
+        timerWheel.advance(1000);
+        AssertJUnit.assertEquals(1, listener.expiryTimes.size());
+    }
+
+    @Test
+    public void testCancel() {
+        TimerWheel timerWheel = new TimerWheel(1, 0);
+        RecordingListener cancelled = new RecordingListener();
+        RecordingListener listener = new RecordingListener();
+        for (int i = 1; i <= 100000; i += 7) {
+            timerWheel.schedule(i, cancelled);
+            timerWheel.schedule(i, listener);
+        }
+        timerWheel.cancel(cancelled);
+        AssertJUnit.assertEquals(14286, timerWheel.size());
+        timerWheel.advance(100000);
+        AssertJUnit.assertTrue(cancelled.expiryTimes.isEmpty());
+        AssertJUnit.assertEquals(1, listener.expiryTimes.size());
+        AssertJUnit.assertEquals(99996L, (long) listener.expiryTimes.get(0));
+    }
+
+    @Test
+    public void testDeadlinesAcrossLevels() {
+        Random random = new Random(7);
+        TimerWheel timerWheel = new TimerWheel(1, 0);
+        int count = 5000;
+        long[] deadlines = new long[count];
+        RecordingListener[] listeners = new RecordingListener[count];
+        for (int i = 0; i < count; i++) {
+            long range = 1L << (2 + random.nextInt(22));
+            deadlines[i] = 1 + (long) (random.nextDouble() * range);
+            listeners[i] = new RecordingListener();
+            timerWheel.schedule(deadlines[i], listeners[i]);
+        }
+        long now = 0;
+        while (timerWheel.size() > 0) {
+            long previous = now;
+            now += 1 + (long) (random.nextDouble() * (1L << random.nextInt(18)));
+            timerWheel.advance(now);
+            for (int i = 0; i < count; i++) {
+                if (deadlines[i] <= previous) {
+                    continue;
+                }
+                if (deadlines[i] <= now) {
+                    AssertJUnit.assertEquals("Deadline " + deadlines[i] + " did not expire at " + now,
+                            1, listeners[i].expiryTimes.size());
+                    AssertJUnit.assertEquals(deadlines[i], (long) listeners[i].expiryTimes.get(0));
+                } else {
+                    AssertJUnit.assertTrue("Deadline " + deadlines[i] + " expired early at " + now,
+                            listeners[i].expiryTimes.isEmpty());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSharedInstance() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        TimerWheel.getInstance().schedule(start + 50, expiryTime -> latch.countDown());
+        AssertJUnit.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        AssertJUnit.assertTrue(System.currentTimeMillis() >= start + 50);
+    }
+
+    private static class RecordingListener implements ExpiryListener {
+
+        private final List<Long> expiryTimes = new ArrayList<>();
+
+        @Override
+        public void onExpiry(long expiryTime) {
+            expiryTimes.add(expiryTime);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.services.dispatching;
+
+import org.ballerinalang.net.http.BasePathTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test cases for finding the most specific service base path of a request path.
+ */
+public class BasePathTreeTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BasePathTreeTest.class);
+
+    private static final int SERVICE_COUNT = 300;
+
+    @Test
+    public void testMostSpecificBasePath() {
+        BasePathTree tree = new BasePathTree(Arrays.asList("/hello/world", "/hello", "/helloworld", "/echo"));
+        Assert.assertEquals(tree.findMostSpecificBasePath("/hello"), "/hello");
+        Assert.assertEquals(tree.findMostSpecificBasePath("/hello/"), "/hello");
+        Assert.assertEquals(tree.findMostSpecificBasePath("/hello/there"), "/hello");
+        Assert.assertEquals(tree.findMostSpecificBasePath("/hello/world"), "/hello/world");
+        Assert.assertEquals(tree.findMostSpecificBasePath("/hello/world/again"), "/hello/world");
+        Assert.assertEquals(tree.findMostSpecificBasePath("/hello/worlds"), "/hello");
+        Assert.assertEquals(tree.findMostSpecificBasePath("/helloworld/1"), "/helloworld");
+        Assert.assertNull(tree.findMostSpecificBasePath("/hell"));
+        Assert.assertNull(tree.findMostSpecificBasePath("/hellos"));
+        Assert.assertNull(tree.findMostSpecificBasePath("/foo/hello"));
+        Assert.assertNull(tree.findMostSpecificBasePath("/"));
+    }
+
+    @Test
+    public void testBasePathCaseInsensitivity() {
+        BasePathTree tree = new BasePathTree(Arrays.asList("/Orders/Items", "/orders"));
+        Assert.assertEquals(tree.findMostSpecificBasePath("/ORDERS/items/1"), "/Orders/Items");
+        Assert.assertEquals(tree.findMostSpecificBasePath("/Orders/1"), "/orders");
+    }
+
+    @Test
+    public void testRootBasePath() {
+        BasePathTree tree = new BasePathTree(Arrays.asList("/echo", "/"));
+        Assert.assertEquals(tree.findMostSpecificBasePath("/"), "/");
+        Assert.assertEquals(tree.findMostSpecificBasePath("/echo/1"), "/echo");
+    }
+
+    @Test
+    public void testBasePathsOfManyServices() {
+        BasePathTree tree = new BasePathTree(getBasePaths());
+        for (int i = 0; i < SERVICE_COUNT; i++) {
+            Assert.assertEquals(tree.findMostSpecificBasePath("/api/v" + (i % 3) + "/service" + i + "/resource"),
+                                "/api/v" + (i % 3) + "/service" + i);
+            Assert.assertEquals(tree.findMostSpecificBasePath("/api/v" + (i % 3) + "/service" + i + "/orders/1"),
+                                "/api/v" + (i % 3) + "/service" + i + "/orders");
+        }
+        Assert.assertNull(tree.findMostSpecificBasePath("/api/v1/service"));
+        Assert.assertNull(tree.findMostSpecificBasePath("/api/v0/service" + SERVICE_COUNT));
+    }
+
+    @Test(groups = "benchmark")
+    public void benchmarkBasePathDispatch() {
+        BasePathTree tree = new BasePathTree(getBasePaths());
+        String[] requestPaths = new String[SERVICE_COUNT];
+        for (int i = 0; i < SERVICE_COUNT; i++) {
+            requestPaths[i] = "/api/v" + (i % 3) + "/Service" + i + "/orders/" + i + "/items";
+        }
+        int iterations = 10000;
+        int matches = 0;
+        for (int i = 0; i < iterations; i++) {
+            matches += dispatch(tree, requestPaths);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            matches += dispatch(tree, requestPaths);
+        }
+        long elapsed = System.nanoTime() - start;
+        Assert.assertEquals(matches, 2 * iterations * SERVICE_COUNT);
+        log.info("Dispatched {} requests over {} services in {} ns per request", iterations * SERVICE_COUNT,
+                 SERVICE_COUNT * 2, elapsed / (iterations * SERVICE_COUNT));
+    }
+
+    private static int dispatch(BasePathTree tree, String[] requestPaths) {
+        int matches = 0;
+        for (String requestPath : requestPaths) {
+            if (tree.findMostSpecificBasePath(requestPath) != null) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static List<String> getBasePaths() {
+        List<String> basePaths = new ArrayList<>();
+        for (int i = 0; i < SERVICE_COUNT; i++) {
+            basePaths.add("/api/v" + (i % 3) + "/service" + i + "/orders");
+            basePaths.add("/api/v" + (i % 3) + "/service" + i);
+        }
+        return basePaths;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.services.dispatching;
+
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.net.uri.PathArguments;
+import org.ballerinalang.net.uri.PathSegmentTree;
+import org.ballerinalang.net.uri.URITemplate;
+import org.ballerinalang.net.uri.URITemplateException;
+import org.ballerinalang.net.uri.parser.DataElement;
+import org.ballerinalang.net.uri.parser.DataReturnAgent;
+import org.ballerinalang.net.uri.parser.Literal;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Test cases for matching request paths against the compiled uri templates of a service.
+ */
+public class PathSegmentTreeTest {
+
+    @Test
+    public void testSupportedTemplates() {
+        Assert.assertTrue(PathSegmentTree.isSupported("/"));
+        Assert.assertTrue(PathSegmentTree.isSupported("/orders/{id}/items/*"));
+        Assert.assertTrue(PathSegmentTree.isSupported("orders/{id}/"));
+        Assert.assertFalse(PathSegmentTree.isSupported("/orders/{id}-{item}"));
+        Assert.assertTrue(PathSegmentTree.isSupported("/orders/{id}/{id}"));
+        Assert.assertFalse(PathSegmentTree.isSupported("/orders/%2A"));
+        Assert.assertFalse(PathSegmentTree.isSupported("/orders/{+path}"));
+        Assert.assertFalse(PathSegmentTree.isSupported("/orders/*/items"));
+        Assert.assertFalse(PathSegmentTree.isSupported("/orders//items"));
+        Assert.assertFalse(PathSegmentTree.isSupported("*"));
+    }
+
+    @Test
+    public void testLiteralBeforePathParam() throws URITemplateException {
+        PathSegmentTree<String, String> tree = createTree("GET /orders/{id}", "GET /orders/latest");
+        PathArguments arguments = tree.createArguments();
+        Assert.assertEquals(tree.matches("/orders/latest", arguments, "GET"), "GET /orders/latest");
+        Assert.assertTrue(arguments.isEmpty());
+        Assert.assertEquals(tree.matches("/orders/12", arguments, "GET"), "GET /orders/{id}");
+        Assert.assertEquals(arguments.get("id"), "12");
+        Assert.assertNull(tree.matches("/orders/12/items", arguments, "GET"));
+    }
+
+    @Test
+    public void testBacktrackingOnMethodMismatch() throws URITemplateException {
+        PathSegmentTree<String, String> tree = createTree("POST /orders/{id}", "GET /{type}/{id}", "GET /*");
+        PathArguments arguments = tree.createArguments();
+        Assert.assertEquals(tree.matches("/orders/12", arguments, "POST"), "POST /orders/{id}");
+        Assert.assertEquals(tree.matches("/orders/12", arguments, "GET"), "GET /{type}/{id}");
+        Assert.assertEquals(arguments.get("type"), "orders");
+        Assert.assertEquals(arguments.get("id"), "12");
+        Assert.assertEquals(tree.matches("/orders/12/items", arguments, "GET"), "GET /*");
+        Assert.assertEquals(arguments.get(HttpConstants.EXTRA_PATH_INFO), "/orders/12/items");
+        // kept from the path parameters the matching backtracked from, as with URITemplate
+        Assert.assertEquals(arguments.get("id"), "12");
+    }
+
+    @Test(expectedExceptions = BallerinaException.class, expectedExceptionsMessageRegExp = "Method not allowed")
+    public void testMethodNotAllowed() throws URITemplateException {
+        PathSegmentTree<String, String> tree = createTree("GET /orders/{id}");
+        tree.matches("/orders/12", tree.createArguments(), "PUT");
+    }
+
+    @Test
+    public void testWildcard() throws URITemplateException {
+        PathSegmentTree<String, String> tree = createTree("GET /files/{dir}/*", "GET /files");
+        PathArguments arguments = tree.createArguments();
+        Assert.assertEquals(tree.matches("/files/docs/a/b.txt", arguments, "GET"), "GET /files/{dir}/*");
+        Assert.assertEquals(arguments.get("dir"), "docs");
+        Assert.assertEquals(arguments.get(HttpConstants.EXTRA_PATH_INFO), "/a/b.txt");
+        Assert.assertEquals(arguments.size(), 2);
+        Assert.assertEquals(tree.matches("/files", arguments, "GET"), "GET /files");
+        Assert.assertFalse(arguments.containsKey(HttpConstants.EXTRA_PATH_INFO));
+    }
+
+    @Test
+    public void testRootPath() throws URITemplateException {
+        PathSegmentTree<String, String> tree = createTree("GET /*", "GET /orders");
+        PathArguments arguments = tree.createArguments();
+        Assert.assertEquals(tree.matches("/", arguments, "GET"), "GET /*");
+        Assert.assertEquals(arguments.get(HttpConstants.EXTRA_PATH_INFO), "//");
+
+        tree = createTree("GET /*", "GET /");
+        Assert.assertEquals(tree.matches("/", tree.createArguments(), "GET"), "GET /");
+    }
+
+    @Test
+    public void testPathParamDecoding() throws URITemplateException {
+        PathSegmentTree<String, String> tree = createTree("GET /users/{name}", "GET /users/%20");
+        PathArguments arguments = tree.createArguments();
+        Assert.assertEquals(tree.matches("/users/john%20doe", arguments, "GET"), "GET /users/{name}");
+        Assert.assertEquals(arguments.get("name"), "john doe");
+        Assert.assertEquals(tree.matches("/users/john+doe", arguments, "GET"), "GET /users/{name}");
+        Assert.assertEquals(arguments.get("name"), "john+doe");
+        Assert.assertEquals(tree.matches("/users/ ", arguments, "GET"), "GET /users/%20");
+    }
+
+    @Test
+    public void testPathParamsOfTemplatesSharingSegments() throws URITemplateException {
+        PathSegmentTree<String, String> tree = createTree("GET /{org}/{repo}", "POST /{owner}/{project}/issues");
+        PathArguments arguments = tree.createArguments();
+        Assert.assertEquals(tree.matches("/wso2/ballerina/issues", arguments, "POST"),
+                            "POST /{owner}/{project}/issues");
+        Assert.assertEquals(arguments.get("owner"), "wso2");
+        Assert.assertEquals(arguments.get("org"), "wso2");
+        Assert.assertEquals(arguments.get("project"), "ballerina");
+    }
+
+    @Test
+    public void testSameMatchesAsUriTemplate() throws URITemplateException, UnsupportedEncodingException {
+        String[] templates = {"GET /ab/c", "GET /ba", "POST /*", "GET /{v0}/ab/{v1}", "POST /{v0}/a/*",
+                "GET /{v1}/{v0}", "GET /{EXTRA_PATH_INFO}/*"};
+        PathSegmentTree<String, String> tree = createTree(templates);
+        URITemplate<String, String> uriTemplate = new URITemplate<>(new Literal<>(new MethodDataElement(), "/"));
+        for (String template : templates) {
+            uriTemplate.parse(template.substring(template.indexOf(' ') + 1), template, MethodDataElement::new);
+        }
+        String[] paths = {"/", "/abc", "/ab/c", "/abc/abab", "/bab", "/ba/", "/x/a/y", "/x//y", "//x", "/x/y",
+                "/x/x", "/a%20b/c", "/x/a"};
+        for (String path : paths) {
+            for (String method : new String[]{"GET", "POST", "PUT"}) {
+                Map<String, String> variables = new HashMap<>();
+                PathArguments arguments = tree.createArguments();
+                Assert.assertEquals(match(() -> tree.matches(path, arguments, method), arguments),
+                                    match(() -> uriTemplate.matches(path, variables, method), variables),
+                                    method + " " + path);
+            }
+        }
+    }
+
+    private static String match(Supplier<String> matcher, Map<String, String> arguments) {
+        try {
+            return matcher.get() + " " + new TreeMap<>(arguments);
+        } catch (BallerinaException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Creates a tree of the given templates, each prefixed with the method it accepts, with the templates as data.
+     */
+    private static PathSegmentTree<String, String> createTree(String... templates) throws URITemplateException {
+        PathSegmentTree<String, String> tree = new PathSegmentTree<>(MethodDataElement::new);
+        for (String template : templates) {
+            tree.add(template.substring(template.indexOf(' ') + 1), template);
+        }
+        return tree;
+    }
+
+    /**
+     * Data element which accepts the method of the templates it holds, the inbound message being the method.
+     */
+    private static class MethodDataElement implements DataElement<String, String> {
+
+        private final List<String> templates = new ArrayList<>();
+
+        @Override
+        public void setData(String template) {
+            templates.add(template);
+        }
+
+        @Override
+        public boolean hasData() {
+            return !templates.isEmpty();
+        }
+
+        @Override
+        public boolean getData(String method, DataReturnAgent<String> dataReturnAgent) {
+            for (String template : templates) {
+                if (template.startsWith(method + " ")) {
+                    dataReturnAgent.setData(template);
+                    return true;
+                }
+            }
+            if (!templates.isEmpty()) {
+                dataReturnAgent.setError(new BallerinaException("Method not allowed"));
+            }
+            return false;
+        }
+    }
+}
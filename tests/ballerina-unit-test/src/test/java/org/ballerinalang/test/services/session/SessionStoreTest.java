@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.services.session;
+
+import org.ballerinalang.model.util.JsonParser;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.net.http.session.FileSessionPersistence;
+import org.ballerinalang.net.http.session.Session;
+import org.ballerinalang.net.http.session.SessionManager;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Test cases for holding, expiring and spilling the sessions of a session manager.
+ */
+public class SessionStoreTest {
+
+    private static final long MINUTE = 60_000;
+
+    private Path directory;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("session-store-test");
+    }
+
+    @AfterMethod
+    public void cleanup() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test(description = "New sessions are refused once the capacity is reached without a persistence")
+    public void testCapacity() {
+        SessionManager manager = new SessionManager(2, null);
+        Session first = manager.createHTTPSession("/");
+        manager.createHTTPSession("/");
+        try {
+            manager.createHTTPSession("/");
+            Assert.fail("Session created beyond the capacity");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(e.getMessage(), "Failed to create session: Too many active sessions");
+        }
+        first.invalidate();
+        Assert.assertNull(manager.getHTTPSession(first.getId()));
+        manager.createHTTPSession("/");
+        Assert.assertEquals(manager.getActiveSessionCount(), 2);
+    }
+
+    @Test(description = "The capacity is shared by the shards of the store, however the sessions are spread")
+    public void testCapacityOverShards() {
+        int capacity = 4096;
+        SessionManager manager = new SessionManager(capacity, null);
+        for (int i = 0; i < capacity; i++) {
+            manager.createHTTPSession("/");
+        }
+        Assert.assertEquals(manager.getActiveSessionCount(), capacity);
+        try {
+            manager.createHTTPSession("/");
+            Assert.fail("Session created beyond the capacity");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(e.getMessage(), "Failed to create session: Too many active sessions");
+        }
+        Assert.assertEquals(manager.getResidentSessionCount(), capacity);
+    }
+
+    @Test(description = "Sessions expire once they are inactive for their max inactive interval")
+    public void testExpiry() {
+        long now = System.currentTimeMillis();
+        SessionManager manager = new SessionManager(10, null);
+        Session session = manager.createHTTPSession("/");
+        session.setMaxInactiveInterval(120);
+        Session persistent = manager.createHTTPSession("/");
+        persistent.setMaxInactiveInterval(-1);
+        Session untouched = manager.createHTTPSession("/");
+
+        manager.expireSessions(now + MINUTE);
+        Assert.assertSame(manager.getHTTPSession(session.getId()), session);
+        manager.expireSessions(now + 3 * MINUTE);
+        Assert.assertNull(manager.getHTTPSession(session.getId()));
+        Assert.assertFalse(session.isValid());
+        Assert.assertSame(manager.getHTTPSession(untouched.getId()), untouched);
+
+        manager.expireSessions(now + 24 * 60 * MINUTE);
+        Assert.assertNull(manager.getHTTPSession(untouched.getId()));
+        Assert.assertFalse(untouched.isValid());
+        Assert.assertSame(manager.getHTTPSession(persistent.getId()), persistent);
+        Assert.assertEquals(manager.getActiveSessionCount(), 1);
+    }
+
+    @Test(description = "Idle sessions are spilled to the persistence and loaded back when requested")
+    public void testSpillToFiles() {
+        long now = System.currentTimeMillis();
+        SessionManager manager = new SessionManager(2, new FileSessionPersistence(directory));
+        Session first = manager.createHTTPSession("/cart");
+        first.setAttribute("name", new BString("john"));
+        first.setAttribute("count", new BInteger(3));
+        first.setAttribute("items", JsonParser.parse("{\"apple\":2,\"pear\":[1,2]}"));
+        Session second = manager.createHTTPSession("/cart");
+
+        // sessions which are still being accessed are not spilled
+        try {
+            manager.createHTTPSession("/cart");
+            Assert.fail("Session created beyond the capacity while all the sessions are in use");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(e.getMessage(), "Failed to create session: Too many active sessions");
+        }
+
+        manager.expireSessions(now + MINUTE);
+        Session third = manager.createHTTPSession("/cart");
+        Assert.assertEquals(manager.getActiveSessionCount(), 3);
+        Assert.assertEquals(manager.getResidentSessionCount(), 2);
+        Assert.assertTrue(Files.exists(directory.resolve(first.getId() + ".session")));
+
+        Session restored = manager.getHTTPSession(first.getId());
+        Assert.assertNotSame(restored, first);
+        Assert.assertEquals(restored.getPath(), "/cart");
+        Assert.assertEquals(restored.getCreationTime(), first.getCreationTime());
+        Assert.assertEquals(restored.getAttributeValue("name").stringValue(), "john");
+        Assert.assertEquals(((BInteger) restored.getAttributeValue("count")).intValue(), 3);
+        Assert.assertEquals(restored.getAttributeValue("items").stringValue(),
+                            first.getAttributeValue("items").stringValue());
+        Assert.assertFalse(Files.exists(directory.resolve(first.getId() + ".session")));
+        // the second session was spilled to make room for the first
+        Assert.assertEquals(manager.getResidentSessionCount(), 2);
+        Assert.assertTrue(Files.exists(directory.resolve(second.getId() + ".session")));
+
+        restored.setMaxInactiveInterval(3600);
+        manager.expireSessions(now + 16 * MINUTE);
+        Assert.assertSame(manager.getHTTPSession(restored.getId()), restored);
+        Assert.assertNull(manager.getHTTPSession(second.getId()));
+        Assert.assertFalse(Files.exists(directory.resolve(second.getId() + ".session")));
+        Assert.assertNull(manager.getHTTPSession(third.getId()));
+        Assert.assertEquals(manager.getActiveSessionCount(), 1);
+    }
+
+    @Test(description = "Sessions holding attributes the persistence cannot write are kept in memory")
+    public void testUnsupportedAttribute() {
+        long now = System.currentTimeMillis();
+        SessionManager manager = new SessionManager(1, new FileSessionPersistence(directory));
+        Session session = manager.createHTTPSession("/");
+        session.setAttribute("names", new BStringArray(new String[]{"john"}));
+        manager.expireSessions(now + MINUTE);
+        try {
+            manager.createHTTPSession("/");
+            Assert.fail("Session spilled with an attribute which cannot be written");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(e.getMessage(), "Failed to create session: Too many active sessions");
+        }
+        Assert.assertSame(manager.getHTTPSession(session.getId()), session);
+    }
+}
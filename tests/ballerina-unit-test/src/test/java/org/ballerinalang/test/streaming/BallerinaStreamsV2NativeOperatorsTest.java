@@ -0,0 +1,122 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+
+package org.ballerinalang.test.streaming;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BIntArray;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BValue;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * This contains methods to test the native windows, aggregators and group by of the streams package.
+ *
+ * @since 0.981.1
+ */
+public class BallerinaStreamsV2NativeOperatorsTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/streaming/streamingv2-native-operators-test.bal");
+    }
+
+    @Test(description = "Test max and min aggregators over a sliding window")
+    public void testMaxAndMin() {
+        BValue[] returns = BRunUtil.invoke(result, "testMaxAndMin");
+        BIntArray results = (BIntArray) returns[0];
+        long[] expected = {4, 4, 4, 2, 6, 2, 6, 1, 6, 1, 5, 1, 5, 0};
+        Assert.assertEquals(results.size(), expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(results.get(i), expected[i], "Unexpected max or min at " + i);
+        }
+    }
+
+    @Test(description = "Test the state kept by the aggregators")
+    public void testAggregators() {
+        BValue[] returns = BRunUtil.invoke(result, "testAggregators");
+        BRefValueArray results = (BRefValueArray) returns[0];
+        Assert.assertEquals(((BInteger) results.get(0)).intValue(), 10);
+        Assert.assertEquals(((BFloat) results.get(1)).floatValue(), 1.5);
+        Assert.assertEquals(((BFloat) results.get(2)).floatValue(), 3.0);
+        Assert.assertEquals(((BInteger) results.get(3)).intValue(), 2);
+        Assert.assertEquals(((BFloat) results.get(4)).floatValue(), 1.0);
+        Assert.assertEquals(((BMap) results.get(5)).get("message").stringValue(), "Unsupported attribute type found");
+        Assert.assertEquals(((BInteger) results.get(6)).intValue(), 10);
+    }
+
+    @Test(description = "Test the current and expired events of a length window")
+    public void testLengthWindow() {
+        BValue[] returns = BRunUtil.invoke(result, "testLengthWindow");
+        BRefValueArray events = (BRefValueArray) returns[0];
+        String[] expectedTypes = {"CURRENT", "CURRENT", "CURRENT", "CURRENT", "CURRENT", "EXPIRED", "CURRENT",
+                "CURRENT", "EXPIRED"};
+        long[] expectedPrices = {1, 1, 2, 3, 2, 2, 3, 4, 3};
+        Assert.assertEquals(events.size(), expectedTypes.length);
+        for (int i = 0; i < expectedTypes.length; i++) {
+            assertEvent(events.get(i), expectedTypes[i], expectedPrices[i]);
+        }
+    }
+
+    @Test(description = "Test the expired events and the content of a time window")
+    public void testTimeWindow() {
+        BValue[] returns = BRunUtil.invoke(result, "testTimeWindow");
+        BRefValueArray events = (BRefValueArray) returns[0];
+        Assert.assertEquals(events.size(), 3);
+        assertEvent(events.get(0), "EXPIRED", 1);
+        assertEvent(events.get(1), "CURRENT", 2);
+        assertEvent(events.get(2), "CURRENT", 4);
+    }
+
+    @Test(description = "Test a time window expiring events by the timer while new events arrive")
+    public void testTimeWindowExpiryWithNewEvents() {
+        BValue[] returns = BRunUtil.invoke(result, "testTimeWindowExpiryWithNewEvents");
+        BIntArray results = (BIntArray) returns[0];
+        Assert.assertEquals(results.get(0), 0, "The next processor of the window ran concurrently");
+        // every event is expired once, in the order of arrival
+        Assert.assertEquals(results.size(), 201);
+        for (int i = 1; i < results.size(); i++) {
+            Assert.assertEquals(results.get(i), i, "Unexpected expired event at " + i);
+        }
+    }
+
+    @Test(description = "Test grouping events by a field")
+    public void testGroupBy() {
+        BValue[] returns = BRunUtil.invoke(result, "testGroupBy");
+        BIntArray groupSizes = (BIntArray) returns[0];
+        Assert.assertEquals(groupSizes.size(), 2);
+        Assert.assertEquals(groupSizes.get(0), 2);
+        Assert.assertEquals(groupSizes.get(1), 1);
+    }
+
+    private void assertEvent(BValue value, String eventType, long price) {
+        BMap<String, BValue> event = (BMap<String, BValue>) value;
+        Assert.assertEquals(event.get("eventType").stringValue(), eventType);
+        BMap<String, BValue> item = (BMap<String, BValue>) event.get("eventObject");
+        Assert.assertEquals(((BInteger) item.get("price")).intValue(), price);
+    }
+}
@@ -0,0 +1,237 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+
+package org.ballerinalang.test.streaming;
+
+import org.ballerinalang.bre.bvm.streams.StreamRingBuffer;
+import org.ballerinalang.bre.bvm.streams.StreamRingBuffer.Backpressure;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This contains methods to test the in-process ring buffer which delivers the events of streams.
+ *
+ * @since 0.981.1
+ */
+public class StreamRingBufferTest {
+
+    @Test(description = "Test that every subscriber receives all the events in order")
+    public void testDeliveryOrder() throws InterruptedException {
+        StreamRingBuffer ringBuffer = new StreamRingBuffer("orderTest", 4, Backpressure.BLOCK);
+        int eventCount = 1000;
+        CountDownLatch latch = new CountDownLatch(2 * eventCount);
+        List<Long> first = Collections.synchronizedList(new ArrayList<>());
+        List<Long> second = Collections.synchronizedList(new ArrayList<>());
+        ringBuffer.subscribe(event -> {
+            first.add(((BInteger) event).intValue());
+            latch.countDown();
+        });
+        ringBuffer.subscribe(event -> {
+            second.add(((BInteger) event).intValue());
+            latch.countDown();
+        });
+        for (int i = 0; i < eventCount; i++) {
+            ringBuffer.publish(new BInteger(i));
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS), "Expected events are not received");
+        for (int i = 0; i < eventCount; i++) {
+            Assert.assertEquals(first.get(i).longValue(), i);
+            Assert.assertEquals(second.get(i).longValue(), i);
+        }
+    }
+
+    @Test(description = "Test that events published to a full buffer are dropped")
+    public void testDropBackpressure() throws InterruptedException {
+        List<Long> received = publishToBlockedSubscriber(Backpressure.DROP, 4);
+        Assert.assertEquals(received.size(), 4);
+        for (int i = 0; i < received.size(); i++) {
+            Assert.assertEquals(received.get(i).longValue(), i);
+        }
+    }
+
+    @Test(description = "Test that events published to a full buffer are spilled to disk and delivered in order")
+    public void testSpillBackpressure() throws InterruptedException {
+        List<Long> received = publishToBlockedSubscriber(Backpressure.SPILL, 11);
+        Assert.assertEquals(received.size(), 11);
+        for (int i = 0; i < received.size(); i++) {
+            Assert.assertEquals(received.get(i).longValue(), i);
+        }
+    }
+
+    @Test(description = "Test that events are only delivered to the subscribers registered at the time")
+    public void testPublishWithoutSubscribers() throws InterruptedException {
+        StreamRingBuffer ringBuffer = new StreamRingBuffer("lateSubscriberTest", 2, Backpressure.BLOCK);
+        for (int i = 0; i < 10; i++) {
+            ringBuffer.publish(new BInteger(i));
+        }
+        CountDownLatch latch = new CountDownLatch(1);
+        List<BValue> received = Collections.synchronizedList(new ArrayList<>());
+        ringBuffer.subscribe(event -> {
+            received.add(event);
+            latch.countDown();
+        });
+        ringBuffer.publish(new BString("late"));
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS), "Expected event is not received");
+        Assert.assertEquals(received.size(), 1);
+        Assert.assertEquals(received.get(0).stringValue(), "late");
+    }
+
+    @Test(description = "Test that a cancelled subscriber stops receiving events and no longer holds back publishers")
+    public void testCancelSubscription() throws InterruptedException {
+        StreamRingBuffer ringBuffer = new StreamRingBuffer("cancelTest", 2, Backpressure.BLOCK);
+        List<BValue> received = Collections.synchronizedList(new ArrayList<>());
+        StreamRingBuffer.Subscription subscription = ringBuffer.subscribe(received::add);
+        CountDownLatch latch = new CountDownLatch(10);
+        ringBuffer.subscribe(event -> latch.countDown());
+        subscription.cancel();
+        Assert.assertEquals(ringBuffer.getSubscriberCount(), 1);
+        // the buffer would be full after two events if the cancelled subscriber held back the publisher
+        for (int i = 0; i < 10; i++) {
+            ringBuffer.publish(new BInteger(i));
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS), "Expected events are not received");
+        Assert.assertTrue(received.isEmpty());
+    }
+
+    @Test(description = "Test that closing the buffer removes the subscribers and wakes up blocked publishers")
+    public void testClose() throws InterruptedException {
+        StreamRingBuffer ringBuffer = new StreamRingBuffer("closeTest", 2, Backpressure.BLOCK);
+        CountDownLatch gate = new CountDownLatch(1);
+        ringBuffer.subscribe(event -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread publisher = new Thread(() -> {
+            for (int i = 0; i < 10; i++) {
+                ringBuffer.publish(new BInteger(i));
+            }
+        });
+        publisher.start();
+        ringBuffer.close();
+        gate.countDown();
+        publisher.join(10000);
+        Assert.assertFalse(publisher.isAlive(), "Publisher is still blocked on the closed buffer");
+        Assert.assertTrue(awaitSubscriberCount(ringBuffer, 0), "Subscriber of the closed buffer is not removed");
+        try {
+            ringBuffer.subscribe(event -> { });
+            Assert.fail("Subscribed to a closed buffer");
+        } catch (BallerinaException e) {
+            Assert.assertEquals(e.getMessage(), "can not subscribe to stream 'closeTest', it is closed");
+        }
+    }
+
+    @Test(description = "Test that subscribers do not hold a thread while they have no events to read")
+    public void testIdleSubscribers() {
+        StreamRingBuffer ringBuffer = new StreamRingBuffer("idleTest", 2, Backpressure.BLOCK);
+        int threadCount = Thread.getAllStackTraces().size();
+        for (int i = 0; i < 100; i++) {
+            ringBuffer.subscribe(event -> { });
+        }
+        Assert.assertTrue(Thread.getAllStackTraces().size() < threadCount + 10, "Subscribers hold threads");
+        ringBuffer.close();
+        Assert.assertEquals(ringBuffer.getSubscriberCount(), 0);
+    }
+
+    @Test(description = "Test that a publisher holding the only thread of the pool does not wait for the subscribers")
+    public void testPublishFromPoolThread() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            StreamRingBuffer ringBuffer = new StreamRingBuffer("poolTest", 2, Backpressure.BLOCK, executor);
+            List<Long> received = Collections.synchronizedList(new ArrayList<>());
+            ringBuffer.subscribe(event -> received.add(((BInteger) event).intValue()));
+            Future<?> publisher = executor.submit(() -> {
+                for (int i = 0; i < 10; i++) {
+                    ringBuffer.publish(new BInteger(i));
+                }
+            });
+            publisher.get(10, TimeUnit.SECONDS);
+            for (int i = 0; i < 100 && received.size() < 10; i++) {
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(received.size(), 10);
+            for (int i = 0; i < received.size(); i++) {
+                Assert.assertEquals(received.get(i).longValue(), i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits until the given number of subscribers are left for a buffer.
+     */
+    private boolean awaitSubscriberCount(StreamRingBuffer ringBuffer, int expectedCount)
+            throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (ringBuffer.getSubscriberCount() == expectedCount) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
+    /**
+     * Publishes 11 events to a buffer of 4 slots, while its only subscriber is held at the first event.
+     */
+    private List<Long> publishToBlockedSubscriber(Backpressure backpressure, int expectedCount)
+            throws InterruptedException {
+        StreamRingBuffer ringBuffer = new StreamRingBuffer(backpressure + "Test", 4, backpressure);
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(expectedCount);
+        List<Long> received = Collections.synchronizedList(new ArrayList<>());
+        ringBuffer.subscribe(event -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(((BInteger) ((BMap<String, BValue>) event).get("id")).intValue());
+            latch.countDown();
+        });
+        for (int i = 0; i < 11; i++) {
+            BMap<String, BValue> event = new BMap<>(BTypes.typeJSON);
+            event.put("id", new BInteger(i));
+            event.put("name", new BString("event " + i));
+            ringBuffer.publish(event);
+        }
+        gate.countDown();
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS), "Expected events are not received");
+        // give a subscriber which received too many events the chance to show it
+        Thread.sleep(100);
+        return received;
+    }
+}
@@ -17,9 +17,16 @@
 */
 package org.ballerinalang.test.streaming;
 
+import org.ballerinalang.config.ConfigRegistry;
 import org.ballerinalang.launcher.util.BAssertUtil;
 import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -31,11 +38,15 @@ import org.testng.annotations.Test;
  */
 public class StreamingActionTest {
 
+    private static final String DELIVERY_CONFIG_PROP = "b7a.runtime.stream.callback.delivery";
+
     private CompileResult resultNegativeInvalidType;
     private CompileResult resultNegativeInvalidArgumentCount;
+    private CompileResult resultBatch;
 
     @BeforeClass
     public void setup() {
+        resultBatch = BCompileUtil.compile("test-src/streaming/streaming-action-batch-test.bal");
         resultNegativeInvalidType = BCompileUtil.compile("test-src/streaming/streaming-action-negative-test-v1.bal");
         resultNegativeInvalidArgumentCount = BCompileUtil.
                 compile("test-src/streaming/streaming-action-negative-test-v2.bal");
@@ -59,4 +70,28 @@ public class StreamingActionTest {
                                   "mismatched input ')'. expecting ';'", 44, 34);
     }
 
+    @Test(description = "Test streaming action receiving the events of a chunk at once")
+    public void testStreamingActionBatch() {
+        ConfigRegistry.getInstance().addConfiguration(DELIVERY_CONFIG_PROP, "chunk");
+        BValue[] outputEmployeeEvents;
+        try {
+            outputEmployeeEvents = BRunUtil.invoke(resultBatch, "startStreamingActionBatchQuery");
+        } finally {
+            ConfigRegistry.getInstance().removeConfiguration(DELIVERY_CONFIG_PROP);
+        }
+        Assert.assertNotNull(outputEmployeeEvents);
+        Assert.assertEquals(outputEmployeeEvents.length, 3, "Expected events are not received");
+
+        BMap<String, BValue> employee0 = (BMap<String, BValue>) outputEmployeeEvents[0];
+        BMap<String, BValue> employee2 = (BMap<String, BValue>) outputEmployeeEvents[2];
+        Assert.assertEquals(employee0.get("name").stringValue(), "Raja");
+        Assert.assertEquals(((BInteger) employee0.get("age")).intValue(), 25);
+        Assert.assertEquals(((BFloat) employee0.get("salary")).floatValue(), 1000.5);
+        Assert.assertFalse(((BBoolean) employee0.get("married")).booleanValue());
+        Assert.assertEquals(employee2.get("name").stringValue(), "Nimal");
+        Assert.assertTrue(((BBoolean) employee2.get("married")).booleanValue());
+
+        BValue[] actionInvocations = BRunUtil.invoke(resultBatch, "getActionInvocations");
+        Assert.assertEquals(((BInteger) actionInvocations[0]).intValue(), 1);
+    }
 }
@@ -462,4 +462,23 @@ public class BJSONValueTest {
         Assert.assertNotNull(returns[0]);
         Assert.assertEquals(((BFloat) returns[0]).floatValue(), 4.0);
     }
+
+    @Test
+    public void testNumericJsonArrays() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testNumericJsonArrays");
+
+        BRefValueArray ints = (BRefValueArray) returns[0];
+        Assert.assertEquals(ints.size(), 20);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(((BInteger) ints.get(i)).intValue(), i);
+        }
+
+        BRefValueArray floats = (BRefValueArray) returns[1];
+        Assert.assertEquals(floats.size(), 20);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(((BFloat) floats.get(i)).floatValue(), i * 0.5, DELTA);
+        }
+
+        Assert.assertEquals(returns[2].stringValue(), "[1, 2, 3, 4.5, \"five\", null, true]");
+    }
 }
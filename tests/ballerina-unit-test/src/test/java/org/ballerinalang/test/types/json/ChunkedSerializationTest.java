@@ -0,0 +1,129 @@
+/*
+*   Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.ballerinalang.test.types.json;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.ballerinalang.model.util.ChunkedByteBufOutputStream;
+import org.ballerinalang.model.util.JsonGenerator;
+import org.ballerinalang.model.util.JsonParser;
+import org.ballerinalang.model.util.XMLUtils;
+import org.ballerinalang.model.values.BValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests serializing values into chunked netty buffers.
+ */
+public class ChunkedSerializationTest {
+
+    private static final String JSON_DOCUMENT = "{\"name\":\"apple\", \"tags\":[1, 2.5, true, null, "
+            + "\"h\u00e9llo \u4e2d\u6587 \ud83d\ude00\"], \"nested\":{\"escaped\":\"a\\\"b\\\\c\\n\"}}";
+
+    @Test
+    public void testSerializeJsonObject() throws IOException {
+        BValue json = JsonParser.parse(JSON_DOCUMENT);
+        Assert.assertEquals(serializeAsJson(json), json.stringValue());
+    }
+
+    @Test
+    public void testSerializeJsonArray() throws IOException {
+        BValue json = JsonParser.parse("[" + JSON_DOCUMENT + ", " + JSON_DOCUMENT + ", \"\ud83d\ude00\"]");
+        Assert.assertEquals(serializeAsJson(json), json.stringValue());
+    }
+
+    @Test
+    public void testSerializeValue() throws IOException {
+        BValue json = JsonParser.parse("{\"name\":\"apple\", \"tags\":[1, 2.5, true, null], \"nested\":{}}");
+        Assert.assertEquals(serialize(json), json.stringValue());
+        BValue array = JsonParser.parse("[{\"id\":1}, [\"a\", \"b\"], 3]");
+        Assert.assertEquals(serialize(array), array.stringValue());
+    }
+
+    @Test
+    public void testSerializeXml() throws IOException {
+        String xml = "<book id=\"1\"><title>Ballerina</title><!-- comment --><price>10</price></book>";
+        Assert.assertEquals(serialize(XMLUtils.parse(xml)), XMLUtils.parse(xml).stringValue());
+    }
+
+    @Test
+    public void testAbortDoesNotHandOverLastChunk() throws IOException {
+        List<Boolean> lastFlags = new ArrayList<>();
+        ChunkedByteBufOutputStream outputStream = new ChunkedByteBufOutputStream((chunk, last) -> {
+            chunk.release();
+            lastFlags.add(last);
+        }, UnpooledByteBufAllocator.DEFAULT, 16);
+        outputStream.getWriter().write(JSON_DOCUMENT);
+        int handedOver = lastFlags.size();
+        outputStream.abort();
+        outputStream.close();
+        Assert.assertEquals(lastFlags.size(), handedOver);
+        Assert.assertFalse(lastFlags.contains(true));
+    }
+
+    @Test
+    public void testEmptyContentHandsOverLastChunk() throws IOException {
+        List<Boolean> lastFlags = new ArrayList<>();
+        new ChunkedByteBufOutputStream((chunk, last) -> {
+            Assert.assertFalse(chunk.isReadable());
+            chunk.release();
+            lastFlags.add(last);
+        }).close();
+        Assert.assertEquals(lastFlags.size(), 1);
+        Assert.assertTrue(lastFlags.get(0));
+    }
+
+    private String serializeAsJson(BValue json) throws IOException {
+        return serialize(outputStream -> {
+            JsonGenerator gen = new JsonGenerator(outputStream, StandardCharsets.UTF_8);
+            gen.serialize(json);
+            gen.flush();
+        });
+    }
+
+    private String serialize(BValue value) throws IOException {
+        return serialize(value::serialize);
+    }
+
+    private String serialize(Serializer serializer) throws IOException {
+        // a small chunk size makes the characters of the payload span several chunks
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Boolean> lastFlags = new ArrayList<>();
+        ChunkedByteBufOutputStream outputStream = new ChunkedByteBufOutputStream((chunk, last) -> {
+            chunk.readBytes(out, chunk.readableBytes());
+            chunk.release();
+            lastFlags.add(last);
+        }, UnpooledByteBufAllocator.DEFAULT, 16);
+        serializer.serialize(outputStream);
+        outputStream.close();
+        Assert.assertTrue(lastFlags.size() > 1);
+        Assert.assertEquals(lastFlags.indexOf(true), lastFlags.size() - 1);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private interface Serializer {
+
+        void serialize(OutputStream outputStream) throws IOException;
+    }
+}
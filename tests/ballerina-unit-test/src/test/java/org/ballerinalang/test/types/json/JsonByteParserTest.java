@@ -0,0 +1,167 @@
+/*
+*   Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.ballerinalang.test.types.json;
+
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.model.util.JsonParser;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests parsing JSON from UTF-8 encoded bytes.
+ */
+public class JsonByteParserTest {
+
+    private static final String LAZY_PARSING_CONFIG_PROP = "b7a.runtime.json.parser.lazy";
+
+    @DataProvider(name = "documents")
+    public Object[][] documents() {
+        return new Object[][] {
+                {"{\"name\":\"apple\", \"color\":\"red\", \"price\":30.3}"},
+                {" { 'name' : 'apple' , \"tags\" : [ 1, -2, +3, 4.5, -0.25, true, false, null ] } "},
+                {"[{\"id\":1, \"items\":[[], {}, [{}]]}, \"text\", 12.5e2, 1.5E-3, 0.1]"},
+                {"{\"a\":{\"b\":{\"c\":[1, {\"d\":\"e\"}]}}, \"a\":2}"},
+                {"{\"escaped\":\"quote \\\" slash \\/ back \\\\ \\b\\f\\n\\r\\t \\u00e9\\u4e2d\"}"},
+                {"{\"unicode\":\"h\u00e9llo w\u00f6rld \u4e2d\u6587 \ud83d\ude00\", \"\u043a\u043b\u044e\u0447\":1}"},
+                {"{\"long\":9223372036854775807, \"min\":-9223372036854775808, \"float\":123456789.123456789}"},
+                {"{\"exponent\":1.0e308, \"small\":4.9e-324, \"digits\":0.30000000000000004}"},
+                {"\"a string document\""},
+                {"12345"},
+                {"true"},
+        };
+    }
+
+    @Test(dataProvider = "documents")
+    public void testParseSameAsCharacters(String document) {
+        String expected = JsonParser.parse(document).stringValue();
+        byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals(JsonParser.parse(bytes).stringValue(), expected);
+        Assert.assertEquals(JsonParser.parse(new ByteArrayInputStream(bytes), "UTF-8").stringValue(), expected);
+    }
+
+    @Test(dataProvider = "documents")
+    public void testParseLazilySameAsCharacters(String document) {
+        String expected = JsonParser.parse(document).stringValue();
+        ConfigRegistry.getInstance().addConfiguration(LAZY_PARSING_CONFIG_PROP, "true");
+        try {
+            Assert.assertEquals(JsonParser.parse(document.getBytes(StandardCharsets.UTF_8)).stringValue(), expected);
+        } finally {
+            ConfigRegistry.getInstance().addConfiguration(LAZY_PARSING_CONFIG_PROP, "false");
+        }
+    }
+
+    @Test
+    public void testNumbers() {
+        BRefValueArray array = (BRefValueArray) JsonParser.parse("[7, -7, 0.5, 12.5e2, 1.7976931348623157e308]"
+                .getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(((BInteger) array.get(0)).intValue(), 7);
+        Assert.assertEquals(((BInteger) array.get(1)).intValue(), -7);
+        Assert.assertEquals(((BFloat) array.get(2)).floatValue(), 0.5);
+        Assert.assertEquals(((BFloat) array.get(3)).floatValue(), 1250.0);
+        Assert.assertEquals(((BFloat) array.get(4)).floatValue(), Double.MAX_VALUE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFieldNamesShared() {
+        BMap<String, BValue> first = (BMap<String, BValue>) JsonParser.parse("{\"name\":\"apple\"}"
+                .getBytes(StandardCharsets.UTF_8));
+        BMap<String, BValue> second = (BMap<String, BValue>) JsonParser.parse("{\"name\":\"orange\"}"
+                .getBytes(StandardCharsets.UTF_8));
+        Assert.assertSame(first.keys()[0], second.keys()[0]);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLazyFieldAccess() {
+        ConfigRegistry.getInstance().addConfiguration(LAZY_PARSING_CONFIG_PROP, "true");
+        try {
+            BMap<String, BRefType<?>> json = (BMap<String, BRefType<?>>) JsonParser.parse(("{\"id\":1, "
+                    + "\"order\":{\"items\":[1, 2], \"total\":3.5}, \"invalid\":{\"a\" 1}}")
+                    .getBytes(StandardCharsets.UTF_8));
+            Assert.assertTrue(json.hasKey("order"));
+            Assert.assertFalse(json.hasKey("customer"));
+            Assert.assertNull(json.get("customer"));
+            BMap<String, BRefType<?>> order = (BMap<String, BRefType<?>>) json.get("order");
+            Assert.assertEquals(order.get("items").stringValue(), "[1, 2]");
+            Assert.assertEquals(((BFloat) order.get("total")).floatValue(), 3.5);
+            Assert.assertSame(json.get("order"), order);
+            try {
+                json.get("invalid");
+                Assert.fail("the invalid field value was decoded");
+            } catch (BallerinaException e) {
+                Assert.assertEquals(e.getMessage(), "expected : at line: 1 column: 64");
+            }
+        } finally {
+            ConfigRegistry.getInstance().addConfiguration(LAZY_PARSING_CONFIG_PROP, "false");
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLazyObjectUpdate() {
+        ConfigRegistry.getInstance().addConfiguration(LAZY_PARSING_CONFIG_PROP, "true");
+        try {
+            BMap<String, BRefType<?>> json = (BMap<String, BRefType<?>>) JsonParser.parse(("{\"id\":1, "
+                    + "\"order\":{\"total\":3.5}, \"id\":3}").getBytes(StandardCharsets.UTF_8));
+            Assert.assertEquals(((BInteger) json.get("id")).intValue(), 3);
+            json.put("status", new BString("accepted"));
+            Assert.assertEquals(json.size(), 3);
+            Assert.assertEquals(json.stringValue(), "{\"id\":3, \"order\":{\"total\":3.5}, "
+                    + "\"status\":\"accepted\"}");
+        } finally {
+            ConfigRegistry.getInstance().addConfiguration(LAZY_PARSING_CONFIG_PROP, "false");
+        }
+    }
+
+    @Test(expectedExceptions = BallerinaException.class,
+          expectedExceptionsMessageRegExp = "expected \" at line: 1 column: 9")
+    public void testTrailingComma() {
+        JsonParser.parse("{\"a\":1, }".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test(expectedExceptions = BallerinaException.class,
+          expectedExceptionsMessageRegExp = "unrecognized token '1e5' at line: 1 column: 8")
+    public void testExponentWithoutFraction() {
+        JsonParser.parse("{\"a\":1e5}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test(expectedExceptions = BallerinaException.class,
+          expectedExceptionsMessageRegExp = "unexpected end of JSON document at line: 1 column: 8")
+    public void testUnterminatedString() {
+        JsonParser.parse("{\"a\":\"b}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test(expectedExceptions = BallerinaException.class,
+          expectedExceptionsMessageRegExp = "empty JSON document at line: 1 column: 2")
+    public void testEmptyDocument() {
+        JsonParser.parse("  ".getBytes(StandardCharsets.UTF_8));
+    }
+}
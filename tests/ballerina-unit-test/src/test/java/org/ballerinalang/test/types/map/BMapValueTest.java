@@ -21,6 +21,7 @@ import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.CompileResult;
 import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BIterator;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.model.values.BString;
@@ -236,6 +237,48 @@ public class BMapValueTest {
 
     }
 
+    @Test
+    public void testBMapOrderAfterRemoval() {
+        BMap<String, BRefType> map = new BMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put("Entry" + i, new BInteger(i));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            map.remove("Entry" + i);
+        }
+        map.put("Entry0", new BInteger(0));
+
+        String[] keys = map.keys();
+        Assert.assertEquals(keys.length, 51);
+        for (int i = 0; i < 50; i++) {
+            Assert.assertEquals(keys[i], "Entry" + (2 * i + 1));
+        }
+        Assert.assertEquals(keys[50], "Entry0");
+        Assert.assertNull(map.get("Entry2"));
+        Assert.assertFalse(map.hasKey("Entry98"));
+        Assert.assertEquals(((BInteger) map.get("Entry99")).intValue(), 99);
+    }
+
+    @Test
+    public void testBMapIterationWithModification() {
+        BMap<String, BRefType> map = new BMap<>();
+        map.put("a", new BInteger(1));
+        map.put("b", new BInteger(2));
+        map.put("c", new BInteger(3));
+
+        BIterator iterator = map.newIterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            BValue[] next = iterator.getNext(2);
+            map.remove("c");
+            map.put("d" + count, new BInteger(4));
+            Assert.assertNotEquals(next[0].stringValue(), "c");
+            count++;
+        }
+        Assert.assertEquals(count, 2);
+        Assert.assertEquals(map.size(), 4);
+    }
+
     @Test(dependsOnMethods = "testGrammar")
     public void testMapSynchronization() {
         BValue[] returnVals = BRunUtil.invoke(programFile, "testMapSynchronization", new BValue[0]);
@@ -165,6 +165,29 @@ public class TableLiteralTest {
                 + "{\"id\":3, \"age\":32, \"salary\":100.5, \"name\":\"john\", \"married\":false}]");
     }
 
+    @Test(priority = 1)
+    public void testToJsonElementAccess() {
+        BValue[] returns = BRunUtil.invoke(result, "testToJsonElementAccess");
+        Assert.assertEquals((returns[0]).stringValue(), "martin");
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 3);
+    }
+
+    @Test(priority = 1)
+    public void testToJsonPartialRead() {
+        BValue[] returns = BRunUtil.invoke(result, "testToJsonPartialRead");
+        Assert.assertEquals((returns[0]).stringValue(), "jane");
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 3);
+        Assert.assertEquals((returns[2]).stringValue(), "[{\"id\":1, \"age\":30, \"salary\":300.5, \"name\":\"jane\", "
+                + "\"married\":true}, {\"id\":2, \"age\":20, \"salary\":200.5, \"name\":\"martin\", \"married\":true}]");
+    }
+
+    @Test(priority = 1, description = "Iterating over a table JSON which was not read yet does not keep the rows")
+    public void testToJsonIteration() {
+        BValue[] returns = BRunUtil.invoke(result, "testToJsonIteration");
+        Assert.assertEquals((returns[0]).stringValue(), "janemartinjohn");
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 0);
+    }
+
     @Test(priority = 1)
     public void testToXML() {
         BValue[] returns = BRunUtil.invoke(result, "testToXML");
@@ -76,12 +76,45 @@ public class TableSqlQueryTest {
         Assert.assertEquals(((BInteger) returns[0]).intValue(), 4);
     }
 
+    @Test(groups = "TableQueryTest", description = "Do a select with where, order by and limit")
+    public void testSelectWithWhereOrderByAndLimit() {
+        BValue[] args = {};
+        BValue[] returns = BRunUtil.invoke(result, "testSelectWithWhereOrderByAndLimit", args);
+        Assert.assertEquals(returns[0].stringValue(), "alex jack ");
+    }
+
+    @Test(groups = "TableQueryTest", description = "Check that rows added after a query are not in the result")
+    public void testQueryResultAfterSourceUpdate() {
+        BValue[] args = {};
+        BValue[] returns = BRunUtil.invoke(result, "testQueryResultAfterSourceUpdate", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 2);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 2);
+    }
+
+    @Test(groups = "TableQueryTest", description = "Do a select with where on the primary key")
+    public void testSelectWithWhereOnPrimaryKey() {
+        BValue[] args = {};
+        BValue[] returns = BRunUtil.invoke(result, "testSelectWithWhereOnPrimaryKey", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 0);
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 0);
+    }
+
     @Test(dependsOnGroups = "TableQueryTest", enabled = false)
     public void testSessionCount() {
         BValue[] returns = BRunUtil.invoke(resultHelper, "getSessionCount");
         Assert.assertEquals(((BInteger) returns[0]).intValue(), 1);
     }
 
+    @Test(groups = "TableQueryTest", description = "Remove rows from a query result which is partly iterated")
+    public void testRemoveAfterPartialIteration() {
+        BValue[] args = {};
+        BValue[] returns = BRunUtil.invoke(result, "testRemoveAfterPartialIteration", args);
+        Assert.assertEquals(returns[0].stringValue(), "jane");
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 2);
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 2);
+    }
+
     @Test(groups = "TableQueryTest", description = "Do a simple select all with limit")
     public void testSimpleSelectAllWithLimit() {
         BValue[] args = {};
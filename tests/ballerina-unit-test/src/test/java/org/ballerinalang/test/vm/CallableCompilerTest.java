@@ -0,0 +1,102 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.bre.bvm.jit.CallableCompiler;
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.FunctionInfo;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for running hot functions compiled to JVM bytecode.
+ */
+public class CallableCompilerTest {
+
+    private static final String COMPILE_THRESHOLD_CONFIG_PROP = "b7a.runtime.vm.jit.threshold";
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        ConfigRegistry.getInstance().addConfiguration(COMPILE_THRESHOLD_CONFIG_PROP, "5");
+        try {
+            this.result = BCompileUtil.compile("test-src/vm/callable-compiler-test.bal");
+        } finally {
+            ConfigRegistry.getInstance().removeConfiguration(COMPILE_THRESHOLD_CONFIG_PROP);
+        }
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test
+    public void testNumericLoop() {
+        BValue[] vals = BRunUtil.invoke(result, "sumOfSums", new BValue[] {new BInteger(100)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 161700);
+        Assert.assertTrue(CallableCompiler.isCompiled(getFunctionInfo("sumUpTo")));
+    }
+
+    @Test
+    public void testStringBuilding() {
+        BValue[] vals = BRunUtil.invoke(result, "repeatAll", new BValue[] {new BInteger(20)});
+        Assert.assertEquals(((BString) vals[0]).stringValue(), new String(new char[19]).replace("\0", "ab"));
+        Assert.assertTrue(CallableCompiler.isCompiled(getFunctionInfo("repeat")));
+    }
+
+    @Test
+    public void testFloatComparisons() {
+        BValue[] vals = BRunUtil.invoke(result, "countInside", new BValue[] {new BInteger(40)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 16);
+        Assert.assertTrue(CallableCompiler.isCompiled(getFunctionInfo("isInside")));
+        vals = BRunUtil.invoke(result, "isInside", new BValue[] {new BFloat(Double.NaN), new BFloat(0),
+                new BFloat(1)});
+        Assert.assertFalse(((BBoolean) vals[0]).booleanValue());
+    }
+
+    @Test
+    public void testDivision() {
+        BValue[] vals = BRunUtil.invoke(result, "divideAll", new BValue[] {new BInteger(10), new BInteger(3)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 100 + 50 + 33 + 25 + 20 + 16 + 14 + 12 + 11 + 10 + 33);
+        Assert.assertTrue(CallableCompiler.isCompiled(getFunctionInfo("divide")));
+    }
+
+    @Test(expectedExceptions = BLangRuntimeException.class)
+    public void testDivisionByZeroFallsBackToInterpreter() {
+        BRunUtil.invoke(result, "divideAll", new BValue[] {new BInteger(10), new BInteger(0)});
+    }
+
+    @Test
+    public void testCallsAreNotCompiled() {
+        BValue[] vals = BRunUtil.invoke(result, "callSumTwice", new BValue[] {new BInteger(10)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 240);
+        Assert.assertFalse(CallableCompiler.isCompiled(getFunctionInfo("sumTwice")));
+    }
+
+    private FunctionInfo getFunctionInfo(String name) {
+        return result.getProgFile().getEntryPackage().getFunctionInfo(name);
+    }
+}
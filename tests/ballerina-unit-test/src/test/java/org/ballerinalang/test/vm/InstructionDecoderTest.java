@@ -0,0 +1,93 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.InstructionDecoder;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for executing pre-decoded BVM instructions.
+ */
+public class InstructionDecoderTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        this.result = BCompileUtil.compile("test-src/vm/instruction-decoder-test.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+        InstructionDecoder.decode(result.getProgFile());
+    }
+
+    @Test
+    public void testLessThanLoop() {
+        BValue[] vals = BRunUtil.invoke(result, "sumUpTo", new BValue[] {new BInteger(100)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 4950);
+        vals = BRunUtil.invoke(result, "sumUpTo", new BValue[] {new BInteger(0)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 0);
+    }
+
+    @Test
+    public void testGreaterThanLoop() {
+        BValue[] vals = BRunUtil.invoke(result, "countDown", new BValue[] {new BInteger(25)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 50);
+    }
+
+    @Test
+    public void testInclusiveBounds() {
+        BValue[] vals = BRunUtil.invoke(result, "inclusiveBounds", new BValue[] {new BInteger(5), new BInteger(12)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 305);
+    }
+
+    @Test
+    public void testConstants() {
+        BValue[] vals = BRunUtil.invoke(result, "intConstant", new BValue[0]);
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 1234568);
+        vals = BRunUtil.invoke(result, "floatConstant", new BValue[0]);
+        Assert.assertEquals(((BFloat) vals[0]).floatValue(), 4.25);
+        vals = BRunUtil.invoke(result, "stringConstant", new BValue[0]);
+        Assert.assertEquals(((BString) vals[0]).stringValue(), "decoded!");
+    }
+
+    @Test
+    public void testStringConstantsToAny() {
+        BValue[] vals = BRunUtil.invoke(result, "stringConstantsToAny", new BValue[0]);
+        Assert.assertEquals(vals[0].stringValue(), "interned");
+        // Both conversions use the BString interned in the constant pool
+        Assert.assertSame(vals[0], vals[1]);
+    }
+
+    @Test
+    public void testRecordFieldLoads() {
+        BValue[] vals = BRunUtil.invoke(result, "sumOfPoints", new BValue[] {new BInteger(10)});
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 90);
+        vals = BRunUtil.invoke(result, "restFieldAccess", new BValue[0]);
+        Assert.assertEquals(vals[0].stringValue(), "firstsecond");
+        Assert.assertEquals(((BInteger) vals[1]).intValue(), 3);
+        Assert.assertEquals(vals[2].stringValue(), "rest");
+    }
+}
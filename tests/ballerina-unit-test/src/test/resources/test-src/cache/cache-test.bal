@@ -149,6 +149,23 @@ function testExpiredCacheAccess() returns (int) {
     return cache.size();
 }
 
+function testHasKeyOfExpiredEntry() returns (boolean, boolean) {
+    cache:Cache cache = new(expiryTimeMillis = 100);
+    cache.put("A", "A");
+    boolean beforeExpiry = cache.hasKey("A");
+    runtime:sleep(500);
+    return (beforeExpiry, cache.hasKey("A"));
+}
+
+function testReplacingValueOfFullCache() returns (string[], string) {
+    cache:Cache cache = new(expiryTimeMillis = 20000, capacity = 3, evictionFactor = 0.5);
+    cache.put("A", "A");
+    cache.put("B", "B");
+    cache.put("C", "C");
+    cache.put("A", "A2");
+    return (cache.keys(), <string>cache.get("A"));
+}
+
 function testCreateCacheWithZeroExpiryTime() {
     cache:Cache c = new(expiryTimeMillis = 0);
 }
@@ -172,3 +189,13 @@ function testCreateCacheWithZeroEvictionFactor() {
 function testCreateCacheWithInvalidEvictionFactor() {
     cache:Cache c = new(evictionFactor = 1.1);
 }
+
+function testCloseCache() returns (int, int) {
+    cache:Cache cache = new(name = "test-cache");
+    cache.put("A", "A");
+    cache.put("B", "B");
+    cache.close();
+    int sizeAfterClose = cache.size();
+    cache.put("C", "C");
+    return (sizeAfterClose, cache.size());
+}
@@ -381,3 +381,101 @@ function nextInsideLock() returns (int, string) {
     }
 }
 
+
+int contendedLockInt = 0;
+
+function lockUnderContention() returns (int) {
+    worker w1 {
+        int i = 0;
+        while (i < 1000) {
+            lock {
+                contendedLockInt = contendedLockInt + 1;
+            }
+            i = i + 1;
+        }
+        i -> w3;
+    }
+    worker w2 {
+        int i = 0;
+        while (i < 1000) {
+            lock {
+                contendedLockInt = contendedLockInt + 1;
+            }
+            i = i + 1;
+        }
+        i -> w3;
+    }
+    worker w3 {
+        int a;
+        int b;
+        a <- w1;
+        b <- w2;
+        return contendedLockInt;
+    }
+}
+
+int nestedAsyncLockInt = 0;
+
+function lockWithNestedAsyncChild() returns (int) {
+    lock {
+        future<int> child = start incrementNestedAsyncLockInt(500);
+        // re-entrant locking by the parent while the child takes the lock over
+        int i = 0;
+        int seen = 0;
+        while (i < 500) {
+            lock {
+                seen = nestedAsyncLockInt;
+            }
+            i = i + 1;
+        }
+        int childCount = await child;
+    }
+    // the lock is free again once both the parent and the child have released it
+    future<int> next = start incrementNestedAsyncLockInt(500);
+    int nextCount = await next;
+    return nestedAsyncLockInt;
+}
+
+function incrementNestedAsyncLockInt(int count) returns (int) {
+    int i = 0;
+    while (i < count) {
+        lock {
+            nestedAsyncLockInt = nestedAsyncLockInt + 1;
+        }
+        i = i + 1;
+    }
+    return count;
+}
+
+int reentrantContendedLockInt = 0;
+
+function reentrantLockUnderContention() returns (int) {
+    worker w1 {
+        incrementReentrantContendedLockInt();
+        1 -> w3;
+    }
+    worker w2 {
+        incrementReentrantContendedLockInt();
+        2 -> w3;
+    }
+    worker w3 {
+        int a;
+        int b;
+        a <- w1;
+        b <- w2;
+        return reentrantContendedLockInt;
+    }
+}
+
+function incrementReentrantContendedLockInt() {
+    int i = 0;
+    while (i < 1000) {
+        lock {
+            reentrantContendedLockInt = reentrantContendedLockInt + 1;
+            lock {
+                reentrantContendedLockInt = reentrantContendedLockInt + 1;
+            }
+        }
+        i = i + 1;
+    }
+}
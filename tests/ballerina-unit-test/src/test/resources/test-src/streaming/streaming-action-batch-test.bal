@@ -0,0 +1,78 @@
+// Copyright (c) 2018 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/runtime;
+
+type Teacher record {
+    string name;
+    int age;
+    float salary;
+    boolean married;
+};
+
+type Employee record {
+    string name;
+    int age;
+    float salary;
+    boolean married;
+};
+
+stream<Teacher> teacherStream;
+
+Employee[] globalEmployeeArray = [];
+int employeeIndex = 0;
+int actionInvocations = 0;
+
+function startBatchQuery() {
+    forever {
+        from teacherStream window lengthBatch(3)
+        select name, age, salary, married
+        => (Employee[] employees) {
+            actionInvocations = actionInvocations + 1;
+            foreach employee in employees {
+                globalEmployeeArray[employeeIndex] = employee;
+                employeeIndex = employeeIndex + 1;
+            }
+        }
+    }
+}
+
+function startStreamingActionBatchQuery() returns (Employee[]) {
+
+    startBatchQuery();
+
+    Teacher t1 = {name:"Raja", age:25, salary:1000.5, married:false};
+    Teacher t2 = {name:"Shareek", age:33, salary:2000.0, married:false};
+    Teacher t3 = {name:"Nimal", age:45, salary:3500.25, married:true};
+
+    teacherStream.publish(t1);
+    teacherStream.publish(t2);
+    teacherStream.publish(t3);
+
+    int count = 0;
+    while (true) {
+        runtime:sleep(100);
+        count++;
+        if ((lengthof globalEmployeeArray) == 3 || count == 50) {
+            break;
+        }
+    }
+    return globalEmployeeArray;
+}
+
+function getActionInvocations() returns (int) {
+    return actionInvocations;
+}
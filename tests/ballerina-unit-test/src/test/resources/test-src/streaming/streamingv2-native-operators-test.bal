@@ -0,0 +1,166 @@
+// Copyright (c) 2018 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/runtime;
+import ballerina/streams;
+import ballerina/time;
+
+type Item record {
+    string category;
+    int price;
+};
+
+streams:StreamEvent[] receivedEvents = [];
+int[] groupSizes = [];
+int[] expiredPrices = [];
+boolean collecting = false;
+int overlaps = 0;
+
+function collectEvents(streams:StreamEvent[] events) {
+    foreach event in events {
+        receivedEvents[lengthof receivedEvents] = event;
+    }
+}
+
+function collectExpiredPrices(streams:StreamEvent[] events) {
+    if (collecting) {
+        overlaps += 1;
+    }
+    collecting = true;
+    foreach event in events {
+        Item item = check <Item>event.eventObject;
+        expiredPrices[lengthof expiredPrices] = item.price;
+    }
+    // keeps the processor busy, so that an expiry running at the same time would be noticed
+    runtime:sleep(1);
+    collecting = false;
+}
+
+function collectGroupSize(streams:StreamEvent[] events) {
+    groupSizes[lengthof groupSizes] = lengthof events;
+}
+
+function createEvent(int price, int timestamp) returns streams:StreamEvent {
+    Item item = { category: price % 2 == 0 ? "EVEN" : "ODD", price: price };
+    streams:StreamEvent event = { eventType: "CURRENT", eventObject: item, timestamp: timestamp };
+    return event;
+}
+
+function testMaxAndMin() returns (int[]) {
+    // slides a window of three values over the prices
+    int[] prices = [4, 2, 6, 1, 3, 5, 0];
+    streams:Max maxAggregator = new();
+    streams:Min minAggregator = new();
+    int[] results = [];
+    int i = 0;
+    while (i < lengthof prices) {
+        if (i >= 3) {
+            _ = maxAggregator.process(prices[i - 3], "EXPIRED");
+            _ = minAggregator.process(prices[i - 3], "EXPIRED");
+        }
+        results[lengthof results] = check <int>maxAggregator.process(prices[i], "CURRENT");
+        results[lengthof results] = check <int>minAggregator.process(prices[i], "CURRENT");
+        i += 1;
+    }
+    return results;
+}
+
+function testAggregators() returns (any[]) {
+    streams:Sum sumAggregator = new();
+    streams:Average avgAggregator = new();
+    streams:DistinctCount distinctCountAggregator = new();
+    streams:StdDev stdDevAggregator = new();
+    _ = sumAggregator.process(4, "CURRENT");
+    _ = sumAggregator.process(2.5, "CURRENT");
+    _ = avgAggregator.process(4, "CURRENT");
+    _ = distinctCountAggregator.process("a", "CURRENT");
+    _ = distinctCountAggregator.process("a", "CURRENT");
+    _ = distinctCountAggregator.process("b", "CURRENT");
+    _ = stdDevAggregator.process(4.5, "CURRENT");
+    any[] results = [];
+    results[0] = sumAggregator.process(6, "CURRENT");
+    results[1] = sumAggregator.process(1.0, "EXPIRED");
+    results[2] = avgAggregator.process(2.0, "CURRENT");
+    results[3] = distinctCountAggregator.process("a", "EXPIRED");
+    results[4] = stdDevAggregator.process(2.5, "CURRENT");
+    results[5] = sumAggregator.process("a", "CURRENT");
+    results[6] = sumAggregator.iSum;
+    return results;
+}
+
+function testLengthWindow() returns (streams:StreamEvent[]) {
+    receivedEvents = [];
+    streams:LengthWindow window = streams:lengthWindow(2, "ALL", collectEvents);
+    int i = 1;
+    while (i <= 4) {
+        window.add(createEvent(i, i));
+        i += 1;
+    }
+    // the event to be expired next is returned after the received ones
+    match window.getEventToBeExpired() {
+        streams:StreamEvent event => {
+            receivedEvents[lengthof receivedEvents] = event;
+        }
+        () => {
+        }
+    }
+    return receivedEvents;
+}
+
+function testTimeWindow() returns (streams:StreamEvent[]) {
+    receivedEvents = [];
+    streams:TimeWindow window = streams:timeWindow(10, "ALL", collectEvents);
+    window.add(createEvent(1, 0));
+    window.add(createEvent(2, 5));
+    window.add(createEvent(3, 3));
+    window.add(createEvent(4, 12));
+    // the content of the window is returned after the received events
+    foreach event in window.returnContent() {
+        receivedEvents[lengthof receivedEvents] = event;
+    }
+    return receivedEvents;
+}
+
+function testGroupBy() returns (int[]) {
+    groupSizes = [];
+    string[] groupByFields = ["category"];
+    streams:GroupBy groupBy = streams:createGroupBy(collectGroupSize, groupByFields);
+    streams:StreamEvent[] events = [createEvent(1, 1), createEvent(2, 2), createEvent(3, 3)];
+    groupBy.performGrouping(events);
+    return groupSizes;
+}
+
+function testTimeWindowExpiryWithNewEvents() returns (int[]) {
+    expiredPrices = [];
+    overlaps = 0;
+    streams:TimeWindow window = streams:timeWindow(20, "ALL", collectExpiredPrices);
+    int i = 1;
+    while (i <= 200) {
+        window.add(createEvent(i, time:currentTime().time));
+        if (i % 20 == 0) {
+            // lets the timer expire the events while newer events keep arriving
+            runtime:sleep(25);
+        }
+        i += 1;
+    }
+    runtime:sleep(200);
+    // the number of overlapping calls of the processor is returned before the expired prices
+    int[] results = [overlaps];
+    foreach price in expiredPrices {
+        results[lengthof results] = price;
+    }
+    return results;
+}
@@ -350,3 +350,22 @@ function testJsonIntToFloat () returns (float) {
     jFloat = check <float>j.score;
     return jFloat;
 }
+
+function testNumericJsonArrays () returns (json, json, json) {
+    json ints = [];
+    json floats = [];
+    float f = 0.0;
+    int i = 0;
+    while (i < 20) {
+        ints[i] = i;
+        floats[i] = f;
+        f = f + 0.5;
+        i = i + 1;
+    }
+
+    json mixed = [1, 2, 3];
+    mixed[3] = 4.5;
+    mixed[4] = "five";
+    mixed[6] = true;
+    return (ints, floats, mixed);
+}
@@ -204,6 +204,61 @@ function testToJson() returns (json) {
     return j;
 }
 
+function testToJsonElementAccess() returns (string, int) {
+    Person p1 = { id: 1, age: 30, salary: 300.50, name: "jane", married: true };
+    Person p2 = { id: 2, age: 20, salary: 200.50, name: "martin", married: true };
+    Person p3 = { id: 3, age: 32, salary: 100.50, name: "john", married: false };
+
+    table<Person> dt = table{};
+    _ = dt.add(p1);
+    _ = dt.add(p2);
+    _ = dt.add(p3);
+
+    json j = check <json>dt;
+    string name = j[1].name.toString();
+    int count = lengthof j;
+    return (name, count);
+}
+
+function testToJsonPartialRead() returns (string, int, string) {
+    Person p1 = { id: 1, age: 30, salary: 300.50, name: "jane", married: true };
+    Person p2 = { id: 2, age: 20, salary: 200.50, name: "martin", married: true };
+    Person p3 = { id: 3, age: 32, salary: 100.50, name: "john", married: false };
+
+    table<Person> dt = table{};
+    _ = dt.add(p1);
+    _ = dt.add(p2);
+
+    json j = check <json>dt;
+    string name = j[0].name.toString();
+    json k = check <json>dt;
+    foreach row in k {
+        break;
+    }
+    _ = dt.add(p3);
+
+    json all = check <json>dt;
+    return (name, lengthof all, j.toString());
+}
+
+function testToJsonIteration() returns (string, int) {
+    Person p1 = { id: 1, age: 30, salary: 300.50, name: "jane", married: true };
+    Person p2 = { id: 2, age: 20, salary: 200.50, name: "martin", married: true };
+    Person p3 = { id: 3, age: 32, salary: 100.50, name: "john", married: false };
+
+    table<Person> dt = table{};
+    _ = dt.add(p1);
+    _ = dt.add(p2);
+    _ = dt.add(p3);
+
+    json j = check <json>dt;
+    string names = "";
+    foreach row in j {
+        names = names + row.name.toString();
+    }
+    return (names, lengthof j);
+}
+
 function testToXML() returns (xml) {
     Person p1 = { id: 1, age: 30, salary: 300.50, name: "jane", married: true };
     Person p2 = { id: 2, age: 20, salary: 200.50, name: "martin", married: true };
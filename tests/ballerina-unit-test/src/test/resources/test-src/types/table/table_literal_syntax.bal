@@ -133,3 +133,25 @@ function testTableAddOnConstrainedTableWithViolation2() returns (string) {
     }
     return s;
 }
+
+function testTableAddAfterRemove() returns (int, int) {
+    Person p1 = { id: 1, age: 30, salary: 300.50, name: "jane", married: true };
+    Person p2 = { id: 2, age: 20, salary: 200.50, name: "martin", married: true };
+    Person p3 = { id: 3, age: 32, salary: 100.50, name: "john", married: false };
+
+    table<Person> t1 = table {
+        { primarykey id, salary, name, age, married },
+        [p1, p2, p3]
+    };
+
+    int removed = check t1.remove(isBelow31);
+    _ = t1.add(p2);
+    _ = t1.add(p1);
+
+    int count = t1.count();
+    return (removed, count);
+}
+
+function isBelow31(Person p) returns (boolean) {
+    return p.age < 31;
+}
@@ -269,3 +269,96 @@ function testTableToString() returns table {
 
     return personTableCopy;
 }
+
+function testSelectWithWhereOrderByAndLimit() returns (string) {
+    table<Person> personTable = table{};
+    Person p1 = { id: 1, age: 25, salary: 300.50, name: "jane", married: true };
+    Person p2 = { id: 2, age: 26, salary: 400.50, name: "kane", married: false };
+    Person p3 = { id: 3, age: 27, salary: 500.50, name: "jack", married: true };
+    Person p4 = { id: 4, age: 28, salary: 600.50, name: "alex", married: false };
+
+    _ = personTable.add(p1);
+    _ = personTable.add(p2);
+    _ = personTable.add(p3);
+    _ = personTable.add(p4);
+
+    table<Person> personTableCopy = from personTable where age > 25 select * order by salary descending limit 2;
+
+    string names = "";
+    foreach p in personTableCopy {
+        names = names + p.name + " ";
+    }
+    return names;
+}
+
+function testQueryResultAfterSourceUpdate() returns (int, int) {
+    table<Person> personTable = table{};
+    Person p1 = { id: 1, age: 25, salary: 300.50, name: "jane", married: true };
+    Person p2 = { id: 2, age: 26, salary: 400.50, name: "kane", married: false };
+    Person p3 = { id: 3, age: 27, salary: 500.50, name: "jack", married: true };
+
+    _ = personTable.add(p1);
+    _ = personTable.add(p2);
+
+    table<Person> personTableCopy = from personTable select *;
+    _ = personTable.add(p3);
+
+    int count = personTableCopy.count();
+    int countAgain = personTableCopy.count();
+    return (count, countAgain);
+}
+
+function testSelectWithWhereOnPrimaryKey() returns (int, int, int) {
+    table<Person> personTable = table{
+        { primarykey id, age, salary, name, married }
+    };
+    Person p1 = { id: 1, age: 25, salary: 300.50, name: "jane", married: true };
+    Person p2 = { id: 2, age: 26, salary: 400.50, name: "kane", married: false };
+    Person p3 = { id: 3, age: 27, salary: 500.50, name: "jack", married: true };
+    Person p4 = { id: 4, age: 28, salary: 600.50, name: "alex", married: false };
+
+    _ = personTable.add(p1);
+    _ = personTable.add(p2);
+    _ = personTable.add(p3);
+    _ = personTable.add(p4);
+
+    table<Person> matching = from personTable where id == 3 select *;
+    table<Person> matchingWithCondition = from personTable where id == 3 and age > 27 select *;
+    int count = matching.count();
+    int countWithCondition = matchingWithCondition.count();
+
+    int removed = check personTable.remove(isJack);
+    table<Person> matchingAfterRemoval = from personTable where id == 3 select *;
+    return (count, countWithCondition, matchingAfterRemoval.count());
+}
+
+function testRemoveAfterPartialIteration() returns (string, int, int) {
+    table<Person> personTable = table{};
+    Person p1 = { id: 1, age: 25, salary: 300.50, name: "jane", married: true };
+    Person p2 = { id: 2, age: 26, salary: 400.50, name: "kane", married: false };
+    Person p3 = { id: 3, age: 27, salary: 500.50, name: "jack", married: true };
+    Person p4 = { id: 4, age: 28, salary: 600.50, name: "alex", married: false };
+
+    _ = personTable.add(p1);
+    _ = personTable.add(p2);
+    _ = personTable.add(p3);
+    _ = personTable.add(p4);
+
+    table<Person> personTableCopy = from personTable select *;
+    string firstName = "";
+    if (personTableCopy.hasNext()) {
+        Person p = check <Person>personTableCopy.getNext();
+        firstName = p.name;
+    }
+
+    int removed = check personTableCopy.remove(isBelow27);
+    return (firstName, removed, personTableCopy.count());
+}
+
+function isBelow27(Person p) returns (boolean) {
+    return p.age < 27;
+}
+
+function isJack(Person p) returns (boolean) {
+    return p.name == "jack";
+}
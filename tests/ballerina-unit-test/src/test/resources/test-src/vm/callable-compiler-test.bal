@@ -0,0 +1,84 @@
+function sumUpTo(int n) returns int {
+    int i = 0;
+    int sum = 0;
+    while (i < n) {
+        sum = sum + i;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function sumOfSums(int count) returns int {
+    int total = 0;
+    int i = 0;
+    while (i < count) {
+        total = total + sumUpTo(i);
+        i = i + 1;
+    }
+    return total;
+}
+
+function repeat(string s, int times) returns string {
+    string result = "";
+    int i = 0;
+    while (i < times) {
+        result = result + s;
+        i = i + 1;
+    }
+    return result;
+}
+
+function repeatAll(int count) returns string {
+    string last = "";
+    int i = 0;
+    while (i < count) {
+        last = repeat("ab", i);
+        i = i + 1;
+    }
+    return last;
+}
+
+function isInside(float x, float lo, float hi) returns boolean {
+    return x >= lo && x <= hi;
+}
+
+function countInside(int count) returns int {
+    int inside = 0;
+    int i = 0;
+    while (i < count) {
+        float x = <float>i / 2.0;
+        if (isInside(x, 2.5, 10.0)) {
+            inside = inside + 1;
+        }
+        i = i + 1;
+    }
+    return inside;
+}
+
+function divide(int a, int b) returns int {
+    return a / b;
+}
+
+function divideAll(int count, int divisor) returns int {
+    int total = 0;
+    int i = 0;
+    while (i < count) {
+        total = total + divide(100, i + 1);
+        i = i + 1;
+    }
+    return total + divide(100, divisor);
+}
+
+function sumTwice(int n) returns int {
+    return sumUpTo(n) + sumUpTo(n);
+}
+
+function callSumTwice(int count) returns int {
+    int total = 0;
+    int i = 0;
+    while (i < count) {
+        total = total + sumTwice(i);
+        i = i + 1;
+    }
+    return total;
+}
@@ -0,0 +1,82 @@
+function sumUpTo(int n) returns (int) {
+    int i = 0;
+    int sum = 0;
+    while (i < n) {
+        sum = sum + i;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function countDown(int n) returns (int) {
+    int count = 0;
+    while (n > 0) {
+        n = n - 1;
+        count = count + 2;
+    }
+    return count;
+}
+
+function inclusiveBounds(int from, int to) returns (int) {
+    int count = 0;
+    int i = from;
+    while (i <= to) {
+        if (i >= 10) {
+            count = count + 100;
+        } else {
+            count = count + 1;
+        }
+        i = i + 1;
+    }
+    return count;
+}
+
+function intConstant() returns (int) {
+    int i = 1234567;
+    return i + 1;
+}
+
+function floatConstant() returns (float) {
+    float f = 3.25;
+    return f + 1.0;
+}
+
+function stringConstant() returns (string) {
+    string s = "decoded";
+    return s + "!";
+}
+
+function stringConstantsToAny() returns (any, any) {
+    any first = "interned";
+    any second = "interned";
+    return (first, second);
+}
+
+type Point record {
+    int x;
+    int y;
+    !...
+};
+
+type Tagged record {
+    string name;
+    int count;
+};
+
+function sumOfPoints(int n) returns (int) {
+    int i = 0;
+    int sum = 0;
+    while (i < n) {
+        Point p = {x: i, y: 2};
+        sum = sum + p.x * p.y;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function restFieldAccess() returns (string, int, any) {
+    Tagged first = {name: "first", count: 1};
+    Tagged second = {count: 2, name: "second"};
+    second.extra = "rest";
+    return (first.name + second.name, first.count + second.count, second.extra);
+}